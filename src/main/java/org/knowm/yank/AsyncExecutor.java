@@ -0,0 +1,417 @@
+package org.knowm.yank;
+
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the calls of a YankAsync handle so that no more calls run at once than its pool has
+ * connections and none park waiting for one. Calls beyond that wait in a bounded queue; once it is
+ * full, new calls are rejected or run on the caller's thread.
+ *
+ * <p>By default the calls run on as many platform threads as the pool has connections. On Java 21
+ * and later each call can instead run on its own virtual thread, with a semaphore of as many
+ * permits as the pool has connections in front of the pool, so that thousands of waiting calls cost
+ * no platform threads and do not pile up in Hikari's connection wait. Virtual threads are looked up
+ * at runtime, since Yank is built for Java 8; on older JVMs platform threads are used.
+ *
+ * <p>Configured with the following pool properties, which are removed before the rest are passed to
+ * Hikari:
+ *
+ * <ul>
+ *   <li>yank.asyncThreads: platform (default) or virtual
+ *   <li>yank.asyncQueueSize: the number of calls waiting for a connection (default 1024)
+ *   <li>yank.asyncRejectionPolicy: abort to fail the returned future with a
+ *       RejectedExecutionException (default), or callerRuns to run the call on the caller's thread
+ * </ul>
+ *
+ * Platform threads are started on demand, are daemon threads and time out when idle.
+ *
+ * <p>The open subscriptions of query publishers keep their connection between reads, so each holds
+ * one of the pool's permits from its first read until it is closed. Calls wait for a permit rather
+ * than for a connection, however slow the subscribers. The reads of a publisher run on their own
+ * threads, so that they are never stuck behind calls waiting for the permits they hold.
+ *
+ * @author timmolter
+ */
+final class AsyncExecutor {
+
+  static final String THREADS_PROPERTY = StatementCache.PROPERTY_PREFIX + "asyncThreads";
+
+  static final String QUEUE_SIZE_PROPERTY = StatementCache.PROPERTY_PREFIX + "asyncQueueSize";
+
+  static final String REJECTION_POLICY_PROPERTY =
+      StatementCache.PROPERTY_PREFIX + "asyncRejectionPolicy";
+
+  static final int DEFAULT_QUEUE_SIZE = 1024;
+
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  /** How long shutdown() waits for the running calls */
+  static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+  private static final Logger logger = LoggerFactory.getLogger(AsyncExecutor.class);
+
+  private final ExecutorService executor;
+
+  private final int threads;
+
+  private final boolean callerRuns;
+
+  /** The executor the reads of publishers run on */
+  private final ExecutorService readers;
+
+  /** The connections left, held by running calls and open publisher subscriptions */
+  private final Semaphore gate;
+
+  private final boolean virtual;
+
+  /** The number of calls a virtual thread was started for, running or waiting */
+  private final AtomicInteger pending = new AtomicInteger();
+
+  private final int maxPending;
+
+  /** Set by shutdown(), after which calls that have not started are not run */
+  private volatile boolean released = false;
+
+  /**
+   * Constructor for platform threads
+   *
+   * @param poolName The name of the pool, used to name the threads
+   * @param threads The number of threads, i.e. the maximum size of the pool
+   * @param queueSize The number of calls waiting for a thread
+   * @param callerRuns true to run rejected calls on the caller's thread
+   */
+  AsyncExecutor(String poolName, int threads, int queueSize, boolean callerRuns) {
+
+    ThreadPoolExecutor platformExecutor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<Runnable>(queueSize),
+            new DaemonThreadFactory("yank-" + poolName + "-async-"),
+            new ThreadPoolExecutor.AbortPolicy());
+    platformExecutor.allowCoreThreadTimeOut(true);
+
+    this.executor = platformExecutor;
+    this.readers =
+        Executors.newCachedThreadPool(new DaemonThreadFactory("yank-" + poolName + "-reader-"));
+    this.threads = threads;
+    this.callerRuns = callerRuns;
+    this.gate = new Semaphore(threads, true);
+    this.virtual = false;
+    this.maxPending = threads + queueSize;
+  }
+
+  /**
+   * Constructor for virtual threads
+   *
+   * @param virtualExecutor An executor starting a virtual thread per call
+   * @param threads The number of calls running at once, i.e. the maximum size of the pool
+   * @param queueSize The number of calls waiting for a connection
+   * @param callerRuns true to run rejected calls on the caller's thread
+   */
+  AsyncExecutor(ExecutorService virtualExecutor, int threads, int queueSize, boolean callerRuns) {
+
+    this.executor = virtualExecutor;
+    this.readers = virtualExecutor;
+    this.threads = threads;
+    this.callerRuns = callerRuns;
+    this.gate = new Semaphore(threads, true);
+    this.virtual = true;
+    this.maxPending = threads + queueSize;
+  }
+
+  /**
+   * Creates the executor configured by the yank.async* pool properties.
+   *
+   * @param poolName The name of the pool
+   * @param properties The pool properties
+   * @param threads The maximum size of the pool
+   * @return the executor
+   * @throws IllegalArgumentException if a property is invalid
+   */
+  static AsyncExecutor fromProperties(String poolName, Properties properties, int threads) {
+
+    int queueSize = StatementCache.intProperty(properties, QUEUE_SIZE_PROPERTY, DEFAULT_QUEUE_SIZE);
+    if (queueSize <= 0) {
+      throw new IllegalArgumentException(QUEUE_SIZE_PROPERTY + " must be positive");
+    }
+
+    String policy = stringProperty(properties, REJECTION_POLICY_PROPERTY, "abort");
+    boolean callerRuns = policy.equals("callerruns");
+    if (!callerRuns && !policy.equals("abort")) {
+      throw new IllegalArgumentException(
+          REJECTION_POLICY_PROPERTY + " must be abort or callerRuns, not " + policy);
+    }
+
+    String threadType = stringProperty(properties, THREADS_PROPERTY, "platform");
+    if (threadType.equals("virtual")) {
+      ExecutorService virtualExecutor = newVirtualThreadExecutor("yank-" + poolName + "-virtual-");
+      if (virtualExecutor != null) {
+        return new AsyncExecutor(virtualExecutor, threads, queueSize, callerRuns);
+      }
+      logger.warn(
+          "Virtual threads are not available on Java {}, pool '{}' uses platform threads",
+          System.getProperty("java.version"),
+          poolName);
+    } else if (!threadType.equals("platform")) {
+      throw new IllegalArgumentException(
+          THREADS_PROPERTY + " must be platform or virtual, not " + threadType);
+    }
+    return new AsyncExecutor(poolName, threads, queueSize, callerRuns);
+  }
+
+  private static String stringProperty(Properties properties, String name, String defaultValue) {
+
+    Object value = properties.get(name);
+    return value == null ? defaultValue : value.toString().trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Looks up Java 21's virtual threads by reflection, i.e.
+   * Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 1).factory()).
+   *
+   * @param prefix The prefix of the thread names
+   * @return an executor starting a virtual thread per task, or null if the JVM has none
+   */
+  static ExecutorService newVirtualThreadExecutor(String prefix) {
+
+    try {
+      Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 1L);
+      ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+      return (ExecutorService)
+          Executors.class
+              .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+              .invoke(null, factory);
+    } catch (ReflectiveOperationException e) {
+      // older JVM, or Java 19 and 20 without --enable-preview
+      return null;
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Runs a call on one of the threads.
+   *
+   * @param call The call
+   * @return a future completed with the result of the call, or exceptionally with what it threw or
+   *     with a RejectedExecutionException if the queue is full or the pool released
+   */
+  <T> CompletableFuture<T> submit(Supplier<T> call) {
+
+    Task<T> task = new Task<T>(call);
+    try {
+      if (virtual && pending.incrementAndGet() > maxPending) {
+        pending.decrementAndGet();
+        throw new RejectedExecutionException(
+            "More than " + maxPending + " calls pending on " + threads + " connections");
+      }
+      try {
+        executor.execute(task);
+      } catch (RejectedExecutionException e) {
+        if (virtual) {
+          pending.decrementAndGet();
+        }
+        throw e;
+      }
+    } catch (RejectedExecutionException e) {
+      if (callerRuns && !executor.isShutdown()) {
+        if (virtual) {
+          pending.incrementAndGet();
+        }
+        task.run();
+      } else {
+        task.future.completeExceptionally(e);
+      }
+    }
+    return task.future;
+  }
+
+  /**
+   * Runs a read of a publisher subscription, which takes no permit: the subscription holds one from
+   * {@link #acquire()} until {@link #release()}.
+   *
+   * @param read The read
+   * @return a future completed with the result of the read, or exceptionally with what it threw or
+   *     with a RejectedExecutionException if the pool was released
+   */
+  <T> CompletableFuture<T> submitRead(Supplier<T> read) {
+
+    CompletableFuture<T> future = new CompletableFuture<T>();
+    try {
+      readers.execute(
+          () -> {
+            try {
+              future.complete(read.get());
+            } catch (Throwable t) {
+              future.completeExceptionally(t);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Takes a permit for a publisher subscription about to borrow a connection, waiting for one if
+   * the running calls and open subscriptions hold them all.
+   *
+   * @throws InterruptedException if interrupted while waiting, e.g. when the pool is released
+   */
+  void acquire() throws InterruptedException {
+
+    gate.acquire();
+  }
+
+  /** Returns the permit of a publisher subscription that returned its connection */
+  void release() {
+
+    gate.release();
+  }
+
+  /**
+   * Stops the threads once the running calls complete, waiting for them at most
+   * SHUTDOWN_TIMEOUT_SECONDS before interrupting them. Queued calls are not run; their futures are
+   * completed with a RejectedExecutionException.
+   */
+  void shutdown() {
+
+    released = true;
+    executor.shutdown();
+    if (readers != executor) {
+      readers.shutdown();
+    }
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_TIMEOUT_SECONDS);
+    try {
+      executor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+      readers.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    for (Runnable runnable : executor.shutdownNow()) {
+      ((Task<?>) runnable).future.completeExceptionally(released());
+    }
+    readers.shutdownNow();
+  }
+
+  private static RejectedExecutionException released() {
+
+    return new RejectedExecutionException("The connection pool was released");
+  }
+
+  /**
+   * @return the number of calls waiting for a thread or a connection
+   */
+  int getQueuedCount() {
+
+    int queued = gate.getQueueLength();
+    return virtual ? queued : queued + ((ThreadPoolExecutor) executor).getQueue().size();
+  }
+
+  /**
+   * @return the maximum number of calls running at once
+   */
+  int getThreadCount() {
+
+    return threads;
+  }
+
+  /**
+   * @return true if the calls run on virtual threads
+   */
+  boolean isVirtual() {
+
+    return virtual;
+  }
+
+  /** A call and the future of its result */
+  private final class Task<T> implements Runnable {
+
+    private final Supplier<T> call;
+
+    private final CompletableFuture<T> future = new CompletableFuture<T>();
+
+    private Task(Supplier<T> call) {
+
+      this.call = call;
+    }
+
+    @Override
+    public void run() {
+
+      try {
+        gate.acquire();
+      } catch (InterruptedException e) {
+        done();
+        future.completeExceptionally(released());
+        return;
+      }
+      if (released) {
+        // queued when the pool was released
+        gate.release();
+        done();
+        future.completeExceptionally(released());
+        return;
+      }
+      T result;
+      try {
+        result = call.get();
+      } catch (Throwable t) {
+        gate.release();
+        done();
+        future.completeExceptionally(t);
+        return;
+      }
+      // free the permit before completing, so calls chained on the future find it free
+      gate.release();
+      done();
+      future.complete(result);
+    }
+
+    private void done() {
+
+      if (virtual) {
+        pending.decrementAndGet();
+      }
+    }
+  }
+
+  private static final class DaemonThreadFactory implements ThreadFactory {
+
+    private final String prefix;
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    private DaemonThreadFactory(String prefix) {
+
+      this.prefix = prefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+
+      Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
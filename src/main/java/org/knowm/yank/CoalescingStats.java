@@ -0,0 +1,69 @@
+package org.knowm.yank;
+
+/**
+ * A snapshot of the counters of the query coalescing of a connection pool, which lets concurrent
+ * identical queries of the SQL Keys configured with key.coalesce=true share one execution.
+ *
+ * @author timmolter
+ */
+public final class CoalescingStats {
+
+  private final long executions;
+
+  private final long coalesced;
+
+  private final long inFlight;
+
+  CoalescingStats(long executions, long coalesced, long inFlight) {
+
+    this.executions = executions;
+    this.coalesced = coalesced;
+    this.inFlight = inFlight;
+  }
+
+  /**
+   * @return the number of queries of coalesced SQL Keys run against the database
+   */
+  public long getExecutions() {
+
+    return executions;
+  }
+
+  /**
+   * @return the number of calls that got the result of a query already running instead of running
+   *     their own, i.e. the executions saved
+   */
+  public long getCoalesced() {
+
+    return coalesced;
+  }
+
+  /**
+   * @return the number of queries running when the snapshot was taken
+   */
+  public long getInFlight() {
+
+    return inFlight;
+  }
+
+  /**
+   * @return coalesced / (executions + coalesced), or 0 if no coalesced key has been queried yet
+   */
+  public double getSavedRatio() {
+
+    long calls = executions + coalesced;
+    return calls == 0 ? 0 : (double) coalesced / calls;
+  }
+
+  @Override
+  public String toString() {
+
+    return "CoalescingStats [executions="
+        + executions
+        + ", coalesced="
+        + coalesced
+        + ", inFlight="
+        + inFlight
+        + "]";
+  }
+}
@@ -0,0 +1,331 @@
+package org.knowm.yank;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.knowm.yank.collections.LongObjectHashMap;
+
+/**
+ * The SQL and parameters actually executed for a call, after {@link NamedParameters} have been
+ * bound and Collection parameters expanded into IN lists.
+ *
+ * <p>Collection parameters become IN lists, e.g. <code>ID IN (?)</code> with a List of 5 IDs
+ * becomes <code>ID IN (?, ?, ?, ?, ?, ?, ?, ?)</code>. The number of placeholders is rounded up to
+ * a power of two and the last value is repeated to fill them, so any number of values between 1 and
+ * {@link #MAX_BUCKET} produces one of only 10 SQL statements, which the driver and the database can
+ * cache. Longer Collections are split into chunks of MAX_BUCKET values, each executed on its own,
+ * and the results are merged. Since each chunk is a query of its own, ORDER BY, LIMIT and DISTINCT
+ * only apply within a chunk: the merged rows are in chunk order, and the same row may appear in
+ * more than one chunk if the other conditions allow it.
+ *
+ * @author timmolter
+ */
+final class ExpandedSQL {
+
+  /** The largest number of placeholders in one IN list, below e.g. Oracle's limit of 1000 */
+  static final int MAX_BUCKET = 512;
+
+  /** Expanded SQL by SQL and bucket sizes, filled up to NamedSQL.MAX_CACHED entries */
+  private static final ConcurrentMap<ExpandedKey, String> EXPANDED_SQL =
+      new ConcurrentHashMap<ExpandedKey, String>();
+
+  private final String[] sqls;
+
+  private final Object[][] params;
+
+  private ExpandedSQL(String[] sqls, Object[][] params) {
+
+    this.sqls = sqls;
+    this.params = params;
+  }
+
+  /**
+   * Expands a call that is executed once.
+   *
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @return the expansion, or null if the call needs none
+   * @throws SQLException if a named parameter has no value or a Collection is empty or longer than
+   *     MAX_BUCKET
+   */
+  static ExpandedSQL single(String sql, Object[] params) throws SQLException {
+
+    ExpandedSQL expanded = of(sql, params);
+    if (expanded != null && expanded.size() > 1) {
+      throw new SQLException(
+          "IN lists longer than " + MAX_BUCKET + " values are not supported here");
+    }
+    return expanded;
+  }
+
+  /**
+   * Expands a call that may be split into several executions.
+   *
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @return the expansion, or null if the call needs none
+   * @throws SQLException if a named parameter has no value, a Collection is empty, or more than one
+   *     Collection is longer than MAX_BUCKET
+   */
+  static ExpandedSQL of(String sql, Object[] params) throws SQLException {
+
+    NamedParameters named = NamedParameters.in(params);
+    if (named != null) {
+      NamedSQL namedSQL = NamedSQL.forSQL(sql);
+      sql = namedSQL.getSql();
+      params = namedSQL.bind(named);
+      ExpandedSQL expanded = expandInLists(sql, params);
+      return expanded != null
+          ? expanded
+          : new ExpandedSQL(new String[] {sql}, new Object[][] {params});
+    }
+    return expandInLists(sql, params);
+  }
+
+  private static ExpandedSQL expandInLists(String sql, Object[] params) throws SQLException {
+
+    if (params == null) {
+      return null;
+    }
+    int split = -1;
+    boolean found = false;
+    for (int i = 0; i < params.length; i++) {
+      if (params[i] instanceof Collection) {
+        found = true;
+        int size = ((Collection<?>) params[i]).size();
+        if (size == 0) {
+          throw new SQLException("Parameter " + (i + 1) + " is an empty IN list: " + sql);
+        }
+        if (size > MAX_BUCKET) {
+          if (split >= 0) {
+            throw new SQLException(
+                "Only one IN list may be longer than " + MAX_BUCKET + " values: " + sql);
+          }
+          split = i;
+        }
+      }
+    }
+    if (!found) {
+      return null;
+    }
+
+    NamedSQL namedSQL = NamedSQL.forSQL(sql);
+    if (!namedSQL.getParameterNames().isEmpty()) {
+      throw new SQLException("IN lists need SQL with either ? or named parameters: " + sql);
+    }
+    if (namedSQL.getPlaceholders().length != params.length) {
+      throw new SQLException(
+          "Wrong number of parameters: expected "
+              + namedSQL.getPlaceholders().length
+              + ", was given "
+              + params.length);
+    }
+
+    if (split < 0) {
+      Object[][] expanded = new Object[1][];
+      return new ExpandedSQL(new String[] {expand(sql, namedSQL, params, expanded, 0)}, expanded);
+    }
+
+    List<?> values = new ArrayList<Object>((Collection<?>) params[split]);
+    int chunks = (values.size() + MAX_BUCKET - 1) / MAX_BUCKET;
+    String[] sqls = new String[chunks];
+    Object[][] chunkParams = new Object[chunks][];
+    Object[] chunk = params.clone();
+    for (int c = 0; c < chunks; c++) {
+      chunk[split] = values.subList(c * MAX_BUCKET, Math.min(values.size(), (c + 1) * MAX_BUCKET));
+      sqls[c] = expand(sql, namedSQL, chunk, chunkParams, c);
+    }
+    return new ExpandedSQL(sqls, chunkParams);
+  }
+
+  /**
+   * @return the SQL for the given parameters, whose Collections are flattened into expanded[index]
+   */
+  private static String expand(
+      String sql, NamedSQL namedSQL, Object[] params, Object[][] expanded, int index) {
+
+    int[] buckets = new int[params.length];
+    int total = 0;
+    for (int i = 0; i < params.length; i++) {
+      buckets[i] = params[i] instanceof Collection ? bucket(((Collection<?>) params[i]).size()) : 1;
+      total += buckets[i];
+    }
+
+    Object[] flat = new Object[total];
+    int n = 0;
+    for (int i = 0; i < params.length; i++) {
+      if (params[i] instanceof Collection) {
+        Object last = null;
+        for (Object value : (Collection<?>) params[i]) {
+          flat[n++] = value;
+          last = value;
+        }
+        int end = n - ((Collection<?>) params[i]).size() + buckets[i];
+        while (n < end) {
+          flat[n++] = last;
+        }
+      } else {
+        flat[n++] = params[i];
+      }
+    }
+    expanded[index] = flat;
+
+    ExpandedKey key = new ExpandedKey(sql, buckets);
+    String expandedSql = EXPANDED_SQL.get(key);
+    if (expandedSql == null) {
+      StringBuilder sb = new StringBuilder(sql.length() + total * 3);
+      int[] placeholders = namedSQL.getPlaceholders();
+      int copied = 0;
+      for (int i = 0; i < placeholders.length; i++) {
+        sb.append(sql, copied, placeholders[i]).append('?');
+        for (int j = 1; j < buckets[i]; j++) {
+          sb.append(", ?");
+        }
+        copied = placeholders[i] + 1;
+      }
+      sb.append(sql, copied, sql.length());
+      expandedSql = sb.toString();
+      if (EXPANDED_SQL.size() < NamedSQL.MAX_CACHED) {
+        EXPANDED_SQL.putIfAbsent(key, expandedSql);
+      }
+    }
+    return expandedSql;
+  }
+
+  /**
+   * @return the smallest power of two not less than size
+   */
+  static int bucket(int size) {
+
+    return size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+  }
+
+  /**
+   * @return the number of executions
+   */
+  int size() {
+
+    return sqls.length;
+  }
+
+  /**
+   * @return the expanded SQL of an execution
+   */
+  String getSql(int chunk) {
+
+    return sqls[chunk];
+  }
+
+  /**
+   * @return the expanded parameters of an execution
+   */
+  Object[] getParams(int chunk) {
+
+    return params[chunk];
+  }
+
+  /**
+   * Merges the result of a later chunk into the results so far: Lists and arrays are concatenated,
+   * Maps combined and counts of rows, i.e. update counts and the rows visited by row handlers,
+   * added up. Only results made of one part per row can be merged, not aggregates such as MAX(...).
+   *
+   * @param merged The results so far, or null for the first chunk
+   * @param result The result of the next chunk
+   * @return the merged results
+   * @throws SQLException if results of this type cannot be merged
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  static Object merge(Object merged, Object result) throws SQLException {
+
+    if (merged == null) {
+      return result instanceof List ? new ArrayList<Object>((List<?>) result) : result;
+    }
+    if (result == null) {
+      return merged;
+    }
+    if (merged instanceof List) {
+      ((List<Object>) merged).addAll((List<?>) result);
+    } else if (merged instanceof Map) {
+      ((Map) merged).putAll((Map) result);
+    } else if (merged instanceof LongObjectHashMap) {
+      final LongObjectHashMap<Object> target = (LongObjectHashMap<Object>) merged;
+      ((LongObjectHashMap<Object>) result)
+          .forEach(
+              new LongObjectHashMap.EntryVisitor<Object>() {
+
+                @Override
+                public void visit(long key, Object value) {
+
+                  target.put(key, value);
+                }
+              });
+    } else if (merged instanceof Long) {
+      return (Long) merged + (Long) result;
+    } else if (merged instanceof Integer) {
+      return (Integer) merged + (Integer) result;
+    } else if (merged instanceof long[]) {
+      long[] a = (long[]) merged;
+      long[] b = (long[]) result;
+      long[] c = Arrays.copyOf(a, a.length + b.length);
+      System.arraycopy(b, 0, c, a.length, b.length);
+      return c;
+    } else if (merged instanceof int[]) {
+      int[] a = (int[]) merged;
+      int[] b = (int[]) result;
+      int[] c = Arrays.copyOf(a, a.length + b.length);
+      System.arraycopy(b, 0, c, a.length, b.length);
+      return c;
+    } else if (merged instanceof double[]) {
+      double[] a = (double[]) merged;
+      double[] b = (double[]) result;
+      double[] c = Arrays.copyOf(a, a.length + b.length);
+      System.arraycopy(b, 0, c, a.length, b.length);
+      return c;
+    } else {
+      throw new SQLException(
+          "Cannot merge "
+              + merged.getClass().getSimpleName()
+              + " results of an IN list longer than "
+              + MAX_BUCKET
+              + " values");
+    }
+    return merged;
+  }
+
+  private static final class ExpandedKey {
+
+    private final String sql;
+
+    private final int[] buckets;
+
+    private final int hash;
+
+    private ExpandedKey(String sql, int[] buckets) {
+
+      this.sql = sql;
+      this.buckets = buckets;
+      this.hash = sql.hashCode() * 31 + Arrays.hashCode(buckets);
+    }
+
+    @Override
+    public int hashCode() {
+
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+      if (!(o instanceof ExpandedKey)) {
+        return false;
+      }
+      ExpandedKey other = (ExpandedKey) o;
+      return Arrays.equals(buckets, other.buckets) && sql.equals(other.sql);
+    }
+  }
+}
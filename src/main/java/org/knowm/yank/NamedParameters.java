@@ -0,0 +1,212 @@
+package org.knowm.yank;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.knowm.yank.annotations.FieldAccess;
+
+/**
+ * Values for the named parameters of an SQL statement, e.g. :title and :price in
+ *
+ * <pre>
+ * UPDATE BOOKS SET PRICE = :price WHERE TITLE = :title
+ * </pre>
+ *
+ * taken from a Map or from the properties of a Bean. Pass them wherever Yank takes the replacement
+ * parameters of a statement, for inline SQL and SQL Keys alike:
+ *
+ * <pre>
+ * Yank.execute(sql, NamedParameters.of(values));
+ * Yank.executeSQLKey("BOOKS_UPDATE_PRICE", NamedParameters.ofBean(book));
+ * </pre>
+ *
+ * Each distinct SQL statement is rewritten to positional ?s only once. Bean properties are matched
+ * to parameter names ignoring case and underscores and read through getters, or through fields for
+ * classes annotated with {@link FieldAccess}. The getters of each Bean class are looked up once.
+ *
+ * @author timmolter
+ */
+public final class NamedParameters {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  /** The getters of each Bean class looked up so far, by folded property name */
+  private static final ConcurrentMap<Class<?>, Map<String, MethodHandle>> GETTERS =
+      new ConcurrentHashMap<Class<?>, Map<String, MethodHandle>>();
+
+  private final Map<String, ?> values;
+
+  private final Object bean;
+
+  private NamedParameters(Map<String, ?> values, Object bean) {
+
+    this.values = values;
+    this.bean = bean;
+  }
+
+  /**
+   * @param values The parameter values by name, without the colon
+   * @return the replacement parameters to pass to Yank
+   */
+  public static Object[] of(Map<String, ?> values) {
+
+    if (values == null) {
+      throw new IllegalArgumentException("values cannot be null");
+    }
+    return new Object[] {new NamedParameters(values, null)};
+  }
+
+  /**
+   * @param bean The Bean whose properties are the parameter values
+   * @return the replacement parameters to pass to Yank
+   */
+  public static Object[] ofBean(Object bean) {
+
+    if (bean == null) {
+      throw new IllegalArgumentException("bean cannot be null");
+    }
+    return new Object[] {new NamedParameters(null, bean)};
+  }
+
+  /**
+   * @param params The replacement parameters given to Yank
+   * @return the named parameters, or null if params are positional
+   */
+  static NamedParameters in(Object[] params) {
+
+    return params != null && params.length == 1 && params[0] instanceof NamedParameters
+        ? (NamedParameters) params[0]
+        : null;
+  }
+
+  /**
+   * @param name The parameter name
+   * @return the value of the parameter
+   * @throws SQLException if there is no value for the name
+   */
+  Object get(String name) throws SQLException {
+
+    if (values != null) {
+      Object value = values.get(name);
+      if (value == null && !values.containsKey(name)) {
+        throw new SQLException("No value for named parameter :" + name);
+      }
+      return value;
+    }
+
+    Map<String, MethodHandle> getters = getters(bean.getClass());
+    String folded = fold(name);
+    MethodHandle getter = getters.get(folded);
+    if (getter == null && folded.indexOf('_') >= 0) {
+      getter = getters.get(folded.replace("_", ""));
+    }
+    if (getter == null) {
+      throw new SQLException(
+          "No property for named parameter :" + name + " in " + bean.getClass().getName());
+    }
+    try {
+      return getter.invokeExact(bean);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new SQLException("Cannot read :" + name + " from " + bean.getClass().getName(), t);
+    }
+  }
+
+  /** Removes the cached getters of all Bean classes */
+  static void clearCache() {
+
+    GETTERS.clear();
+  }
+
+  private static Map<String, MethodHandle> getters(Class<?> type) throws SQLException {
+
+    Map<String, MethodHandle> getters = GETTERS.get(type);
+    if (getters == null) {
+      getters =
+          type.isAnnotationPresent(FieldAccess.class) ? fieldGetters(type) : beanGetters(type);
+      GETTERS.putIfAbsent(type, getters);
+    }
+    return getters;
+  }
+
+  private static Map<String, MethodHandle> beanGetters(Class<?> type) throws SQLException {
+
+    BeanInfo beanInfo;
+    try {
+      beanInfo = Introspector.getBeanInfo(type, Object.class);
+    } catch (IntrospectionException e) {
+      throw new SQLException("Cannot introspect " + type.getName() + ": " + e.getMessage());
+    }
+
+    Map<String, MethodHandle> getters = new HashMap<String, MethodHandle>();
+    for (PropertyDescriptor prop : beanInfo.getPropertyDescriptors()) {
+      Method getter = prop.getReadMethod();
+      if (getter == null) {
+        continue;
+      }
+      makeAccessible(getter);
+      try {
+        getters.put(fold(prop.getName()), LOOKUP.unreflect(getter).asType(GETTER_TYPE));
+      } catch (IllegalAccessException e) {
+        throw new SQLException("Cannot read " + prop.getName() + ": " + e.getMessage());
+      }
+    }
+    return Collections.unmodifiableMap(getters);
+  }
+
+  private static Map<String, MethodHandle> fieldGetters(Class<?> type) throws SQLException {
+
+    Map<String, MethodHandle> getters = new HashMap<String, MethodHandle>();
+    for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+      for (Field field : c.getDeclaredFields()) {
+        String key = fold(field.getName());
+        if (Modifier.isStatic(field.getModifiers())
+            || field.isSynthetic()
+            || getters.containsKey(key)) {
+          continue;
+        }
+        makeAccessible(field);
+        try {
+          getters.put(key, LOOKUP.unreflectGetter(field).asType(GETTER_TYPE));
+        } catch (IllegalAccessException e) {
+          throw new SQLException("Cannot read " + field.getName() + ": " + e.getMessage());
+        }
+      }
+    }
+    return Collections.unmodifiableMap(getters);
+  }
+
+  private static void makeAccessible(AccessibleObject member) {
+
+    try {
+      member.setAccessible(true);
+    } catch (RuntimeException e) {
+      // not permitted, the MethodHandle lookup will then do the access check
+    }
+  }
+
+  private static String fold(String name) {
+
+    return name.toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,216 @@
+package org.knowm.yank;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An SQL statement with named parameters such as :title, parsed into the positional form JDBC
+ * understands plus the name of each ? in order. A name used twice becomes two ?s. String literals,
+ * quoted identifiers, comments and :: casts are left alone.
+ *
+ * <p>Each distinct SQL statement is parsed once and cached, up to {@link #MAX_CACHED} statements;
+ * the statements of the SQL properties are parsed when they are added. Immutable.
+ *
+ * @author timmolter
+ */
+final class NamedSQL {
+
+  /** The number of parsed statements kept, beyond which statements are parsed on every call */
+  static final int MAX_CACHED = 4096;
+
+  private static final ConcurrentMap<String, NamedSQL> CACHE =
+      new ConcurrentHashMap<String, NamedSQL>();
+
+  /** The SQL with each named parameter replaced by a ? */
+  private final String sql;
+
+  /** The name of each ?, or null if the SQL has no named parameters */
+  private final String[] parameterNames;
+
+  /** The number of ?s in the original SQL */
+  private final int positionalCount;
+
+  /** The index of each ? in sql */
+  private final int[] placeholders;
+
+  private NamedSQL(String sql, String[] parameterNames, int positionalCount, int[] placeholders) {
+
+    this.sql = sql;
+    this.parameterNames = parameterNames;
+    this.positionalCount = positionalCount;
+    this.placeholders = placeholders;
+  }
+
+  /**
+   * @param sql The SQL statement
+   * @return the parsed statement, from the cache if it was parsed before
+   */
+  static NamedSQL forSQL(String sql) {
+
+    NamedSQL namedSQL = CACHE.get(sql);
+    if (namedSQL == null) {
+      namedSQL = parse(sql);
+      if (CACHE.size() < MAX_CACHED) {
+        CACHE.putIfAbsent(sql, namedSQL);
+      }
+    }
+    return namedSQL;
+  }
+
+  /**
+   * Parses an SQL statement without caching it.
+   *
+   * @param sql The SQL statement
+   * @return the parsed statement
+   */
+  static NamedSQL parse(String sql) {
+
+    StringBuilder positional = null;
+    List<String> names = null;
+    int positionalCount = 0;
+    int[] placeholders = new int[8];
+    int placeholderCount = 0;
+
+    int length = sql.length();
+    int copied = 0;
+    int i = 0;
+    while (i < length) {
+      char c = sql.charAt(i);
+      if (c == '\'' || c == '"') {
+        i = skipQuoted(sql, i, c);
+      } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+        int end = sql.indexOf('\n', i);
+        i = end < 0 ? length : end + 1;
+      } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+        int end = sql.indexOf("*/", i + 2);
+        i = end < 0 ? length : end + 2;
+      } else if (c == ':' && i + 1 < length && sql.charAt(i + 1) == ':') {
+        i += 2;
+      } else if (c == ':'
+          && i + 1 < length
+          && Character.isJavaIdentifierStart(sql.charAt(i + 1))
+          && (i == 0 || !Character.isJavaIdentifierPart(sql.charAt(i - 1)))) {
+        int end = i + 2;
+        while (end < length && Character.isJavaIdentifierPart(sql.charAt(end))) {
+          end++;
+        }
+        if (positional == null) {
+          positional = new StringBuilder(length);
+          names = new ArrayList<String>();
+        }
+        positional.append(sql, copied, i);
+        placeholders = add(placeholders, placeholderCount++, positional.length());
+        positional.append('?');
+        names.add(sql.substring(i + 1, end));
+        copied = end;
+        i = end;
+      } else {
+        if (c == '?') {
+          positionalCount++;
+          int offset = positional == null ? i : positional.length() + i - copied;
+          placeholders = add(placeholders, placeholderCount++, offset);
+        }
+        i++;
+      }
+    }
+
+    placeholders = Arrays.copyOf(placeholders, placeholderCount);
+    if (positional == null) {
+      return new NamedSQL(sql, null, positionalCount, placeholders);
+    }
+    positional.append(sql, copied, length);
+    return new NamedSQL(
+        positional.toString(), names.toArray(new String[0]), positionalCount, placeholders);
+  }
+
+  private static int[] add(int[] array, int index, int value) {
+
+    if (index == array.length) {
+      array = Arrays.copyOf(array, array.length * 2);
+    }
+    array[index] = value;
+    return array;
+  }
+
+  /**
+   * @return the index after the closing quote of the literal or identifier starting at start, where
+   *     a doubled quote is an escaped quote
+   */
+  private static int skipQuoted(String sql, int start, char quote) {
+
+    int i = start + 1;
+    while (i < sql.length()) {
+      if (sql.charAt(i) == quote) {
+        if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+          i += 2;
+          continue;
+        }
+        return i + 1;
+      }
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Looks up the value of each ? in the named parameters.
+   *
+   * @param values The named parameter values
+   * @return the positional parameters
+   * @throws SQLException if the SQL has no named parameters or mixes them with ?s, or a value is
+   *     missing
+   */
+  Object[] bind(NamedParameters values) throws SQLException {
+
+    if (parameterNames == null) {
+      throw new SQLException("Named parameters given for SQL without any: " + sql);
+    }
+    if (positionalCount > 0) {
+      throw new SQLException("SQL mixes ? and named parameters: " + sql);
+    }
+    Object[] params = new Object[parameterNames.length];
+    for (int i = 0; i < params.length; i++) {
+      params[i] = values.get(parameterNames[i]);
+    }
+    return params;
+  }
+
+  /**
+   * @return the SQL with each named parameter replaced by a ?
+   */
+  String getSql() {
+
+    return sql;
+  }
+
+  /**
+   * @return the index of each ? in the positional SQL, not to be modified
+   */
+  int[] getPlaceholders() {
+
+    return placeholders;
+  }
+
+  /**
+   * @return the number of parameters of the positional SQL
+   */
+  int getParameterCount() {
+
+    return placeholders.length;
+  }
+
+  /**
+   * @return the name of each ? in order, empty if the SQL has no named parameters
+   */
+  List<String> getParameterNames() {
+
+    return parameterNames == null
+        ? Collections.<String>emptyList()
+        : Collections.unmodifiableList(Arrays.asList(parameterNames));
+  }
+}
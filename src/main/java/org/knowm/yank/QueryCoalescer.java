@@ -0,0 +1,97 @@
+package org.knowm.yank;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical queries of the SQL Keys configured with key.coalesce=true share one
+ * execution for one connection pool: the first caller runs the query on its own thread and the
+ * callers arriving while it runs wait for its result instead of taking connections of their own.
+ * Queries are identical if they have the same SQL Key, kind of result and replacement parameters.
+ *
+ * <p>Nothing is kept once the query has returned, so unlike the {@link ResultCache} a coalesced
+ * result is never stale. A failure is rethrown to every waiting caller.
+ *
+ * <p>Coalesced results are shared between callers: Lists are returned unmodifiable, but the Beans
+ * and arrays in them must not be modified either.
+ *
+ * @author timmolter
+ */
+final class QueryCoalescer {
+
+  private final ConcurrentMap<List<Object>, CompletableFuture<Object>> inFlight =
+      new ConcurrentHashMap<List<Object>, CompletableFuture<Object>>();
+
+  private final LongAdder executions = new LongAdder();
+
+  private final LongAdder coalesced = new LongAdder();
+
+  /**
+   * Returns the result of a query running with the same key, or runs it.
+   *
+   * @param statement The SQL statement of the key
+   * @param kind What the query returns, e.g. the Bean class
+   * @param params The replacement parameters
+   * @param query Runs the query
+   * @return the result
+   */
+  <T> T get(SQLStatement statement, Object kind, Object[] params, Supplier<T> query) {
+
+    List<Object> resultKey = ResultCache.key(statement, kind, params);
+    if (resultKey == null) {
+      executions.increment();
+      return query.get();
+    }
+    List<Object> key = Arrays.<Object>asList(statement.getKey(), resultKey);
+
+    CompletableFuture<Object> execution = new CompletableFuture<Object>();
+    CompletableFuture<Object> running = inFlight.putIfAbsent(key, execution);
+    if (running != null) {
+      coalesced.increment();
+      return await(running);
+    }
+
+    executions.increment();
+    try {
+      T value = ResultCache.shareable(query.get());
+      execution.complete(value);
+      return value;
+    } catch (RuntimeException | Error e) {
+      execution.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, execution);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T await(CompletableFuture<Object> running) {
+
+    try {
+      return (T) running.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * @return a snapshot of the counters
+   */
+  CoalescingStats getStats() {
+
+    return new CoalescingStats(executions.sum(), coalesced.sum(), inFlight.size());
+  }
+}
@@ -0,0 +1,246 @@
+package org.knowm.yank;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * Statement settings for a single call: fetch size, max rows, query timeout and the ResultSet type
+ * and concurrency. Zero means "driver default" for the numeric settings. Instances are immutable
+ * and equal if their settings are; create them with a {@link Builder}.
+ *
+ * <p>Options can also be configured per SQL Key in the SQL properties, with the SQL Key followed by
+ * <code>.fetchSize</code>, <code>.maxRows</code> or <code>.queryTimeout</code>, e.g. <code>
+ * BOOKS_SELECT_ALL.fetchSize=1000</code>.
+ *
+ * @author timmolter
+ */
+public final class QueryOptions {
+
+  /** Driver defaults with a forward-only, read-only ResultSet */
+  public static final QueryOptions DEFAULT = new Builder().build();
+
+  private final int fetchSize;
+  private final int maxRows;
+  private final int queryTimeout;
+  private final int resultSetType;
+  private final int resultSetConcurrency;
+
+  private QueryOptions(Builder builder) {
+
+    this.fetchSize = builder.fetchSize;
+    this.maxRows = builder.maxRows;
+    this.queryTimeout = builder.queryTimeout;
+    this.resultSetType = builder.resultSetType;
+    this.resultSetConcurrency = builder.resultSetConcurrency;
+  }
+
+  /**
+   * Reads the options configured for a SQL Key.
+   *
+   * @param sqlProperties The SQL properties
+   * @param sqlKey The SQL Key
+   * @return the configured options, or {@link #DEFAULT} if there are none
+   * @throws IllegalArgumentException if an option is not a number
+   */
+  static QueryOptions forSQLKey(Properties sqlProperties, String sqlKey) {
+
+    String fetchSize = sqlProperties.getProperty(sqlKey + ".fetchSize");
+    String maxRows = sqlProperties.getProperty(sqlKey + ".maxRows");
+    String queryTimeout = sqlProperties.getProperty(sqlKey + ".queryTimeout");
+    if (fetchSize == null && maxRows == null && queryTimeout == null) {
+      return DEFAULT;
+    }
+
+    Builder builder = new Builder();
+    builder.fetchSize(parse(sqlKey + ".fetchSize", fetchSize));
+    builder.maxRows(parse(sqlKey + ".maxRows", maxRows));
+    builder.queryTimeout(parse(sqlKey + ".queryTimeout", queryTimeout));
+    return builder.build();
+  }
+
+  private static int parse(String key, String value) {
+
+    if (value == null) {
+      return 0;
+    }
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(key + " must be a number, but is " + value);
+    }
+  }
+
+  /**
+   * Applies the fetch size, max rows and query timeout to a statement. The ResultSet type and
+   * concurrency have to be given when the statement is prepared.
+   *
+   * @param statement The statement
+   * @throws SQLException if a database access error occurs
+   */
+  void applyTo(Statement statement) throws SQLException {
+
+    if (fetchSize > 0) {
+      statement.setFetchSize(fetchSize);
+    }
+    if (maxRows > 0) {
+      statement.setMaxRows(maxRows);
+    }
+    if (queryTimeout > 0) {
+      statement.setQueryTimeout(queryTimeout);
+    }
+  }
+
+  public int getFetchSize() {
+
+    return fetchSize;
+  }
+
+  public int getMaxRows() {
+
+    return maxRows;
+  }
+
+  public int getQueryTimeout() {
+
+    return queryTimeout;
+  }
+
+  public int getResultSetType() {
+
+    return resultSetType;
+  }
+
+  public int getResultSetConcurrency() {
+
+    return resultSetConcurrency;
+  }
+
+  @Override
+  public int hashCode() {
+
+    int hash = fetchSize;
+    hash = 31 * hash + maxRows;
+    hash = 31 * hash + queryTimeout;
+    hash = 31 * hash + resultSetType;
+    return 31 * hash + resultSetConcurrency;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+
+    if (!(o instanceof QueryOptions)) {
+      return false;
+    }
+    QueryOptions other = (QueryOptions) o;
+    return fetchSize == other.fetchSize
+        && maxRows == other.maxRows
+        && queryTimeout == other.queryTimeout
+        && resultSetType == other.resultSetType
+        && resultSetConcurrency == other.resultSetConcurrency;
+  }
+
+  @Override
+  public String toString() {
+
+    return "QueryOptions [fetchSize="
+        + fetchSize
+        + ", maxRows="
+        + maxRows
+        + ", queryTimeout="
+        + queryTimeout
+        + ", resultSetType="
+        + resultSetType
+        + ", resultSetConcurrency="
+        + resultSetConcurrency
+        + "]";
+  }
+
+  /** Builds QueryOptions */
+  public static final class Builder {
+
+    private int fetchSize = 0;
+    private int maxRows = 0;
+    private int queryTimeout = 0;
+    private int resultSetType = ResultSet.TYPE_FORWARD_ONLY;
+    private int resultSetConcurrency = ResultSet.CONCUR_READ_ONLY;
+
+    /** Starts from the driver defaults with a forward-only, read-only ResultSet */
+    public Builder() {}
+
+    /**
+     * Starts from existing options.
+     *
+     * @param options The options to copy
+     */
+    public Builder(QueryOptions options) {
+
+      this.fetchSize = options.fetchSize;
+      this.maxRows = options.maxRows;
+      this.queryTimeout = options.queryTimeout;
+      this.resultSetType = options.resultSetType;
+      this.resultSetConcurrency = options.resultSetConcurrency;
+    }
+
+    /**
+     * @param fetchSize The number of rows the driver should fetch per round trip, 0 for the driver
+     *     default
+     */
+    public Builder fetchSize(int fetchSize) {
+
+      this.fetchSize = requireNonNegative("fetchSize", fetchSize);
+      return this;
+    }
+
+    /**
+     * @param maxRows The maximum number of rows returned, 0 for no limit
+     */
+    public Builder maxRows(int maxRows) {
+
+      this.maxRows = requireNonNegative("maxRows", maxRows);
+      return this;
+    }
+
+    /**
+     * @param queryTimeout The number of seconds the driver waits for the statement to execute, 0
+     *     for no limit
+     */
+    public Builder queryTimeout(int queryTimeout) {
+
+      this.queryTimeout = requireNonNegative("queryTimeout", queryTimeout);
+      return this;
+    }
+
+    /**
+     * @param resultSetType One of the ResultSet.TYPE_* constants
+     */
+    public Builder resultSetType(int resultSetType) {
+
+      this.resultSetType = resultSetType;
+      return this;
+    }
+
+    /**
+     * @param resultSetConcurrency One of the ResultSet.CONCUR_* constants
+     */
+    public Builder resultSetConcurrency(int resultSetConcurrency) {
+
+      this.resultSetConcurrency = resultSetConcurrency;
+      return this;
+    }
+
+    public QueryOptions build() {
+
+      return new QueryOptions(this);
+    }
+
+    private static int requireNonNegative(String name, int value) {
+
+      if (value < 0) {
+        throw new IllegalArgumentException(name + " must not be negative, but is " + value);
+      }
+      return value;
+    }
+  }
+}
@@ -0,0 +1,329 @@
+package org.knowm.yank;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caches the results of the SQL Keys configured with a {@link ResultCachePolicy} for one connection
+ * pool, keyed by SQL Key, kind of result and replacement parameters. Each SQL Key has its own LRU
+ * map holding at most its cacheMaxWeight rows, whose entries expire after its cacheTtl.
+ *
+ * <p>execute, insert and executeBatch calls of the pool invalidate the keys reading the table they
+ * write, and statements whose table cannot be told, e.g. DDL, invalidate all keys. Keys whose
+ * tables cannot be told, e.g. comma joins, are invalidated by every write. A result loaded while
+ * its key was invalidated is not cached.
+ *
+ * <p>Cached results are shared between callers: Lists are returned unmodifiable, but the Beans and
+ * arrays in them must not be modified either.
+ *
+ * @author timmolter
+ */
+final class ResultCache {
+
+  private final ConcurrentMap<String, Segment> segments = new ConcurrentHashMap<String, Segment>();
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder evictions = new LongAdder();
+
+  private final LongAdder invalidations = new LongAdder();
+
+  /**
+   * Returns the cached result of a query, or runs it and caches its result.
+   *
+   * @param statement The SQL statement of the key, which must have a cache policy
+   * @param kind What the query returns, e.g. a List of "bean" and the Bean class, since one key can
+   *     be queried for different kinds of results
+   * @param params The replacement parameters
+   * @param query Runs the query
+   * @return the result
+   */
+  <T> T get(SQLStatement statement, Object kind, Object[] params, Supplier<T> query) {
+
+    List<Object> key = key(statement, kind, params);
+    if (key == null) {
+      misses.increment();
+      return query.get();
+    }
+
+    Segment segment = segment(statement);
+    long generation;
+    synchronized (segment) {
+      Entry entry = segment.entries.get(key);
+      if (entry != null) {
+        if (entry.expiresAt - System.nanoTime() > 0) {
+          hits.increment();
+          @SuppressWarnings("unchecked")
+          T value = (T) entry.value;
+          return value;
+        }
+        segment.remove(key, entry);
+        evictions.increment();
+      }
+      generation = segment.generation;
+    }
+
+    misses.increment();
+    T value = shareable(query.get());
+    if (value == null) {
+      return null;
+    }
+
+    Entry entry =
+        new Entry(
+            value,
+            weigh(value),
+            System.nanoTime() + statement.getCachePolicy().getTtlMillis() * 1000000L);
+    synchronized (segment) {
+      if (segment.generation == generation) {
+        segment.put(key, entry);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Invalidates the keys reading the table written by an SQL statement.
+   *
+   * @param sql The SQL statement of an execute, insert or executeBatch call
+   */
+  void invalidateWrites(String sql) {
+
+    if (segments.isEmpty()) {
+      return;
+    }
+    String table = ResultCachePolicy.writtenTable(sql);
+    if (table == null) {
+      invalidateAll();
+    } else {
+      invalidate(table);
+    }
+  }
+
+  /**
+   * Invalidates the keys reading a table.
+   *
+   * @param table The table name, case-insensitive
+   */
+  void invalidate(String table) {
+
+    String normalized = ResultCachePolicy.normalize(table.trim());
+    for (Segment segment : segments.values()) {
+      if (segment.tables == null || segment.tables.contains(normalized)) {
+        segment.clear();
+        invalidations.increment();
+      }
+    }
+  }
+
+  /** Invalidates all keys */
+  void invalidateAll() {
+
+    for (Segment segment : segments.values()) {
+      segment.clear();
+      invalidations.increment();
+    }
+  }
+
+  /**
+   * @return a snapshot of the counters
+   */
+  ResultCacheStats getStats() {
+
+    long size = 0;
+    long weight = 0;
+    for (Segment segment : segments.values()) {
+      synchronized (segment) {
+        size += segment.entries.size();
+        weight += segment.weight;
+      }
+    }
+    return new ResultCacheStats(
+        hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), size, weight);
+  }
+
+  private Segment segment(SQLStatement statement) {
+
+    final ResultCachePolicy policy = statement.getCachePolicy();
+    Segment segment = segments.get(statement.getKey());
+    if (segment == null || segment.policy != policy) {
+      // first use, or the SQL properties were added again
+      segment =
+          segments.compute(
+              statement.getKey(),
+              (key, current) ->
+                  current == null || current.policy != policy ? new Segment(policy) : current);
+    }
+    return segment;
+  }
+
+  /**
+   * @return the key of a result of an SQL Key, or null if the parameters cannot be compared. The
+   *     key holds copies of Collection parameters, so the caller may change them afterwards.
+   */
+  static List<Object> key(SQLStatement statement, Object kind, Object[] params) {
+
+    if (params == null) {
+      return Arrays.<Object>asList(kind);
+    }
+    NamedParameters named = NamedParameters.in(params);
+    if (named != null) {
+      try {
+        params = NamedSQL.forSQL(statement.getSql()).bind(named);
+      } catch (SQLException e) {
+        // reported by the query
+        return null;
+      }
+    }
+    Object[] key = new Object[params.length + 1];
+    key[0] = kind;
+    for (int i = 0; i < params.length; i++) {
+      Object param = params[i];
+      if (param instanceof SQLArray) {
+        return null;
+      }
+      if (param instanceof byte[]) {
+        param = new ByteArrayKey((byte[]) param);
+      } else if (param instanceof Collection) {
+        param = new ArrayList<Object>((Collection<?>) param);
+      }
+      key[i + 1] = param;
+    }
+    return Arrays.asList(key);
+  }
+
+  /**
+   * @return the result, with Lists made unmodifiable since the result is shared between callers
+   */
+  @SuppressWarnings("unchecked")
+  static <T> T shareable(T value) {
+
+    if (value instanceof List) {
+      return (T) Collections.unmodifiableList((List<?>) value);
+    }
+    return value;
+  }
+
+  private static long weigh(Object value) {
+
+    if (value instanceof Collection) {
+      return Math.max(1, ((Collection<?>) value).size());
+    }
+    if (value instanceof Map) {
+      return Math.max(1, ((Map<?, ?>) value).size());
+    }
+    return 1;
+  }
+
+  /** The cached results of one SQL Key, least recently used first */
+  private final class Segment {
+
+    private final ResultCachePolicy policy;
+
+    /** The tables read by the key, or null if they are not known */
+    private final Set<String> tables;
+
+    private final LinkedHashMap<List<Object>, Entry> entries =
+        new LinkedHashMap<List<Object>, Entry>(16, 0.75f, true);
+
+    private long weight = 0;
+
+    /** Incremented by each invalidation */
+    private long generation = 0;
+
+    private Segment(ResultCachePolicy policy) {
+
+      this.policy = policy;
+      this.tables = policy.getTables();
+    }
+
+    /** Called holding the lock */
+    private void put(List<Object> key, Entry entry) {
+
+      Entry old = entries.put(key, entry);
+      if (old != null) {
+        weight -= old.weight;
+      }
+      weight += entry.weight;
+
+      Iterator<Entry> eldest = entries.values().iterator();
+      while (weight > policy.getMaxWeight() && eldest.hasNext()) {
+        Entry evicted = eldest.next();
+        if (evicted == entry) {
+          // a single result heavier than the limit is still kept until the next put
+          break;
+        }
+        eldest.remove();
+        weight -= evicted.weight;
+        evictions.increment();
+      }
+    }
+
+    /** Called holding the lock */
+    private void remove(List<Object> key, Entry entry) {
+
+      entries.remove(key);
+      weight -= entry.weight;
+    }
+
+    private synchronized void clear() {
+
+      entries.clear();
+      weight = 0;
+      generation++;
+    }
+  }
+
+  private static final class Entry {
+
+    private final Object value;
+
+    private final long weight;
+
+    private final long expiresAt;
+
+    private Entry(Object value, long weight, long expiresAt) {
+
+      this.value = value;
+      this.weight = weight;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  /** A byte[] parameter compared by content */
+  private static final class ByteArrayKey {
+
+    private final byte[] bytes;
+
+    private ByteArrayKey(byte[] bytes) {
+
+      this.bytes = bytes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+      return o instanceof ByteArrayKey && Arrays.equals(bytes, ((ByteArrayKey) o).bytes);
+    }
+
+    @Override
+    public int hashCode() {
+
+      return Arrays.hashCode(bytes);
+    }
+  }
+}
@@ -0,0 +1,192 @@
+package org.knowm.yank;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * How the results of an SQL Key are cached, configured in the SQL properties with the SQL Key
+ * followed by:
+ *
+ * <ul>
+ *   <li><code>.cacheTtl</code>: the seconds a result is kept, which enables caching
+ *   <li><code>.cacheMaxWeight</code>: the number of rows kept over all parameters of the key, least
+ *       recently used first out (default 10000)
+ *   <li><code>.cacheTables</code>: the comma separated tables whose writes invalidate the results,
+ *       by default the tables after FROM and JOIN in the SQL. If a FROM clause lists tables
+ *       separated by commas, which are not told apart reliably, any write invalidates the results
+ *       unless the tables are configured.
+ * </ul>
+ *
+ * Immutable.
+ *
+ * @author timmolter
+ */
+final class ResultCachePolicy {
+
+  static final int DEFAULT_MAX_WEIGHT = 10000;
+
+  /** A table name after FROM or JOIN, optionally schema qualified and quoted */
+  private static final Pattern READ_TABLE =
+      Pattern.compile(
+          "\\b(?:FROM|JOIN)\\s+([\\w$]+|\"[^\"]+\"|`[^`]+`|\\[[^\\]]+\\])"
+              + "(?:\\.([\\w$]+|\"[^\"]+\"|`[^`]+`|\\[[^\\]]+\\]))?",
+          Pattern.CASE_INSENSITIVE);
+
+  /** A comma after the table matched by READ_TABLE and its optional alias, i.e. a comma join */
+  private static final Pattern NEXT_TABLE =
+      Pattern.compile("\\G(?:\\s+(?:AS\\s+)?[\\w$]+)?\\s*,", Pattern.CASE_INSENSITIVE);
+
+  /** The table written by an INSERT, UPDATE, DELETE, MERGE, REPLACE or TRUNCATE */
+  private static final Pattern WRITTEN_TABLE =
+      Pattern.compile(
+          "^\\s*(?:INSERT\\s+(?:IGNORE\\s+)?INTO|UPDATE|DELETE\\s+FROM|DELETE|MERGE\\s+INTO"
+              + "|REPLACE\\s+INTO|UPSERT\\s+INTO|TRUNCATE\\s+TABLE|TRUNCATE)\\s+"
+              + "([\\w$]+|\"[^\"]+\"|`[^`]+`|\\[[^\\]]+\\])"
+              + "(?:\\.([\\w$]+|\"[^\"]+\"|`[^`]+`|\\[[^\\]]+\\]))?",
+          Pattern.CASE_INSENSITIVE);
+
+  private final long ttlMillis;
+
+  private final long maxWeight;
+
+  private final Set<String> tables;
+
+  ResultCachePolicy(long ttlMillis, long maxWeight, Set<String> tables) {
+
+    this.ttlMillis = ttlMillis;
+    this.maxWeight = maxWeight;
+    this.tables = tables;
+  }
+
+  /**
+   * Reads the caching configured for a SQL Key.
+   *
+   * @param sqlProperties The SQL properties
+   * @param sqlKey The SQL Key
+   * @param sql The SQL statement of the key
+   * @return the policy, or null if the results of the key are not cached
+   * @throws IllegalArgumentException if an option is not a number
+   */
+  static ResultCachePolicy forSQLKey(Properties sqlProperties, String sqlKey, String sql) {
+
+    String ttl = sqlProperties.getProperty(sqlKey + ".cacheTtl");
+    if (ttl == null) {
+      return null;
+    }
+    long ttlSeconds = parse(sqlKey + ".cacheTtl", ttl);
+    if (ttlSeconds <= 0) {
+      return null;
+    }
+
+    String maxWeight = sqlProperties.getProperty(sqlKey + ".cacheMaxWeight");
+    long weight =
+        maxWeight == null ? DEFAULT_MAX_WEIGHT : parse(sqlKey + ".cacheMaxWeight", maxWeight);
+
+    String tableList = sqlProperties.getProperty(sqlKey + ".cacheTables");
+    Set<String> tables;
+    if (tableList == null) {
+      tables = readTables(sql);
+    } else {
+      tables = new LinkedHashSet<String>();
+      for (String table : tableList.split(",")) {
+        if (!table.trim().isEmpty()) {
+          tables.add(normalize(table.trim()));
+        }
+      }
+    }
+    return new ResultCachePolicy(
+        ttlSeconds * 1000,
+        Math.max(1, weight),
+        tables == null ? null : Collections.unmodifiableSet(tables));
+  }
+
+  private static long parse(String key, String value) {
+
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(key + " must be a number, but is " + value);
+    }
+  }
+
+  /**
+   * @param sql A query
+   * @return the tables after FROM and JOIN, upper case without schema and quotes, or null if a FROM
+   *     clause lists tables separated by commas
+   */
+  static Set<String> readTables(String sql) {
+
+    Set<String> tables = new LinkedHashSet<String>();
+    Matcher matcher = READ_TABLE.matcher(sql);
+    Matcher nextTable = NEXT_TABLE.matcher(sql);
+    while (matcher.find()) {
+      if (matcher.group().regionMatches(true, 0, "FROM", 0, 4)
+          && nextTable.region(matcher.end(), sql.length()).lookingAt()) {
+        return null;
+      }
+      tables.add(normalize(matcher.group(2) == null ? matcher.group(1) : matcher.group(2)));
+    }
+    return tables;
+  }
+
+  /**
+   * @param sql An SQL statement run by execute, insert or executeBatch
+   * @return the table it writes, upper case without schema and quotes, or null if it is not a plain
+   *     INSERT, UPDATE, DELETE, MERGE, REPLACE or TRUNCATE, e.g. DDL or a procedure call
+   */
+  static String writtenTable(String sql) {
+
+    Matcher matcher = WRITTEN_TABLE.matcher(sql);
+    if (!matcher.find()) {
+      return null;
+    }
+    return normalize(matcher.group(2) == null ? matcher.group(1) : matcher.group(2));
+  }
+
+  /**
+   * @param table A table name, optionally schema qualified and quoted
+   * @return the table name upper case without schema and quotes
+   */
+  static String normalize(String table) {
+
+    int dot = table.lastIndexOf('.');
+    if (dot >= 0 && table.indexOf('"') < 0) {
+      table = table.substring(dot + 1);
+    }
+    char first = table.charAt(0);
+    if (first == '"' || first == '`' || first == '[') {
+      table = table.substring(1, table.length() - 1);
+    }
+    return table.toUpperCase(Locale.ROOT);
+  }
+
+  /**
+   * @return the milliseconds a result is kept
+   */
+  long getTtlMillis() {
+
+    return ttlMillis;
+  }
+
+  /**
+   * @return the number of rows kept over all parameters of the key
+   */
+  long getMaxWeight() {
+
+    return maxWeight;
+  }
+
+  /**
+   * @return the tables whose writes invalidate the results, upper case, or null if writes to any
+   *     table do
+   */
+  Set<String> getTables() {
+
+    return tables;
+  }
+}
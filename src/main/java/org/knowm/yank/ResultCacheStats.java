@@ -0,0 +1,108 @@
+package org.knowm.yank;
+
+/**
+ * A snapshot of the counters of the result cache of a connection pool, which caches the results of
+ * the SQL Keys configured with a cacheTtl.
+ *
+ * @author timmolter
+ */
+public final class ResultCacheStats {
+
+  private final long hits;
+
+  private final long misses;
+
+  private final long evictions;
+
+  private final long invalidations;
+
+  private final long size;
+
+  private final long weight;
+
+  ResultCacheStats(
+      long hits, long misses, long evictions, long invalidations, long size, long weight) {
+
+    this.hits = hits;
+    this.misses = misses;
+    this.evictions = evictions;
+    this.invalidations = invalidations;
+    this.size = size;
+    this.weight = weight;
+  }
+
+  /**
+   * @return the number of results taken from the cache
+   */
+  public long getHits() {
+
+    return hits;
+  }
+
+  /**
+   * @return the number of queries run because the cache had no result
+   */
+  public long getMisses() {
+
+    return misses;
+  }
+
+  /**
+   * @return the number of results dropped because they expired or to make room
+   */
+  public long getEvictions() {
+
+    return evictions;
+  }
+
+  /**
+   * @return the number of times the results of an SQL Key were dropped because of a write
+   */
+  public long getInvalidations() {
+
+    return invalidations;
+  }
+
+  /**
+   * @return the number of results cached
+   */
+  public long getSize() {
+
+    return size;
+  }
+
+  /**
+   * @return the number of rows cached
+   */
+  public long getWeight() {
+
+    return weight;
+  }
+
+  /**
+   * @return hits / (hits + misses), or 0 if no cached key has been queried yet
+   */
+  public double getHitRatio() {
+
+    long requests = hits + misses;
+    return requests == 0 ? 0 : (double) hits / requests;
+  }
+
+  @Override
+  public String toString() {
+
+    return "ResultCacheStats [hits="
+        + hits
+        + ", misses="
+        + misses
+        + ", evictions="
+        + evictions
+        + ", invalidations="
+        + invalidations
+        + ", size="
+        + size
+        + ", weight="
+        + weight
+        + "]";
+  }
+}
@@ -0,0 +1,309 @@
+package org.knowm.yank;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.apache.commons.dbutils.DbUtils;
+import org.apache.commons.dbutils.QueryRunner;
+import org.knowm.yank.exceptions.YankSQLException;
+import org.knowm.yank.flow.Publisher;
+import org.knowm.yank.flow.Subscriber;
+import org.knowm.yank.flow.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes the rows of a query as they are requested. Each Subscriber gets its own query, which is
+ * executed on the first request. Rows are read on the pool's AsyncExecutor, at most one fetch size
+ * chunk per task so that long results do not hog its threads, and only while there is demand. The
+ * pooled Connection, the Statement and the ResultSet stay open between requests until the last row
+ * has been sent, the query fails or the Subscription is cancelled. All that time the Subscription
+ * holds one of the executor's permits, so that slow Subscribers make the pool's calls wait for a
+ * permit instead of timing out waiting for a connection.
+ *
+ * <p>Failures are always passed to Subscriber.onError(...) as YankSQLExceptions, whether or not
+ * Yank.setThrowWrappedExceptions(true) was called.
+ *
+ * @author timmolter
+ */
+final class ResultSetPublisher<T> implements Publisher<T> {
+
+  /** The rows read per task if the QueryOptions have no fetch size */
+  static final int DEFAULT_CHUNK_SIZE = 256;
+
+  /** Used to fill in the statement parameters only */
+  private static final QueryRunner PARAMETER_FILLER = new QueryRunner();
+
+  private static final Logger logger = LoggerFactory.getLogger(ResultSetPublisher.class);
+
+  private final String poolName;
+  private final DataSource dataSource;
+  private final AsyncExecutor executor;
+  private final String sql;
+  private final Object[] params;
+  private final QueryOptions options;
+  private final RowMapperFactory<T> rowMappers;
+
+  /**
+   * Constructor
+   *
+   * @param poolName The name of the connection pool, for error messages
+   * @param dataSource The connection pool
+   * @param executor The executor the rows are read on
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param options The statement options
+   * @param rowMappers Creates the RowMapper converting the rows of each query
+   */
+  ResultSetPublisher(
+      String poolName,
+      DataSource dataSource,
+      AsyncExecutor executor,
+      String sql,
+      Object[] params,
+      QueryOptions options,
+      RowMapperFactory<T> rowMappers) {
+
+    this.poolName = poolName;
+    this.dataSource = dataSource;
+    this.executor = executor;
+    this.sql = sql;
+    this.params = params;
+    this.options = options;
+    this.rowMappers = rowMappers;
+  }
+
+  /** Creates the RowMapper of each query, since RowMappers may keep state between rows */
+  interface RowMapperFactory<T> {
+
+    ResultSetSpliterator.RowMapper<T> create();
+  }
+
+  @Override
+  public void subscribe(Subscriber<? super T> subscriber) {
+
+    if (subscriber == null) {
+      throw new NullPointerException("subscriber cannot be null");
+    }
+    RowSubscription subscription = new RowSubscription(subscriber);
+    subscriber.onSubscribe(subscription);
+  }
+
+  /** Reads the rows for one Subscriber. Only one read task runs at a time. */
+  private final class RowSubscription implements Subscription {
+
+    private final Subscriber<? super T> subscriber;
+
+    private final ResultSetSpliterator.RowMapper<T> rowMapper = rowMappers.create();
+
+    private final int chunkSize =
+        options.getFetchSize() > 0 ? options.getFetchSize() : DEFAULT_CHUNK_SIZE;
+
+    /** The rows requested but not sent yet */
+    private final AtomicLong demand = new AtomicLong();
+
+    /** The number of times a read was asked for while one is scheduled or running */
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile boolean cancelled = false;
+
+    private volatile Throwable invalidRequest;
+
+    /** Only accessed by the read task */
+    private boolean done = false;
+
+    private String expandedSql = sql;
+    private Connection connection;
+    private PreparedStatement statement;
+    private ResultSet resultSet;
+
+    /** true from taking a permit of the executor until close() returns it */
+    private boolean holding = false;
+
+    private RowSubscription(Subscriber<? super T> subscriber) {
+
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long n) {
+
+      if (n <= 0) {
+        invalidRequest = new IllegalArgumentException("Requested " + n + " rows, must be positive");
+      } else {
+        long current;
+        long next;
+        do {
+          current = demand.get();
+          next = current + n < 0 ? Long.MAX_VALUE : current + n;
+        } while (!demand.compareAndSet(current, next));
+      }
+      schedule();
+    }
+
+    @Override
+    public void cancel() {
+
+      cancelled = true;
+      schedule();
+    }
+
+    private void schedule() {
+
+      if (wip.getAndIncrement() == 0) {
+        submit();
+      }
+    }
+
+    private void submit() {
+
+      executor
+          .submitRead(
+              () -> {
+                drain();
+                return null;
+              })
+          .exceptionally(
+              t -> {
+                // rejected, or the RowMapper or Subscriber threw, so no read task runs any more
+                if (!done) {
+                  done = true;
+                  close();
+                  subscriber.onError(t);
+                }
+                return null;
+              });
+    }
+
+    private void drain() {
+
+      int missed = 1;
+      while (true) {
+        if (done) {
+          return;
+        }
+        if (cancelled) {
+          done = true;
+          close();
+          return;
+        }
+        if (invalidRequest != null) {
+          fail(invalidRequest);
+          return;
+        }
+
+        long requested = demand.get();
+        if (requested > 0) {
+          try {
+            if (resultSet == null) {
+              open();
+            }
+            long sent = 0;
+            while (sent < requested && sent < chunkSize) {
+              if (cancelled) {
+                break;
+              }
+              if (!resultSet.next()) {
+                done = true;
+                close();
+                subscriber.onComplete();
+                return;
+              }
+              T row = rowMapper.map(resultSet);
+              if (row == null) {
+                // SQL NULL column value, which cannot be sent
+                continue;
+              }
+              try {
+                subscriber.onNext(row);
+              } catch (RuntimeException e) {
+                logger.error("Subscriber failed, cancelling the query: " + sql, e);
+                done = true;
+                close();
+                return;
+              }
+              sent++;
+            }
+            if (requested != Long.MAX_VALUE) {
+              demand.addAndGet(-sent);
+            }
+            if (sent == chunkSize && demand.get() > 0 && !cancelled) {
+              // a full chunk, continue in a new task to let other calls run
+              submit();
+              return;
+            }
+          } catch (SQLException e) {
+            fail(new YankSQLException(e, poolName, expandedSql));
+            return;
+          }
+        }
+
+        missed = wip.addAndGet(-missed);
+        if (missed == 0) {
+          return;
+        }
+      }
+    }
+
+    private void open() throws SQLException {
+
+      if (dataSource == null) {
+        throw new SQLException("No connection pool named " + poolName + " has been set up!");
+      }
+
+      Object[] expandedParams = params;
+      ExpandedSQL expanded = ExpandedSQL.single(sql, params);
+      if (expanded != null) {
+        expandedSql = expanded.getSql(0);
+        expandedParams = expanded.getParams(0);
+      }
+
+      try {
+        executor.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SQLException("Interrupted waiting for a connection", e);
+      }
+      holding = true;
+      connection = dataSource.getConnection();
+      statement =
+          connection.prepareStatement(
+              expandedSql, options.getResultSetType(), options.getResultSetConcurrency());
+      options.applyTo(statement);
+      if (options.getFetchSize() <= 0) {
+        statement.setFetchSize(chunkSize);
+      }
+      PARAMETER_FILLER.fillStatement(statement, SQLArray.resolve(statement, expandedParams));
+      resultSet = statement.executeQuery();
+    }
+
+    private void fail(Throwable t) {
+
+      done = true;
+      close();
+      subscriber.onError(t);
+    }
+
+    /**
+     * Closes the ResultSet and the Statement, returns the Connection to the pool and the permit to
+     * the executor
+     */
+    private void close() {
+
+      if (connection != null) {
+        DbUtils.closeQuietly(connection, statement, resultSet);
+        connection = null;
+        statement = null;
+        resultSet = null;
+      }
+      if (holding) {
+        holding = false;
+        executor.release();
+      }
+    }
+  }
+}
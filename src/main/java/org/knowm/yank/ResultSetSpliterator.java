@@ -0,0 +1,157 @@
+package org.knowm.yank;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.sql.DataSource;
+import org.apache.commons.dbutils.DbUtils;
+import org.apache.commons.dbutils.QueryRunner;
+import org.knowm.yank.exceptions.YankSQLException;
+
+/**
+ * Reads the rows of an open ResultSet one at a time for a Stream. The pooled Connection, the
+ * Statement and the ResultSet stay open until the last row has been read or the Stream is closed,
+ * whichever comes first. A failure after the first row always throws a YankSQLException, even when
+ * Yank does not throw wrapped exceptions, so that a Stream never ends early without notice.
+ *
+ * @author timmolter
+ */
+class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+  /** Converts the current row of a ResultSet */
+  interface RowMapper<T> {
+
+    T map(ResultSet rs) throws SQLException;
+  }
+
+  /** Used to fill in the statement parameters only */
+  private static final QueryRunner PARAMETER_FILLER = new QueryRunner();
+
+  private final String poolName;
+  private final String sql;
+  private final Connection connection;
+  private final PreparedStatement statement;
+  private final ResultSet resultSet;
+  private final RowMapper<T> rowMapper;
+
+  private boolean closed = false;
+  private boolean started = false;
+
+  private ResultSetSpliterator(
+      String poolName,
+      String sql,
+      Connection connection,
+      PreparedStatement statement,
+      ResultSet resultSet,
+      RowMapper<T> rowMapper) {
+
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+    this.poolName = poolName;
+    this.sql = sql;
+    this.connection = connection;
+    this.statement = statement;
+    this.resultSet = resultSet;
+    this.rowMapper = rowMapper;
+  }
+
+  /**
+   * Executes the query and returns a Stream over its rows, which must be closed to return the
+   * Connection to the pool if it is not read to the end.
+   *
+   * @param poolName The name of the connection pool, for error messages
+   * @param dataSource The connection pool
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param options The statement options
+   * @param rowMapper Converts each row
+   * @return the Stream of converted rows
+   * @throws SQLException if the query cannot be executed
+   */
+  static <T> Stream<T> stream(
+      String poolName,
+      DataSource dataSource,
+      String sql,
+      Object[] params,
+      QueryOptions options,
+      RowMapper<T> rowMapper)
+      throws SQLException {
+
+    if (dataSource == null) {
+      throw new SQLException("No connection pool named " + poolName + " has been set up!");
+    }
+
+    ExpandedSQL expanded = ExpandedSQL.single(sql, params);
+    if (expanded != null) {
+      sql = expanded.getSql(0);
+      params = expanded.getParams(0);
+    }
+
+    Connection connection = dataSource.getConnection();
+    PreparedStatement statement = null;
+    ResultSet resultSet = null;
+    try {
+      statement =
+          connection.prepareStatement(
+              sql, options.getResultSetType(), options.getResultSetConcurrency());
+      options.applyTo(statement);
+      PARAMETER_FILLER.fillStatement(statement, SQLArray.resolve(statement, params));
+      resultSet = statement.executeQuery();
+    } catch (SQLException e) {
+      DbUtils.closeQuietly(connection, statement, resultSet);
+      throw e;
+    }
+
+    final ResultSetSpliterator<T> spliterator =
+        new ResultSetSpliterator<T>(poolName, sql, connection, statement, resultSet, rowMapper);
+    return StreamSupport.stream(spliterator, false)
+        .onClose(
+            new Runnable() {
+              @Override
+              public void run() {
+                spliterator.close();
+              }
+            });
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+
+    if (closed) {
+      return false;
+    }
+    T row;
+    try {
+      if (!resultSet.next()) {
+        close();
+        return false;
+      }
+      row = rowMapper.map(resultSet);
+    } catch (SQLException e) {
+      close();
+      if (started) {
+        // ending the Stream here would pass a partial read off as the whole result
+        throw new YankSQLException(e, poolName, sql);
+      }
+      Yank.handleSQLException(e, poolName, sql);
+      return false;
+    }
+    started = true;
+    action.accept(row);
+    return true;
+  }
+
+  /** Closes the ResultSet and the Statement and returns the Connection to the pool */
+  void close() {
+
+    if (!closed) {
+      closed = true;
+      DbUtils.closeQuietly(connection, statement, resultSet);
+    }
+  }
+}
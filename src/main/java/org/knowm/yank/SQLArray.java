@@ -0,0 +1,68 @@
+package org.knowm.yank;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * A replacement parameter bound as one JDBC Array created with Connection.createArrayOf(...), for
+ * databases that take an array parameter, e.g. <code>= ANY(?)</code> in PostgreSQL or <code>IN
+ * (UNNEST(?))</code> in HSQLDB:
+ *
+ * <pre>
+ * Yank.queryBeanList("SELECT * FROM BOOKS WHERE ID = ANY(?)", Book.class, new Object[] {SQLArray.of("INTEGER", ids)});
+ * </pre>
+ *
+ * Unlike a Collection parameter, which is expanded into an IN list, the SQL stays the same for any
+ * number of values.
+ *
+ * @author timmolter
+ */
+public final class SQLArray {
+
+  private final String typeName;
+
+  private final Object[] values;
+
+  private SQLArray(String typeName, Object[] values) {
+
+    this.typeName = typeName;
+    this.values = values;
+  }
+
+  /**
+   * @param typeName The SQL name of the element type, e.g. INTEGER or VARCHAR
+   * @param values The elements
+   * @return the parameter
+   */
+  public static SQLArray of(String typeName, Collection<?> values) {
+
+    return new SQLArray(typeName, values.toArray());
+  }
+
+  /**
+   * Replaces the SQLArrays among the parameters with JDBC Arrays of the statement's connection.
+   *
+   * @param stmt The statement the parameters are for
+   * @param params The replacement parameters
+   * @return params itself if it has no SQLArray, else a copy with JDBC Arrays
+   * @throws SQLException if an Array cannot be created
+   */
+  static Object[] resolve(PreparedStatement stmt, Object[] params) throws SQLException {
+
+    if (params == null) {
+      return null;
+    }
+    Object[] resolved = params;
+    for (int i = 0; i < params.length; i++) {
+      if (params[i] instanceof SQLArray) {
+        if (resolved == params) {
+          resolved = params.clone();
+        }
+        SQLArray array = (SQLArray) params[i];
+        resolved[i] = stmt.getConnection().createArrayOf(array.typeName, array.values);
+      }
+    }
+    return resolved;
+  }
+}
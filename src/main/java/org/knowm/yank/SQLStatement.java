@@ -0,0 +1,120 @@
+package org.knowm.yank;
+
+import java.util.List;
+
+/**
+ * An SQL statement from the SQL properties, compiled once when the properties are added: the SQL
+ * text, its parameters, parsed for named ones, and the QueryOptions, result caching and coalescing
+ * configured for its key. Immutable.
+ *
+ * @author timmolter
+ */
+final class SQLStatement {
+
+  private final String key;
+
+  private final String sql;
+
+  private final NamedSQL namedSQL;
+
+  private final QueryOptions options;
+
+  private final ResultCachePolicy cachePolicy;
+
+  private final boolean coalesced;
+
+  private SQLStatement(
+      String key,
+      String sql,
+      NamedSQL namedSQL,
+      QueryOptions options,
+      ResultCachePolicy cachePolicy,
+      boolean coalesced) {
+
+    this.key = key;
+    this.sql = sql;
+    this.namedSQL = namedSQL;
+    this.options = options;
+    this.cachePolicy = cachePolicy;
+    this.coalesced = coalesced;
+  }
+
+  /**
+   * Compiles the SQL statement of a key.
+   *
+   * @param key The SQL Key
+   * @param sql The SQL statement
+   * @param options The QueryOptions configured for the key
+   * @param cachePolicy The result caching configured for the key, or null if there is none
+   * @param coalesced Whether concurrent identical queries of the key share one execution
+   * @return the compiled statement
+   */
+  static SQLStatement compile(
+      String key,
+      String sql,
+      QueryOptions options,
+      ResultCachePolicy cachePolicy,
+      boolean coalesced) {
+
+    return new SQLStatement(key, sql, NamedSQL.forSQL(sql), options, cachePolicy, coalesced);
+  }
+
+  /**
+   * @return the SQL Key
+   */
+  String getKey() {
+
+    return key;
+  }
+
+  /**
+   * @return the SQL statement
+   */
+  String getSql() {
+
+    return sql;
+  }
+
+  /**
+   * @return the number of parameters, named or ?
+   */
+  int getParameterCount() {
+
+    return namedSQL.getParameterCount();
+  }
+
+  /**
+   * @return the name of each parameter in order, empty if the statement has no named parameters
+   */
+  List<String> getParameterNames() {
+
+    return namedSQL.getParameterNames();
+  }
+
+  /**
+   * @return the QueryOptions configured for the key, i.e. key.fetchSize, key.maxRows and
+   *     key.queryTimeout
+   */
+  QueryOptions getOptions() {
+
+    return options;
+  }
+
+  /**
+   * @return the result caching configured for the key, i.e. key.cacheTtl, key.cacheMaxWeight and
+   *     key.cacheTables, or null if its results are not cached
+   */
+  ResultCachePolicy getCachePolicy() {
+
+    return cachePolicy;
+  }
+
+  /**
+   * @return true if key.coalesce=true, i.e. concurrent identical queries of the key share one
+   *     execution
+   */
+  boolean isCoalesced() {
+
+    return coalesced;
+  }
+}
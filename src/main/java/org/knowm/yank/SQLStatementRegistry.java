@@ -0,0 +1,107 @@
+package org.knowm.yank;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import org.knowm.yank.exceptions.SQLStatementNotFoundException;
+
+/**
+ * The SQL statements added with Yank.addSQLStatements(...), compiled into {@link SQLStatement}s.
+ * Each addition compiles a new immutable map and swaps it in, so looking up a statement on every
+ * *SQLKey call takes no lock. Additions are rare and synchronized among themselves.
+ *
+ * @author timmolter
+ */
+final class SQLStatementRegistry {
+
+  /** The suffixes of the per-key option properties, e.g. BOOKS_SELECT_ALL.fetchSize */
+  private static final String[] OPTION_SUFFIXES = {
+    ".fetchSize",
+    ".maxRows",
+    ".queryTimeout",
+    ".cacheTtl",
+    ".cacheMaxWeight",
+    ".cacheTables",
+    ".coalesce"
+  };
+
+  /** All added properties, merged, including the per-key options */
+  private Properties merged = new Properties();
+
+  private volatile Map<String, SQLStatement> statements = Collections.emptyMap();
+
+  /**
+   * Merges the given SQL properties into the registry. If a property is invalid, e.g. a non-numeric
+   * key.fetchSize or key.cacheTtl, or a key.coalesce other than true or false, nothing is added.
+   * Option properties of a key that is in the registry are not statements themselves.
+   *
+   * @param sqlProperties The SQL properties
+   * @throws IllegalArgumentException if an option property is invalid
+   */
+  synchronized void addAll(Properties sqlProperties) {
+
+    Properties newMerged = new Properties();
+    newMerged.putAll(merged);
+    newMerged.putAll(sqlProperties);
+
+    Map<String, SQLStatement> newStatements = new HashMap<String, SQLStatement>();
+    for (String key : newMerged.stringPropertyNames()) {
+      String sql = newMerged.getProperty(key);
+      if (!sql.isEmpty() && !isOption(newMerged, key)) {
+        newStatements.put(
+            key,
+            SQLStatement.compile(
+                key,
+                sql,
+                QueryOptions.forSQLKey(newMerged, key),
+                ResultCachePolicy.forSQLKey(newMerged, key, sql),
+                coalesce(newMerged, key)));
+      }
+    }
+
+    merged = newMerged;
+    statements = Collections.unmodifiableMap(newStatements);
+  }
+
+  /**
+   * @return true if the key is an option of another key, which is not a statement itself
+   */
+  private static boolean isOption(Properties sqlProperties, String key) {
+
+    for (String suffix : OPTION_SUFFIXES) {
+      if (key.endsWith(suffix)
+          && sqlProperties.getProperty(key.substring(0, key.length() - suffix.length())) != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean coalesce(Properties sqlProperties, String sqlKey) {
+
+    String coalesce = sqlProperties.getProperty(sqlKey + ".coalesce");
+    if (coalesce == null || coalesce.trim().equalsIgnoreCase("false")) {
+      return false;
+    }
+    if (coalesce.trim().equalsIgnoreCase("true")) {
+      return true;
+    }
+    throw new IllegalArgumentException(
+        sqlKey + ".coalesce must be true or false, but is " + coalesce);
+  }
+
+  /**
+   * @param sqlKey The SQL Key
+   * @return the compiled statement of the key
+   * @throws SQLStatementNotFoundException if no statement was added for the key
+   */
+  SQLStatement get(String sqlKey) {
+
+    SQLStatement statement = statements.get(sqlKey);
+    if (statement == null) {
+      throw new SQLStatementNotFoundException();
+    }
+    return statement;
+  }
+}
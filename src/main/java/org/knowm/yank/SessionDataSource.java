@@ -0,0 +1,137 @@
+package org.knowm.yank;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * A DataSource handing out the one Connection borrowed for a session, so that the QueryRunners of a
+ * session handle run every statement on it. The handed out Connection ignores close(), which
+ * QueryRunner calls after each statement; the session returns the Connection to the pool when it
+ * ends.
+ *
+ * @author timmolter
+ */
+final class SessionDataSource implements DataSource {
+
+  private final DataSource pool;
+
+  private final Connection connection;
+
+  /**
+   * Constructor
+   *
+   * @param pool The connection pool the Connection was borrowed from
+   * @param connection The borrowed Connection
+   */
+  SessionDataSource(DataSource pool, Connection connection) {
+
+    this.pool = pool;
+    this.connection =
+        (Connection)
+            Proxy.newProxyInstance(
+                SessionDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new UnclosableConnection(connection));
+  }
+
+  /**
+   * @param connection A Connection handed out by a SessionDataSource, or any other Connection
+   * @return the borrowed Connection behind one handed out by a SessionDataSource, else connection
+   */
+  static Connection borrowed(Connection connection) {
+
+    if (Proxy.isProxyClass(connection.getClass())) {
+      InvocationHandler handler = Proxy.getInvocationHandler(connection);
+      if (handler instanceof UnclosableConnection) {
+        return ((UnclosableConnection) handler).connection;
+      }
+    }
+    return connection;
+  }
+
+  @Override
+  public Connection getConnection() {
+
+    return connection;
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+
+    throw new SQLFeatureNotSupportedException("A session has one Connection");
+  }
+
+  @Override
+  public PrintWriter getLogWriter() throws SQLException {
+
+    return pool.getLogWriter();
+  }
+
+  @Override
+  public void setLogWriter(PrintWriter out) throws SQLException {
+
+    pool.setLogWriter(out);
+  }
+
+  @Override
+  public void setLoginTimeout(int seconds) throws SQLException {
+
+    pool.setLoginTimeout(seconds);
+  }
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+
+    return pool.getLoginTimeout();
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+
+    return pool.getParentLogger();
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+
+    return pool.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+
+    return pool.isWrapperFor(iface);
+  }
+
+  /** Passes every call but close() on to the borrowed Connection */
+  private static final class UnclosableConnection implements InvocationHandler {
+
+    private final Connection connection;
+
+    private UnclosableConnection(Connection connection) {
+
+      this.connection = connection;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+      if (method.getName().equals("close") && method.getParameterCount() == 0) {
+        return null;
+      }
+      try {
+        return method.invoke(connection, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+}
@@ -0,0 +1,436 @@
+package org.knowm.yank;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.dbutils.DbUtils;
+
+/**
+ * Keeps the PreparedStatements of each physical connection of a pool open between calls, so the
+ * same SQL is only parsed once per connection. Each connection has its own LRU cache keyed by SQL
+ * text, ResultSet type and concurrency and generated keys flag.
+ *
+ * <p>Statements are prepared on the physical connection underneath the pool's proxy, which would
+ * otherwise close them when the connection is returned to the pool. A statement is taken out of the
+ * cache while it is in use and put back when it is released, so the same SQL can be in use twice on
+ * one connection. When the pool closes a physical connection, the driver closes its statements and
+ * the cache forgets that connection the next time the pool opens a new one.
+ *
+ * <p>Hikari does not see the statements prepared underneath its proxy. It cannot close them when a
+ * connection is returned, which is the point, nor see their exceptions, which it checks for broken
+ * connections. So when a cached statement fails with a connection error, SQLState class 08, or its
+ * connection was closed, the cache forgets the connection and asks Hikari to evict it. Other states
+ * Hikari treats as fatal, e.g. vendor error codes, are not passed on; leave the cache disabled for
+ * databases that rely on them.
+ *
+ * <p>Configured with the following pool properties, which are removed before the rest are passed to
+ * Hikari:
+ *
+ * <ul>
+ *   <li>yank.statementCacheSize: the number of statements cached per connection, 0 to disable the
+ *       cache (default)
+ *   <li>yank.statementCacheSqlLimit: the length of the longest SQL statement to cache (default
+ *       2048)
+ * </ul>
+ *
+ * @author timmolter
+ */
+final class StatementCache {
+
+  static final String PROPERTY_PREFIX = "yank.";
+
+  static final String SIZE_PROPERTY = PROPERTY_PREFIX + "statementCacheSize";
+
+  static final String SQL_LIMIT_PROPERTY = PROPERTY_PREFIX + "statementCacheSqlLimit";
+
+  static final int DEFAULT_SQL_LIMIT = 2048;
+
+  private static final int NO_GENERATED_KEYS = -1;
+
+  private final int maxSize;
+
+  private final int sqlLimit;
+
+  /** The pool the connections are borrowed from, told about broken ones */
+  private final HikariDataSource pool;
+
+  /** Physical connection to its statements, guarded by itself */
+  private final Map<Connection, ConnectionStatements> connections =
+      new IdentityHashMap<Connection, ConnectionStatements>();
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Constructor
+   *
+   * @param maxSize The number of statements cached per connection
+   * @param sqlLimit The length of the longest SQL statement to cache
+   * @param pool The pool the connections are borrowed from
+   */
+  StatementCache(int maxSize, int sqlLimit, HikariDataSource pool) {
+
+    this.maxSize = maxSize;
+    this.sqlLimit = sqlLimit;
+    this.pool = pool;
+  }
+
+  /**
+   * Creates the cache configured by the yank.statementCache* pool properties.
+   *
+   * @param properties The pool properties
+   * @param pool The pool the connections are borrowed from
+   * @return the cache, or null if it is disabled
+   * @throws IllegalArgumentException if a property is not a number
+   */
+  static StatementCache fromProperties(Properties properties, HikariDataSource pool) {
+
+    int maxSize = intProperty(properties, SIZE_PROPERTY, 0);
+    if (maxSize <= 0) {
+      return null;
+    }
+    return new StatementCache(
+        maxSize, intProperty(properties, SQL_LIMIT_PROPERTY, DEFAULT_SQL_LIMIT), pool);
+  }
+
+  /**
+   * @param properties The pool properties, which are not modified
+   * @return a copy of the pool properties without the ones meant for Yank
+   */
+  static Properties withoutYankProperties(Properties properties) {
+
+    Properties copy = new Properties();
+    for (Map.Entry<Object, Object> property : properties.entrySet()) {
+      if (!property.getKey().toString().startsWith(PROPERTY_PREFIX)) {
+        copy.put(property.getKey(), property.getValue());
+      }
+    }
+    return copy;
+  }
+
+  static int intProperty(Properties properties, String name, int defaultValue) {
+
+    Object value = properties.get(name);
+    if (value == null) {
+      value = properties.getProperty(name);
+    }
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(value.toString().trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(name + " must be a number, not " + value);
+    }
+  }
+
+  /**
+   * Takes a statement for the SQL out of the cache of the connection, or prepares a new one.
+   *
+   * @param conn The pooled connection
+   * @param sql The SQL statement
+   * @param resultSetType The ResultSet type
+   * @param resultSetConcurrency The ResultSet concurrency
+   * @return the statement, to be handed back with {@link #release(Statement)}
+   * @throws SQLException if the statement cannot be prepared
+   */
+  PreparedStatement prepare(
+      Connection conn, String sql, int resultSetType, int resultSetConcurrency)
+      throws SQLException {
+
+    return prepare(conn, new Key(sql, resultSetType, resultSetConcurrency, NO_GENERATED_KEYS));
+  }
+
+  /**
+   * Takes a statement for the SQL out of the cache of the connection, or prepares a new one.
+   *
+   * @param conn The pooled connection
+   * @param sql The SQL statement
+   * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS
+   * @return the statement, to be handed back with {@link #release(Statement)}
+   * @throws SQLException if the statement cannot be prepared
+   */
+  PreparedStatement prepare(Connection conn, String sql, int autoGeneratedKeys)
+      throws SQLException {
+
+    return prepare(
+        conn,
+        new Key(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, autoGeneratedKeys));
+  }
+
+  private PreparedStatement prepare(Connection conn, Key key) throws SQLException {
+
+    if (key.sql.length() > sqlLimit) {
+      return key.prepare(conn);
+    }
+
+    Connection physical = conn.unwrap(Connection.class);
+    ConnectionStatements statements;
+    synchronized (connections) {
+      statements = connections.get(physical);
+      if (statements == null) {
+        // a new physical connection usually means the pool retired another one
+        removeClosedConnections();
+        statements = new ConnectionStatements();
+        connections.put(physical, statements);
+      }
+    }
+
+    synchronized (statements) {
+      CachedStatement cached = statements.idle.remove(key);
+      if (cached != null) {
+        hits.increment();
+        statements.inUse.put(cached.statement, cached);
+        return cached.statement;
+      }
+    }
+
+    misses.increment();
+    PreparedStatement statement = key.prepare(physical);
+    CachedStatement cached;
+    try {
+      cached = new CachedStatement(key, statement);
+    } catch (SQLException e) {
+      DbUtils.closeQuietly(statement);
+      throw e;
+    }
+    synchronized (statements) {
+      statements.inUse.put(statement, cached);
+    }
+    return statement;
+  }
+
+  /**
+   * Puts a statement taken with prepare(...) back into the cache of its connection, evicting and
+   * closing the least recently used one if the cache is full.
+   *
+   * @param stmt The statement
+   * @return true if the statement was cached, false if the caller has to close it
+   */
+  boolean release(Statement stmt) {
+
+    if (stmt == null) {
+      return false;
+    }
+    ConnectionStatements statements;
+    CachedStatement cached;
+    try {
+      Connection physical = stmt.getConnection();
+      synchronized (connections) {
+        statements = connections.get(physical);
+      }
+      if (statements == null) {
+        return false;
+      }
+      synchronized (statements) {
+        cached = statements.inUse.remove(stmt);
+      }
+      if (cached == null) {
+        return false;
+      }
+      cached.reset();
+    } catch (SQLException e) {
+      // the statement is unusable, let the caller close it
+      return false;
+    }
+
+    CachedStatement evicted;
+    synchronized (statements) {
+      evicted = statements.idle.put(cached.key, cached);
+      if (evicted == null && statements.idle.size() > maxSize) {
+        Iterator<CachedStatement> eldest = statements.idle.values().iterator();
+        evicted = eldest.next();
+        eldest.remove();
+      }
+    }
+    if (evicted != null) {
+      evictions.increment();
+      DbUtils.closeQuietly(evicted.statement);
+    }
+    return true;
+  }
+
+  /**
+   * Evicts the connection from the pool and forgets its statements if a statement failed because
+   * the connection is broken, which Hikari cannot see for statements prepared underneath its proxy.
+   *
+   * @param conn The pooled connection the statement ran on
+   * @param e What the statement threw
+   */
+  void connectionFailed(Connection conn, SQLException e) {
+
+    Connection physical;
+    try {
+      physical = conn.unwrap(Connection.class);
+      String sqlState = e.getSQLState();
+      if ((sqlState == null || !sqlState.startsWith("08")) && !physical.isClosed()) {
+        return;
+      }
+    } catch (SQLException unwrapFailed) {
+      physical = null;
+    }
+
+    ConnectionStatements statements = null;
+    if (physical != null) {
+      synchronized (connections) {
+        statements = connections.remove(physical);
+      }
+    }
+    if (statements != null) {
+      synchronized (statements) {
+        for (CachedStatement cached : statements.idle.values()) {
+          DbUtils.closeQuietly(cached.statement);
+        }
+        statements.idle.clear();
+      }
+    }
+    if (pool != null) {
+      pool.evictConnection(SessionDataSource.borrowed(conn));
+    }
+  }
+
+  /** Forgets the statements of connections the pool has closed, which closed them too */
+  private void removeClosedConnections() {
+
+    Iterator<Connection> iterator = connections.keySet().iterator();
+    while (iterator.hasNext()) {
+      try {
+        if (iterator.next().isClosed()) {
+          iterator.remove();
+        }
+      } catch (SQLException e) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /** Closes all idle statements and forgets all connections, when the pool is released */
+  void clear() {
+
+    synchronized (connections) {
+      for (ConnectionStatements statements : connections.values()) {
+        synchronized (statements) {
+          for (CachedStatement cached : statements.idle.values()) {
+            DbUtils.closeQuietly(cached.statement);
+          }
+          statements.idle.clear();
+        }
+      }
+      connections.clear();
+    }
+  }
+
+  /**
+   * @return a snapshot of the hit, miss and eviction counters
+   */
+  StatementCacheStats getStats() {
+
+    return new StatementCacheStats(hits.sum(), misses.sum(), evictions.sum());
+  }
+
+  /** The statements of one physical connection */
+  private static final class ConnectionStatements {
+
+    /** Idle statements, least recently used first */
+    private final LinkedHashMap<Key, CachedStatement> idle =
+        new LinkedHashMap<Key, CachedStatement>();
+
+    private final Map<Statement, CachedStatement> inUse =
+        new IdentityHashMap<Statement, CachedStatement>();
+  }
+
+  /** A cached statement and the settings to restore when it is released */
+  private static final class CachedStatement {
+
+    private final Key key;
+
+    private final PreparedStatement statement;
+
+    private final int fetchSize;
+
+    private final int maxRows;
+
+    private final int queryTimeout;
+
+    private CachedStatement(Key key, PreparedStatement statement) throws SQLException {
+
+      this.key = key;
+      this.statement = statement;
+      this.fetchSize = statement.getFetchSize();
+      this.maxRows = statement.getMaxRows();
+      this.queryTimeout = statement.getQueryTimeout();
+    }
+
+    /** Undoes what a caller may have changed, i.e. parameters, batches and QueryOptions */
+    private void reset() throws SQLException {
+
+      statement.clearParameters();
+      statement.clearBatch();
+      statement.setFetchSize(fetchSize);
+      statement.setMaxRows(maxRows);
+      statement.setQueryTimeout(queryTimeout);
+    }
+  }
+
+  private static final class Key {
+
+    private final String sql;
+
+    private final int resultSetType;
+
+    private final int resultSetConcurrency;
+
+    private final int autoGeneratedKeys;
+
+    private Key(String sql, int resultSetType, int resultSetConcurrency, int autoGeneratedKeys) {
+
+      this.sql = sql;
+      this.resultSetType = resultSetType;
+      this.resultSetConcurrency = resultSetConcurrency;
+      this.autoGeneratedKeys = autoGeneratedKeys;
+    }
+
+    private PreparedStatement prepare(Connection conn) throws SQLException {
+
+      if (autoGeneratedKeys == NO_GENERATED_KEYS) {
+        return conn.prepareStatement(sql, resultSetType, resultSetConcurrency);
+      }
+      return conn.prepareStatement(sql, autoGeneratedKeys);
+    }
+
+    @Override
+    public int hashCode() {
+
+      return ((sql.hashCode() * 31 + resultSetType) * 31 + resultSetConcurrency) * 31
+          + autoGeneratedKeys;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return resultSetType == other.resultSetType
+          && resultSetConcurrency == other.resultSetConcurrency
+          && autoGeneratedKeys == other.autoGeneratedKeys
+          && sql.equals(other.sql);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package org.knowm.yank;
+
+/**
+ * A snapshot of the counters of the PreparedStatement cache of a connection pool, enabled with the
+ * yank.statementCacheSize pool property.
+ *
+ * @author timmolter
+ */
+public final class StatementCacheStats {
+
+  private final long hits;
+
+  private final long misses;
+
+  private final long evictions;
+
+  StatementCacheStats(long hits, long misses, long evictions) {
+
+    this.hits = hits;
+    this.misses = misses;
+    this.evictions = evictions;
+  }
+
+  /**
+   * @return the number of statements taken from the cache
+   */
+  public long getHits() {
+
+    return hits;
+  }
+
+  /**
+   * @return the number of statements prepared because the cache of the connection had none
+   */
+  public long getMisses() {
+
+    return misses;
+  }
+
+  /**
+   * @return the number of statements closed to make room in a full cache
+   */
+  public long getEvictions() {
+
+    return evictions;
+  }
+
+  /**
+   * @return hits / (hits + misses), or 0 if no statement has been prepared yet
+   */
+  public double getHitRatio() {
+
+    long requests = hits + misses;
+    return requests == 0 ? 0 : (double) hits / requests;
+  }
+
+  @Override
+  public String toString() {
+
+    return "StatementCacheStats [hits="
+        + hits
+        + ", misses="
+        + misses
+        + ", evictions="
+        + evictions
+        + "]";
+  }
+}
@@ -1,32 +1,19 @@
 package org.knowm.yank;
 
 import com.zaxxer.hikari.HikariDataSource;
-import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
-import org.apache.commons.dbutils.BasicRowProcessor;
-import org.apache.commons.dbutils.QueryRunner;
-import org.apache.commons.dbutils.ResultSetHandler;
-import org.apache.commons.dbutils.handlers.ArrayListHandler;
-import org.apache.commons.dbutils.handlers.BeanHandler;
-import org.apache.commons.dbutils.handlers.BeanListHandler;
-import org.apache.commons.dbutils.handlers.ColumnListHandler;
-import org.apache.commons.dbutils.handlers.ScalarHandler;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.knowm.yank.collections.LongObjectHashMap;
+import org.knowm.yank.columnar.ColumnarResult;
+import org.knowm.yank.columnar.ColumnarResultHandler;
 import org.knowm.yank.exceptions.SQLStatementNotFoundException;
 import org.knowm.yank.exceptions.YankSQLException;
-import org.knowm.yank.handlers.BigDecimalColumnListHandler;
-import org.knowm.yank.handlers.BigDecimalScalarHandler;
-import org.knowm.yank.handlers.DoubleColumnListHandler;
-import org.knowm.yank.handlers.DoubleScalarHandler;
-import org.knowm.yank.handlers.FloatColumnListHandler;
-import org.knowm.yank.handlers.FloatScalarHandler;
-import org.knowm.yank.handlers.InsertedIDResultSetHandler;
-import org.knowm.yank.handlers.IntegerColumnListHandler;
-import org.knowm.yank.handlers.IntegerScalarHandler;
-import org.knowm.yank.handlers.LongColumnListHandler;
-import org.knowm.yank.handlers.LongScalarHandler;
-import org.knowm.yank.processors.YankBeanProcessor;
+import org.knowm.yank.handlers.BeanVisitor;
+import org.knowm.yank.handlers.RowVisitor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -84,12 +71,7 @@ public class Yank {
   public static Long insertSQLKey(String poolName, String sqlKey, Object[] params)
       throws SQLStatementNotFoundException, YankSQLException {
 
-    String sql = YANK_POOL_MANAGER.getMergedSqlProperties().getProperty(sqlKey);
-    if (sql == null || sql.equalsIgnoreCase("")) {
-      throw new SQLStatementNotFoundException();
-    } else {
-      return insert(poolName, sql, params);
-    }
+    return pool(poolName).insertSQLKey(sqlKey, params);
   }
 
   /**
@@ -118,17 +100,24 @@ public class Yank {
    */
   public static Long insert(String poolName, String sql, Object[] params) throws YankSQLException {
 
-    Long returnLong = null;
+    return insert(poolName, sql, params, QueryOptions.DEFAULT);
+  }
 
-    try {
-      ResultSetHandler<Long> rsh = new InsertedIDResultSetHandler();
-      returnLong =
-          new QueryRunner(YANK_POOL_MANAGER.getConnectionPool(poolName)).insert(sql, rsh, params);
-    } catch (SQLException e) {
-      handleSQLException(e, poolName, sql);
-    }
+  /**
+   * Executes a given INSERT SQL prepared statement. Returns the auto-increment id of the inserted
+   * row. Note: This only works when the auto-increment table column is in the first column in the
+   * table!
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The query to execute
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return the auto-increment id of the inserted row, or null if no id is available
+   */
+  public static Long insert(String poolName, String sql, Object[] params, QueryOptions options)
+      throws YankSQLException {
 
-    return returnLong == null ? 0 : returnLong;
+    return pool(poolName).insert(sql, params, options);
   }
 
   // ////// INSERT, UPDATE, DELETE, or UPSERT
@@ -168,12 +157,7 @@ public class Yank {
   public static int executeSQLKey(String poolName, String sqlKey, Object[] params)
       throws SQLStatementNotFoundException, YankSQLException {
 
-    String sql = YANK_POOL_MANAGER.getMergedSqlProperties().getProperty(sqlKey);
-    if (sql == null || sql.equalsIgnoreCase("")) {
-      throw new SQLStatementNotFoundException();
-    } else {
-      return execute(poolName, sql, params);
-    }
+    return pool(poolName).executeSQLKey(sqlKey, params);
   }
 
   /**
@@ -200,18 +184,23 @@ public class Yank {
    */
   public static int execute(String poolName, String sql, Object[] params) throws YankSQLException {
 
-    int returnInt = 0;
-
-    try {
-
-      returnInt =
-          new QueryRunner(YANK_POOL_MANAGER.getConnectionPool(poolName)).update(sql, params);
+    return execute(poolName, sql, params, QueryOptions.DEFAULT);
+  }
 
-    } catch (SQLException e) {
-      handleSQLException(e, poolName, sql);
-    }
+  /**
+   * Executes the given INSERT, UPDATE, DELETE, REPLACE or UPSERT SQL prepared statement. Returns
+   * the number of rows affected.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The query to execute
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The number of rows affected
+   */
+  public static int execute(String poolName, String sql, Object[] params, QueryOptions options)
+      throws YankSQLException {
 
-    return returnInt;
+    return pool(poolName).execute(sql, params, options);
   }
 
   // ////// Single Scalar QUERY
@@ -254,12 +243,7 @@ public class Yank {
       String poolName, String sqlKey, Class<T> scalarType, Object[] params)
       throws SQLStatementNotFoundException, YankSQLException {
 
-    String sql = YANK_POOL_MANAGER.getMergedSqlProperties().getProperty(sqlKey);
-    if (sql == null || sql.equalsIgnoreCase("")) {
-      throw new SQLStatementNotFoundException();
-    } else {
-      return queryScalar(poolName, sql, scalarType, params);
-    }
+    return pool(poolName).queryScalarSQLKey(sqlKey, scalarType, params);
   }
 
   /**
@@ -290,436 +274,1731 @@ public class Yank {
   public static <T> T queryScalar(String poolName, String sql, Class<T> scalarType, Object[] params)
       throws SQLStatementNotFoundException, YankSQLException {
 
-    T returnObject = null;
-
-    try {
-      ScalarHandler<T> resultSetHandler;
-      if (scalarType.equals(Integer.class)) {
-        resultSetHandler = (ScalarHandler<T>) new IntegerScalarHandler();
-      } else if (scalarType.equals(Long.class)) {
-        resultSetHandler = (ScalarHandler<T>) new LongScalarHandler();
-      } else if (scalarType.equals(Float.class)) {
-        resultSetHandler = (ScalarHandler<T>) new FloatScalarHandler();
-      } else if (scalarType.equals(Double.class)) {
-        resultSetHandler = (ScalarHandler<T>) new DoubleScalarHandler();
-      } else if (scalarType.equals(BigDecimal.class)) {
-        resultSetHandler = (ScalarHandler<T>) new BigDecimalScalarHandler();
-      } else {
-        resultSetHandler = new ScalarHandler<T>();
-      }
-
-      returnObject =
-          new QueryRunner(YANK_POOL_MANAGER.getConnectionPool(poolName))
-              .query(sql, resultSetHandler, params);
-
-    } catch (SQLException e) {
-      handleSQLException(e, poolName, sql);
-    }
+    return queryScalar(poolName, sql, scalarType, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return just one scalar given a an SQL statement
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param scalarType The Class of the desired return scalar matching the table
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The scalar Object
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static <T> T queryScalar(
+      String poolName, String sql, Class<T> scalarType, Object[] params, QueryOptions options)
+      throws SQLStatementNotFoundException, YankSQLException {
 
-    return returnObject;
+    return pool(poolName).queryScalar(sql, scalarType, params, options);
   }
 
-  // ////// Single Object QUERY
+  // ////// PRIMITIVE SCALAR QUERY
   // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
   /**
-   * Return just one Bean given a SQL Key using an SQL statement matching the sqlKey String in a
-   * properties file loaded via Yank.addSQLStatements(...). If more than one row match the query,
-   * only the first row is returned using the default connection pool.
+   * Return the first column of the first row as a long given a SQL Key using an SQL statement
+   * matching the sqlKey String in a properties file loaded via Yank.addSQLStatements(...) using the
+   * default connection pool.
    *
    * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
    *     value
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
    * @param params The replacement parameters
-   * @param beanType The Class of the desired return Object matching the table
-   * @return The Object
+   * @return The long value
    * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
    *     sqlKey String
    */
-  public static <T> T queryBeanSQLKey(String sqlKey, Class<T> beanType, Object[] params)
+  public static long queryLongSQLKey(String sqlKey, long defaultValue, Object[] params)
       throws SQLStatementNotFoundException, YankSQLException {
 
-    return queryBeanSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, beanType, params);
+    return queryLongSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, defaultValue, params);
   }
 
   /**
-   * Return just one Bean given a SQL Key using an SQL statement matching the sqlKey String in a
-   * properties file loaded via Yank.addSQLStatements(...). If more than one row match the query,
-   * only the first row is returned.
+   * Return the first column of the first row as a long given a SQL Key using an SQL statement
+   * matching the sqlKey String in a properties file loaded via Yank.addSQLStatements(...).
    *
    * @param poolName The name of the connection pool to query against
    * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
    *     value
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
    * @param params The replacement parameters
-   * @param beanType The Class of the desired return Object matching the table
-   * @return The Object
+   * @return The long value
    * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
    *     sqlKey String
    */
-  public static <T> T queryBeanSQLKey(
-      String poolName, String sqlKey, Class<T> beanType, Object[] params)
+  public static long queryLongSQLKey(
+      String poolName, String sqlKey, long defaultValue, Object[] params)
       throws SQLStatementNotFoundException, YankSQLException {
 
-    String sql = YANK_POOL_MANAGER.getMergedSqlProperties().getProperty(sqlKey);
-    if (sql == null || sql.equalsIgnoreCase("")) {
-      throw new SQLStatementNotFoundException();
-    } else {
-      return queryBean(poolName, sql, beanType, params);
-    }
+    return pool(poolName).queryLongSQLKey(sqlKey, defaultValue, params);
   }
 
   /**
-   * Return just one Bean given an SQL statement. If more than one row match the query, only the
-   * first row is returned using the default connection pool.
+   * Return the first column of the first row as a long given an SQL statement using the default
+   * connection pool.
    *
    * @param sql The SQL statement
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
    * @param params The replacement parameters
-   * @param beanType The Class of the desired return Object matching the table
-   * @return The Object
+   * @return The long value
    */
-  public static <T> T queryBean(String sql, Class<T> beanType, Object[] params)
+  public static long queryLong(String sql, long defaultValue, Object[] params)
       throws YankSQLException {
 
-    return queryBean(YankPoolManager.DEFAULT_POOL_NAME, sql, beanType, params);
+    return queryLong(YankPoolManager.DEFAULT_POOL_NAME, sql, defaultValue, params);
   }
 
   /**
-   * Return just one Bean given an SQL statement. If more than one row match the query, only the
-   * first row is returned.
+   * Return the first column of the first row as a long given an SQL statement.
    *
    * @param poolName The name of the connection pool to query against
    * @param sql The SQL statement
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
    * @param params The replacement parameters
-   * @param beanType The Class of the desired return Object matching the table
-   * @return The Object
+   * @return The long value
    */
-  public static <T> T queryBean(String poolName, String sql, Class<T> beanType, Object[] params)
+  public static long queryLong(String poolName, String sql, long defaultValue, Object[] params)
       throws YankSQLException {
 
-    T returnObject = null;
-
-    try {
-
-      BeanHandler<T> resultSetHandler =
-          new BeanHandler<T>(beanType, new BasicRowProcessor(new YankBeanProcessor<T>(beanType)));
-
-      returnObject =
-          new QueryRunner(YANK_POOL_MANAGER.getConnectionPool(poolName))
-              .query(sql, resultSetHandler, params);
+    return queryLong(poolName, sql, defaultValue, params, QueryOptions.DEFAULT);
+  }
 
-    } catch (SQLException e) {
-      handleSQLException(e, poolName, sql);
-    }
+  /**
+   * Return the first column of the first row as a long given an SQL statement. The value is read
+   * with ResultSet.getLong() and returned without being boxed, which makes this the cheapest way to
+   * run counts and existence checks. The default value is also returned if the query fails and
+   * exceptions are logged instead of thrown.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The long value
+   */
+  public static long queryLong(
+      String poolName, String sql, long defaultValue, Object[] params, QueryOptions options)
+      throws YankSQLException {
 
-    return returnObject;
+    return pool(poolName).queryLong(sql, defaultValue, params, options);
   }
 
-  // ////// Object List QUERY
-  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
-
   /**
-   * Return a List of Beans given a SQL Key using an SQL statement matching the sqlKey String in a
-   * properties file loaded via Yank.addSQLStatements(...) using the default connection pool.
+   * Return the first column of the first row as a int given a SQL Key using an SQL statement
+   * matching the sqlKey String in a properties file loaded via Yank.addSQLStatements(...) using the
+   * default connection pool.
    *
    * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
    *     value
-   * @param beanType The Class of the desired return Objects matching the table
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
    * @param params The replacement parameters
-   * @return The List of Objects
+   * @return The int value
    * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
    *     sqlKey String
    */
-  public static <T> List<T> queryBeanListSQLKey(String sqlKey, Class<T> beanType, Object[] params)
+  public static int queryIntSQLKey(String sqlKey, int defaultValue, Object[] params)
       throws SQLStatementNotFoundException, YankSQLException {
 
-    return queryBeanListSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, beanType, params);
+    return queryIntSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, defaultValue, params);
   }
 
   /**
-   * Return a List of Beans given a SQL Key using an SQL statement matching the sqlKey String in a
-   * properties file loaded via Yank.addSQLStatements(...).
+   * Return the first column of the first row as a int given a SQL Key using an SQL statement
+   * matching the sqlKey String in a properties file loaded via Yank.addSQLStatements(...).
    *
    * @param poolName The name of the connection pool to query against
    * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
    *     value
-   * @param beanType The Class of the desired return Objects matching the table
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
    * @param params The replacement parameters
-   * @return The List of Objects
+   * @return The int value
    * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
    *     sqlKey String
    */
-  public static <T> List<T> queryBeanListSQLKey(
-      String poolName, String sqlKey, Class<T> beanType, Object[] params)
+  public static int queryIntSQLKey(
+      String poolName, String sqlKey, int defaultValue, Object[] params)
       throws SQLStatementNotFoundException, YankSQLException {
 
-    String sql = YANK_POOL_MANAGER.getMergedSqlProperties().getProperty(sqlKey);
-    if (sql == null || sql.equalsIgnoreCase("")) {
-      throw new SQLStatementNotFoundException();
-    } else {
-      return queryBeanList(poolName, sql, beanType, params);
-    }
+    return pool(poolName).queryIntSQLKey(sqlKey, defaultValue, params);
   }
 
   /**
-   * Return a List of Beans given an SQL statement using the default connection pool.
+   * Return the first column of the first row as a int given an SQL statement using the default
+   * connection pool.
    *
    * @param sql The SQL statement
-   * @param beanType The Class of the desired return Objects matching the table
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
    * @param params The replacement parameters
-   * @return The List of Objects
+   * @return The int value
    */
-  public static <T> List<T> queryBeanList(String sql, Class<T> beanType, Object[] params)
+  public static int queryInt(String sql, int defaultValue, Object[] params)
       throws YankSQLException {
 
-    return queryBeanList(YankPoolManager.DEFAULT_POOL_NAME, sql, beanType, params);
+    return queryInt(YankPoolManager.DEFAULT_POOL_NAME, sql, defaultValue, params);
   }
 
   /**
-   * Return a List of Beans given an SQL statement
+   * Return the first column of the first row as a int given an SQL statement.
    *
    * @param poolName The name of the connection pool to query against
    * @param sql The SQL statement
-   * @param beanType The Class of the desired return Objects matching the table
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
    * @param params The replacement parameters
-   * @return The List of Objects
+   * @return The int value
    */
-  public static <T> List<T> queryBeanList(
-      String poolName, String sql, Class<T> beanType, Object[] params) throws YankSQLException {
-
-    List<T> returnList = null;
-
-    try {
+  public static int queryInt(String poolName, String sql, int defaultValue, Object[] params)
+      throws YankSQLException {
 
-      BeanListHandler<T> resultSetHandler =
-          new BeanListHandler<T>(
-              beanType, new BasicRowProcessor(new YankBeanProcessor<T>(beanType)));
+    return queryInt(poolName, sql, defaultValue, params, QueryOptions.DEFAULT);
+  }
 
-      returnList =
-          new QueryRunner(YANK_POOL_MANAGER.getConnectionPool(poolName))
-              .query(sql, resultSetHandler, params);
+  /**
+   * Return the first column of the first row as a int given an SQL statement. The value is read
+   * with ResultSet.getInt() and returned without being boxed, which makes this the cheapest way to
+   * run counts and existence checks. The default value is also returned if the query fails and
+   * exceptions are logged instead of thrown.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The int value
+   */
+  public static int queryInt(
+      String poolName, String sql, int defaultValue, Object[] params, QueryOptions options)
+      throws YankSQLException {
 
-    } catch (SQLException e) {
-      handleSQLException(e, poolName, sql);
-    }
-    return returnList;
+    return pool(poolName).queryInt(sql, defaultValue, params, options);
   }
 
-  // ////// Column List QUERY
-  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
-
   /**
-   * Return a List of Objects from a single table column given a SQL Key using an SQL statement
+   * Return the first column of the first row as a double given a SQL Key using an SQL statement
    * matching the sqlKey String in a properties file loaded via Yank.addSQLStatements(...) using the
    * default connection pool.
    *
    * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
    *     value
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
    * @param params The replacement parameters
-   * @param columnType The Class of the desired return Objects matching the table
-   * @return The Column as a List
+   * @return The double value
    * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
    *     sqlKey String
    */
-  public static <T> List<T> queryColumnSQLKey(
-      String sqlKey, String columnName, Class<T> columnType, Object[] params)
+  public static double queryDoubleSQLKey(String sqlKey, double defaultValue, Object[] params)
       throws SQLStatementNotFoundException, YankSQLException {
 
-    return queryColumnSQLKey(
-        YankPoolManager.DEFAULT_POOL_NAME, sqlKey, columnName, columnType, params);
+    return queryDoubleSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, defaultValue, params);
   }
 
   /**
-   * Return a List of Objects from a single table column given a SQL Key using an SQL statement
+   * Return the first column of the first row as a double given a SQL Key using an SQL statement
    * matching the sqlKey String in a properties file loaded via Yank.addSQLStatements(...).
    *
    * @param poolName The name of the connection pool to query against
    * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
    *     value
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
    * @param params The replacement parameters
-   * @param columnType The Class of the desired return Objects matching the table
-   * @return The Column as a List
+   * @return The double value
    * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
    *     sqlKey String
    */
-  public static <T> List<T> queryColumnSQLKey(
-      String poolName, String sqlKey, String columnName, Class<T> columnType, Object[] params)
+  public static double queryDoubleSQLKey(
+      String poolName, String sqlKey, double defaultValue, Object[] params)
       throws SQLStatementNotFoundException, YankSQLException {
 
-    String sql = YANK_POOL_MANAGER.getMergedSqlProperties().getProperty(sqlKey);
-    if (sql == null || sql.equalsIgnoreCase("")) {
-      throw new SQLStatementNotFoundException();
-    } else {
-      return queryColumn(poolName, sql, columnName, columnType, params);
-    }
+    return pool(poolName).queryDoubleSQLKey(sqlKey, defaultValue, params);
   }
 
   /**
-   * Return a List of Objects from a single table column given an SQL statement using the default
+   * Return the first column of the first row as a double given an SQL statement using the default
    * connection pool.
    *
-   * @param <T>
    * @param sql The SQL statement
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
    * @param params The replacement parameters
-   * @param columnType The Class of the desired return Objects matching the table
-   * @return The Column as a List
+   * @return The double value
    */
-  public static <T> List<T> queryColumn(
-      String sql, String columnName, Class<T> columnType, Object[] params) throws YankSQLException {
+  public static double queryDouble(String sql, double defaultValue, Object[] params)
+      throws YankSQLException {
 
-    return queryColumn(YankPoolManager.DEFAULT_POOL_NAME, sql, columnName, columnType, params);
+    return queryDouble(YankPoolManager.DEFAULT_POOL_NAME, sql, defaultValue, params);
   }
 
   /**
-   * Return a List of Objects from a single table column given an SQL statement
+   * Return the first column of the first row as a double given an SQL statement.
    *
    * @param poolName The name of the connection pool to query against
    * @param sql The SQL statement
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
    * @param params The replacement parameters
-   * @param columnType The Class of the desired return Objects matching the table
-   * @return The Column as a List
+   * @return The double value
    */
-  public static <T> List<T> queryColumn(
-      String poolName, String sql, String columnName, Class<T> columnType, Object[] params)
-      throws YankSQLException {
+  public static double queryDouble(
+      String poolName, String sql, double defaultValue, Object[] params) throws YankSQLException {
 
-    List<T> returnList = null;
-
-    try {
-      ColumnListHandler<T> resultSetHandler;
-      if (columnType.equals(Integer.class)) {
-        resultSetHandler = (ColumnListHandler<T>) new IntegerColumnListHandler(columnName);
-      } else if (columnType.equals(Long.class)) {
-        resultSetHandler = (ColumnListHandler<T>) new LongColumnListHandler(columnName);
-      } else if (columnType.equals(Float.class)) {
-        resultSetHandler = (ColumnListHandler<T>) new FloatColumnListHandler(columnName);
-      } else if (columnType.equals(Double.class)) {
-        resultSetHandler = (ColumnListHandler<T>) new DoubleColumnListHandler(columnName);
-      } else if (columnType.equals(BigDecimal.class)) {
-        resultSetHandler = (ColumnListHandler<T>) new BigDecimalColumnListHandler(columnName);
-      } else {
-        resultSetHandler = new ColumnListHandler<T>(columnName);
-      }
-
-      returnList =
-          new QueryRunner(YANK_POOL_MANAGER.getConnectionPool(poolName))
-              .query(sql, resultSetHandler, params);
-
-    } catch (SQLException e) {
-      handleSQLException(e, poolName, sql);
-    }
+    return queryDouble(poolName, sql, defaultValue, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return the first column of the first row as a double given an SQL statement. The value is read
+   * with ResultSet.getDouble() and returned without being boxed, which makes this the cheapest way
+   * to run counts and existence checks. The default value is also returned if the query fails and
+   * exceptions are logged instead of thrown.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The double value
+   */
+  public static double queryDouble(
+      String poolName, String sql, double defaultValue, Object[] params, QueryOptions options)
+      throws YankSQLException {
 
-    return returnList;
+    return pool(poolName).queryDouble(sql, defaultValue, params, options);
   }
 
-  // ////// OBJECT[] LIST QUERY
+  // ////// Single Object QUERY
   // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
   /**
-   * Return a List of generic Object[]s given a SQL Key using an SQL statement matching the sqlKey
-   * String in a properties file loaded via Yank.addSQLStatements(...) using the default connection
-   * pool.
+   * Return just one Bean given a SQL Key using an SQL statement matching the sqlKey String in a
+   * properties file loaded via Yank.addSQLStatements(...). If more than one row match the query,
+   * only the first row is returned using the default connection pool.
    *
    * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
    *     value
    * @param params The replacement parameters
-   * @return The List of generic Object[]s
+   * @param beanType The Class of the desired return Object matching the table
+   * @return The Object
    * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
    *     sqlKey String
    */
-  public static List<Object[]> queryObjectArraysSQLKey(String sqlKey, Object[] params)
+  public static <T> T queryBeanSQLKey(String sqlKey, Class<T> beanType, Object[] params)
       throws SQLStatementNotFoundException, YankSQLException {
 
-    return queryObjectArraysSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, params);
+    return queryBeanSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, beanType, params);
   }
 
   /**
-   * Return a List of generic Object[]s given a SQL Key using an SQL statement matching the sqlKey
-   * String in a properties file loaded via Yank.addSQLStatements(...).
+   * Return just one Bean given a SQL Key using an SQL statement matching the sqlKey String in a
+   * properties file loaded via Yank.addSQLStatements(...). If more than one row match the query,
+   * only the first row is returned.
    *
    * @param poolName The name of the connection pool to query against
    * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
    *     value
    * @param params The replacement parameters
-   * @return The List of generic Object[]s
+   * @param beanType The Class of the desired return Object matching the table
+   * @return The Object
    * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
    *     sqlKey String
    */
-  public static List<Object[]> queryObjectArraysSQLKey(
-      String poolName, String sqlKey, Object[] params)
+  public static <T> T queryBeanSQLKey(
+      String poolName, String sqlKey, Class<T> beanType, Object[] params)
       throws SQLStatementNotFoundException, YankSQLException {
 
-    String sql = YANK_POOL_MANAGER.getMergedSqlProperties().getProperty(sqlKey);
-    if (sql == null || sql.equalsIgnoreCase("")) {
-      throw new SQLStatementNotFoundException();
-    } else {
-      return queryObjectArrays(poolName, sql, params);
-    }
+    return pool(poolName).queryBeanSQLKey(sqlKey, beanType, params);
   }
 
   /**
-   * Return a List of generic Object[]s given an SQL statement using the default connection pool.
+   * Return just one Bean given an SQL statement. If more than one row match the query, only the
+   * first row is returned using the default connection pool.
    *
    * @param sql The SQL statement
    * @param params The replacement parameters
-   * @return The List of generic Object[]s
+   * @param beanType The Class of the desired return Object matching the table
+   * @return The Object
    */
-  public static List<Object[]> queryObjectArrays(String sql, Object[] params)
+  public static <T> T queryBean(String sql, Class<T> beanType, Object[] params)
       throws YankSQLException {
 
-    return queryObjectArrays(YankPoolManager.DEFAULT_POOL_NAME, sql, params);
+    return queryBean(YankPoolManager.DEFAULT_POOL_NAME, sql, beanType, params);
   }
 
   /**
-   * Return a List of generic Object[]s given an SQL statement
+   * Return just one Bean given an SQL statement. If more than one row match the query, only the
+   * first row is returned.
    *
    * @param poolName The name of the connection pool to query against
    * @param sql The SQL statement
    * @param params The replacement parameters
-   * @return The List of generic Object[]s
+   * @param beanType The Class of the desired return Object matching the table
+   * @return The Object
    */
-  public static List<Object[]> queryObjectArrays(String poolName, String sql, Object[] params)
+  public static <T> T queryBean(String poolName, String sql, Class<T> beanType, Object[] params)
       throws YankSQLException {
 
-    List<Object[]> returnList = null;
-
-    try {
-
-      ArrayListHandler resultSetHandler = new ArrayListHandler();
-      returnList =
-          new QueryRunner(YANK_POOL_MANAGER.getConnectionPool(poolName))
-              .query(sql, resultSetHandler, params);
+    return queryBean(poolName, sql, beanType, params, QueryOptions.DEFAULT);
+  }
 
-    } catch (SQLException e) {
-      handleSQLException(e, poolName, sql);
-    }
+  /**
+   * Return just one Bean given an SQL statement. If more than one row match the query, only the
+   * first row is returned.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param beanType The Class of the desired return Object matching the table
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Object
+   */
+  public static <T> T queryBean(
+      String poolName, String sql, Class<T> beanType, Object[] params, QueryOptions options)
+      throws YankSQLException {
 
-    return returnList;
+    return pool(poolName).queryBean(sql, beanType, params, options);
   }
 
-  // ////// BATCH
+  // ////// Object List QUERY
   // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
   /**
-   * Batch executes the given INSERT, UPDATE, DELETE, REPLACE or UPSERT SQL statement matching the
-   * sqlKey String in a properties file loaded via Yank.addSQLStatements(...) using the default
-   * connection pool.
+   * Return a List of Beans given a SQL Key using an SQL statement matching the sqlKey String in a
+   * properties file loaded via Yank.addSQLStatements(...) using the default connection pool.
    *
    * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
    *     value
-   * @param params An array of query replacement parameters. Each row in this array is one set of
-   *     batch replacement values
-   * @return The number of rows affected or each individual execution
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The List of Objects
    * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
    *     sqlKey String
    */
-  public static int[] executeBatchSQLKey(String sqlKey, Object[][] params)
+  public static <T> List<T> queryBeanListSQLKey(String sqlKey, Class<T> beanType, Object[] params)
       throws SQLStatementNotFoundException, YankSQLException {
 
-    return executeBatchSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, params);
+    return queryBeanListSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, beanType, params);
   }
 
   /**
-   * Batch executes the given INSERT, UPDATE, DELETE, REPLACE or UPSERT SQL statement matching the
-   * sqlKey String in a properties file loaded via Yank.addSQLStatements(...).
+   * Return a List of Beans given a SQL Key using an SQL statement matching the sqlKey String in a
+   * properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The List of Objects
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static <T> List<T> queryBeanListSQLKey(
+      String poolName, String sqlKey, Class<T> beanType, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return pool(poolName).queryBeanListSQLKey(sqlKey, beanType, params);
+  }
+
+  /**
+   * Return a List of Beans given an SQL statement using the default connection pool.
+   *
+   * @param sql The SQL statement
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The List of Objects
+   */
+  public static <T> List<T> queryBeanList(String sql, Class<T> beanType, Object[] params)
+      throws YankSQLException {
+
+    return queryBeanList(YankPoolManager.DEFAULT_POOL_NAME, sql, beanType, params);
+  }
+
+  /**
+   * Return a List of Beans given an SQL statement
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The List of Objects
+   */
+  public static <T> List<T> queryBeanList(
+      String poolName, String sql, Class<T> beanType, Object[] params) throws YankSQLException {
+
+    return queryBeanList(poolName, sql, beanType, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a List of Beans given an SQL statement
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The List of Objects
+   */
+  public static <T> List<T> queryBeanList(
+      String poolName, String sql, Class<T> beanType, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    return pool(poolName).queryBeanList(sql, beanType, params, options);
+  }
+
+  // ////// Bean Map QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Return a Map of Beans keyed by a column given a SQL Key using an SQL statement matching the
+   * sqlKey String in a properties file loaded via Yank.addSQLStatements(...) using the default
+   * connection pool.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param keyColumn The name of the column holding the keys
+   * @param keyType The Class of the keys, e.g. Long.class for a numeric ID column
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The Map of Beans by key
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static <K, T> Map<K, T> queryBeanMapSQLKey(
+      String sqlKey, String keyColumn, Class<K> keyType, Class<T> beanType, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return queryBeanMapSQLKey(
+        YankPoolManager.DEFAULT_POOL_NAME, sqlKey, keyColumn, keyType, beanType, params);
+  }
+
+  /**
+   * Return a Map of Beans keyed by a column given a SQL Key using an SQL statement matching the
+   * sqlKey String in a properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param keyColumn The name of the column holding the keys
+   * @param keyType The Class of the keys, e.g. Long.class for a numeric ID column
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The Map of Beans by key
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static <K, T> Map<K, T> queryBeanMapSQLKey(
+      String poolName,
+      String sqlKey,
+      String keyColumn,
+      Class<K> keyType,
+      Class<T> beanType,
+      Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return pool(poolName).queryBeanMapSQLKey(sqlKey, keyColumn, keyType, beanType, params);
+  }
+
+  /**
+   * Return a Map of Beans keyed by a column given an SQL statement using the default connection
+   * pool.
+   *
+   * @param sql The SQL statement
+   * @param keyColumn The name of the column holding the keys
+   * @param keyType The Class of the keys, e.g. Long.class for a numeric ID column
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The Map of Beans by key
+   */
+  public static <K, T> Map<K, T> queryBeanMap(
+      String sql, String keyColumn, Class<K> keyType, Class<T> beanType, Object[] params)
+      throws YankSQLException {
+
+    return queryBeanMap(
+        YankPoolManager.DEFAULT_POOL_NAME, sql, keyColumn, keyType, beanType, params);
+  }
+
+  /**
+   * Return a Map of Beans keyed by a column given an SQL statement
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param keyColumn The name of the column holding the keys
+   * @param keyType The Class of the keys, e.g. Long.class for a numeric ID column
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The Map of Beans by key
+   */
+  public static <K, T> Map<K, T> queryBeanMap(
+      String poolName,
+      String sql,
+      String keyColumn,
+      Class<K> keyType,
+      Class<T> beanType,
+      Object[] params)
+      throws YankSQLException {
+
+    return queryBeanMap(
+        poolName, sql, keyColumn, keyType, beanType, params, 0, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a Map of Beans keyed by a column given an SQL statement. The Map is filled while the
+   * rows are read, so no intermediate List is built, and is sized up front for the expected number
+   * of rows so it never has to rehash. If several rows have the same key, the last one wins.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param keyColumn The name of the column holding the keys
+   * @param keyType The Class of the keys, e.g. Long.class for a numeric ID column
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @param expectedRows The number of rows expected. If 0, the row count of a scrollable ResultSet
+   *     is used.
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Map of Beans by key
+   */
+  public static <K, T> Map<K, T> queryBeanMap(
+      String poolName,
+      String sql,
+      String keyColumn,
+      Class<K> keyType,
+      Class<T> beanType,
+      Object[] params,
+      int expectedRows,
+      QueryOptions options)
+      throws YankSQLException {
+
+    return pool(poolName)
+        .queryBeanMap(sql, keyColumn, keyType, beanType, params, expectedRows, options);
+  }
+
+  /**
+   * Return a LongObjectHashMap of Beans keyed by a numeric column given a SQL Key using an SQL
+   * statement matching the sqlKey String in a properties file loaded via Yank.addSQLStatements(...)
+   * using the default connection pool.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param keyColumn The name of the numeric column holding the keys
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The LongObjectHashMap of Beans by key
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static <T> LongObjectHashMap<T> queryBeanLongMapSQLKey(
+      String sqlKey, String keyColumn, Class<T> beanType, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return queryBeanLongMapSQLKey(
+        YankPoolManager.DEFAULT_POOL_NAME, sqlKey, keyColumn, beanType, params);
+  }
+
+  /**
+   * Return a LongObjectHashMap of Beans keyed by a numeric column given a SQL Key using an SQL
+   * statement matching the sqlKey String in a properties file loaded via
+   * Yank.addSQLStatements(...).
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param keyColumn The name of the numeric column holding the keys
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The LongObjectHashMap of Beans by key
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static <T> LongObjectHashMap<T> queryBeanLongMapSQLKey(
+      String poolName, String sqlKey, String keyColumn, Class<T> beanType, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return pool(poolName).queryBeanLongMapSQLKey(sqlKey, keyColumn, beanType, params);
+  }
+
+  /**
+   * Return a LongObjectHashMap of Beans keyed by a numeric column given an SQL statement using the
+   * default connection pool.
+   *
+   * @param sql The SQL statement
+   * @param keyColumn The name of the numeric column holding the keys
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The LongObjectHashMap of Beans by key
+   */
+  public static <T> LongObjectHashMap<T> queryBeanLongMap(
+      String sql, String keyColumn, Class<T> beanType, Object[] params) throws YankSQLException {
+
+    return queryBeanLongMap(YankPoolManager.DEFAULT_POOL_NAME, sql, keyColumn, beanType, params);
+  }
+
+  /**
+   * Return a LongObjectHashMap of Beans keyed by a numeric column given an SQL statement
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param keyColumn The name of the numeric column holding the keys
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The LongObjectHashMap of Beans by key
+   */
+  public static <T> LongObjectHashMap<T> queryBeanLongMap(
+      String poolName, String sql, String keyColumn, Class<T> beanType, Object[] params)
+      throws YankSQLException {
+
+    return queryBeanLongMap(poolName, sql, keyColumn, beanType, params, 0, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a LongObjectHashMap of Beans keyed by a numeric column given an SQL statement. The keys
+   * are read with ResultSet.getLong() into an open addressing map, so unlike queryBeanMap(...)
+   * neither the keys nor the map entries are boxed. If several rows have the same key, the last one
+   * wins. A NULL key fails the query.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param keyColumn The name of the numeric column holding the keys
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @param expectedRows The number of rows expected. If 0, the row count of a scrollable ResultSet
+   *     is used.
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The LongObjectHashMap of Beans by key
+   */
+  public static <T> LongObjectHashMap<T> queryBeanLongMap(
+      String poolName,
+      String sql,
+      String keyColumn,
+      Class<T> beanType,
+      Object[] params,
+      int expectedRows,
+      QueryOptions options)
+      throws YankSQLException {
+
+    return pool(poolName).queryBeanLongMap(sql, keyColumn, beanType, params, expectedRows, options);
+  }
+
+  // ////// Column List QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Return a List of Objects from a single table column given a SQL Key using an SQL statement
+   * matching the sqlKey String in a properties file loaded via Yank.addSQLStatements(...) using the
+   * default connection pool.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @param columnType The Class of the desired return Objects matching the table
+   * @return The Column as a List
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static <T> List<T> queryColumnSQLKey(
+      String sqlKey, String columnName, Class<T> columnType, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return queryColumnSQLKey(
+        YankPoolManager.DEFAULT_POOL_NAME, sqlKey, columnName, columnType, params);
+  }
+
+  /**
+   * Return a List of Objects from a single table column given a SQL Key using an SQL statement
+   * matching the sqlKey String in a properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @param columnType The Class of the desired return Objects matching the table
+   * @return The Column as a List
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static <T> List<T> queryColumnSQLKey(
+      String poolName, String sqlKey, String columnName, Class<T> columnType, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return pool(poolName).queryColumnSQLKey(sqlKey, columnName, columnType, params);
+  }
+
+  /**
+   * Return a List of Objects from a single table column given an SQL statement using the default
+   * connection pool.
+   *
+   * @param <T>
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param columnType The Class of the desired return Objects matching the table
+   * @return The Column as a List
+   */
+  public static <T> List<T> queryColumn(
+      String sql, String columnName, Class<T> columnType, Object[] params) throws YankSQLException {
+
+    return queryColumn(YankPoolManager.DEFAULT_POOL_NAME, sql, columnName, columnType, params);
+  }
+
+  /**
+   * Return a List of Objects from a single table column given an SQL statement
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param columnType The Class of the desired return Objects matching the table
+   * @return The Column as a List
+   */
+  public static <T> List<T> queryColumn(
+      String poolName, String sql, String columnName, Class<T> columnType, Object[] params)
+      throws YankSQLException {
+
+    return queryColumn(poolName, sql, columnName, columnType, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a List of Objects from a single table column given an SQL statement
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param columnType The Class of the desired return Objects matching the table
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Column as a List
+   */
+  public static <T> List<T> queryColumn(
+      String poolName,
+      String sql,
+      String columnName,
+      Class<T> columnType,
+      Object[] params,
+      QueryOptions options)
+      throws YankSQLException {
+
+    return pool(poolName).queryColumn(sql, columnName, columnType, params, options);
+  }
+
+  // ////// PRIMITIVE COLUMN QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Return a long[] from a single table column given a SQL Key using an SQL statement matching the
+   * sqlKey String in a properties file loaded via Yank.addSQLStatements(...) using the default
+   * connection pool. SQL NULL is returned as 0.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as a long[]
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static long[] queryLongColumnSQLKey(String sqlKey, String columnName, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return queryLongColumnSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, columnName, params);
+  }
+
+  /**
+   * Return a long[] from a single table column given a SQL Key using an SQL statement matching the
+   * sqlKey String in a properties file loaded via Yank.addSQLStatements(...). SQL NULL is returned
+   * as 0.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as a long[]
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static long[] queryLongColumnSQLKey(
+      String poolName, String sqlKey, String columnName, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return pool(poolName).queryLongColumnSQLKey(sqlKey, columnName, params);
+  }
+
+  /**
+   * Return a long[] from a single table column given an SQL statement using the default connection
+   * pool. SQL NULL is returned as 0.
+   *
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as a long[]
+   */
+  public static long[] queryLongColumn(String sql, String columnName, Object[] params)
+      throws YankSQLException {
+
+    return queryLongColumn(YankPoolManager.DEFAULT_POOL_NAME, sql, columnName, params);
+  }
+
+  /**
+   * Return a long[] from a single table column given an SQL statement. SQL NULL is returned as 0.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as a long[]
+   */
+  public static long[] queryLongColumn(
+      String poolName, String sql, String columnName, Object[] params) throws YankSQLException {
+
+    return queryLongColumn(poolName, sql, columnName, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a long[] from a single table column given an SQL statement. The values are read with
+   * ResultSet.getLong() straight into a growable array, so none of them is boxed. SQL NULL is
+   * returned as 0.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Column as a long[]
+   */
+  public static long[] queryLongColumn(
+      String poolName, String sql, String columnName, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    return pool(poolName).queryLongColumn(sql, columnName, params, options);
+  }
+
+  /**
+   * Return a int[] from a single table column given a SQL Key using an SQL statement matching the
+   * sqlKey String in a properties file loaded via Yank.addSQLStatements(...) using the default
+   * connection pool. SQL NULL is returned as 0.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as a int[]
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static int[] queryIntColumnSQLKey(String sqlKey, String columnName, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return queryIntColumnSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, columnName, params);
+  }
+
+  /**
+   * Return a int[] from a single table column given a SQL Key using an SQL statement matching the
+   * sqlKey String in a properties file loaded via Yank.addSQLStatements(...). SQL NULL is returned
+   * as 0.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as a int[]
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static int[] queryIntColumnSQLKey(
+      String poolName, String sqlKey, String columnName, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return pool(poolName).queryIntColumnSQLKey(sqlKey, columnName, params);
+  }
+
+  /**
+   * Return a int[] from a single table column given an SQL statement using the default connection
+   * pool. SQL NULL is returned as 0.
+   *
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as a int[]
+   */
+  public static int[] queryIntColumn(String sql, String columnName, Object[] params)
+      throws YankSQLException {
+
+    return queryIntColumn(YankPoolManager.DEFAULT_POOL_NAME, sql, columnName, params);
+  }
+
+  /**
+   * Return a int[] from a single table column given an SQL statement. SQL NULL is returned as 0.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as a int[]
+   */
+  public static int[] queryIntColumn(
+      String poolName, String sql, String columnName, Object[] params) throws YankSQLException {
+
+    return queryIntColumn(poolName, sql, columnName, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a int[] from a single table column given an SQL statement. The values are read with
+   * ResultSet.getInt() straight into a growable array, so none of them is boxed. SQL NULL is
+   * returned as 0.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Column as a int[]
+   */
+  public static int[] queryIntColumn(
+      String poolName, String sql, String columnName, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    return pool(poolName).queryIntColumn(sql, columnName, params, options);
+  }
+
+  /**
+   * Return a double[] from a single table column given a SQL Key using an SQL statement matching
+   * the sqlKey String in a properties file loaded via Yank.addSQLStatements(...) using the default
+   * connection pool. SQL NULL is returned as 0.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as a double[]
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static double[] queryDoubleColumnSQLKey(String sqlKey, String columnName, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return queryDoubleColumnSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, columnName, params);
+  }
+
+  /**
+   * Return a double[] from a single table column given a SQL Key using an SQL statement matching
+   * the sqlKey String in a properties file loaded via Yank.addSQLStatements(...). SQL NULL is
+   * returned as 0.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as a double[]
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static double[] queryDoubleColumnSQLKey(
+      String poolName, String sqlKey, String columnName, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return pool(poolName).queryDoubleColumnSQLKey(sqlKey, columnName, params);
+  }
+
+  /**
+   * Return a double[] from a single table column given an SQL statement using the default
+   * connection pool. SQL NULL is returned as 0.
+   *
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as a double[]
+   */
+  public static double[] queryDoubleColumn(String sql, String columnName, Object[] params)
+      throws YankSQLException {
+
+    return queryDoubleColumn(YankPoolManager.DEFAULT_POOL_NAME, sql, columnName, params);
+  }
+
+  /**
+   * Return a double[] from a single table column given an SQL statement. SQL NULL is returned as 0.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as a double[]
+   */
+  public static double[] queryDoubleColumn(
+      String poolName, String sql, String columnName, Object[] params) throws YankSQLException {
+
+    return queryDoubleColumn(poolName, sql, columnName, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a double[] from a single table column given an SQL statement. The values are read with
+   * ResultSet.getDouble() straight into a growable array, so none of them is boxed. SQL NULL is
+   * returned as 0.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Column as a double[]
+   */
+  public static double[] queryDoubleColumn(
+      String poolName, String sql, String columnName, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    return pool(poolName).queryDoubleColumn(sql, columnName, params, options);
+  }
+
+  // ////// COLUMNAR QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Return a ColumnarResult given a SQL Key using an SQL statement matching the sqlKey String in a
+   * properties file loaded via Yank.addSQLStatements(...) using the default connection pool.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @return The rows stored column by column
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static ColumnarResult queryColumnarSQLKey(String sqlKey, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return queryColumnarSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, params);
+  }
+
+  /**
+   * Return a ColumnarResult given a SQL Key using an SQL statement matching the sqlKey String in a
+   * properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @return The rows stored column by column
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static ColumnarResult queryColumnarSQLKey(String poolName, String sqlKey, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return pool(poolName).queryColumnarSQLKey(sqlKey, params);
+  }
+
+  /**
+   * Return a ColumnarResult given an SQL statement using the default connection pool.
+   *
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @return The rows stored column by column
+   */
+  public static ColumnarResult queryColumnar(String sql, Object[] params) throws YankSQLException {
+
+    return queryColumnar(YankPoolManager.DEFAULT_POOL_NAME, sql, params);
+  }
+
+  /**
+   * Return a ColumnarResult given an SQL statement.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @return The rows stored column by column
+   */
+  public static ColumnarResult queryColumnar(String poolName, String sql, Object[] params)
+      throws YankSQLException {
+
+    return queryColumnar(poolName, sql, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a ColumnarResult given an SQL statement. The rows are read in a single pass into one
+   * typed vector per column, chosen from the ResultSetMetaData: integer and floating point columns
+   * go into primitive arrays with a null bitmap and character columns are dictionary-encoded, so
+   * aggregating over a column touches one contiguous array instead of a List of row objects. See
+   * {@link ColumnarResultHandler} for the type mapping.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The rows stored column by column
+   */
+  public static ColumnarResult queryColumnar(
+      String poolName, String sql, Object[] params, QueryOptions options) throws YankSQLException {
+
+    return pool(poolName).queryColumnar(sql, params, options);
+  }
+
+  // ////// OBJECT[] LIST QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Return a List of generic Object[]s given a SQL Key using an SQL statement matching the sqlKey
+   * String in a properties file loaded via Yank.addSQLStatements(...) using the default connection
+   * pool.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @return The List of generic Object[]s
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static List<Object[]> queryObjectArraysSQLKey(String sqlKey, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return queryObjectArraysSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, params);
+  }
+
+  /**
+   * Return a List of generic Object[]s given a SQL Key using an SQL statement matching the sqlKey
+   * String in a properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @return The List of generic Object[]s
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static List<Object[]> queryObjectArraysSQLKey(
+      String poolName, String sqlKey, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return pool(poolName).queryObjectArraysSQLKey(sqlKey, params);
+  }
+
+  /**
+   * Return a List of generic Object[]s given an SQL statement using the default connection pool.
+   *
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @return The List of generic Object[]s
+   */
+  public static List<Object[]> queryObjectArrays(String sql, Object[] params)
+      throws YankSQLException {
+
+    return queryObjectArrays(YankPoolManager.DEFAULT_POOL_NAME, sql, params);
+  }
+
+  /**
+   * Return a List of generic Object[]s given an SQL statement
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @return The List of generic Object[]s
+   */
+  public static List<Object[]> queryObjectArrays(String poolName, String sql, Object[] params)
+      throws YankSQLException {
+
+    return queryObjectArrays(poolName, sql, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a List of generic Object[]s given an SQL statement
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The List of generic Object[]s
+   */
+  public static List<Object[]> queryObjectArrays(
+      String poolName, String sql, Object[] params, QueryOptions options) throws YankSQLException {
+
+    return pool(poolName).queryObjectArrays(sql, params, options);
+  }
+
+  // ////// STREAM QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Return a Stream of Beans given a SQL Key using an SQL statement matching the sqlKey String in a
+   * properties file loaded via Yank.addSQLStatements(...) using the default connection pool. Rows
+   * are read on demand and the Connection stays checked out until the Stream is read to the end or
+   * closed, so use try-with-resources.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The Stream of Objects
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static <T> Stream<T> queryBeanStreamSQLKey(
+      String sqlKey, Class<T> beanType, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return queryBeanStreamSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, beanType, params);
+  }
+
+  /**
+   * Return a Stream of Beans given a SQL Key using an SQL statement matching the sqlKey String in a
+   * properties file loaded via Yank.addSQLStatements(...). Rows are read on demand and the
+   * Connection stays checked out until the Stream is read to the end or closed, so use
+   * try-with-resources.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The Stream of Objects
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static <T> Stream<T> queryBeanStreamSQLKey(
+      String poolName, String sqlKey, Class<T> beanType, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return queryBeanStreamSQLKey(poolName, sqlKey, beanType, params, 0);
+  }
+
+  /**
+   * Return a Stream of Beans given a SQL Key using an SQL statement matching the sqlKey String in a
+   * properties file loaded via Yank.addSQLStatements(...). Rows are read on demand and the
+   * Connection stays checked out until the Stream is read to the end or closed, so use
+   * try-with-resources.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @param fetchSize The number of rows the driver should fetch per round trip, or 0 for the driver
+   *     default
+   * @return The Stream of Objects
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static <T> Stream<T> queryBeanStreamSQLKey(
+      String poolName, String sqlKey, Class<T> beanType, Object[] params, int fetchSize)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return pool(poolName).queryBeanStreamSQLKey(sqlKey, beanType, params, fetchSize);
+  }
+
+  /**
+   * Return a Stream of Beans given an SQL statement using the default connection pool. Rows are
+   * read on demand and the Connection stays checked out until the Stream is read to the end or
+   * closed, so use try-with-resources.
+   *
+   * @param sql The SQL statement
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The Stream of Objects
+   */
+  public static <T> Stream<T> queryBeanStream(String sql, Class<T> beanType, Object[] params)
+      throws YankSQLException {
+
+    return queryBeanStream(YankPoolManager.DEFAULT_POOL_NAME, sql, beanType, params);
+  }
+
+  /**
+   * Return a Stream of Beans given an SQL statement. Rows are read on demand and the Connection
+   * stays checked out until the Stream is read to the end or closed, so use try-with-resources.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The Stream of Objects
+   */
+  public static <T> Stream<T> queryBeanStream(
+      String poolName, String sql, Class<T> beanType, Object[] params) throws YankSQLException {
+
+    return queryBeanStream(poolName, sql, beanType, params, 0);
+  }
+
+  /**
+   * Return a Stream of Beans given an SQL statement. Rows are read on demand and the Connection
+   * stays checked out until the Stream is read to the end or closed, so use try-with-resources.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @param fetchSize The number of rows the driver should fetch per round trip, or 0 for the driver
+   *     default
+   * @return The Stream of Objects, empty if the query failed and exceptions are logged
+   */
+  public static <T> Stream<T> queryBeanStream(
+      String poolName, String sql, Class<T> beanType, Object[] params, int fetchSize)
+      throws YankSQLException {
+
+    return queryBeanStream(
+        poolName, sql, beanType, params, new QueryOptions.Builder().fetchSize(fetchSize).build());
+  }
+
+  /**
+   * Return a Stream of Beans given an SQL statement. Rows are read on demand and the Connection
+   * stays checked out until the Stream is read to the end or closed, so use try-with-resources.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Stream of Objects, empty if the query failed and exceptions are logged
+   */
+  public static <T> Stream<T> queryBeanStream(
+      String poolName, String sql, final Class<T> beanType, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    return pool(poolName).queryBeanStream(sql, beanType, params, options);
+  }
+
+  /**
+   * Return a Stream of generic Object[]s given a SQL Key using an SQL statement matching the sqlKey
+   * String in a properties file loaded via Yank.addSQLStatements(...) using the default connection
+   * pool. Rows are read on demand and the Connection stays checked out until the Stream is read to
+   * the end or closed, so use try-with-resources.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @return The Stream of generic Object[]s
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static Stream<Object[]> queryObjectArraysStreamSQLKey(String sqlKey, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return queryObjectArraysStreamSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, params);
+  }
+
+  /**
+   * Return a Stream of generic Object[]s given a SQL Key using an SQL statement matching the sqlKey
+   * String in a properties file loaded via Yank.addSQLStatements(...). Rows are read on demand and
+   * the Connection stays checked out until the Stream is read to the end or closed, so use
+   * try-with-resources.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @return The Stream of generic Object[]s
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static Stream<Object[]> queryObjectArraysStreamSQLKey(
+      String poolName, String sqlKey, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return queryObjectArraysStreamSQLKey(poolName, sqlKey, params, 0);
+  }
+
+  /**
+   * Return a Stream of generic Object[]s given a SQL Key using an SQL statement matching the sqlKey
+   * String in a properties file loaded via Yank.addSQLStatements(...). Rows are read on demand and
+   * the Connection stays checked out until the Stream is read to the end or closed, so use
+   * try-with-resources.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @param fetchSize The number of rows the driver should fetch per round trip, or 0 for the driver
+   *     default
+   * @return The Stream of generic Object[]s
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static Stream<Object[]> queryObjectArraysStreamSQLKey(
+      String poolName, String sqlKey, Object[] params, int fetchSize)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return pool(poolName).queryObjectArraysStreamSQLKey(sqlKey, params, fetchSize);
+  }
+
+  /**
+   * Return a Stream of generic Object[]s given an SQL statement using the default connection pool.
+   * Rows are read on demand and the Connection stays checked out until the Stream is read to the
+   * end or closed, so use try-with-resources.
+   *
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @return The Stream of generic Object[]s
+   */
+  public static Stream<Object[]> queryObjectArraysStream(String sql, Object[] params)
+      throws YankSQLException {
+
+    return queryObjectArraysStream(YankPoolManager.DEFAULT_POOL_NAME, sql, params);
+  }
+
+  /**
+   * Return a Stream of generic Object[]s given an SQL statement. Rows are read on demand and the
+   * Connection stays checked out until the Stream is read to the end or closed, so use
+   * try-with-resources.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @return The Stream of generic Object[]s
+   */
+  public static Stream<Object[]> queryObjectArraysStream(
+      String poolName, String sql, Object[] params) throws YankSQLException {
+
+    return queryObjectArraysStream(poolName, sql, params, 0);
+  }
+
+  /**
+   * Return a Stream of generic Object[]s given an SQL statement. Rows are read on demand and the
+   * Connection stays checked out until the Stream is read to the end or closed, so use
+   * try-with-resources.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param fetchSize The number of rows the driver should fetch per round trip, or 0 for the driver
+   *     default
+   * @return The Stream of generic Object[]s, empty if the query failed and exceptions are logged
+   */
+  public static Stream<Object[]> queryObjectArraysStream(
+      String poolName, String sql, Object[] params, int fetchSize) throws YankSQLException {
+
+    return queryObjectArraysStream(
+        poolName, sql, params, new QueryOptions.Builder().fetchSize(fetchSize).build());
+  }
+
+  /**
+   * Return a Stream of generic Object[]s given an SQL statement. Rows are read on demand and the
+   * Connection stays checked out until the Stream is read to the end or closed, so use
+   * try-with-resources.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Stream of generic Object[]s, empty if the query failed and exceptions are logged
+   */
+  public static Stream<Object[]> queryObjectArraysStream(
+      String poolName, String sql, Object[] params, QueryOptions options) throws YankSQLException {
+
+    return pool(poolName).queryObjectArraysStream(sql, params, options);
+  }
+
+  // ////// ROW VISITOR QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Passes each row of a query given a SQL Key to a RowVisitor using an SQL statement matching the
+   * sqlKey String in a properties file loaded via Yank.addSQLStatements(...) using the default
+   * connection pool.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @param visitor Receives a reused view on each row
+   * @return The number of rows visited
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static long forEachRowSQLKey(String sqlKey, Object[] params, RowVisitor visitor)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return forEachRowSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, params, visitor);
+  }
+
+  /**
+   * Passes each row of a query given a SQL Key to a RowVisitor using an SQL statement matching the
+   * sqlKey String in a properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @param visitor Receives a reused view on each row
+   * @return The number of rows visited
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static long forEachRowSQLKey(
+      String poolName, String sqlKey, Object[] params, RowVisitor visitor)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return pool(poolName).forEachRowSQLKey(sqlKey, params, visitor);
+  }
+
+  /**
+   * Passes each row of a query given an SQL statement to a RowVisitor using the default connection
+   * pool.
+   *
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param visitor Receives a reused view on each row
+   * @return The number of rows visited
+   */
+  public static long forEachRow(String sql, Object[] params, RowVisitor visitor)
+      throws YankSQLException {
+
+    return forEachRow(YankPoolManager.DEFAULT_POOL_NAME, sql, params, visitor);
+  }
+
+  /**
+   * Passes each row of a query given an SQL statement to a RowVisitor. The visitor gets the same
+   * RowView for every row, so scanning a table creates no objects per row.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param visitor Receives a reused view on each row
+   * @return The number of rows visited
+   */
+  public static long forEachRow(String poolName, String sql, Object[] params, RowVisitor visitor)
+      throws YankSQLException {
+
+    return forEachRow(poolName, sql, params, visitor, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Passes each row of a query given an SQL statement to a RowVisitor. The visitor gets the same
+   * RowView for every row, so scanning a table creates no objects per row.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param visitor Receives a reused view on each row
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The number of rows visited
+   */
+  public static long forEachRow(
+      String poolName, String sql, Object[] params, RowVisitor visitor, QueryOptions options)
+      throws YankSQLException {
+
+    return pool(poolName).forEachRow(sql, params, visitor, options);
+  }
+
+  /**
+   * Populates a single Bean from each row of a query given a SQL Key and passes it to a BeanVisitor
+   * using an SQL statement matching the sqlKey String in a properties file loaded via
+   * Yank.addSQLStatements(...) using the default connection pool.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param bean The Bean to reuse for every row
+   * @param params The replacement parameters
+   * @param visitor Receives the Bean populated from each row
+   * @return The number of rows visited
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static <T> long forEachBeanSQLKey(
+      String sqlKey, T bean, Object[] params, BeanVisitor<? super T> visitor)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return forEachBeanSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, bean, params, visitor);
+  }
+
+  /**
+   * Populates a single Bean from each row of a query given a SQL Key and passes it to a BeanVisitor
+   * using an SQL statement matching the sqlKey String in a properties file loaded via
+   * Yank.addSQLStatements(...).
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param bean The Bean to reuse for every row
+   * @param params The replacement parameters
+   * @param visitor Receives the Bean populated from each row
+   * @return The number of rows visited
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static <T> long forEachBeanSQLKey(
+      String poolName, String sqlKey, T bean, Object[] params, BeanVisitor<? super T> visitor)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return pool(poolName).forEachBeanSQLKey(sqlKey, bean, params, visitor);
+  }
+
+  /**
+   * Populates a single Bean from each row of a query given an SQL statement and passes it to a
+   * BeanVisitor using the default connection pool.
+   *
+   * @param sql The SQL statement
+   * @param bean The Bean to reuse for every row
+   * @param params The replacement parameters
+   * @param visitor Receives the Bean populated from each row
+   * @return The number of rows visited
+   */
+  public static <T> long forEachBean(
+      String sql, T bean, Object[] params, BeanVisitor<? super T> visitor) throws YankSQLException {
+
+    return forEachBean(YankPoolManager.DEFAULT_POOL_NAME, sql, bean, params, visitor);
+  }
+
+  /**
+   * Populates a single Bean from each row of a query given an SQL statement and passes it to a
+   * BeanVisitor. The same Bean instance is passed for every row, so it must not be kept by the
+   * visitor. Properties without a matching column keep their previous value.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param bean The Bean to reuse for every row
+   * @param params The replacement parameters
+   * @param visitor Receives the Bean populated from each row
+   * @return The number of rows visited
+   */
+  public static <T> long forEachBean(
+      String poolName, String sql, T bean, Object[] params, BeanVisitor<? super T> visitor)
+      throws YankSQLException {
+
+    return forEachBean(poolName, sql, bean, params, visitor, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Populates a single Bean from each row of a query given an SQL statement and passes it to a
+   * BeanVisitor. The same Bean instance is passed for every row, so it must not be kept by the
+   * visitor. Properties without a matching column keep their previous value.
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param bean The Bean to reuse for every row
+   * @param params The replacement parameters
+   * @param visitor Receives the Bean populated from each row
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The number of rows visited
+   */
+  public static <T> long forEachBean(
+      String poolName,
+      String sql,
+      T bean,
+      Object[] params,
+      BeanVisitor<? super T> visitor,
+      QueryOptions options)
+      throws YankSQLException {
+
+    return pool(poolName).forEachBean(sql, bean, params, visitor, options);
+  }
+
+  // ////// BATCH
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Batch executes the given INSERT, UPDATE, DELETE, REPLACE or UPSERT SQL statement matching the
+   * sqlKey String in a properties file loaded via Yank.addSQLStatements(...) using the default
+   * connection pool.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params An array of query replacement parameters. Each row in this array is one set of
+   *     batch replacement values
+   * @return The number of rows affected or each individual execution
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public static int[] executeBatchSQLKey(String sqlKey, Object[][] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return executeBatchSQLKey(YankPoolManager.DEFAULT_POOL_NAME, sqlKey, params);
+  }
+
+  /**
+   * Batch executes the given INSERT, UPDATE, DELETE, REPLACE or UPSERT SQL statement matching the
+   * sqlKey String in a properties file loaded via Yank.addSQLStatements(...).
    *
    * @param poolName The name of the connection pool to query against
    * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
@@ -733,12 +2012,7 @@ public class Yank {
   public static int[] executeBatchSQLKey(String poolName, String sqlKey, Object[][] params)
       throws SQLStatementNotFoundException, YankSQLException {
 
-    String sql = YANK_POOL_MANAGER.getMergedSqlProperties().getProperty(sqlKey);
-    if (sql == null || sql.equalsIgnoreCase("")) {
-      throw new SQLStatementNotFoundException();
-    } else {
-      return executeBatch(poolName, sql, params);
-    }
+    return pool(poolName).executeBatchSQLKey(sqlKey, params);
   }
 
   /**
@@ -767,18 +2041,37 @@ public class Yank {
   public static int[] executeBatch(String poolName, String sql, Object[][] params)
       throws YankSQLException {
 
-    int[] returnIntArray = null;
+    return executeBatch(poolName, sql, params, QueryOptions.DEFAULT);
+  }
 
-    try {
+  /**
+   * Batch executes the given INSERT, UPDATE, DELETE, REPLACE or UPSERT SQL statement
+   *
+   * @param poolName The name of the connection pool to query against
+   * @param sql The SQL statement
+   * @param params An array of query replacement parameters. Each row in this array is one set of
+   *     batch replacement values
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The number of rows affected or each individual execution
+   */
+  public static int[] executeBatch(
+      String poolName, String sql, Object[][] params, QueryOptions options)
+      throws YankSQLException {
 
-      returnIntArray =
-          new QueryRunner(YANK_POOL_MANAGER.getConnectionPool(poolName)).batch(sql, params);
+    return pool(poolName).executeBatch(sql, params, options);
+  }
 
-    } catch (SQLException e) {
-      handleSQLException(e, poolName, sql);
-    }
+  /**
+   * @param poolName The name of the connection pool
+   * @return the handle of the pool, or a handle without a DataSource if no pool with that name is
+   *     set up, whose queries fail like they did before
+   */
+  private static YankPool pool(String poolName) {
 
-    return returnIntArray;
+    YankPool pool = YANK_POOL_MANAGER.getYankPool(poolName);
+    return pool == null
+        ? new YankPool(poolName, YANK_POOL_MANAGER.getConnectionPool(poolName), null, null)
+        : pool;
   }
 
   /**
@@ -786,9 +2079,17 @@ public class Yank {
    *
    * @param e the SQLException
    */
-  private static void handleSQLException(SQLException e, String poolName, String sql) {
+  static void handleSQLException(SQLException e, String poolName, String sql) {
 
-    YankSQLException yankSQLException = new YankSQLException(e, poolName, sql);
+    handleSQLException(new YankSQLException(e, poolName, sql));
+  }
+
+  /**
+   * Handles exceptions already wrapped, e.g. the ones that aborted a transaction, and logs them
+   *
+   * @param yankSQLException the YankSQLException
+   */
+  static void handleSQLException(YankSQLException yankSQLException) {
 
     if (throwWrappedExceptions) {
       throw yankSQLException;
@@ -802,6 +2103,10 @@ public class Yank {
    * pool) under the hood, so you have to provide the minimal essential properties and the optional
    * properties as defined here: https://github.com/brettwooldridge/HikariCP
    *
+   * <p>Set yank.statementCacheSize to keep that many PreparedStatements open per connection, which
+   * helps with drivers that do not cache statements themselves. yank.statementCacheSqlLimit sets
+   * the length of the longest SQL statement to cache, 2048 by default.
+   *
    * @param poolName
    * @param dataSourceProperties
    */
@@ -815,6 +2120,8 @@ public class Yank {
    * pool) under the hood, so you have to provide the minimal essential properties and the optional
    * properties as defined here: https://github.com/brettwooldridge/HikariCP
    *
+   * <p>See {@link #setupConnectionPool(String, Properties)} for the yank.* properties.
+   *
    * @param dataSourceProperties
    */
   public static void setupDefaultConnectionPool(Properties dataSourceProperties) {
@@ -869,6 +2176,217 @@ public class Yank {
     return YANK_POOL_MANAGER.getConnectionPool(poolName);
   }
 
+  /**
+   * Exposes the counters of the PreparedStatement cache of the default connection pool, enabled
+   * with the yank.statementCacheSize pool property.
+   *
+   * @return a snapshot of the counters, or null if the pool has no statement cache
+   */
+  public static StatementCacheStats getDefaultStatementCacheStats() {
+
+    return getStatementCacheStats(YankPoolManager.DEFAULT_POOL_NAME);
+  }
+
+  /**
+   * Exposes the counters of the PreparedStatement cache of the given connection pool, enabled with
+   * the yank.statementCacheSize pool property.
+   *
+   * @return a snapshot of the counters, or null if the pool has no statement cache
+   */
+  public static StatementCacheStats getStatementCacheStats(String poolName) {
+
+    YankPool pool = YANK_POOL_MANAGER.getYankPool(poolName);
+    return pool == null ? null : pool.getStatementCacheStats();
+  }
+
+  /**
+   * Exposes the counters of the result cache of the given connection pool, which holds the results
+   * of the SQL Keys configured with a key.cacheTtl.
+   *
+   * @return a snapshot of the counters, or null if the pool is not set up
+   */
+  public static ResultCacheStats getResultCacheStats(String poolName) {
+
+    YankPool pool = YANK_POOL_MANAGER.getYankPool(poolName);
+    return pool == null ? null : pool.getResultCacheStats();
+  }
+
+  /**
+   * Exposes the counters of the query coalescing of the given connection pool, which lets
+   * concurrent identical queries of the SQL Keys configured with key.coalesce=true share one
+   * execution.
+   *
+   * @return a snapshot of the counters, or null if the pool is not set up
+   */
+  public static CoalescingStats getCoalescingStats(String poolName) {
+
+    YankPool pool = YANK_POOL_MANAGER.getYankPool(poolName);
+    return pool == null ? null : pool.getCoalescingStats();
+  }
+
+  /**
+   * Drops the cached results reading a table from the result cache of the given connection pool.
+   * Needed only after the table was written without Yank, e.g. by another application or a stored
+   * procedure.
+   *
+   * @param poolName The name of the connection pool
+   * @param table The table name, case-insensitive
+   */
+  public static void invalidateResultCache(String poolName, String table) {
+
+    YankPool pool = YANK_POOL_MANAGER.getYankPool(poolName);
+    if (pool != null) {
+      pool.invalidateResultCache(table);
+    }
+  }
+
+  /**
+   * Returns the handle of the default connection pool, see {@link #getPool(String)}.
+   *
+   * @return the handle, or null if the default pool is not set up
+   */
+  public static YankPool getDefaultPool() {
+
+    return getPool(YankPoolManager.DEFAULT_POOL_NAME);
+  }
+
+  /**
+   * Returns the handle of the given connection pool. It has the same query, execute and batch
+   * methods as Yank without the pool name parameter, and looks up the pool, the QueryRunner and the
+   * Bean handlers once instead of on every call, so it can be kept and e.g. injected into DAOs. A
+   * new handle is created each time the pool is set up.
+   *
+   * @param poolName The name of the connection pool
+   * @return the handle, or null if no pool with that name is set up
+   */
+  public static YankPool getPool(String poolName) {
+
+    return YANK_POOL_MANAGER.getYankPool(poolName);
+  }
+
+  /**
+   * Runs a unit of work on one connection borrowed from the default connection pool, see {@link
+   * #withSession(String, Function)}.
+   *
+   * @param work The unit of work, given the session handle
+   * @return the result of the work
+   */
+  public static <T> T withSession(Function<? super YankPool, T> work) throws YankSQLException {
+
+    return withSession(YankPoolManager.DEFAULT_POOL_NAME, work);
+  }
+
+  /**
+   * Runs a unit of work on one connection borrowed from the given connection pool, so that its
+   * statements borrow the connection once instead of once each, e.g.
+   *
+   * <pre>
+   * long count = Yank.withSession("myPool", session -&gt; {
+   *   session.executeBatch("INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)", params);
+   *   return session.queryLong("SELECT COUNT(*) FROM BOOKS", 0, null);
+   * });
+   * </pre>
+   *
+   * The session handle has the same query, execute and batch methods as the pool's handle, see
+   * {@link YankPool#withSession(Function)}.
+   *
+   * @param poolName The name of the connection pool
+   * @param work The unit of work, given the session handle
+   * @return the result of the work, or null if no connection could be borrowed and exceptions are
+   *     not thrown
+   */
+  public static <T> T withSession(String poolName, Function<? super YankPool, T> work)
+      throws YankSQLException {
+
+    return pool(poolName).withSession(work);
+  }
+
+  /**
+   * Runs a unit of work in one transaction on the default connection pool, see {@link
+   * #inTransaction(String, int, Function)}.
+   *
+   * @param work The unit of work, given the transaction handle
+   * @return the result of the work
+   */
+  public static <T> T inTransaction(Function<? super YankPool, T> work) throws YankSQLException {
+
+    return inTransaction(YankPoolManager.DEFAULT_POOL_NAME, work);
+  }
+
+  /**
+   * Runs a unit of work in one transaction with the isolation level of the given connection pool,
+   * see {@link #inTransaction(String, int, Function)}.
+   *
+   * @param poolName The name of the connection pool
+   * @param work The unit of work, given the transaction handle
+   * @return the result of the work, or null if the transaction was rolled back because of an
+   *     SQLException and exceptions are not thrown
+   */
+  public static <T> T inTransaction(String poolName, Function<? super YankPool, T> work)
+      throws YankSQLException {
+
+    return pool(poolName).inTransaction(work);
+  }
+
+  /**
+   * Runs a unit of work in one transaction on one connection borrowed from the given connection
+   * pool, e.g.
+   *
+   * <pre>
+   * Yank.inTransaction("myPool", Connection.TRANSACTION_SERIALIZABLE, tx -&gt; {
+   *   tx.executeBatch("INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)", params);
+   *   return tx.execute("UPDATE STOCK SET COUNT = COUNT + ? WHERE SHELF = ?", new Object[] {params.length, shelf});
+   * });
+   * </pre>
+   *
+   * Pools run with autoCommit on, so each statement otherwise commits on its own. Here autoCommit
+   * is turned off for the work and the transaction committed once, or rolled back if the work
+   * throws, see {@link YankPool#inTransaction(int, Function)}.
+   *
+   * @param poolName The name of the connection pool
+   * @param isolationLevel The isolation level of the transaction, one of the
+   *     Connection.TRANSACTION_* constants except TRANSACTION_NONE
+   * @param work The unit of work, given the transaction handle
+   * @return the result of the work, or null if the transaction was rolled back because of an
+   *     SQLException and exceptions are not thrown
+   */
+  public static <T> T inTransaction(
+      String poolName, int isolationLevel, Function<? super YankPool, T> work)
+      throws YankSQLException {
+
+    return pool(poolName).inTransaction(isolationLevel, work);
+  }
+
+  /**
+   * Returns the asynchronous side of the default connection pool, see {@link #async(String)}.
+   *
+   * @return the asynchronous handle
+   * @throws IllegalStateException if the default pool is not set up
+   */
+  public static YankAsync async() {
+
+    return async(YankPoolManager.DEFAULT_POOL_NAME);
+  }
+
+  /**
+   * Returns the asynchronous side of the given connection pool. Its methods return
+   * CompletableFutures and run on an executor of the pool with as many threads as the pool has
+   * connections and a bounded queue, configured with the yank.asyncQueueSize and
+   * yank.asyncRejectionPolicy pool properties.
+   *
+   * @param poolName The name of the connection pool
+   * @return the asynchronous handle
+   * @throws IllegalStateException if no pool with that name is set up
+   */
+  public static YankAsync async(String poolName) {
+
+    YankPool pool = YANK_POOL_MANAGER.getYankPool(poolName);
+    if (pool == null) {
+      throw new IllegalStateException("Connection pool " + poolName + " is not set up");
+    }
+    return pool.async();
+  }
+
   public static boolean isThrowWrappedExceptions() {
     return throwWrappedExceptions;
   }
@@ -0,0 +1,560 @@
+package org.knowm.yank;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.apache.commons.dbutils.BasicRowProcessor;
+import org.apache.commons.dbutils.RowProcessor;
+import org.knowm.yank.exceptions.SQLStatementNotFoundException;
+import org.knowm.yank.flow.Publisher;
+import org.knowm.yank.processors.BeanMappingPlan;
+
+/**
+ * The asynchronous side of a YankPool, obtained with Yank.async(...) or YankPool.async(). Each
+ * method runs the YankPool method of the same name on a thread of the pool's own executor and
+ * returns a CompletableFuture of its result:
+ *
+ * <pre>
+ * Yank.async().queryBeanList("SELECT * FROM BOOKS", Book.class, null).thenAccept(books -&gt; ...);
+ * </pre>
+ *
+ * The executor has as many threads as the pool has connections (Hikari's maximumPoolSize), so at
+ * most that many calls run at once, each with its own connection. Further calls wait in a bounded
+ * queue, see the yank.asyncQueueSize and yank.asyncRejectionPolicy pool properties. Any other call
+ * on the pool can be run the same way with {@link #call(Function)}. The query...Publisher methods
+ * read the rows on the same executor only as the Subscriber requests them.
+ *
+ * <p>Exceptions are handled like in Yank: logged, completing the future with the same result the
+ * blocking call returns, or completing it exceptionally with the YankSQLException if
+ * Yank.setThrowWrappedExceptions(true) was called. The params arrays are read on the executor's
+ * thread, so they must not be modified until the future completes. Queued calls are rejected when
+ * the pool is released, which waits a few seconds for the running calls before closing the pool.
+ *
+ * @author timmolter
+ */
+public final class YankAsync {
+
+  /** Converts rows into Object[]s for published queries */
+  private static final RowProcessor ARRAY_ROW_PROCESSOR = new BasicRowProcessor();
+
+  private final YankPool pool;
+
+  private final AsyncExecutor executor;
+
+  /**
+   * Constructor
+   *
+   * @param pool The pool the calls run on
+   * @param executor The executor of the pool
+   */
+  YankAsync(YankPool pool, AsyncExecutor executor) {
+
+    this.pool = pool;
+    this.executor = executor;
+  }
+
+  /**
+   * @return the pool the calls run on
+   */
+  public YankPool getPool() {
+
+    return pool;
+  }
+
+  AsyncExecutor getExecutor() {
+
+    return executor;
+  }
+
+  /**
+   * @return the number of calls waiting for a connection
+   */
+  public int getQueuedCount() {
+
+    return executor.getQueuedCount();
+  }
+
+  /**
+   * Runs any call on the pool on the pool's executor, e.g.
+   *
+   * <pre>
+   * Yank.async().call(pool -&gt; pool.queryLong("SELECT COUNT(*) FROM BOOKS", 0, null));
+   * </pre>
+   *
+   * @param call The call, given the pool
+   * @return a future completed with the result of the call
+   */
+  public <T> CompletableFuture<T> call(Function<? super YankPool, T> call) {
+
+    return executor.submit(() -> call.apply(pool));
+  }
+
+  // ////// INSERT
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * @see YankPool#insertSQLKey(String, Object[])
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public CompletableFuture<Long> insertSQLKey(String sqlKey, Object[] params)
+      throws SQLStatementNotFoundException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return insert(statement.getSql(), params, statement.getOptions());
+  }
+
+  /**
+   * @see YankPool#insert(String, Object[])
+   */
+  public CompletableFuture<Long> insert(String sql, Object[] params) {
+
+    return insert(sql, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * @see YankPool#insert(String, Object[], QueryOptions)
+   */
+  public CompletableFuture<Long> insert(String sql, Object[] params, QueryOptions options) {
+
+    return executor.submit(() -> pool.insert(sql, params, options));
+  }
+
+  // ////// INSERT, UPDATE, DELETE, or UPSERT
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * @see YankPool#executeSQLKey(String, Object[])
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public CompletableFuture<Integer> executeSQLKey(String sqlKey, Object[] params)
+      throws SQLStatementNotFoundException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return execute(statement.getSql(), params, statement.getOptions());
+  }
+
+  /**
+   * @see YankPool#execute(String, Object[])
+   */
+  public CompletableFuture<Integer> execute(String sql, Object[] params) {
+
+    return execute(sql, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * @see YankPool#execute(String, Object[], QueryOptions)
+   */
+  public CompletableFuture<Integer> execute(String sql, Object[] params, QueryOptions options) {
+
+    return executor.submit(() -> pool.execute(sql, params, options));
+  }
+
+  // ////// Single Scalar QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * @see YankPool#queryScalarSQLKey(String, Class, Object[])
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public <T> CompletableFuture<T> queryScalarSQLKey(
+      String sqlKey, Class<T> scalarType, Object[] params) throws SQLStatementNotFoundException {
+
+    // looked up here to throw SQLStatementNotFoundException rather than fail the future
+    YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return executor.submit(() -> pool.queryScalarSQLKey(sqlKey, scalarType, params));
+  }
+
+  /**
+   * @see YankPool#queryScalar(String, Class, Object[])
+   */
+  public <T> CompletableFuture<T> queryScalar(String sql, Class<T> scalarType, Object[] params) {
+
+    return queryScalar(sql, scalarType, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * @see YankPool#queryScalar(String, Class, Object[], QueryOptions)
+   */
+  public <T> CompletableFuture<T> queryScalar(
+      String sql, Class<T> scalarType, Object[] params, QueryOptions options) {
+
+    return executor.submit(() -> pool.queryScalar(sql, scalarType, params, options));
+  }
+
+  // ////// Single Object QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * @see YankPool#queryBeanSQLKey(String, Class, Object[])
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public <T> CompletableFuture<T> queryBeanSQLKey(String sqlKey, Class<T> beanType, Object[] params)
+      throws SQLStatementNotFoundException {
+
+    YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return executor.submit(() -> pool.queryBeanSQLKey(sqlKey, beanType, params));
+  }
+
+  /**
+   * @see YankPool#queryBean(String, Class, Object[])
+   */
+  public <T> CompletableFuture<T> queryBean(String sql, Class<T> beanType, Object[] params) {
+
+    return queryBean(sql, beanType, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * @see YankPool#queryBean(String, Class, Object[], QueryOptions)
+   */
+  public <T> CompletableFuture<T> queryBean(
+      String sql, Class<T> beanType, Object[] params, QueryOptions options) {
+
+    return executor.submit(() -> pool.queryBean(sql, beanType, params, options));
+  }
+
+  // ////// Object List QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * @see YankPool#queryBeanListSQLKey(String, Class, Object[])
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public <T> CompletableFuture<List<T>> queryBeanListSQLKey(
+      String sqlKey, Class<T> beanType, Object[] params) throws SQLStatementNotFoundException {
+
+    YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return executor.submit(() -> pool.queryBeanListSQLKey(sqlKey, beanType, params));
+  }
+
+  /**
+   * @see YankPool#queryBeanList(String, Class, Object[])
+   */
+  public <T> CompletableFuture<List<T>> queryBeanList(
+      String sql, Class<T> beanType, Object[] params) {
+
+    return queryBeanList(sql, beanType, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * @see YankPool#queryBeanList(String, Class, Object[], QueryOptions)
+   */
+  public <T> CompletableFuture<List<T>> queryBeanList(
+      String sql, Class<T> beanType, Object[] params, QueryOptions options) {
+
+    return executor.submit(() -> pool.queryBeanList(sql, beanType, params, options));
+  }
+
+  // ////// Column List QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * @see YankPool#queryColumnSQLKey(String, String, Class, Object[])
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public <T> CompletableFuture<List<T>> queryColumnSQLKey(
+      String sqlKey, String columnName, Class<T> columnType, Object[] params)
+      throws SQLStatementNotFoundException {
+
+    YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return executor.submit(() -> pool.queryColumnSQLKey(sqlKey, columnName, columnType, params));
+  }
+
+  /**
+   * @see YankPool#queryColumn(String, String, Class, Object[])
+   */
+  public <T> CompletableFuture<List<T>> queryColumn(
+      String sql, String columnName, Class<T> columnType, Object[] params) {
+
+    return queryColumn(sql, columnName, columnType, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * @see YankPool#queryColumn(String, String, Class, Object[], QueryOptions)
+   */
+  public <T> CompletableFuture<List<T>> queryColumn(
+      String sql, String columnName, Class<T> columnType, Object[] params, QueryOptions options) {
+
+    return executor.submit(() -> pool.queryColumn(sql, columnName, columnType, params, options));
+  }
+
+  // ////// OBJECT[] LIST QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * @see YankPool#queryObjectArraysSQLKey(String, Object[])
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public CompletableFuture<List<Object[]>> queryObjectArraysSQLKey(String sqlKey, Object[] params)
+      throws SQLStatementNotFoundException {
+
+    YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return executor.submit(() -> pool.queryObjectArraysSQLKey(sqlKey, params));
+  }
+
+  /**
+   * @see YankPool#queryObjectArrays(String, Object[])
+   */
+  public CompletableFuture<List<Object[]>> queryObjectArrays(String sql, Object[] params) {
+
+    return queryObjectArrays(sql, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * @see YankPool#queryObjectArrays(String, Object[], QueryOptions)
+   */
+  public CompletableFuture<List<Object[]>> queryObjectArrays(
+      String sql, Object[] params, QueryOptions options) {
+
+    return executor.submit(() -> pool.queryObjectArrays(sql, params, options));
+  }
+
+  // ////// PUBLISHER QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Return a Publisher of Beans given a SQL Key using an SQL statement matching the sqlKey String
+   * in a properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @see #queryBeanPublisher(String, Class, Object[], QueryOptions)
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public <T> Publisher<T> queryBeanPublisherSQLKey(
+      String sqlKey, Class<T> beanType, Object[] params) throws SQLStatementNotFoundException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return queryBeanPublisher(statement.getSql(), beanType, params, statement.getOptions());
+  }
+
+  /**
+   * @see #queryBeanPublisher(String, Class, Object[], QueryOptions)
+   */
+  public <T> Publisher<T> queryBeanPublisher(String sql, Class<T> beanType, Object[] params) {
+
+    return queryBeanPublisher(sql, beanType, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a Publisher of Beans given an SQL statement. Each Subscriber runs the query on its first
+   * request and is sent rows only as it requests them, read from the ResultSet on the pool's
+   * executor at most one fetch size worth at a time. The pooled Connection is held from the first
+   * request until the last row has been sent, the query fails or the Subscription is cancelled.
+   * Failures are passed to Subscriber.onError(...) as YankSQLExceptions.
+   *
+   * @param sql The SQL statement
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Publisher of Beans
+   */
+  public <T> Publisher<T> queryBeanPublisher(
+      String sql, final Class<T> beanType, Object[] params, QueryOptions options) {
+
+    return publisher(
+        sql,
+        params,
+        options,
+        () ->
+            new ResultSetSpliterator.RowMapper<T>() {
+
+              private BeanMappingPlan<T> plan;
+
+              @Override
+              public T map(ResultSet rs) throws SQLException {
+
+                if (plan == null) {
+                  plan = BeanMappingPlan.forResultSet(beanType, rs.getMetaData());
+                }
+                return plan.toBean(rs);
+              }
+            });
+  }
+
+  /**
+   * Return a Publisher of the values of a single column given a SQL Key using an SQL statement
+   * matching the sqlKey String in a properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @see #queryColumnPublisher(String, String, Class, Object[], QueryOptions)
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public <T> Publisher<T> queryColumnPublisherSQLKey(
+      String sqlKey, String columnName, Class<T> columnType, Object[] params)
+      throws SQLStatementNotFoundException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return queryColumnPublisher(
+        statement.getSql(), columnName, columnType, params, statement.getOptions());
+  }
+
+  /**
+   * @see #queryColumnPublisher(String, String, Class, Object[], QueryOptions)
+   */
+  public <T> Publisher<T> queryColumnPublisher(
+      String sql, String columnName, Class<T> columnType, Object[] params) {
+
+    return queryColumnPublisher(sql, columnName, columnType, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a Publisher of the values of a single column given an SQL statement, see {@link
+   * #queryBeanPublisher(String, Class, Object[], QueryOptions)}. SQL NULLs are skipped, since a
+   * Publisher cannot send null.
+   *
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param columnType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Publisher of column values
+   */
+  public <T> Publisher<T> queryColumnPublisher(
+      String sql,
+      final String columnName,
+      final Class<T> columnType,
+      Object[] params,
+      QueryOptions options) {
+
+    return publisher(
+        sql,
+        params,
+        options,
+        () ->
+            new ResultSetSpliterator.RowMapper<T>() {
+
+              @Override
+              public T map(ResultSet rs) throws SQLException {
+
+                return columnValue(rs, columnName, columnType);
+              }
+            });
+  }
+
+  /**
+   * Return a Publisher of generic Object[]s given a SQL Key using an SQL statement matching the
+   * sqlKey String in a properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @see #queryObjectArraysPublisher(String, Object[], QueryOptions)
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public Publisher<Object[]> queryObjectArraysPublisherSQLKey(String sqlKey, Object[] params)
+      throws SQLStatementNotFoundException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return queryObjectArraysPublisher(statement.getSql(), params, statement.getOptions());
+  }
+
+  /**
+   * @see #queryObjectArraysPublisher(String, Object[], QueryOptions)
+   */
+  public Publisher<Object[]> queryObjectArraysPublisher(String sql, Object[] params) {
+
+    return queryObjectArraysPublisher(sql, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a Publisher of generic Object[]s given an SQL statement, see {@link
+   * #queryBeanPublisher(String, Class, Object[], QueryOptions)}.
+   *
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Publisher of generic Object[]s
+   */
+  public Publisher<Object[]> queryObjectArraysPublisher(
+      String sql, Object[] params, QueryOptions options) {
+
+    return publisher(
+        sql,
+        params,
+        options,
+        () ->
+            new ResultSetSpliterator.RowMapper<Object[]>() {
+
+              @Override
+              public Object[] map(ResultSet rs) throws SQLException {
+
+                return ARRAY_ROW_PROCESSOR.toArray(rs);
+              }
+            });
+  }
+
+  private <T> Publisher<T> publisher(
+      String sql,
+      Object[] params,
+      QueryOptions options,
+      ResultSetPublisher.RowMapperFactory<T> rowMappers) {
+
+    return new ResultSetPublisher<T>(
+        pool.getName(), pool.getDataSource(), executor, sql, params, options, rowMappers);
+  }
+
+  /**
+   * Reads a column like the column List queries do, converting numbers to the requested type.
+   *
+   * @return the value, or null if it is SQL NULL
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> T columnValue(ResultSet rs, String columnName, Class<T> columnType)
+      throws SQLException {
+
+    Object value;
+    if (columnType.equals(Integer.class)) {
+      value = rs.getInt(columnName);
+    } else if (columnType.equals(Long.class)) {
+      value = rs.getLong(columnName);
+    } else if (columnType.equals(Float.class)) {
+      value = rs.getFloat(columnName);
+    } else if (columnType.equals(Double.class)) {
+      value = rs.getDouble(columnName);
+    } else if (columnType.equals(BigDecimal.class)) {
+      value = rs.getBigDecimal(columnName);
+    } else {
+      value = rs.getObject(columnName);
+    }
+    return rs.wasNull() ? null : (T) value;
+  }
+
+  // ////// BATCH
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * @see YankPool#executeBatchSQLKey(String, Object[][])
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public CompletableFuture<int[]> executeBatchSQLKey(String sqlKey, Object[][] params)
+      throws SQLStatementNotFoundException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return executeBatch(statement.getSql(), params, statement.getOptions());
+  }
+
+  /**
+   * @see YankPool#executeBatch(String, Object[][])
+   */
+  public CompletableFuture<int[]> executeBatch(String sql, Object[][] params) {
+
+    return executeBatch(sql, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * @see YankPool#executeBatch(String, Object[][], QueryOptions)
+   */
+  public CompletableFuture<int[]> executeBatch(
+      String sql, Object[][] params, QueryOptions options) {
+
+    return executor.submit(() -> pool.executeBatch(sql, params, options));
+  }
+}
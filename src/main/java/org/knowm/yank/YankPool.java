@@ -0,0 +1,1957 @@
+package org.knowm.yank;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.apache.commons.dbutils.BasicRowProcessor;
+import org.apache.commons.dbutils.DbUtils;
+import org.apache.commons.dbutils.ResultSetHandler;
+import org.apache.commons.dbutils.RowProcessor;
+import org.apache.commons.dbutils.handlers.ArrayListHandler;
+import org.apache.commons.dbutils.handlers.BeanHandler;
+import org.apache.commons.dbutils.handlers.BeanListHandler;
+import org.apache.commons.dbutils.handlers.ColumnListHandler;
+import org.apache.commons.dbutils.handlers.ScalarHandler;
+import org.knowm.yank.collections.LongObjectHashMap;
+import org.knowm.yank.columnar.ColumnarResult;
+import org.knowm.yank.columnar.ColumnarResultHandler;
+import org.knowm.yank.exceptions.SQLStatementNotFoundException;
+import org.knowm.yank.exceptions.YankSQLException;
+import org.knowm.yank.handlers.BeanVisitor;
+import org.knowm.yank.handlers.BigDecimalColumnListHandler;
+import org.knowm.yank.handlers.BigDecimalScalarHandler;
+import org.knowm.yank.handlers.DoubleArrayColumnHandler;
+import org.knowm.yank.handlers.DoubleColumnListHandler;
+import org.knowm.yank.handlers.DoubleScalarHandler;
+import org.knowm.yank.handlers.FloatColumnListHandler;
+import org.knowm.yank.handlers.FloatScalarHandler;
+import org.knowm.yank.handlers.InsertedIDResultSetHandler;
+import org.knowm.yank.handlers.IntArrayColumnHandler;
+import org.knowm.yank.handlers.IntegerColumnListHandler;
+import org.knowm.yank.handlers.IntegerScalarHandler;
+import org.knowm.yank.handlers.KeyedBeanHandler;
+import org.knowm.yank.handlers.LongArrayColumnHandler;
+import org.knowm.yank.handlers.LongColumnListHandler;
+import org.knowm.yank.handlers.LongKeyedBeanHandler;
+import org.knowm.yank.handlers.LongScalarHandler;
+import org.knowm.yank.handlers.ReusableBeanHandler;
+import org.knowm.yank.handlers.RowVisitor;
+import org.knowm.yank.handlers.RowVisitorHandler;
+import org.knowm.yank.processors.BeanMappingPlan;
+import org.knowm.yank.processors.YankBeanProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A handle on one connection pool, obtained once with Yank.getPool(...) and then passed around,
+ * e.g. injected into DAOs. It has the same query, execute and batch methods as Yank, minus the pool
+ * name parameter, and resolves everything that does not change between calls up front: the
+ * DataSource, the statement cache, a QueryRunner with the default QueryOptions and the Bean
+ * handlers of each Bean class. The static Yank methods delegate to the handle of the named pool.
+ *
+ * <p>withSession(...) hands a unit of work a session handle with the same methods, bound to one
+ * connection of the pool for the duration of the work, and inTransaction(...) one running the work
+ * in a single transaction.
+ *
+ * <p>Exceptions are handled like in Yank: logged, or thrown as YankSQLExceptions if
+ * Yank.setThrowWrappedExceptions(true) was called. The handle becomes unusable once its pool is
+ * released.
+ *
+ * @author timmolter
+ */
+public final class YankPool {
+
+  private static final Logger logger = LoggerFactory.getLogger(YankPool.class);
+
+  /** Keeps the isolation level of the pool for a transaction */
+  private static final int POOL_ISOLATION = -1;
+
+  /** The number of QueryOptions whose runners are kept, beyond which a runner is made per call */
+  private static final int MAX_RUNNERS = 64;
+
+  /** Converts rows into Object[]s for streamed queries */
+  private static final RowProcessor ARRAY_ROW_PROCESSOR = new BasicRowProcessor();
+
+  /** The scalar handlers are stateless, so one of each serves all scalar queries */
+  private static final Map<Class<?>, ScalarHandler<?>> SCALAR_HANDLERS =
+      new HashMap<Class<?>, ScalarHandler<?>>();
+
+  private static final ScalarHandler<Object> OBJECT_SCALAR_HANDLER = new ScalarHandler<Object>();
+
+  private static final ResultSetHandler<Long> INSERTED_ID_HANDLER =
+      new InsertedIDResultSetHandler();
+
+  private static final ArrayListHandler ARRAY_LIST_HANDLER = new ArrayListHandler();
+
+  private static final ColumnarResultHandler COLUMNAR_HANDLER = new ColumnarResultHandler();
+
+  static {
+    SCALAR_HANDLERS.put(Integer.class, new IntegerScalarHandler());
+    SCALAR_HANDLERS.put(Long.class, new LongScalarHandler());
+    SCALAR_HANDLERS.put(Float.class, new FloatScalarHandler());
+    SCALAR_HANDLERS.put(Double.class, new DoubleScalarHandler());
+    SCALAR_HANDLERS.put(BigDecimal.class, new BigDecimalScalarHandler());
+  }
+
+  private final String name;
+
+  private final HikariDataSource dataSource;
+
+  /** Where statements get their connections: the pool, or the one connection of a session */
+  private final DataSource connections;
+
+  /** The connection of a session handle, or null for the handle of the pool */
+  private final Connection connection;
+
+  /**
+   * The write statements run in the transaction of a transaction handle, whose cached results are
+   * invalidated once it commits, or null if the handle is not in a transaction
+   */
+  private final Set<String> transactionWrites;
+
+  private final StatementCache statementCache;
+
+  /** The asynchronous side of the pool, or null if it has no executor */
+  private final YankAsync async;
+
+  /** The results of the SQL Keys configured with a cacheTtl */
+  private final ResultCache resultCache;
+
+  /**
+   * Shares the executions of concurrent identical queries of the SQL Keys configured to coalesce
+   */
+  private final QueryCoalescer coalescer;
+
+  /** The runner for the default QueryOptions, used by all calls without options */
+  private final YankQueryRunner defaultRunner;
+
+  /** The runners of the other QueryOptions used so far, up to MAX_RUNNERS */
+  private final ConcurrentMap<QueryOptions, YankQueryRunner> runners =
+      new ConcurrentHashMap<QueryOptions, YankQueryRunner>();
+
+  /** The Bean handlers are stateless, so one per Bean class serves all queries */
+  private final ConcurrentMap<Class<?>, BeanHandler<?>> beanHandlers =
+      new ConcurrentHashMap<Class<?>, BeanHandler<?>>();
+
+  private final ConcurrentMap<Class<?>, BeanListHandler<?>> beanListHandlers =
+      new ConcurrentHashMap<Class<?>, BeanListHandler<?>>();
+
+  /**
+   * Constructor
+   *
+   * @param name The name of the pool
+   * @param dataSource The connection pool, or null if no pool with that name has been set up
+   * @param statementCache The statement cache of the pool, or null if it has none
+   * @param executor The executor of the asynchronous calls, or null if the pool has none
+   */
+  YankPool(
+      String name,
+      HikariDataSource dataSource,
+      StatementCache statementCache,
+      AsyncExecutor executor) {
+
+    this.name = name;
+    this.dataSource = dataSource;
+    this.connections = dataSource;
+    this.connection = null;
+    this.transactionWrites = null;
+    this.statementCache = statementCache;
+    this.async = executor == null ? null : new YankAsync(this, executor);
+    this.resultCache = new ResultCache();
+    this.coalescer = new QueryCoalescer();
+    this.defaultRunner = new YankQueryRunner(dataSource, statementCache, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Constructor of a session handle, which runs all statements on one connection and shares the
+   * caches of its pool
+   *
+   * @param pool The handle of the pool
+   * @param connection The connection borrowed from the pool for the session
+   * @param transactionWrites Collects the write statements of the transaction the connection is in,
+   *     or null if it is not in one
+   */
+  private YankPool(YankPool pool, Connection connection, Set<String> transactionWrites) {
+
+    this.name = pool.name;
+    this.dataSource = pool.dataSource;
+    this.connections = new SessionDataSource(pool.dataSource, connection);
+    this.connection = connection;
+    this.transactionWrites = transactionWrites;
+    this.statementCache = pool.statementCache;
+    this.async = null;
+    this.resultCache = pool.resultCache;
+    this.coalescer = pool.coalescer;
+    this.defaultRunner = new YankQueryRunner(connections, statementCache, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * @return the name of the pool
+   */
+  public String getName() {
+
+    return name;
+  }
+
+  /**
+   * @return the connection pool
+   */
+  public HikariDataSource getDataSource() {
+
+    return dataSource;
+  }
+
+  /**
+   * Returns the asynchronous side of the pool, whose calls return CompletableFutures and run on an
+   * executor with as many threads as the pool has connections.
+   *
+   * @return the asynchronous handle
+   * @throws IllegalStateException if the pool is not set up, or this is a session handle
+   */
+  public YankAsync async() {
+
+    if (connection != null) {
+      throw new IllegalStateException("A session of connection pool " + name + " cannot go async");
+    }
+    if (async == null) {
+      throw new IllegalStateException("Connection pool " + name + " is not set up");
+    }
+    return async;
+  }
+
+  /**
+   * Runs a unit of work on one connection borrowed from the pool, e.g.
+   *
+   * <pre>
+   * Book book = pool.withSession(session -&gt; {
+   *   session.execute("UPDATE BOOKS SET PRICE = ? WHERE TITLE = ?", new Object[] {9.99, title});
+   *   return session.queryBean("SELECT * FROM BOOKS WHERE TITLE = ?", Book.class, new Object[] {title});
+   * });
+   * </pre>
+   *
+   * The session handle has all the query, execute and batch methods of the pool and runs them on
+   * the borrowed connection, which goes back to the pool when the work returns or throws. Each
+   * statement still commits on its own. Streams must be read within the work, and the session
+   * handle must not be used after it, nor by other threads. Calling withSession(...) on a session
+   * handle runs the work in the same session.
+   *
+   * @param work The unit of work, given the session handle
+   * @return the result of the work, or null if no connection could be borrowed and exceptions are
+   *     not thrown
+   */
+  public <T> T withSession(Function<? super YankPool, T> work) throws YankSQLException {
+
+    if (connection != null) {
+      return work.apply(this);
+    }
+
+    Connection borrowed;
+    try {
+      if (dataSource == null) {
+        throw new SQLException("No connection pool named " + name + " has been set up!");
+      }
+      borrowed = dataSource.getConnection();
+    } catch (SQLException e) {
+      Yank.handleSQLException(e, name, "withSession");
+      return null;
+    }
+    try {
+      return work.apply(new YankPool(this, borrowed, null));
+    } finally {
+      DbUtils.closeQuietly(borrowed);
+    }
+  }
+
+  /**
+   * Runs a unit of work in one transaction on one connection borrowed from the pool, with the
+   * pool's isolation level, see {@link #inTransaction(int, Function)}.
+   *
+   * @param work The unit of work, given the transaction handle
+   * @return the result of the work, or null if the transaction was rolled back because of an
+   *     SQLException and exceptions are not thrown
+   */
+  public <T> T inTransaction(Function<? super YankPool, T> work) throws YankSQLException {
+
+    return transaction(POOL_ISOLATION, work);
+  }
+
+  /**
+   * Runs a unit of work in one transaction on one connection borrowed from the pool, e.g.
+   *
+   * <pre>
+   * pool.inTransaction(Connection.TRANSACTION_REPEATABLE_READ, tx -&gt; {
+   *   tx.execute("UPDATE ACCOUNTS SET BALANCE = BALANCE - ? WHERE ID = ?", new Object[] {10, from});
+   *   return tx.execute("UPDATE ACCOUNTS SET BALANCE = BALANCE + ? WHERE ID = ?", new Object[] {10, to});
+   * });
+   * </pre>
+   *
+   * The transaction handle has all the query, execute and batch methods of the pool. autoCommit is
+   * turned off for the work and the transaction committed once it returns. If the work throws, the
+   * transaction is rolled back and the exception rethrown. SQLExceptions of the transaction
+   * handle's methods are always thrown, so that they abort the work, and then handled like in Yank:
+   * logged, or rethrown if Yank.setThrowWrappedExceptions(true) was called. The connection goes
+   * back to the pool with its autoCommit and isolation level restored.
+   *
+   * <p>Reads in the transaction bypass the result cache and the query coalescing, and the cached
+   * results of the tables it wrote are invalidated when it commits. Calling inTransaction(...) or
+   * withSession(...) on a transaction handle runs the work in the same transaction.
+   *
+   * @param isolationLevel The isolation level of the transaction, one of the
+   *     Connection.TRANSACTION_* constants except TRANSACTION_NONE
+   * @param work The unit of work, given the transaction handle
+   * @return the result of the work, or null if the transaction was rolled back because of an
+   *     SQLException and exceptions are not thrown
+   * @throws IllegalArgumentException if the isolation level is not a transaction isolation level
+   */
+  public <T> T inTransaction(int isolationLevel, Function<? super YankPool, T> work)
+      throws YankSQLException {
+
+    if (isolationLevel != Connection.TRANSACTION_READ_UNCOMMITTED
+        && isolationLevel != Connection.TRANSACTION_READ_COMMITTED
+        && isolationLevel != Connection.TRANSACTION_REPEATABLE_READ
+        && isolationLevel != Connection.TRANSACTION_SERIALIZABLE) {
+      throw new IllegalArgumentException("Not a transaction isolation level: " + isolationLevel);
+    }
+    return transaction(isolationLevel, work);
+  }
+
+  private <T> T transaction(int isolationLevel, Function<? super YankPool, T> work) {
+
+    if (transactionWrites != null) {
+      return work.apply(this);
+    }
+    if (connection == null) {
+      return withSession(session -> session.transaction(isolationLevel, work));
+    }
+
+    Set<String> writes = new LinkedHashSet<String>();
+    boolean autoCommit = true;
+    int isolation = POOL_ISOLATION;
+    try {
+      autoCommit = connection.getAutoCommit();
+      if (isolationLevel != POOL_ISOLATION) {
+        isolation = connection.getTransactionIsolation();
+        connection.setTransactionIsolation(isolationLevel);
+      }
+      connection.setAutoCommit(false);
+
+      T result = work.apply(new YankPool(this, connection, writes));
+      connection.commit();
+      for (String sql : writes) {
+        invalidateWrites(sql);
+      }
+      return result;
+    } catch (SQLException e) {
+      rollback();
+      Yank.handleSQLException(e, name, "inTransaction");
+      return null;
+    } catch (YankSQLException e) {
+      rollback();
+      Yank.handleSQLException(e);
+      return null;
+    } catch (RuntimeException | Error e) {
+      rollback();
+      throw e;
+    } finally {
+      try {
+        connection.setAutoCommit(autoCommit);
+        if (isolation != POOL_ISOLATION) {
+          connection.setTransactionIsolation(isolation);
+        }
+      } catch (SQLException e) {
+        // Hikari resets both when the connection is returned anyway
+        logger.warn("Could not restore autoCommit of a connection of pool " + name, e);
+      }
+    }
+  }
+
+  private void rollback() {
+
+    try {
+      connection.rollback();
+    } catch (SQLException e) {
+      logger.error("Rollback failed on pool " + name, e);
+    }
+  }
+
+  /**
+   * @return a snapshot of the counters of the statement cache, or null if the pool has none
+   */
+  public StatementCacheStats getStatementCacheStats() {
+
+    return statementCache == null ? null : statementCache.getStats();
+  }
+
+  /**
+   * @return a snapshot of the counters of the result cache, which caches the results of the SQL
+   *     Keys configured with a cacheTtl
+   */
+  public ResultCacheStats getResultCacheStats() {
+
+    return resultCache.getStats();
+  }
+
+  /**
+   * Drops the cached results of the SQL Keys reading a table, for writes that bypass Yank. Writes
+   * through Yank invalidate the cache themselves.
+   *
+   * @param table The table name, case-insensitive
+   */
+  public void invalidateResultCache(String table) {
+
+    resultCache.invalidate(table);
+  }
+
+  /** Drops all cached results */
+  public void invalidateResultCache() {
+
+    resultCache.invalidateAll();
+  }
+
+  /**
+   * @return a snapshot of the counters of the query coalescing, which lets concurrent identical
+   *     queries of the SQL Keys configured with coalesce=true share one execution
+   */
+  public CoalescingStats getCoalescingStats() {
+
+    return coalescer.getStats();
+  }
+
+  /**
+   * Runs a query of an SQL Key through the result cache and the query coalescing configured for the
+   * key.
+   */
+  private <T> T readSQLKey(
+      SQLStatement statement, Object kind, Object[] params, Supplier<T> query) {
+
+    if (transactionWrites != null) {
+      // may see the transaction's own uncommitted writes, which must not be shared
+      return query.get();
+    }
+    Supplier<T> load =
+        statement.isCoalesced() ? () -> coalescer.get(statement, kind, params, query) : query;
+    if (statement.getCachePolicy() != null) {
+      return resultCache.get(statement, kind, params, load);
+    }
+    return load.get();
+  }
+
+  StatementCache getStatementCache() {
+
+    return statementCache;
+  }
+
+  AsyncExecutor getAsyncExecutor() {
+
+    return async == null ? null : async.getExecutor();
+  }
+
+  // ////// INSERT
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Executes a given INSERT SQL prepared statement matching the sqlKey String in a properties file
+   * loaded via Yank.addSQLStatements(...). Returns the auto-increment id of the inserted row.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @return the auto-increment id of the inserted row, or null if no id is available
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public Long insertSQLKey(String sqlKey, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return insert(statement.getSql(), params, statement.getOptions());
+  }
+
+  /**
+   * Executes a given INSERT SQL prepared statement. Returns the auto-increment id of the inserted
+   * row.
+   *
+   * @param sql The query to execute
+   * @param params The replacement parameters
+   * @return the auto-increment id of the inserted row, or null if no id is available
+   */
+  public Long insert(String sql, Object[] params) throws YankSQLException {
+
+    return insert(sql, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Executes a given INSERT SQL prepared statement. Returns the auto-increment id of the inserted
+   * row.
+   *
+   * @param sql The query to execute
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return the auto-increment id of the inserted row, or null if no id is available
+   */
+  public Long insert(String sql, Object[] params, QueryOptions options) throws YankSQLException {
+
+    Long returnLong = null;
+
+    try {
+      returnLong = runner(options).insert(sql, INSERTED_ID_HANDLER, params);
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    } finally {
+      invalidateWrites(sql);
+    }
+
+    return returnLong == null ? 0 : returnLong;
+  }
+
+  // ////// INSERT, UPDATE, DELETE, or UPSERT
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Executes the given INSERT, UPDATE, DELETE, REPLACE or UPSERT SQL statement matching the sqlKey
+   * String in a properties file loaded via Yank.addSQLStatements(...). Returns the number of rows
+   * affected.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @return The number of rows affected
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public int executeSQLKey(String sqlKey, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return execute(statement.getSql(), params, statement.getOptions());
+  }
+
+  /**
+   * Executes the given INSERT, UPDATE, DELETE, REPLACE or UPSERT SQL prepared statement. Returns
+   * the number of rows affected.
+   *
+   * @param sql The query to execute
+   * @param params The replacement parameters
+   * @return The number of rows affected
+   */
+  public int execute(String sql, Object[] params) throws YankSQLException {
+
+    return execute(sql, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Executes the given INSERT, UPDATE, DELETE, REPLACE or UPSERT SQL prepared statement. Returns
+   * the number of rows affected.
+   *
+   * @param sql The query to execute
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The number of rows affected
+   */
+  public int execute(String sql, Object[] params, QueryOptions options) throws YankSQLException {
+
+    int returnInt = 0;
+
+    try {
+
+      returnInt = runner(options).update(sql, params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    } finally {
+      invalidateWrites(sql);
+    }
+
+    return returnInt;
+  }
+
+  // ////// Single Scalar QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Return just one scalar given a SQL Key using an SQL statement matching the sqlKey String in a
+   * properties file loaded via Yank.addSQLStatements(...). If more than one row match the query,
+   * only the first row is returned.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param scalarType The Class of the desired return scalar matching the table
+   * @param params The replacement parameters
+   * @return The Object
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public <T> T queryScalarSQLKey(String sqlKey, Class<T> scalarType, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    final SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return readSQLKey(
+        statement,
+        Arrays.<Object>asList("scalar", scalarType),
+        params,
+        () -> queryScalar(statement.getSql(), scalarType, params, statement.getOptions()));
+  }
+
+  /**
+   * Return just one scalar given a an SQL statement
+   *
+   * @param sql The SQL statement
+   * @param scalarType The Class of the desired return scalar matching the table
+   * @param params The replacement parameters
+   * @return The scalar Object
+   */
+  public <T> T queryScalar(String sql, Class<T> scalarType, Object[] params)
+      throws YankSQLException {
+
+    return queryScalar(sql, scalarType, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return just one scalar given a an SQL statement
+   *
+   * @param sql The SQL statement
+   * @param scalarType The Class of the desired return scalar matching the table
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The scalar Object
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T queryScalar(String sql, Class<T> scalarType, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    T returnObject = null;
+
+    try {
+      ScalarHandler<T> resultSetHandler = (ScalarHandler<T>) SCALAR_HANDLERS.get(scalarType);
+      if (resultSetHandler == null) {
+        resultSetHandler = (ScalarHandler<T>) OBJECT_SCALAR_HANDLER;
+      }
+
+      returnObject = runner(options).query(sql, resultSetHandler, params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+
+    return returnObject;
+  }
+
+  // ////// PRIMITIVE SCALAR QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Return the first column of the first row as a long given a SQL Key using an SQL statement
+   * matching the sqlKey String in a properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
+   * @param params The replacement parameters
+   * @return The long value
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public long queryLongSQLKey(String sqlKey, long defaultValue, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return queryLong(statement.getSql(), defaultValue, params, statement.getOptions());
+  }
+
+  /**
+   * Return the first column of the first row as a long given an SQL statement.
+   *
+   * @param sql The SQL statement
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
+   * @param params The replacement parameters
+   * @return The long value
+   */
+  public long queryLong(String sql, long defaultValue, Object[] params) throws YankSQLException {
+
+    return queryLong(sql, defaultValue, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return the first column of the first row as a long given an SQL statement, read with
+   * ResultSet.getLong() and returned without being boxed. The default value is also returned if the
+   * query fails and exceptions are logged instead of thrown.
+   *
+   * @param sql The SQL statement
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The long value
+   */
+  public long queryLong(String sql, long defaultValue, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    try {
+
+      return runner(options).queryLong(sql, defaultValue, params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+
+    return defaultValue;
+  }
+
+  /**
+   * Return the first column of the first row as an int given a SQL Key using an SQL statement
+   * matching the sqlKey String in a properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
+   * @param params The replacement parameters
+   * @return The int value
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public int queryIntSQLKey(String sqlKey, int defaultValue, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return queryInt(statement.getSql(), defaultValue, params, statement.getOptions());
+  }
+
+  /**
+   * Return the first column of the first row as an int given an SQL statement.
+   *
+   * @param sql The SQL statement
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
+   * @param params The replacement parameters
+   * @return The int value
+   */
+  public int queryInt(String sql, int defaultValue, Object[] params) throws YankSQLException {
+
+    return queryInt(sql, defaultValue, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return the first column of the first row as an int given an SQL statement, read with
+   * ResultSet.getInt() and returned without being boxed. The default value is also returned if the
+   * query fails and exceptions are logged instead of thrown.
+   *
+   * @param sql The SQL statement
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The int value
+   */
+  public int queryInt(String sql, int defaultValue, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    try {
+
+      return runner(options).queryInt(sql, defaultValue, params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+
+    return defaultValue;
+  }
+
+  /**
+   * Return the first column of the first row as a double given a SQL Key using an SQL statement
+   * matching the sqlKey String in a properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
+   * @param params The replacement parameters
+   * @return The double value
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public double queryDoubleSQLKey(String sqlKey, double defaultValue, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return queryDouble(statement.getSql(), defaultValue, params, statement.getOptions());
+  }
+
+  /**
+   * Return the first column of the first row as a double given an SQL statement.
+   *
+   * @param sql The SQL statement
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
+   * @param params The replacement parameters
+   * @return The double value
+   */
+  public double queryDouble(String sql, double defaultValue, Object[] params)
+      throws YankSQLException {
+
+    return queryDouble(sql, defaultValue, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return the first column of the first row as a double given an SQL statement, read with
+   * ResultSet.getDouble() and returned without being boxed. The default value is also returned if
+   * the query fails and exceptions are logged instead of thrown.
+   *
+   * @param sql The SQL statement
+   * @param defaultValue The value to return if no row matches or the column is SQL NULL
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The double value
+   */
+  public double queryDouble(String sql, double defaultValue, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    try {
+
+      return runner(options).queryDouble(sql, defaultValue, params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+
+    return defaultValue;
+  }
+
+  // ////// Single Object QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Return just one Bean given a SQL Key using an SQL statement matching the sqlKey String in a
+   * properties file loaded via Yank.addSQLStatements(...). If more than one row match the query,
+   * only the first row is returned.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param beanType The Class of the desired return Object matching the table
+   * @param params The replacement parameters
+   * @return The Object
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public <T> T queryBeanSQLKey(String sqlKey, Class<T> beanType, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    final SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return readSQLKey(
+        statement,
+        Arrays.<Object>asList("bean", beanType),
+        params,
+        () -> queryBean(statement.getSql(), beanType, params, statement.getOptions()));
+  }
+
+  /**
+   * Return just one Bean given an SQL statement. If more than one row match the query, only the
+   * first row is returned.
+   *
+   * @param sql The SQL statement
+   * @param beanType The Class of the desired return Object matching the table
+   * @param params The replacement parameters
+   * @return The Object
+   */
+  public <T> T queryBean(String sql, Class<T> beanType, Object[] params) throws YankSQLException {
+
+    return queryBean(sql, beanType, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return just one Bean given an SQL statement. If more than one row match the query, only the
+   * first row is returned.
+   *
+   * @param sql The SQL statement
+   * @param beanType The Class of the desired return Object matching the table
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Object
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T queryBean(String sql, Class<T> beanType, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    T returnObject = null;
+
+    try {
+
+      BeanHandler<T> resultSetHandler = (BeanHandler<T>) beanHandlers.get(beanType);
+      if (resultSetHandler == null) {
+        resultSetHandler =
+            new BeanHandler<T>(beanType, new BasicRowProcessor(new YankBeanProcessor<T>(beanType)));
+        beanHandlers.putIfAbsent(beanType, resultSetHandler);
+      }
+
+      returnObject = runner(options).query(sql, resultSetHandler, params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+
+    return returnObject;
+  }
+
+  // ////// Object List QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Return a List of Beans given a SQL Key using an SQL statement matching the sqlKey String in a
+   * properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The List of Objects
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public <T> List<T> queryBeanListSQLKey(String sqlKey, Class<T> beanType, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    final SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return readSQLKey(
+        statement,
+        Arrays.<Object>asList("beanList", beanType),
+        params,
+        () -> queryBeanList(statement.getSql(), beanType, params, statement.getOptions()));
+  }
+
+  /**
+   * Return a List of Beans given an SQL statement
+   *
+   * @param sql The SQL statement
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The List of Objects
+   */
+  public <T> List<T> queryBeanList(String sql, Class<T> beanType, Object[] params)
+      throws YankSQLException {
+
+    return queryBeanList(sql, beanType, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a List of Beans given an SQL statement
+   *
+   * @param sql The SQL statement
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The List of Objects
+   */
+  @SuppressWarnings("unchecked")
+  public <T> List<T> queryBeanList(
+      String sql, Class<T> beanType, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    List<T> returnList = null;
+
+    try {
+
+      BeanListHandler<T> resultSetHandler = (BeanListHandler<T>) beanListHandlers.get(beanType);
+      if (resultSetHandler == null) {
+        resultSetHandler =
+            new BeanListHandler<T>(
+                beanType, new BasicRowProcessor(new YankBeanProcessor<T>(beanType)));
+        beanListHandlers.putIfAbsent(beanType, resultSetHandler);
+      }
+
+      returnList = runner(options).query(sql, resultSetHandler, params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+    return returnList;
+  }
+
+  // ////// Bean Map QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Return a Map of Beans keyed by a column given a SQL Key using an SQL statement matching the
+   * sqlKey String in a properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param keyColumn The name of the column holding the keys
+   * @param keyType The Class of the keys, e.g. Long.class for a numeric ID column
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The Map of Beans by key
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public <K, T> Map<K, T> queryBeanMapSQLKey(
+      String sqlKey, String keyColumn, Class<K> keyType, Class<T> beanType, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return queryBeanMap(
+        statement.getSql(), keyColumn, keyType, beanType, params, 0, statement.getOptions());
+  }
+
+  /**
+   * Return a Map of Beans keyed by a column given an SQL statement
+   *
+   * @param sql The SQL statement
+   * @param keyColumn The name of the column holding the keys
+   * @param keyType The Class of the keys, e.g. Long.class for a numeric ID column
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The Map of Beans by key
+   */
+  public <K, T> Map<K, T> queryBeanMap(
+      String sql, String keyColumn, Class<K> keyType, Class<T> beanType, Object[] params)
+      throws YankSQLException {
+
+    return queryBeanMap(sql, keyColumn, keyType, beanType, params, 0, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a Map of Beans keyed by a column given an SQL statement. The Map is filled while the
+   * rows are read and sized up front for the expected number of rows. If several rows have the same
+   * key, the last one wins.
+   *
+   * @param sql The SQL statement
+   * @param keyColumn The name of the column holding the keys
+   * @param keyType The Class of the keys, e.g. Long.class for a numeric ID column
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @param expectedRows The number of rows expected. If 0, the row count of a scrollable ResultSet
+   *     is used.
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Map of Beans by key
+   */
+  public <K, T> Map<K, T> queryBeanMap(
+      String sql,
+      String keyColumn,
+      Class<K> keyType,
+      Class<T> beanType,
+      Object[] params,
+      int expectedRows,
+      QueryOptions options)
+      throws YankSQLException {
+
+    Map<K, T> returnMap = null;
+
+    try {
+
+      returnMap =
+          runner(options)
+              .query(
+                  sql,
+                  new KeyedBeanHandler<K, T>(keyColumn, keyType, beanType, expectedRows),
+                  params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+    return returnMap;
+  }
+
+  /**
+   * Return a LongObjectHashMap of Beans keyed by a numeric column given a SQL Key using an SQL
+   * statement matching the sqlKey String in a properties file loaded via
+   * Yank.addSQLStatements(...).
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param keyColumn The name of the numeric column holding the keys
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The LongObjectHashMap of Beans by key
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public <T> LongObjectHashMap<T> queryBeanLongMapSQLKey(
+      String sqlKey, String keyColumn, Class<T> beanType, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return queryBeanLongMap(
+        statement.getSql(), keyColumn, beanType, params, 0, statement.getOptions());
+  }
+
+  /**
+   * Return a LongObjectHashMap of Beans keyed by a numeric column given an SQL statement
+   *
+   * @param sql The SQL statement
+   * @param keyColumn The name of the numeric column holding the keys
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The LongObjectHashMap of Beans by key
+   */
+  public <T> LongObjectHashMap<T> queryBeanLongMap(
+      String sql, String keyColumn, Class<T> beanType, Object[] params) throws YankSQLException {
+
+    return queryBeanLongMap(sql, keyColumn, beanType, params, 0, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a LongObjectHashMap of Beans keyed by a numeric column given an SQL statement. The keys
+   * are read with ResultSet.getLong() and never boxed. If several rows have the same key, the last
+   * one wins. A NULL key fails the query.
+   *
+   * @param sql The SQL statement
+   * @param keyColumn The name of the numeric column holding the keys
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @param expectedRows The number of rows expected. If 0, the row count of a scrollable ResultSet
+   *     is used.
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The LongObjectHashMap of Beans by key
+   */
+  public <T> LongObjectHashMap<T> queryBeanLongMap(
+      String sql,
+      String keyColumn,
+      Class<T> beanType,
+      Object[] params,
+      int expectedRows,
+      QueryOptions options)
+      throws YankSQLException {
+
+    LongObjectHashMap<T> returnMap = null;
+
+    try {
+
+      returnMap =
+          runner(options)
+              .query(sql, new LongKeyedBeanHandler<T>(keyColumn, beanType, expectedRows), params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+    return returnMap;
+  }
+
+  // ////// Column List QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Return a List of Objects from a single table column given a SQL Key using an SQL statement
+   * matching the sqlKey String in a properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param columnName The name of the column to return
+   * @param columnType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The List of Objects
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public <T> List<T> queryColumnSQLKey(
+      String sqlKey, String columnName, Class<T> columnType, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    final SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return readSQLKey(
+        statement,
+        Arrays.<Object>asList("column", columnName, columnType),
+        params,
+        () ->
+            queryColumn(
+                statement.getSql(), columnName, columnType, params, statement.getOptions()));
+  }
+
+  /**
+   * Return a List of Objects from a single table column given an SQL statement
+   *
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param columnType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The List of Objects
+   */
+  public <T> List<T> queryColumn(
+      String sql, String columnName, Class<T> columnType, Object[] params) throws YankSQLException {
+
+    return queryColumn(sql, columnName, columnType, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a List of Objects from a single table column given an SQL statement
+   *
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param columnType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The List of Objects
+   */
+  @SuppressWarnings("unchecked")
+  public <T> List<T> queryColumn(
+      String sql, String columnName, Class<T> columnType, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    List<T> returnList = null;
+
+    try {
+      ColumnListHandler<T> resultSetHandler;
+      if (columnType.equals(Integer.class)) {
+        resultSetHandler = (ColumnListHandler<T>) new IntegerColumnListHandler(columnName);
+      } else if (columnType.equals(Long.class)) {
+        resultSetHandler = (ColumnListHandler<T>) new LongColumnListHandler(columnName);
+      } else if (columnType.equals(Float.class)) {
+        resultSetHandler = (ColumnListHandler<T>) new FloatColumnListHandler(columnName);
+      } else if (columnType.equals(Double.class)) {
+        resultSetHandler = (ColumnListHandler<T>) new DoubleColumnListHandler(columnName);
+      } else if (columnType.equals(BigDecimal.class)) {
+        resultSetHandler = (ColumnListHandler<T>) new BigDecimalColumnListHandler(columnName);
+      } else {
+        resultSetHandler = new ColumnListHandler<T>(columnName);
+      }
+
+      returnList = runner(options).query(sql, resultSetHandler, params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+
+    return returnList;
+  }
+
+  // ////// PRIMITIVE COLUMN QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Return a long[] from a single table column given a SQL Key using an SQL statement matching the
+   * sqlKey String in a properties file loaded via Yank.addSQLStatements(...). SQL NULL is returned
+   * as 0.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as a long[]
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public long[] queryLongColumnSQLKey(String sqlKey, String columnName, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return queryLongColumn(statement.getSql(), columnName, params, statement.getOptions());
+  }
+
+  /**
+   * Return a long[] from a single table column given an SQL statement. SQL NULL is returned as 0.
+   *
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as a long[]
+   */
+  public long[] queryLongColumn(String sql, String columnName, Object[] params)
+      throws YankSQLException {
+
+    return queryLongColumn(sql, columnName, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a long[] from a single table column given an SQL statement. The values are read with
+   * ResultSet.getLong() straight into a growable array, so none of them is boxed. SQL NULL is
+   * returned as 0.
+   *
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Column as a long[]
+   */
+  public long[] queryLongColumn(
+      String sql, String columnName, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    long[] returnArray = null;
+
+    try {
+
+      returnArray = runner(options).query(sql, new LongArrayColumnHandler(columnName), params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+
+    return returnArray;
+  }
+
+  /**
+   * Return an int[] from a single table column given a SQL Key using an SQL statement matching the
+   * sqlKey String in a properties file loaded via Yank.addSQLStatements(...). SQL NULL is returned
+   * as 0.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as an int[]
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public int[] queryIntColumnSQLKey(String sqlKey, String columnName, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return queryIntColumn(statement.getSql(), columnName, params, statement.getOptions());
+  }
+
+  /**
+   * Return an int[] from a single table column given an SQL statement. SQL NULL is returned as 0.
+   *
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as an int[]
+   */
+  public int[] queryIntColumn(String sql, String columnName, Object[] params)
+      throws YankSQLException {
+
+    return queryIntColumn(sql, columnName, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return an int[] from a single table column given an SQL statement. The values are read with
+   * ResultSet.getInt() straight into a growable array, so none of them is boxed. SQL NULL is
+   * returned as 0.
+   *
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Column as an int[]
+   */
+  public int[] queryIntColumn(String sql, String columnName, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    int[] returnArray = null;
+
+    try {
+
+      returnArray = runner(options).query(sql, new IntArrayColumnHandler(columnName), params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+
+    return returnArray;
+  }
+
+  /**
+   * Return a double[] from a single table column given a SQL Key using an SQL statement matching
+   * the sqlKey String in a properties file loaded via Yank.addSQLStatements(...). SQL NULL is
+   * returned as 0.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as a double[]
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public double[] queryDoubleColumnSQLKey(String sqlKey, String columnName, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return queryDoubleColumn(statement.getSql(), columnName, params, statement.getOptions());
+  }
+
+  /**
+   * Return a double[] from a single table column given an SQL statement. SQL NULL is returned as 0.
+   *
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @return The Column as a double[]
+   */
+  public double[] queryDoubleColumn(String sql, String columnName, Object[] params)
+      throws YankSQLException {
+
+    return queryDoubleColumn(sql, columnName, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a double[] from a single table column given an SQL statement. The values are read with
+   * ResultSet.getDouble() straight into a growable array, so none of them is boxed. SQL NULL is
+   * returned as 0.
+   *
+   * @param sql The SQL statement
+   * @param columnName The name of the column to return
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Column as a double[]
+   */
+  public double[] queryDoubleColumn(
+      String sql, String columnName, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    double[] returnArray = null;
+
+    try {
+
+      returnArray = runner(options).query(sql, new DoubleArrayColumnHandler(columnName), params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+
+    return returnArray;
+  }
+
+  // ////// COLUMNAR QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Return a ColumnarResult given a SQL Key using an SQL statement matching the sqlKey String in a
+   * properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @return The rows stored column by column
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public ColumnarResult queryColumnarSQLKey(String sqlKey, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return queryColumnar(statement.getSql(), params, statement.getOptions());
+  }
+
+  /**
+   * Return a ColumnarResult given an SQL statement.
+   *
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @return The rows stored column by column
+   */
+  public ColumnarResult queryColumnar(String sql, Object[] params) throws YankSQLException {
+
+    return queryColumnar(sql, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a ColumnarResult given an SQL statement, with one typed vector per column. See {@link
+   * ColumnarResultHandler} for the type mapping.
+   *
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The rows stored column by column
+   */
+  public ColumnarResult queryColumnar(String sql, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    ColumnarResult returnResult = null;
+
+    try {
+
+      returnResult = runner(options).query(sql, COLUMNAR_HANDLER, params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+
+    return returnResult;
+  }
+
+  // ////// OBJECT[] LIST QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Return a List of generic Object[]s given a SQL Key using an SQL statement matching the sqlKey
+   * String in a properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @return The List of generic Object[]s
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public List<Object[]> queryObjectArraysSQLKey(String sqlKey, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    final SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return readSQLKey(
+        statement,
+        "objectArrays",
+        params,
+        () -> queryObjectArrays(statement.getSql(), params, statement.getOptions()));
+  }
+
+  /**
+   * Return a List of generic Object[]s given an SQL statement
+   *
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @return The List of generic Object[]s
+   */
+  public List<Object[]> queryObjectArrays(String sql, Object[] params) throws YankSQLException {
+
+    return queryObjectArrays(sql, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a List of generic Object[]s given an SQL statement
+   *
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The List of generic Object[]s
+   */
+  public List<Object[]> queryObjectArrays(String sql, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    List<Object[]> returnList = null;
+
+    try {
+
+      returnList = runner(options).query(sql, ARRAY_LIST_HANDLER, params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+
+    return returnList;
+  }
+
+  // ////// STREAM QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Return a Stream of Beans given a SQL Key using an SQL statement matching the sqlKey String in a
+   * properties file loaded via Yank.addSQLStatements(...). The Stream must be closed.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The Stream of Beans
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public <T> Stream<T> queryBeanStreamSQLKey(String sqlKey, Class<T> beanType, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return queryBeanStreamSQLKey(sqlKey, beanType, params, 0);
+  }
+
+  /**
+   * Return a Stream of Beans given a SQL Key using an SQL statement matching the sqlKey String in a
+   * properties file loaded via Yank.addSQLStatements(...). The Stream must be closed.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @param fetchSize The number of rows to fetch per round trip, or 0 for the key's fetch size
+   * @return The Stream of Beans
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public <T> Stream<T> queryBeanStreamSQLKey(
+      String sqlKey, Class<T> beanType, Object[] params, int fetchSize)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return queryBeanStream(
+        statement.getSql(), beanType, params, withFetchSize(statement.getOptions(), fetchSize));
+  }
+
+  /**
+   * Return a Stream of Beans given an SQL statement. The Stream must be closed.
+   *
+   * @param sql The SQL statement
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @return The Stream of Beans
+   */
+  public <T> Stream<T> queryBeanStream(String sql, Class<T> beanType, Object[] params)
+      throws YankSQLException {
+
+    return queryBeanStream(sql, beanType, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a Stream of Beans given an SQL statement. The rows are read on demand and the pooled
+   * Connection is held until the Stream has been read to the end or closed, so it must be closed,
+   * e.g. with try-with-resources.
+   *
+   * @param sql The SQL statement
+   * @param beanType The Class of the desired return Objects matching the table
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Stream of Beans, empty if the query fails and exceptions are not thrown
+   */
+  public <T> Stream<T> queryBeanStream(
+      String sql, final Class<T> beanType, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    Stream<T> returnStream = Stream.empty();
+
+    try {
+
+      returnStream =
+          ResultSetSpliterator.stream(
+              name,
+              connections,
+              sql,
+              params,
+              options,
+              new ResultSetSpliterator.RowMapper<T>() {
+
+                private BeanMappingPlan<T> plan;
+
+                @Override
+                public T map(ResultSet rs) throws SQLException {
+
+                  if (plan == null) {
+                    plan = BeanMappingPlan.forResultSet(beanType, rs.getMetaData());
+                  }
+                  return plan.toBean(rs);
+                }
+              });
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+
+    return returnStream;
+  }
+
+  /**
+   * Return a Stream of generic Object[]s given a SQL Key using an SQL statement matching the sqlKey
+   * String in a properties file loaded via Yank.addSQLStatements(...). The Stream must be closed.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @return The Stream of generic Object[]s
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public Stream<Object[]> queryObjectArraysStreamSQLKey(String sqlKey, Object[] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    return queryObjectArraysStreamSQLKey(sqlKey, params, 0);
+  }
+
+  /**
+   * Return a Stream of generic Object[]s given a SQL Key using an SQL statement matching the sqlKey
+   * String in a properties file loaded via Yank.addSQLStatements(...). The Stream must be closed.
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @param fetchSize The number of rows to fetch per round trip, or 0 for the key's fetch size
+   * @return The Stream of generic Object[]s
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public Stream<Object[]> queryObjectArraysStreamSQLKey(
+      String sqlKey, Object[] params, int fetchSize)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return queryObjectArraysStream(
+        statement.getSql(), params, withFetchSize(statement.getOptions(), fetchSize));
+  }
+
+  /**
+   * Return a Stream of generic Object[]s given an SQL statement. The Stream must be closed.
+   *
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @return The Stream of generic Object[]s
+   */
+  public Stream<Object[]> queryObjectArraysStream(String sql, Object[] params)
+      throws YankSQLException {
+
+    return queryObjectArraysStream(sql, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Return a Stream of generic Object[]s given an SQL statement. The rows are read on demand and
+   * the pooled Connection is held until the Stream has been read to the end or closed, so it must
+   * be closed, e.g. with try-with-resources.
+   *
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The Stream of generic Object[]s, empty if the query fails and exceptions are not thrown
+   */
+  public Stream<Object[]> queryObjectArraysStream(String sql, Object[] params, QueryOptions options)
+      throws YankSQLException {
+
+    Stream<Object[]> returnStream = Stream.empty();
+
+    try {
+
+      returnStream =
+          ResultSetSpliterator.stream(
+              name,
+              connections,
+              sql,
+              params,
+              options,
+              new ResultSetSpliterator.RowMapper<Object[]>() {
+
+                @Override
+                public Object[] map(ResultSet rs) throws SQLException {
+
+                  return ARRAY_ROW_PROCESSOR.toArray(rs);
+                }
+              });
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+
+    return returnStream;
+  }
+
+  // ////// ROW VISITOR QUERY
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Pass every row to a RowVisitor given a SQL Key using an SQL statement matching the sqlKey
+   * String in a properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params The replacement parameters
+   * @param visitor The visitor to pass each row to
+   * @return The number of rows visited
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public long forEachRowSQLKey(String sqlKey, Object[] params, RowVisitor visitor)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return forEachRow(statement.getSql(), params, visitor, statement.getOptions());
+  }
+
+  /**
+   * Pass every row to a RowVisitor given an SQL statement
+   *
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param visitor The visitor to pass each row to
+   * @return The number of rows visited
+   */
+  public long forEachRow(String sql, Object[] params, RowVisitor visitor) throws YankSQLException {
+
+    return forEachRow(sql, params, visitor, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Pass every row to a RowVisitor given an SQL statement. The same RowView is passed for every
+   * row, so nothing is allocated per row.
+   *
+   * @param sql The SQL statement
+   * @param params The replacement parameters
+   * @param visitor The visitor to pass each row to
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The number of rows visited
+   */
+  public long forEachRow(String sql, Object[] params, RowVisitor visitor, QueryOptions options)
+      throws YankSQLException {
+
+    Long rowCount = null;
+
+    try {
+
+      rowCount = runner(options).query(sql, new RowVisitorHandler(visitor), params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+
+    return rowCount == null ? 0 : rowCount;
+  }
+
+  /**
+   * Populate the same Bean from every row and pass it to a BeanVisitor given a SQL Key using an SQL
+   * statement matching the sqlKey String in a properties file loaded via
+   * Yank.addSQLStatements(...).
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param bean The Bean to populate from every row
+   * @param params The replacement parameters
+   * @param visitor The visitor to pass the Bean to
+   * @return The number of rows visited
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public <T> long forEachBeanSQLKey(
+      String sqlKey, T bean, Object[] params, BeanVisitor<? super T> visitor)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return forEachBean(statement.getSql(), bean, params, visitor, statement.getOptions());
+  }
+
+  /**
+   * Populate the same Bean from every row and pass it to a BeanVisitor given an SQL statement
+   *
+   * @param sql The SQL statement
+   * @param bean The Bean to populate from every row
+   * @param params The replacement parameters
+   * @param visitor The visitor to pass the Bean to
+   * @return The number of rows visited
+   */
+  public <T> long forEachBean(String sql, T bean, Object[] params, BeanVisitor<? super T> visitor)
+      throws YankSQLException {
+
+    return forEachBean(sql, bean, params, visitor, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Populate the same Bean from every row and pass it to a BeanVisitor given an SQL statement.
+   *
+   * @param sql The SQL statement
+   * @param bean The Bean to populate from every row
+   * @param params The replacement parameters
+   * @param visitor The visitor to pass the Bean to
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The number of rows visited
+   */
+  public <T> long forEachBean(
+      String sql, T bean, Object[] params, BeanVisitor<? super T> visitor, QueryOptions options)
+      throws YankSQLException {
+
+    Long rowCount = null;
+
+    try {
+
+      rowCount = runner(options).query(sql, new ReusableBeanHandler<T>(bean, visitor), params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    }
+
+    return rowCount == null ? 0 : rowCount;
+  }
+
+  // ////// BATCH
+  // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Batch executes the given INSERT, UPDATE, DELETE, REPLACE or UPSERT SQL statement matching the
+   * sqlKey String in a properties file loaded via Yank.addSQLStatements(...).
+   *
+   * @param sqlKey The SQL Key found in a properties file corresponding to the desired SQL statement
+   *     value
+   * @param params An array of query replacement parameters. Each row in this array is one set of
+   *     batch replacement values
+   * @return The number of rows affected or each individual execution
+   * @throws SQLStatementNotFoundException if an SQL statement could not be found for the given
+   *     sqlKey String
+   */
+  public int[] executeBatchSQLKey(String sqlKey, Object[][] params)
+      throws SQLStatementNotFoundException, YankSQLException {
+
+    SQLStatement statement = YankPoolManager.INSTANCE.getSQLStatement(sqlKey);
+    return executeBatch(statement.getSql(), params, statement.getOptions());
+  }
+
+  /**
+   * Batch executes the given INSERT, UPDATE, DELETE, REPLACE or UPSERT SQL statement
+   *
+   * @param sql The SQL statement
+   * @param params An array of query replacement parameters. Each row in this array is one set of
+   *     batch replacement values
+   * @return The number of rows affected or each individual execution
+   */
+  public int[] executeBatch(String sql, Object[][] params) throws YankSQLException {
+
+    return executeBatch(sql, params, QueryOptions.DEFAULT);
+  }
+
+  /**
+   * Batch executes the given INSERT, UPDATE, DELETE, REPLACE or UPSERT SQL statement
+   *
+   * @param sql The SQL statement
+   * @param params An array of query replacement parameters. Each row in this array is one set of
+   *     batch replacement values
+   * @param options The statement options, i.e. fetch size, max rows and query timeout
+   * @return The number of rows affected or each individual execution
+   */
+  public int[] executeBatch(String sql, Object[][] params, QueryOptions options)
+      throws YankSQLException {
+
+    int[] returnIntArray = null;
+
+    try {
+
+      returnIntArray = runner(options).batch(sql, params);
+
+    } catch (SQLException e) {
+      handleSQLException(e, sql);
+    } finally {
+      invalidateWrites(sql);
+    }
+
+    return returnIntArray;
+  }
+
+  /**
+   * Handles exceptions like Yank, except in a transaction, where they are always thrown to abort
+   * the work
+   */
+  private void handleSQLException(SQLException e, String sql) {
+
+    if (transactionWrites != null) {
+      throw new YankSQLException(e, name, sql);
+    }
+    Yank.handleSQLException(e, name, sql);
+  }
+
+  /** Invalidates the cached results of a write, in a transaction once it commits */
+  private void invalidateWrites(String sql) {
+
+    if (transactionWrites != null) {
+      transactionWrites.add(sql);
+    } else {
+      resultCache.invalidateWrites(sql);
+    }
+  }
+
+  private static QueryOptions withFetchSize(QueryOptions options, int fetchSize) {
+
+    return fetchSize > 0 ? new QueryOptions.Builder(options).fetchSize(fetchSize).build() : options;
+  }
+
+  private YankQueryRunner runner(QueryOptions options) {
+
+    if (options == QueryOptions.DEFAULT) {
+      return defaultRunner;
+    }
+    YankQueryRunner runner = runners.get(options);
+    if (runner == null) {
+      runner = new YankQueryRunner(connections, statementCache, options);
+      if (runners.size() < MAX_RUNNERS) {
+        YankQueryRunner cached = runners.putIfAbsent(options, runner);
+        if (cached != null) {
+          runner = cached;
+        }
+      }
+    }
+    return runner;
+  }
+}
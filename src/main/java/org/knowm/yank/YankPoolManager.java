@@ -5,6 +5,8 @@ import com.zaxxer.hikari.HikariDataSource;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import org.knowm.yank.exceptions.SQLStatementNotFoundException;
+import org.knowm.yank.processors.BeanMappingPlan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,7 +23,7 @@ public final class YankPoolManager {
 
   private final Logger logger = LoggerFactory.getLogger(YankPoolManager.class);
 
-  private final Properties mergedSqlProperties = new Properties();
+  private final SQLStatementRegistry sqlStatements = new SQLStatementRegistry();
 
   /** The singleton instance */
   protected static final YankPoolManager INSTANCE = new YankPoolManager();
@@ -31,6 +33,8 @@ public final class YankPoolManager {
   private final Map<String, HikariDataSource> pools =
       new ConcurrentHashMap<String, HikariDataSource>(2);
 
+  private final Map<String, YankPool> yankPools = new ConcurrentHashMap<String, YankPool>(2);
+
   /** A private constructor since this is a Singleton */
   private YankPoolManager() {}
 
@@ -59,6 +63,10 @@ public final class YankPoolManager {
    * <p>Note that if you call this method providing a poolName corresponding to an existing
    * connection pool, the existing pool will be first shutdown.
    *
+   * <p>Properties starting with "yank." configure Yank itself and are not passed to Hikari, e.g.
+   * yank.statementCacheSize, see {@link StatementCache}, and yank.asyncQueueSize, see {@link
+   * AsyncExecutor}.
+   *
    * @param poolName
    * @param connectionPoolProperties
    */
@@ -77,13 +85,26 @@ public final class YankPoolManager {
 
     releaseConnectionPool(poolName);
 
-    // DBUtils execute methods require autoCommit to be true.
+    // DBUtils execute methods require autoCommit to be true. YankPool.inTransaction(...) turns it
+    // off on the connection of a transaction only.
     connectionPoolProperties.put("autoCommit", true);
 
-    HikariConfig config = new HikariConfig(connectionPoolProperties);
+    HikariConfig config =
+        new HikariConfig(StatementCache.withoutYankProperties(connectionPoolProperties));
     config.setPoolName(poolName);
     HikariDataSource ds = new HikariDataSource(config);
+    StatementCache statementCache;
+    AsyncExecutor executor;
+    try {
+      statementCache = StatementCache.fromProperties(connectionPoolProperties, ds);
+      executor =
+          AsyncExecutor.fromProperties(poolName, connectionPoolProperties, ds.getMaximumPoolSize());
+    } catch (IllegalArgumentException e) {
+      ds.close();
+      throw e;
+    }
     pools.put(poolName, ds);
+    yankPools.put(poolName, new YankPool(poolName, ds, statementCache, executor));
     logger.info("Initialized pool '{}'", poolName);
   }
 
@@ -100,17 +121,35 @@ public final class YankPoolManager {
    */
   protected synchronized void releaseConnectionPool(String poolName) {
 
+    YankPool yankPool = yankPools.remove(poolName);
+    if (yankPool != null && yankPool.getAsyncExecutor() != null) {
+      yankPool.getAsyncExecutor().shutdown();
+    }
+
     HikariDataSource pool = pools.get(poolName);
 
     if (pool != null) {
       logger.info("Releasing pool: {}...", pool.getPoolName());
       pool.close();
     }
+
+    if (yankPool != null && yankPool.getStatementCache() != null) {
+      yankPool.getStatementCache().clear();
+    }
+    if (yankPools.isEmpty()) {
+      clearMappingCaches();
+    }
   }
 
   /** Closes all connection pools */
   protected synchronized void releaseAllConnectionPools() {
 
+    for (YankPool yankPool : yankPools.values()) {
+      if (yankPool.getAsyncExecutor() != null) {
+        yankPool.getAsyncExecutor().shutdown();
+      }
+    }
+
     for (HikariDataSource pool : pools.values()) {
 
       if (pool != null) {
@@ -118,6 +157,21 @@ public final class YankPoolManager {
         pool.close();
       }
     }
+
+    for (YankPool yankPool : yankPools.values()) {
+      if (yankPool.getStatementCache() != null) {
+        yankPool.getStatementCache().clear();
+      }
+    }
+    yankPools.clear();
+    clearMappingCaches();
+  }
+
+  /** Drops everything cached per Bean class, which would otherwise pin the classes' ClassLoaders */
+  private static void clearMappingCaches() {
+
+    BeanMappingPlan.clearCache();
+    NamedParameters.clearCache();
   }
 
   /**
@@ -130,6 +184,27 @@ public final class YankPoolManager {
     return pools.get(poolName);
   }
 
+  /**
+   * Get the statement cache of a connection pool
+   *
+   * @return the statement cache, or null if the pool has none
+   */
+  protected StatementCache getStatementCache(String poolName) {
+
+    YankPool yankPool = yankPools.get(poolName);
+    return yankPool == null ? null : yankPool.getStatementCache();
+  }
+
+  /**
+   * Get the handle of a connection pool
+   *
+   * @return the handle, or null if no pool with that name is set up
+   */
+  protected YankPool getYankPool(String poolName) {
+
+    return yankPools.get(poolName);
+  }
+
   /**
    * Get the default connection pool
    *
@@ -142,14 +217,18 @@ public final class YankPoolManager {
 
   protected void addSQLStatements(Properties sqlProperties) {
 
-    this.mergedSqlProperties.putAll(sqlProperties);
+    sqlStatements.addAll(sqlProperties);
   }
 
   /**
-   * @return the mergedSqlProperties
+   * Get a compiled SQL statement
+   *
+   * @param sqlKey The SQL Key
+   * @return the SQL statement added for the key
+   * @throws SQLStatementNotFoundException if no statement was added for the key
    */
-  protected Properties getMergedSqlProperties() {
+  protected SQLStatement getSQLStatement(String sqlKey) {
 
-    return mergedSqlProperties;
+    return sqlStatements.get(sqlKey);
   }
 }
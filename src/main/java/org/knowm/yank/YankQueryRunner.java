@@ -0,0 +1,450 @@
+package org.knowm.yank;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.apache.commons.dbutils.QueryRunner;
+import org.apache.commons.dbutils.ResultSetHandler;
+import org.apache.commons.dbutils.handlers.AbstractListHandler;
+import org.apache.commons.dbutils.handlers.BeanListHandler;
+import org.knowm.yank.handlers.DoubleArrayColumnHandler;
+import org.knowm.yank.handlers.IntArrayColumnHandler;
+import org.knowm.yank.handlers.KeyedBeanHandler;
+import org.knowm.yank.handlers.LongArrayColumnHandler;
+import org.knowm.yank.handlers.LongKeyedBeanHandler;
+import org.knowm.yank.handlers.ReusableBeanHandler;
+import org.knowm.yank.handlers.RowVisitorHandler;
+
+/**
+ * A QueryRunner that prepares every statement, including the ones for inserts, with the given
+ * {@link QueryOptions}. Unlike QueryRunner, statements without parameters are prepared too, so the
+ * options apply to them as well. If the pool has a {@link StatementCache}, statements are taken
+ * from it and handed back to it instead of being closed. {@link NamedParameters} and IN lists are
+ * expanded by {@link ExpandedSQL}. IN lists longer than ExpandedSQL.MAX_BUCKET values are split
+ * only for updates and for queries whose handler builds its result row by row, e.g. Lists and Maps;
+ * other queries, e.g. scalar ones, fail instead of returning a wrong aggregate.
+ *
+ * @author timmolter
+ */
+class YankQueryRunner extends QueryRunner {
+
+  private final StatementCache statementCache;
+
+  private final QueryOptions options;
+
+  /**
+   * Constructor
+   *
+   * @param ds The DataSource to get connections from
+   * @param statementCache The statement cache of the pool, or null if it has none
+   * @param options The options to apply to each statement
+   */
+  YankQueryRunner(DataSource ds, StatementCache statementCache, QueryOptions options) {
+
+    super(ds);
+    this.statementCache = statementCache;
+    this.options = options;
+  }
+
+  @Override
+  protected PreparedStatement prepareStatement(Connection conn, String sql) throws SQLException {
+
+    if (statementCache == null) {
+      return configure(
+          conn.prepareStatement(
+              sql, options.getResultSetType(), options.getResultSetConcurrency()));
+    }
+    return configure(
+        statementCache.prepare(
+            conn, sql, options.getResultSetType(), options.getResultSetConcurrency()));
+  }
+
+  @Override
+  protected PreparedStatement prepareStatement(Connection conn, String sql, int returnedKeys)
+      throws SQLException {
+
+    if (statementCache == null) {
+      return configure(super.prepareStatement(conn, sql, returnedKeys));
+    }
+    return configure(statementCache.prepare(conn, sql, returnedKeys));
+  }
+
+  /** Hands cached statements back to the cache instead of closing them */
+  @Override
+  protected void close(Statement stmt) throws SQLException {
+
+    if (statementCache == null || !statementCache.release(stmt)) {
+      super.close(stmt);
+    }
+  }
+
+  /** Hands cached statements back to the cache instead of closing them */
+  @Override
+  protected void closeQuietly(Statement stmt) {
+
+    if (statementCache == null || !statementCache.release(stmt)) {
+      super.closeQuietly(stmt);
+    }
+  }
+
+  /**
+   * Same as QueryRunner.query(...), but always uses a PreparedStatement so the options apply to
+   * statements without parameters, too.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T query(Connection conn, String sql, ResultSetHandler<T> rsh, Object... params)
+      throws SQLException {
+
+    if (conn == null) {
+      throw new SQLException("Null connection");
+    }
+    if (sql == null) {
+      throw new SQLException("Null SQL statement");
+    }
+    if (rsh == null) {
+      throw new SQLException("Null ResultSetHandler");
+    }
+
+    ExpandedSQL expanded = ExpandedSQL.of(sql, params);
+    if (expanded != null) {
+      if (expanded.size() > 1) {
+        if (!concatenatesRows(rsh)) {
+          throw new SQLException(
+              "IN lists longer than "
+                  + ExpandedSQL.MAX_BUCKET
+                  + " values are not supported by scalar and single row queries: "
+                  + sql);
+        }
+        Object merged = null;
+        for (int i = 0; i < expanded.size(); i++) {
+          merged =
+              ExpandedSQL.merge(
+                  merged, query(conn, expanded.getSql(i), rsh, expanded.getParams(i)));
+        }
+        return (T) merged;
+      }
+      sql = expanded.getSql(0);
+      params = expanded.getParams(0);
+    }
+
+    PreparedStatement stmt = null;
+    ResultSet rs = null;
+    T result = null;
+    try {
+      stmt = prepareStatement(conn, sql);
+      fillStatement(stmt, params);
+      rs = wrap(stmt.executeQuery());
+      result = rsh.handle(rs);
+    } catch (SQLException e) {
+      checkException(conn, e);
+      rethrow(e, sql, params);
+    } finally {
+      closeQuietly(rs);
+      closeQuietly(stmt);
+    }
+
+    return result;
+  }
+
+  /**
+   * @return true if the result of the handler is made of one part per row, which the results of the
+   *     chunks of a split IN list can be concatenated from. Aggregates such as MAX(...) or the
+   *     first row of a scalar or Bean query cannot.
+   */
+  private static boolean concatenatesRows(ResultSetHandler<?> rsh) {
+
+    return rsh instanceof AbstractListHandler
+        || rsh instanceof BeanListHandler
+        || rsh instanceof KeyedBeanHandler
+        || rsh instanceof LongKeyedBeanHandler
+        || rsh instanceof LongArrayColumnHandler
+        || rsh instanceof IntArrayColumnHandler
+        || rsh instanceof DoubleArrayColumnHandler
+        || rsh instanceof RowVisitorHandler
+        || rsh instanceof ReusableBeanHandler;
+  }
+
+  /**
+   * Same as QueryRunner.update(...), but always uses a PreparedStatement so the options apply to
+   * statements without parameters, too.
+   */
+  @Override
+  public int update(Connection conn, String sql, Object... params) throws SQLException {
+
+    if (conn == null) {
+      throw new SQLException("Null connection");
+    }
+    if (sql == null) {
+      throw new SQLException("Null SQL statement");
+    }
+
+    ExpandedSQL expanded = ExpandedSQL.of(sql, params);
+    if (expanded != null) {
+      if (expanded.size() > 1) {
+        Object merged = null;
+        for (int i = 0; i < expanded.size(); i++) {
+          merged =
+              ExpandedSQL.merge(merged, update(conn, expanded.getSql(i), expanded.getParams(i)));
+        }
+        return (Integer) merged;
+      }
+      sql = expanded.getSql(0);
+      params = expanded.getParams(0);
+    }
+
+    PreparedStatement stmt = null;
+    int rows = 0;
+    try {
+      stmt = prepareStatement(conn, sql);
+      fillStatement(stmt, params);
+      rows = stmt.executeUpdate();
+    } catch (SQLException e) {
+      checkException(conn, e);
+      rethrow(e, sql, params);
+    } finally {
+      close(stmt);
+    }
+
+    return rows;
+  }
+
+  /**
+   * Same as QueryRunner.insert(...), but prepares the statement through {@link
+   * #prepareStatement(Connection, String, int)} so the options apply to inserts, too.
+   */
+  @Override
+  public <T> T insert(Connection conn, String sql, ResultSetHandler<T> rsh, Object... params)
+      throws SQLException {
+
+    if (conn == null) {
+      throw new SQLException("Null connection");
+    }
+    if (sql == null) {
+      throw new SQLException("Null SQL statement");
+    }
+    if (rsh == null) {
+      throw new SQLException("Null ResultSetHandler");
+    }
+
+    ExpandedSQL expanded = ExpandedSQL.single(sql, params);
+    if (expanded != null) {
+      sql = expanded.getSql(0);
+      params = expanded.getParams(0);
+    }
+
+    PreparedStatement stmt = null;
+    ResultSet rs = null;
+    T generatedKeys = null;
+    try {
+      stmt = prepareStatement(conn, sql, Statement.RETURN_GENERATED_KEYS);
+      fillStatement(stmt, params);
+      stmt.executeUpdate();
+      rs = stmt.getGeneratedKeys();
+      generatedKeys = rsh.handle(rs);
+    } catch (SQLException e) {
+      checkException(conn, e);
+      rethrow(e, sql, params);
+    } finally {
+      closeQuietly(rs);
+      close(stmt);
+    }
+
+    return generatedKeys;
+  }
+
+  /**
+   * Returns the first column of the first row read with ResultSet.getLong(), without boxing it.
+   *
+   * @param sql The SQL statement
+   * @param defaultValue The value to return if there is no row or the column is SQL NULL
+   * @param params The replacement parameters
+   * @return the value
+   * @throws SQLException if a database access error occurs
+   */
+  long queryLong(String sql, long defaultValue, Object... params) throws SQLException {
+
+    Connection conn = prepareConnection();
+    PreparedStatement stmt = null;
+    ResultSet rs = null;
+    try {
+      stmt = prepareScalarQuery(conn, sql, params);
+      rs = wrap(stmt.executeQuery());
+      if (rs.next()) {
+        long value = rs.getLong(1);
+        if (!rs.wasNull()) {
+          return value;
+        }
+      }
+    } catch (SQLException e) {
+      checkException(conn, e);
+      rethrow(e, sql, params);
+    } finally {
+      closeQuietly(rs);
+      closeQuietly(stmt);
+      closeQuietly(conn);
+    }
+
+    return defaultValue;
+  }
+
+  /**
+   * Returns the first column of the first row read with ResultSet.getInt(), without boxing it.
+   *
+   * @param sql The SQL statement
+   * @param defaultValue The value to return if there is no row or the column is SQL NULL
+   * @param params The replacement parameters
+   * @return the value
+   * @throws SQLException if a database access error occurs
+   */
+  int queryInt(String sql, int defaultValue, Object... params) throws SQLException {
+
+    Connection conn = prepareConnection();
+    PreparedStatement stmt = null;
+    ResultSet rs = null;
+    try {
+      stmt = prepareScalarQuery(conn, sql, params);
+      rs = wrap(stmt.executeQuery());
+      if (rs.next()) {
+        int value = rs.getInt(1);
+        if (!rs.wasNull()) {
+          return value;
+        }
+      }
+    } catch (SQLException e) {
+      checkException(conn, e);
+      rethrow(e, sql, params);
+    } finally {
+      closeQuietly(rs);
+      closeQuietly(stmt);
+      closeQuietly(conn);
+    }
+
+    return defaultValue;
+  }
+
+  /**
+   * Returns the first column of the first row read with ResultSet.getDouble(), without boxing it.
+   *
+   * @param sql The SQL statement
+   * @param defaultValue The value to return if there is no row or the column is SQL NULL
+   * @param params The replacement parameters
+   * @return the value
+   * @throws SQLException if a database access error occurs
+   */
+  double queryDouble(String sql, double defaultValue, Object... params) throws SQLException {
+
+    Connection conn = prepareConnection();
+    PreparedStatement stmt = null;
+    ResultSet rs = null;
+    try {
+      stmt = prepareScalarQuery(conn, sql, params);
+      rs = wrap(stmt.executeQuery());
+      if (rs.next()) {
+        double value = rs.getDouble(1);
+        if (!rs.wasNull()) {
+          return value;
+        }
+      }
+    } catch (SQLException e) {
+      checkException(conn, e);
+      rethrow(e, sql, params);
+    } finally {
+      closeQuietly(rs);
+      closeQuietly(stmt);
+      closeQuietly(conn);
+    }
+
+    return defaultValue;
+  }
+
+  /**
+   * Prepares the statement of queryLong(), queryInt() and queryDouble() and fills in its
+   * parameters, expanding IN lists first.
+   */
+  private PreparedStatement prepareScalarQuery(Connection conn, String sql, Object[] params)
+      throws SQLException {
+
+    ExpandedSQL expanded = ExpandedSQL.single(sql, params);
+    if (expanded != null) {
+      sql = expanded.getSql(0);
+      params = expanded.getParams(0);
+    }
+
+    PreparedStatement stmt = prepareStatement(conn, sql);
+    try {
+      fillStatement(stmt, params);
+    } catch (SQLException e) {
+      closeQuietly(stmt);
+      throw e;
+    }
+    return stmt;
+  }
+
+  /**
+   * Same as QueryRunner.batch(...), but binds rows of named parameters and expands IN lists, which
+   * must have the same bucket size in every row.
+   */
+  @Override
+  public int[] batch(Connection conn, String sql, Object[][] params) throws SQLException {
+
+    if (params == null || params.length == 0) {
+      return batchChecked(conn, sql, params);
+    }
+    ExpandedSQL first = ExpandedSQL.single(sql, params[0]);
+    if (first == null) {
+      return batchChecked(conn, sql, params);
+    }
+    Object[][] expandedParams = new Object[params.length][];
+    for (int i = 0; i < params.length; i++) {
+      ExpandedSQL expanded = i == 0 ? first : ExpandedSQL.single(sql, params[i]);
+      if (expanded == null || !expanded.getSql(0).equals(first.getSql(0))) {
+        throw new SQLException("Batch row " + i + " expands to different SQL than the first row");
+      }
+      expandedParams[i] = expanded.getParams(0);
+    }
+    return batchChecked(conn, first.getSql(0), expandedParams);
+  }
+
+  private int[] batchChecked(Connection conn, String sql, Object[][] params) throws SQLException {
+
+    try {
+      return super.batch(conn, sql, params);
+    } catch (SQLException e) {
+      checkException(conn, e);
+      throw e;
+    }
+  }
+
+  /**
+   * Tells the statement cache about a failed statement, since the pool's proxy does not see the
+   * exceptions of cached statements
+   */
+  private void checkException(Connection conn, SQLException e) {
+
+    if (statementCache != null) {
+      statementCache.connectionFailed(conn, e);
+    }
+  }
+
+  /** Binds {@link SQLArray}s as JDBC Arrays of the statement's connection */
+  @Override
+  public void fillStatement(PreparedStatement stmt, Object... params) throws SQLException {
+
+    super.fillStatement(stmt, SQLArray.resolve(stmt, params));
+  }
+
+  private PreparedStatement configure(PreparedStatement stmt) throws SQLException {
+
+    try {
+      options.applyTo(stmt);
+    } catch (SQLException e) {
+      closeQuietly(stmt);
+      throw e;
+    }
+    return stmt;
+  }
+}
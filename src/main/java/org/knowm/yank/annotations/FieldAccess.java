@@ -0,0 +1,18 @@
+package org.knowm.yank.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps columns straight into the fields of the annotated class instead of through JavaBean setters,
+ * so classes without setters can be queried. Final fields are set through a constructor taking all
+ * final fields of the class, matched by parameter name: annotate the constructor with
+ * java.beans.ConstructorProperties or compile with -parameters. A parameter whose type no other
+ * final field has needs no name. If columns map to final fields but no constructor matches, the
+ * query fails.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FieldAccess {}
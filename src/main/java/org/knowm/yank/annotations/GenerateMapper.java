@@ -0,0 +1,15 @@
+package org.knowm.yank.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a Bean class for which a plain Java ResultSet to Bean mapper is generated at compile time
+ * by the Yank annotation processor. Bean queries use the generated mapper when it is on the
+ * classpath and fall back to reflection otherwise.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface GenerateMapper {}
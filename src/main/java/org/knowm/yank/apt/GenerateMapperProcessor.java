@@ -0,0 +1,361 @@
+package org.knowm.yank.apt;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import org.knowm.yank.annotations.Column;
+import org.knowm.yank.annotations.GenerateMapper;
+import org.knowm.yank.processors.GeneratedMapper;
+
+/**
+ * Generates a {@link GeneratedMapper} for every class annotated with {@link GenerateMapper}. The
+ * generated mapper creates the Bean with its no-args constructor and sets each writable property
+ * with a typed ResultSet getter, matching columns to properties the same way YankBeanProcessor
+ * does, so bean queries need no reflection at runtime.
+ *
+ * <p>Registered in META-INF/services, so it runs automatically when Yank is on the compile
+ * classpath.
+ *
+ * @author timmolter
+ */
+public class GenerateMapperProcessor extends AbstractProcessor {
+
+  /** Typed ResultSet getters for property types that need no conversion */
+  private static final Map<String, String> GETTERS = new LinkedHashMap<String, String>();
+
+  static {
+    GETTERS.put("boolean", "getBoolean");
+    GETTERS.put("byte", "getByte");
+    GETTERS.put("short", "getShort");
+    GETTERS.put("int", "getInt");
+    GETTERS.put("long", "getLong");
+    GETTERS.put("float", "getFloat");
+    GETTERS.put("double", "getDouble");
+    GETTERS.put("byte[]", "getBytes");
+    GETTERS.put("java.lang.String", "getString");
+    GETTERS.put("java.math.BigDecimal", "getBigDecimal");
+    GETTERS.put("java.sql.Timestamp", "getTimestamp");
+    GETTERS.put("java.sql.Date", "getDate");
+    GETTERS.put("java.sql.Time", "getTime");
+  }
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+
+    return Collections.singleton(GenerateMapper.class.getName());
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+    for (Element element : roundEnv.getElementsAnnotatedWith(GenerateMapper.class)) {
+      if (element.getKind() != ElementKind.CLASS) {
+        error(element, "@GenerateMapper can only be used on classes");
+        continue;
+      }
+      TypeElement type = (TypeElement) element;
+      if (isMappable(type)) {
+        try {
+          generate(type);
+        } catch (IOException e) {
+          error(type, "Cannot write the mapper of " + type.getQualifiedName() + ": " + e);
+        }
+      }
+    }
+    return true;
+  }
+
+  private boolean isMappable(TypeElement type) {
+
+    if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+      error(type, "@GenerateMapper classes cannot be abstract");
+      return false;
+    }
+    if (!type.getTypeParameters().isEmpty()) {
+      error(type, "@GenerateMapper classes cannot be generic");
+      return false;
+    }
+    for (TypeElement t = type; t != null; ) {
+      if (t.getModifiers().contains(Modifier.PRIVATE)) {
+        error(type, "@GenerateMapper classes and their enclosing classes cannot be private");
+        return false;
+      }
+      if (t.getNestingKind() == NestingKind.TOP_LEVEL) {
+        break;
+      }
+      if (t.getNestingKind() != NestingKind.MEMBER
+          || (t == type && !t.getModifiers().contains(Modifier.STATIC))) {
+        error(type, "@GenerateMapper classes must be top level or static nested classes");
+        return false;
+      }
+      t = (TypeElement) t.getEnclosingElement();
+    }
+    for (ExecutableElement ctor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      if (ctor.getParameters().isEmpty() && !ctor.getModifiers().contains(Modifier.PRIVATE)) {
+        return true;
+      }
+    }
+    error(type, "@GenerateMapper classes need a non-private no-args constructor");
+    return false;
+  }
+
+  private void generate(TypeElement type) throws IOException {
+
+    PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+    String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+    String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+    String simpleName =
+        (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                .replace('$', '_')
+            + GeneratedMapper.SUFFIX;
+    String beanName = type.getQualifiedName().toString();
+
+    Map<String, ExecutableElement> setters = setters(type);
+    Map<String, String> overrides = overrides(type);
+
+    Writer out =
+        processingEnv
+            .getFiler()
+            .createSourceFile(
+                packageName.isEmpty() ? simpleName : packageName + "." + simpleName, type)
+            .openWriter();
+    try {
+      if (!packageName.isEmpty()) {
+        out.write("package " + packageName + ";\n\n");
+      }
+      out.write("/** Generated by " + getClass().getName() + " from " + beanName + " */\n");
+      out.write(
+          "public final class "
+              + simpleName
+              + " implements "
+              + GeneratedMapper.class.getName()
+              + "<"
+              + beanName
+              + "> {\n\n");
+
+      out.write("  private static final String[] PROPERTY_NAMES = {");
+      String separator = "";
+      for (String property : setters.keySet()) {
+        out.write(separator + literal(property));
+        separator = ", ";
+      }
+      out.write("};\n\n");
+
+      out.write("  private static final java.util.Map<String, String> COLUMN_OVERRIDES;\n\n");
+      out.write("  static {\n");
+      out.write(
+          "    java.util.Map<String, String> overrides = new java.util.HashMap<String, String>();\n");
+      for (Map.Entry<String, String> override : overrides.entrySet()) {
+        out.write(
+            "    overrides.put("
+                + literal(override.getKey())
+                + ", "
+                + literal(override.getValue())
+                + ");\n");
+      }
+      out.write("    COLUMN_OVERRIDES = java.util.Collections.unmodifiableMap(overrides);\n");
+      out.write("  }\n\n");
+
+      out.write("  @Override\n");
+      out.write("  public String[] propertyNames() {\n");
+      out.write("    return PROPERTY_NAMES.clone();\n");
+      out.write("  }\n\n");
+
+      out.write("  @Override\n");
+      out.write("  public java.util.Map<String, String> columnOverrides() {\n");
+      out.write("    return COLUMN_OVERRIDES;\n");
+      out.write("  }\n\n");
+
+      out.write("  @Override\n");
+      out.write("  public " + beanName + " newInstance() {\n");
+      out.write("    return new " + beanName + "();\n");
+      out.write("  }\n\n");
+
+      out.write("  @Override\n");
+      out.write("  @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+      out.write(
+          "  public void set("
+              + beanName
+              + " bean, int property, java.sql.ResultSet rs, int column)"
+              + " throws java.sql.SQLException {\n");
+      out.write("    switch (property) {\n");
+      int index = 0;
+      for (Map.Entry<String, ExecutableElement> setter : setters.entrySet()) {
+        out.write("      case " + index++ + ":\n");
+        writeSet(out, setter.getKey(), setter.getValue());
+        out.write("        return;\n");
+      }
+      out.write("      default:\n");
+      out.write(
+          "        throw new IllegalArgumentException(\"No property with index \" + property);\n");
+      out.write("    }\n");
+      out.write("  }\n");
+      out.write("}\n");
+    } finally {
+      out.close();
+    }
+  }
+
+  private void writeSet(Writer out, String property, ExecutableElement setter) throws IOException {
+
+    TypeMirror propType =
+        processingEnv.getTypeUtils().erasure(setter.getParameters().get(0).asType());
+    String typeName = propType.toString();
+    String call = "bean." + setter.getSimpleName() + "(";
+
+    String getter = GETTERS.get(typeName);
+    if (getter != null) {
+      out.write("        " + call + "rs." + getter + "(column));\n");
+      return;
+    }
+
+    if (propType.getKind() == TypeKind.DECLARED) {
+      try {
+        PrimitiveType unboxed = processingEnv.getTypeUtils().unboxedType(propType);
+        String primitiveGetter = GETTERS.get(unboxed.toString());
+        if (primitiveGetter != null) {
+          out.write("        {\n");
+          out.write("          " + unboxed + " value = rs." + primitiveGetter + "(column);\n");
+          out.write(
+              "          " + call + "rs.wasNull() ? null : " + typeName + ".valueOf(value));\n");
+          out.write("        }\n");
+          return;
+        }
+      } catch (IllegalArgumentException e) {
+        // not a boxed primitive
+      }
+    }
+
+    String castType =
+        propType.getKind().isPrimitive()
+            ? processingEnv
+                .getTypeUtils()
+                .boxedClass((PrimitiveType) propType)
+                .getQualifiedName()
+                .toString()
+            : typeName;
+    out.write(
+        "        "
+            + call
+            + "("
+            + castType
+            + ") org.knowm.yank.processors.ColumnValues.read(rs, column, "
+            + typeName
+            + ".class, "
+            + literal(property)
+            + "));\n");
+  }
+
+  /**
+   * The public single argument setters of the class and its superclasses, keyed by property name in
+   * the same sorted order as java.beans.Introspector. Setters declared in subclasses win.
+   */
+  private Map<String, ExecutableElement> setters(TypeElement type) {
+
+    Map<String, ExecutableElement> setters = new TreeMap<String, ExecutableElement>();
+    for (TypeElement t = type; t != null; t = superclass(t)) {
+      if (t.getQualifiedName().contentEquals("java.lang.Object")) {
+        break;
+      }
+      for (ExecutableElement method : ElementFilter.methodsIn(t.getEnclosedElements())) {
+        String name = method.getSimpleName().toString();
+        Set<Modifier> modifiers = method.getModifiers();
+        List<? extends VariableElement> parameters = method.getParameters();
+        if (name.length() > 3
+            && name.startsWith("set")
+            && modifiers.contains(Modifier.PUBLIC)
+            && !modifiers.contains(Modifier.STATIC)
+            && parameters.size() == 1
+            && method.getReturnType().getKind() == TypeKind.VOID) {
+          String property = decapitalize(name.substring(3));
+          if (!setters.containsKey(property)) {
+            setters.put(property, method);
+          }
+        }
+      }
+    }
+    return setters;
+  }
+
+  private static TypeElement superclass(TypeElement type) {
+
+    TypeMirror superclass = type.getSuperclass();
+    if (superclass.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    return (TypeElement) ((DeclaredType) superclass).asElement();
+  }
+
+  /** Column name to field name, from the Column annotations declared on the class's own fields */
+  private static Map<String, String> overrides(TypeElement type) {
+
+    Map<String, String> overrides = new LinkedHashMap<String, String>();
+    for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+      Column column = field.getAnnotation(Column.class);
+      if (column != null) {
+        overrides.put(column.value(), field.getSimpleName().toString());
+      }
+    }
+    return overrides;
+  }
+
+  /** Same as java.beans.Introspector.decapitalize */
+  private static String decapitalize(String name) {
+
+    if (name.length() > 1
+        && Character.isUpperCase(name.charAt(1))
+        && Character.isUpperCase(name.charAt(0))) {
+      return name;
+    }
+    return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+  }
+
+  private static String literal(String value) {
+
+    StringBuilder sb = new StringBuilder("\"");
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        sb.append('\\').append(c);
+      } else if (c < 0x20 || c > 0x7e) {
+        sb.append(String.format("\\u%04x", (int) c));
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.append('"').toString();
+  }
+
+  private void error(Element element, String message) {
+
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+}
@@ -0,0 +1,260 @@
+package org.knowm.yank.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A hash map from primitive long keys to non-null values, using open addressing with linear probing
+ * so neither the keys nor the entries are boxed. Empty slots are marked by a null value. Not
+ * thread-safe.
+ *
+ * @author timmolter
+ */
+public class LongObjectHashMap<V> {
+
+  /** Receives the entries of the map in {@link LongObjectHashMap#forEach(EntryVisitor)} */
+  public interface EntryVisitor<V> {
+
+    void visit(long key, V value);
+  }
+
+  private static final int MIN_CAPACITY = 16;
+
+  /** Grow once the table is more than 3/4 full */
+  private static final int MAX_LOAD_NUMERATOR = 3;
+
+  private static final int MAX_LOAD_DENOMINATOR = 4;
+
+  private long[] keys;
+
+  private Object[] values;
+
+  private int size = 0;
+
+  private int resizeThreshold;
+
+  /** Creates an empty map with room for 12 entries before it has to grow */
+  public LongObjectHashMap() {
+
+    this(0);
+  }
+
+  /**
+   * Creates an empty map with room for the given number of entries before it has to grow.
+   *
+   * @param expectedSize The number of entries the map will hold
+   */
+  public LongObjectHashMap(int expectedSize) {
+
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("expectedSize cannot be negative: " + expectedSize);
+    }
+    allocate(tableSizeFor(expectedSize));
+  }
+
+  /**
+   * @return the number of entries
+   */
+  public int size() {
+
+    return size;
+  }
+
+  /**
+   * @return true if the map has no entries
+   */
+  public boolean isEmpty() {
+
+    return size == 0;
+  }
+
+  /**
+   * @param key The key
+   * @return the value mapped to the key, or null if there is none
+   */
+  @SuppressWarnings("unchecked")
+  public V get(long key) {
+
+    int mask = keys.length - 1;
+    for (int i = hash(key) & mask; values[i] != null; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        return (V) values[i];
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param key The key
+   * @return true if a value is mapped to the key
+   */
+  public boolean containsKey(long key) {
+
+    return get(key) != null;
+  }
+
+  /**
+   * Maps the value to the key, replacing the previous value if there is one.
+   *
+   * @param key The key
+   * @param value The value, not null
+   * @return the previous value mapped to the key, or null if there was none
+   */
+  @SuppressWarnings("unchecked")
+  public V put(long key, V value) {
+
+    if (value == null) {
+      throw new NullPointerException("LongObjectHashMap values cannot be null");
+    }
+    int mask = keys.length - 1;
+    int i = hash(key) & mask;
+    for (; values[i] != null; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        V previous = (V) values[i];
+        values[i] = value;
+        return previous;
+      }
+    }
+    keys[i] = key;
+    values[i] = value;
+    if (++size > resizeThreshold) {
+      rehash(keys.length << 1);
+    }
+    return null;
+  }
+
+  /**
+   * Removes the value mapped to the key.
+   *
+   * @param key The key
+   * @return the removed value, or null if there was none
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(long key) {
+
+    int mask = keys.length - 1;
+    for (int i = hash(key) & mask; values[i] != null; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        V previous = (V) values[i];
+        values[i] = null;
+        size--;
+        closeGap(i, mask);
+        return previous;
+      }
+    }
+    return null;
+  }
+
+  /** Removes all entries, keeping the capacity */
+  public void clear() {
+
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  /**
+   * Passes every entry to the visitor, in no particular order.
+   *
+   * @param visitor The visitor
+   */
+  @SuppressWarnings("unchecked")
+  public void forEach(EntryVisitor<? super V> visitor) {
+
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null) {
+        visitor.visit(keys[i], (V) values[i]);
+      }
+    }
+  }
+
+  /**
+   * @return the keys, in no particular order
+   */
+  public long[] keys() {
+
+    long[] result = new long[size];
+    int n = 0;
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null) {
+        result[n++] = keys[i];
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return the values, in the same order as {@link #keys()}
+   */
+  @SuppressWarnings("unchecked")
+  public List<V> values() {
+
+    List<V> result = new ArrayList<V>(size);
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null) {
+        result.add((V) values[i]);
+      }
+    }
+    return result;
+  }
+
+  /** Shifts the entries following a removed slot back so lookups do not stop at the gap */
+  private void closeGap(int gap, int mask) {
+
+    for (int i = (gap + 1) & mask; values[i] != null; i = (i + 1) & mask) {
+      int home = hash(keys[i]) & mask;
+      // move the entry into the gap if its home slot is not between the gap and its current slot
+      if (((i - home) & mask) >= ((i - gap) & mask)) {
+        keys[gap] = keys[i];
+        values[gap] = values[i];
+        values[i] = null;
+        gap = i;
+      }
+    }
+  }
+
+  private void rehash(int capacity) {
+
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+    allocate(capacity);
+    int mask = capacity - 1;
+    for (int j = 0; j < oldValues.length; j++) {
+      if (oldValues[j] != null) {
+        int i = hash(oldKeys[j]) & mask;
+        while (values[i] != null) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = oldKeys[j];
+        values[i] = oldValues[j];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+
+    keys = new long[capacity];
+    values = new Object[capacity];
+    resizeThreshold = (int) ((long) capacity * MAX_LOAD_NUMERATOR / MAX_LOAD_DENOMINATOR);
+  }
+
+  /** The smallest power of two table that holds expectedSize entries without growing */
+  private static int tableSizeFor(int expectedSize) {
+
+    int capacity = MIN_CAPACITY;
+    while ((long) capacity * MAX_LOAD_NUMERATOR / MAX_LOAD_DENOMINATOR < expectedSize) {
+      if (capacity == 1 << 30) {
+        throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+      }
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  /** Fibonacci hashing, so sequential IDs spread across the table instead of clustering */
+  private static int hash(long key) {
+
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+}
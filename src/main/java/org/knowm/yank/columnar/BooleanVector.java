@@ -0,0 +1,58 @@
+package org.knowm.yank.columnar;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * A column of <code>boolean</code> values. Rows that are SQL NULL hold false; check {@link
+ * #isNull(int)}.
+ *
+ * @author timmolter
+ */
+public final class BooleanVector extends ColumnVector {
+
+  private boolean[] values = new boolean[INITIAL_CAPACITY];
+
+  BooleanVector(String name, int sqlType) {
+
+    super(name, sqlType);
+  }
+
+  /**
+   * @param row The row index, starting at 0
+   * @return the value of the given row, false if it is SQL NULL
+   */
+  public boolean get(int row) {
+
+    checkRow(row);
+    return values[row];
+  }
+
+  /**
+   * @return a copy of the values of all rows
+   */
+  public boolean[] toArray() {
+
+    return Arrays.copyOf(values, size());
+  }
+
+  @Override
+  public Object getObject(int row) {
+
+    return isNull(row) ? null : Boolean.valueOf(values[row]);
+  }
+
+  @Override
+  boolean read(ResultSet rs, int column, int row) throws SQLException {
+
+    values[row] = rs.getBoolean(column);
+    return rs.wasNull();
+  }
+
+  @Override
+  void resize(int capacity) {
+
+    values = Arrays.copyOf(values, capacity);
+  }
+}
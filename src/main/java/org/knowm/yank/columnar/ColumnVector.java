@@ -0,0 +1,137 @@
+package org.knowm.yank.columnar;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * One column of a {@link ColumnarResult}: the values of all rows stored contiguously in a typed
+ * array, plus a bitmap marking the rows where the column is SQL NULL. Rows are indexed from 0.
+ *
+ * @author timmolter
+ */
+public abstract class ColumnVector {
+
+  static final int INITIAL_CAPACITY = 64;
+
+  private final String name;
+
+  private final int sqlType;
+
+  private int size = 0;
+
+  private int capacity = INITIAL_CAPACITY;
+
+  /** Bit i is set if row i is SQL NULL */
+  private long[] nulls = new long[INITIAL_CAPACITY >>> 6];
+
+  private int nullCount = 0;
+
+  /**
+   * Constructor
+   *
+   * @param name The column label
+   * @param sqlType The java.sql.Types type of the column
+   */
+  ColumnVector(String name, int sqlType) {
+
+    this.name = name;
+    this.sqlType = sqlType;
+  }
+
+  /**
+   * @return the column label
+   */
+  public String getName() {
+
+    return name;
+  }
+
+  /**
+   * @return the java.sql.Types type of the column
+   */
+  public int getSqlType() {
+
+    return sqlType;
+  }
+
+  /**
+   * @return the number of rows
+   */
+  public int size() {
+
+    return size;
+  }
+
+  /**
+   * @return the number of rows where the column is SQL NULL
+   */
+  public int getNullCount() {
+
+    return nullCount;
+  }
+
+  /**
+   * @param row The row index, starting at 0
+   * @return true if the column is SQL NULL in the given row
+   */
+  public boolean isNull(int row) {
+
+    checkRow(row);
+    return (nulls[row >>> 6] & (1L << row)) != 0;
+  }
+
+  /**
+   * @param row The row index, starting at 0
+   * @return the value of the given row, boxed, or null if it is SQL NULL
+   */
+  public abstract Object getObject(int row);
+
+  void checkRow(int row) {
+
+    if (row < 0 || row >= size) {
+      throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+    }
+  }
+
+  /**
+   * Reads the column of the current row and appends it.
+   *
+   * @param rs The ResultSet positioned on the row to read
+   * @param column The column index
+   * @throws SQLException if a database access error occurs
+   */
+  final void append(ResultSet rs, int column) throws SQLException {
+
+    if (size == capacity) {
+      capacity = capacity + (capacity >> 1);
+      resize(capacity);
+      nulls = Arrays.copyOf(nulls, (capacity + 63) >>> 6);
+    }
+    if (read(rs, column, size)) {
+      nulls[size >>> 6] |= 1L << size;
+      nullCount++;
+    }
+    size++;
+  }
+
+  /** Shrinks the storage to the number of rows once all rows have been appended */
+  final void trim() {
+
+    if (capacity != size) {
+      capacity = size;
+      resize(size);
+      nulls = Arrays.copyOf(nulls, (size + 63) >>> 6);
+    }
+  }
+
+  /**
+   * Reads the column of the current row into the given row of the storage.
+   *
+   * @return true if the value was SQL NULL
+   */
+  abstract boolean read(ResultSet rs, int column, int row) throws SQLException;
+
+  /** Resizes the storage to the given capacity */
+  abstract void resize(int capacity);
+}
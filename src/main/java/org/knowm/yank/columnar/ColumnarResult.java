@@ -0,0 +1,103 @@
+package org.knowm.yank.columnar;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The rows of a query stored column by column: one {@link ColumnVector} per column, in the order of
+ * the select list, all with the same number of rows.
+ *
+ * @author timmolter
+ */
+public final class ColumnarResult {
+
+  private final List<ColumnVector> columns;
+
+  /** Lower case column label to column index */
+  private final Map<String, Integer> indexes;
+
+  private final int rowCount;
+
+  ColumnarResult(List<ColumnVector> columns, int rowCount) {
+
+    this.columns = Collections.unmodifiableList(columns);
+    this.rowCount = rowCount;
+    this.indexes = new HashMap<String, Integer>(columns.size() * 2);
+    for (int i = columns.size() - 1; i >= 0; i--) {
+      indexes.put(columns.get(i).getName().toLowerCase(Locale.ENGLISH), i);
+    }
+  }
+
+  /**
+   * @return the number of rows
+   */
+  public int getRowCount() {
+
+    return rowCount;
+  }
+
+  /**
+   * @return the number of columns
+   */
+  public int getColumnCount() {
+
+    return columns.size();
+  }
+
+  /**
+   * @return the columns, in the order of the select list
+   */
+  public List<ColumnVector> getColumns() {
+
+    return columns;
+  }
+
+  /**
+   * @param index The column index, starting at 0
+   * @return the column
+   */
+  public ColumnVector getColumn(int index) {
+
+    return columns.get(index);
+  }
+
+  /**
+   * @param label The column label, case insensitive. If several columns have the same label, the
+   *     first one is returned.
+   * @return the column
+   * @throws IllegalArgumentException if there is no column with that label
+   */
+  public ColumnVector getColumn(String label) {
+
+    Integer index = indexes.get(label.toLowerCase(Locale.ENGLISH));
+    if (index == null) {
+      throw new IllegalArgumentException("No column labeled " + label);
+    }
+    return columns.get(index);
+  }
+
+  /**
+   * @param label The column label, case insensitive
+   * @param type The expected ColumnVector class
+   * @return the column
+   * @throws IllegalArgumentException if there is no column with that label or it is not of the
+   *     expected class
+   */
+  public <V extends ColumnVector> V getColumn(String label, Class<V> type) {
+
+    ColumnVector column = getColumn(label);
+    if (!type.isInstance(column)) {
+      throw new IllegalArgumentException(
+          "Column "
+              + label
+              + " is a "
+              + column.getClass().getSimpleName()
+              + ", not a "
+              + type.getSimpleName());
+    }
+    return type.cast(column);
+  }
+}
@@ -0,0 +1,94 @@
+package org.knowm.yank.columnar;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.dbutils.ResultSetHandler;
+
+/**
+ * <code>ResultSetHandler</code> implementation that reads all rows into a {@link ColumnarResult} in
+ * a single pass. The vector of each column is chosen from the ResultSetMetaData:
+ *
+ * <ul>
+ *   <li>BIT, BOOLEAN: {@link BooleanVector}
+ *   <li>TINYINT, SMALLINT, INTEGER: {@link IntVector}, or {@link LongVector} if unsigned
+ *   <li>BIGINT: {@link LongVector}
+ *   <li>REAL, FLOAT, DOUBLE: {@link DoubleVector}
+ *   <li>CHAR, VARCHAR, LONGVARCHAR and their N variants: {@link StringVector}
+ *   <li>everything else, including DECIMAL and NUMERIC: {@link ObjectVector}
+ * </ul>
+ *
+ * @author timmolter
+ */
+public class ColumnarResultHandler implements ResultSetHandler<ColumnarResult> {
+
+  @Override
+  public ColumnarResult handle(ResultSet rs) throws SQLException {
+
+    ResultSetMetaData rsmd = rs.getMetaData();
+    int columnCount = rsmd.getColumnCount();
+    ColumnVector[] vectors = new ColumnVector[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      vectors[i] = newVector(rsmd, i + 1);
+    }
+
+    int rowCount = 0;
+    while (rs.next()) {
+      for (int i = 0; i < columnCount; i++) {
+        vectors[i].append(rs, i + 1);
+      }
+      rowCount++;
+    }
+
+    List<ColumnVector> columns = new ArrayList<ColumnVector>(columnCount);
+    for (ColumnVector vector : vectors) {
+      vector.trim();
+      if (vector instanceof StringVector) {
+        ((StringVector) vector).seal();
+      }
+      columns.add(vector);
+    }
+    return new ColumnarResult(columns, rowCount);
+  }
+
+  private static ColumnVector newVector(ResultSetMetaData rsmd, int column) throws SQLException {
+
+    String label = rsmd.getColumnLabel(column);
+    if (label == null || label.isEmpty()) {
+      label = rsmd.getColumnName(column);
+    }
+    int sqlType = rsmd.getColumnType(column);
+
+    switch (sqlType) {
+      case Types.BIT:
+      case Types.BOOLEAN:
+        return new BooleanVector(label, sqlType);
+      case Types.TINYINT:
+      case Types.SMALLINT:
+      case Types.INTEGER:
+        return rsmd.isSigned(column)
+            ? new IntVector(label, sqlType)
+            : new LongVector(label, sqlType);
+      case Types.BIGINT:
+        return rsmd.isSigned(column)
+            ? new LongVector(label, sqlType)
+            : new ObjectVector(label, sqlType);
+      case Types.REAL:
+      case Types.FLOAT:
+      case Types.DOUBLE:
+        return new DoubleVector(label, sqlType);
+      case Types.CHAR:
+      case Types.VARCHAR:
+      case Types.LONGVARCHAR:
+      case Types.NCHAR:
+      case Types.NVARCHAR:
+      case Types.LONGNVARCHAR:
+        return new StringVector(label, sqlType);
+      default:
+        return new ObjectVector(label, sqlType);
+    }
+  }
+}
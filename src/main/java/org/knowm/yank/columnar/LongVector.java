@@ -0,0 +1,57 @@
+package org.knowm.yank.columnar;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * A column of <code>long</code> values. Rows that are SQL NULL hold 0; check {@link #isNull(int)}.
+ *
+ * @author timmolter
+ */
+public final class LongVector extends ColumnVector {
+
+  private long[] values = new long[INITIAL_CAPACITY];
+
+  LongVector(String name, int sqlType) {
+
+    super(name, sqlType);
+  }
+
+  /**
+   * @param row The row index, starting at 0
+   * @return the value of the given row, 0 if it is SQL NULL
+   */
+  public long get(int row) {
+
+    checkRow(row);
+    return values[row];
+  }
+
+  /**
+   * @return a copy of the values of all rows
+   */
+  public long[] toArray() {
+
+    return Arrays.copyOf(values, size());
+  }
+
+  @Override
+  public Object getObject(int row) {
+
+    return isNull(row) ? null : Long.valueOf(values[row]);
+  }
+
+  @Override
+  boolean read(ResultSet rs, int column, int row) throws SQLException {
+
+    values[row] = rs.getLong(column);
+    return rs.wasNull();
+  }
+
+  @Override
+  void resize(int capacity) {
+
+    values = Arrays.copyOf(values, capacity);
+  }
+}
@@ -0,0 +1,50 @@
+package org.knowm.yank.columnar;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * A column of the Objects returned by ResultSet.getObject(), for column types without a primitive
+ * or dictionary-encoded representation, such as DECIMAL, dates and binary data.
+ *
+ * @author timmolter
+ */
+public final class ObjectVector extends ColumnVector {
+
+  private Object[] values = new Object[INITIAL_CAPACITY];
+
+  ObjectVector(String name, int sqlType) {
+
+    super(name, sqlType);
+  }
+
+  /**
+   * @param row The row index, starting at 0
+   * @return the value of the given row, or null if it is SQL NULL
+   */
+  public Object get(int row) {
+
+    checkRow(row);
+    return values[row];
+  }
+
+  @Override
+  public Object getObject(int row) {
+
+    return get(row);
+  }
+
+  @Override
+  boolean read(ResultSet rs, int column, int row) throws SQLException {
+
+    values[row] = rs.getObject(column);
+    return values[row] == null;
+  }
+
+  @Override
+  void resize(int capacity) {
+
+    values = Arrays.copyOf(values, capacity);
+  }
+}
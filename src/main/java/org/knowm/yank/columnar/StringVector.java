@@ -0,0 +1,98 @@
+package org.knowm.yank.columnar;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A dictionary-encoded column of Strings: each distinct value is stored once in the dictionary and
+ * every row holds the int code of its value, or -1 if it is SQL NULL.
+ *
+ * @author timmolter
+ */
+public final class StringVector extends ColumnVector {
+
+  private int[] codes = new int[INITIAL_CAPACITY];
+
+  private final List<String> dictionary = new ArrayList<String>();
+
+  /** Value to code, only needed while rows are appended */
+  private Map<String, Integer> lookup = new HashMap<String, Integer>();
+
+  StringVector(String name, int sqlType) {
+
+    super(name, sqlType);
+  }
+
+  /**
+   * @param row The row index, starting at 0
+   * @return the value of the given row, or null if it is SQL NULL
+   */
+  public String get(int row) {
+
+    int code = getCode(row);
+    return code < 0 ? null : dictionary.get(code);
+  }
+
+  /**
+   * @param row The row index, starting at 0
+   * @return the dictionary code of the value of the given row, or -1 if it is SQL NULL
+   */
+  public int getCode(int row) {
+
+    checkRow(row);
+    return codes[row];
+  }
+
+  /**
+   * @return the distinct values, indexed by code
+   */
+  public List<String> getDictionary() {
+
+    return Collections.unmodifiableList(dictionary);
+  }
+
+  @Override
+  public Object getObject(int row) {
+
+    return get(row);
+  }
+
+  @Override
+  boolean read(ResultSet rs, int column, int row) throws SQLException {
+
+    String value = rs.getString(column);
+    if (value == null) {
+      codes[row] = -1;
+      return true;
+    }
+    Integer code = lookup.get(value);
+    if (code == null) {
+      code = dictionary.size();
+      dictionary.add(value);
+      lookup.put(value, code);
+    }
+    codes[row] = code;
+    return false;
+  }
+
+  @Override
+  void resize(int capacity) {
+
+    codes = Arrays.copyOf(codes, capacity);
+  }
+
+  /** Drops the lookup map once all rows have been appended */
+  void seal() {
+
+    lookup = null;
+    if (dictionary instanceof ArrayList) {
+      ((ArrayList<String>) dictionary).trimToSize();
+    }
+  }
+}
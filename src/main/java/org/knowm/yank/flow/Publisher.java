@@ -0,0 +1,20 @@
+package org.knowm.yank.flow;
+
+/**
+ * A source of rows that are read only as its Subscribers request them. Has the same methods and
+ * rules as java.util.concurrent.Flow.Publisher of Java 9 and org.reactivestreams.Publisher, which
+ * Yank cannot use since it is built for Java 8 without dependencies beyond dbutils and Hikari, so
+ * adapting it to either takes one line per method.
+ *
+ * @author timmolter
+ */
+public interface Publisher<T> {
+
+  /**
+   * Starts a new query for the Subscriber, which is then passed its Subscription. Each Subscriber
+   * gets its own query, Connection and ResultSet.
+   *
+   * @param subscriber The Subscriber
+   */
+  void subscribe(Subscriber<? super T> subscriber);
+}
@@ -0,0 +1,35 @@
+package org.knowm.yank.flow;
+
+/**
+ * Receives the rows of a {@link Publisher}, at most as many as it requested via its Subscription.
+ * The methods are called one at a time, never concurrently. Same as
+ * java.util.concurrent.Flow.Subscriber of Java 9.
+ *
+ * @author timmolter
+ */
+public interface Subscriber<T> {
+
+  /**
+   * Called first, with the Subscription to request rows from and to cancel.
+   *
+   * @param subscription The Subscription
+   */
+  void onSubscribe(Subscription subscription);
+
+  /**
+   * Called once per row, at most as often as rows were requested.
+   *
+   * @param item The row
+   */
+  void onNext(T item);
+
+  /**
+   * Called if the query fails, after which no other method is called.
+   *
+   * @param throwable The failure
+   */
+  void onError(Throwable throwable);
+
+  /** Called after the last row, after which no other method is called. */
+  void onComplete();
+}
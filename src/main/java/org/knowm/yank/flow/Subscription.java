@@ -0,0 +1,20 @@
+package org.knowm.yank.flow;
+
+/**
+ * The link between a {@link Publisher} and one of its Subscribers. Same as
+ * java.util.concurrent.Flow.Subscription of Java 9.
+ *
+ * @author timmolter
+ */
+public interface Subscription {
+
+  /**
+   * Requests n more rows. Long.MAX_VALUE requests all of them.
+   *
+   * @param n The number of rows, which must be positive
+   */
+  void request(long n);
+
+  /** Stops sending rows and releases the resources held for the Subscriber. */
+  void cancel();
+}
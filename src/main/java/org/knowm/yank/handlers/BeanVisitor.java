@@ -0,0 +1,20 @@
+package org.knowm.yank.handlers;
+
+import java.sql.SQLException;
+
+/**
+ * Receives each row of a query converted into a Bean. In reusable Bean mode the same Bean instance
+ * is repopulated and passed for every row, so it must not be kept beyond the call.
+ *
+ * @author timmolter
+ */
+public interface BeanVisitor<T> {
+
+  /**
+   * Called once per row.
+   *
+   * @param bean The Bean populated from the current row
+   * @throws SQLException if a database access error occurs
+   */
+  void visit(T bean) throws SQLException;
+}
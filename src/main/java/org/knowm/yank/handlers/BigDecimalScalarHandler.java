@@ -56,7 +56,8 @@ public class BigDecimalScalarHandler extends ScalarHandler<BigDecimal> {
    * </code> method that performs type conversions.
    *
    * @param rs <code>ResultSet</code> to process.
-   * @return The column or <code>null</code> if there are no rows in the <code>ResultSet</code>.
+   * @return The column or <code>null</code> if there are no rows in the <code>ResultSet</code> or
+   *     the column is SQL NULL.
    * @throws SQLException if a database access error occurs
    * @throws ClassCastException if the class datatype does not match the column type
    * @see org.apache.commons.dbutils.ResultSetHandler#handle(java.sql.ResultSet)
@@ -65,10 +66,12 @@ public class BigDecimalScalarHandler extends ScalarHandler<BigDecimal> {
   public BigDecimal handle(ResultSet rs) throws SQLException {
 
     if (rs.next()) {
-      if (this.columnName == null) {
-        return new BigDecimal(((Number) rs.getObject(this.columnIndex)).toString());
+      Object value =
+          this.columnName == null ? rs.getObject(this.columnIndex) : rs.getObject(this.columnName);
+      if (value == null || value instanceof BigDecimal) {
+        return (BigDecimal) value;
       }
-      return new BigDecimal(((Number) rs.getObject(this.columnIndex)).toString());
+      return new BigDecimal(value.toString());
     }
     return null;
   }
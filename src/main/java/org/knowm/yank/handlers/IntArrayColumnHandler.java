@@ -0,0 +1,84 @@
+package org.knowm.yank.handlers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import org.apache.commons.dbutils.ResultSetHandler;
+
+/**
+ * Reads one column of every row into a <code>int[]</code> with <code>ResultSet.getInt()</code>, so
+ * no value is boxed. SQL NULL is read as 0.
+ *
+ * @author timmolter
+ */
+public class IntArrayColumnHandler implements ResultSetHandler<int[]> {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  /** The column number to retrieve. */
+  private final int columnIndex;
+
+  /** The column name to retrieve. Either columnName or columnIndex will be used but never both. */
+  private final String columnName;
+
+  /**
+   * Creates a new instance of IntArrayColumnHandler. The first column of each row will be returned
+   * from <code>handle()</code>.
+   */
+  public IntArrayColumnHandler() {
+    this(1, null);
+  }
+
+  /**
+   * Creates a new instance of IntArrayColumnHandler.
+   *
+   * @param columnIndex The index of the column to retrieve from the <code>ResultSet</code>.
+   */
+  public IntArrayColumnHandler(int columnIndex) {
+    this(columnIndex, null);
+  }
+
+  /**
+   * Creates a new instance of IntArrayColumnHandler.
+   *
+   * @param columnName The name of the column to retrieve from the <code>ResultSet</code>.
+   */
+  public IntArrayColumnHandler(String columnName) {
+    this(1, columnName);
+  }
+
+  /**
+   * Private Helper
+   *
+   * @param columnIndex The index of the column to retrieve from the <code>ResultSet</code>.
+   * @param columnName The name of the column to retrieve from the <code>ResultSet</code>.
+   */
+  private IntArrayColumnHandler(int columnIndex, String columnName) {
+    this.columnIndex = columnIndex;
+    this.columnName = columnName;
+  }
+
+  /**
+   * Reads the column of all rows into an array, growing it as needed and trimming it to the number
+   * of rows at the end.
+   *
+   * @param rs <code>ResultSet</code> to process.
+   * @return the column values, never <code>null</code>.
+   * @throws SQLException if a database access error occurs
+   */
+  @Override
+  public int[] handle(ResultSet rs) throws SQLException {
+
+    final int column = columnName == null ? columnIndex : rs.findColumn(columnName);
+
+    int[] values = new int[INITIAL_CAPACITY];
+    int size = 0;
+    while (rs.next()) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size + (size >> 1));
+      }
+      values[size++] = rs.getInt(column);
+    }
+    return size == values.length ? values : Arrays.copyOf(values, size);
+  }
+}
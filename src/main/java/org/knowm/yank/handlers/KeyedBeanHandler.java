@@ -0,0 +1,78 @@
+package org.knowm.yank.handlers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.commons.dbutils.ResultSetHandler;
+import org.knowm.yank.processors.BeanMappingPlan;
+import org.knowm.yank.processors.ColumnValues;
+
+/**
+ * <code>ResultSetHandler</code> implementation that converts the rows into Beans and puts them in a
+ * HashMap keyed by one of the columns, in the same pass. If several rows have the same key, the
+ * last one wins.
+ *
+ * @author timmolter
+ */
+public class KeyedBeanHandler<K, T> implements ResultSetHandler<Map<K, T>> {
+
+  static final int DEFAULT_EXPECTED_ROWS = 16;
+
+  private final String keyColumn;
+
+  private final Class<K> keyType;
+
+  private final Class<T> beanType;
+
+  private final int expectedRows;
+
+  /**
+   * Constructor
+   *
+   * @param keyColumn The name of the column holding the keys
+   * @param keyType The Class of the keys, e.g. Long.class for a numeric ID column
+   * @param beanType The Class of the Beans
+   * @param expectedRows The number of rows expected, used to size the map. If 0, scrollable
+   *     ResultSets are sized from their row count.
+   */
+  public KeyedBeanHandler(String keyColumn, Class<K> keyType, Class<T> beanType, int expectedRows) {
+
+    this.keyColumn = keyColumn;
+    this.keyType = keyType;
+    this.beanType = beanType;
+    this.expectedRows = expectedRows;
+  }
+
+  @Override
+  public Map<K, T> handle(ResultSet rs) throws SQLException {
+
+    int keyIndex = rs.findColumn(keyColumn);
+    BeanMappingPlan<T> plan = BeanMappingPlan.forResultSet(beanType, rs.getMetaData());
+
+    int rows = expectedRows(rs, expectedRows);
+    Map<K, T> map = new HashMap<K, T>(rows + rows / 3 + 1);
+    while (rs.next()) {
+      K key = keyType.cast(ColumnValues.read(rs, keyIndex, keyType, keyColumn));
+      map.put(key, plan.toBean(rs));
+    }
+    return map;
+  }
+
+  /**
+   * The number of rows to size a map for: the hint if there is one, otherwise the row count of a
+   * scrollable ResultSet, otherwise a small default.
+   */
+  static int expectedRows(ResultSet rs, int hint) throws SQLException {
+
+    if (hint > 0) {
+      return hint;
+    }
+    if (rs.getType() != ResultSet.TYPE_FORWARD_ONLY && rs.last()) {
+      int rows = rs.getRow();
+      rs.beforeFirst();
+      return rows;
+    }
+    return DEFAULT_EXPECTED_ROWS;
+  }
+}
@@ -0,0 +1,60 @@
+package org.knowm.yank.handlers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.apache.commons.dbutils.ResultSetHandler;
+import org.knowm.yank.collections.LongObjectHashMap;
+import org.knowm.yank.processors.BeanMappingPlan;
+
+/**
+ * <code>ResultSetHandler</code> implementation that converts the rows into Beans and puts them in a
+ * {@link LongObjectHashMap} keyed by a numeric column read with <code>ResultSet.getLong()</code>,
+ * in the same pass, so the keys are never boxed. If several rows have the same key, the last one
+ * wins.
+ *
+ * @author timmolter
+ */
+public class LongKeyedBeanHandler<T> implements ResultSetHandler<LongObjectHashMap<T>> {
+
+  private final String keyColumn;
+
+  private final Class<T> beanType;
+
+  private final int expectedRows;
+
+  /**
+   * Constructor
+   *
+   * @param keyColumn The name of the column holding the keys
+   * @param beanType The Class of the Beans
+   * @param expectedRows The number of rows expected, used to size the map. If 0, scrollable
+   *     ResultSets are sized from their row count.
+   */
+  public LongKeyedBeanHandler(String keyColumn, Class<T> beanType, int expectedRows) {
+
+    this.keyColumn = keyColumn;
+    this.beanType = beanType;
+    this.expectedRows = expectedRows;
+  }
+
+  /**
+   * @throws SQLException if a database access error occurs or a key is SQL NULL
+   */
+  @Override
+  public LongObjectHashMap<T> handle(ResultSet rs) throws SQLException {
+
+    int keyIndex = rs.findColumn(keyColumn);
+    BeanMappingPlan<T> plan = BeanMappingPlan.forResultSet(beanType, rs.getMetaData());
+
+    LongObjectHashMap<T> map =
+        new LongObjectHashMap<T>(KeyedBeanHandler.expectedRows(rs, expectedRows));
+    while (rs.next()) {
+      long key = rs.getLong(keyIndex);
+      if (rs.wasNull()) {
+        throw new SQLException("Key column " + keyColumn + " is NULL");
+      }
+      map.put(key, plan.toBean(rs));
+    }
+    return map;
+  }
+}
@@ -51,23 +51,22 @@ public class LongScalarHandler extends ScalarHandler<Long> {
   }
 
   /**
-   * Returns one <code>ResultSet</code> column as an object via the <code>ResultSet.getObject()
-   * </code> method that performs type conversions.
+   * Returns one <code>ResultSet</code> column via the <code>ResultSet.getLong()</code> method that
+   * performs type conversions.
    *
    * @param rs <code>ResultSet</code> to process.
-   * @return The column or <code>null</code> if there are no rows in the <code>ResultSet</code>.
+   * @return The column or <code>null</code> if there are no rows in the <code>ResultSet</code> or
+   *     the column is SQL NULL.
    * @throws SQLException if a database access error occurs
-   * @throws ClassCastException if the class datatype does not match the column type
    * @see org.apache.commons.dbutils.ResultSetHandler#handle(java.sql.ResultSet)
    */
   @Override
   public Long handle(ResultSet rs) throws SQLException {
 
     if (rs.next()) {
-      if (this.columnName == null) {
-        return ((Number) rs.getObject(this.columnIndex)).longValue();
-      }
-      return ((Number) rs.getObject(this.columnIndex)).longValue();
+      long value =
+          this.columnName == null ? rs.getLong(this.columnIndex) : rs.getLong(this.columnName);
+      return rs.wasNull() ? null : value;
     }
     return null;
   }
@@ -0,0 +1,46 @@
+package org.knowm.yank.handlers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.apache.commons.dbutils.ResultSetHandler;
+import org.knowm.yank.processors.BeanMappingPlan;
+
+/**
+ * Populates one mutable Bean from each row in turn and passes it to a {@link BeanVisitor}, so a
+ * whole ResultSet is scanned with a single Bean instance. Properties without a matching column keep
+ * their previous value. Returns the number of rows visited.
+ *
+ * @author timmolter
+ */
+public class ReusableBeanHandler<T> implements ResultSetHandler<Long> {
+
+  private final T bean;
+
+  private final BeanVisitor<? super T> visitor;
+
+  /**
+   * Constructor
+   *
+   * @param bean The Bean to populate from every row
+   * @param visitor The visitor to pass the Bean to
+   */
+  public ReusableBeanHandler(T bean, BeanVisitor<? super T> visitor) {
+
+    this.bean = bean;
+    this.visitor = visitor;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public Long handle(ResultSet rs) throws SQLException {
+
+    BeanMappingPlan<T> plan =
+        BeanMappingPlan.forResultSet((Class<T>) bean.getClass(), rs.getMetaData());
+    long count = 0;
+    while (rs.next()) {
+      visitor.visit(plan.populate(rs, bean));
+      count++;
+    }
+    return count;
+  }
+}
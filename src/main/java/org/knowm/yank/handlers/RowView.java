@@ -0,0 +1,188 @@
+package org.knowm.yank.handlers;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A reusable, read-only view on the current row of a ResultSet with typed accessors by column index
+ * or column label. Labels are resolved to indexes once when the view is created, not on every
+ * access, and the view itself is created once per query rather than once per row.
+ *
+ * <p>As with ResultSet, primitive accessors return 0 or false for SQL NULL; use {@link #wasNull()}
+ * to tell the difference.
+ *
+ * @author timmolter
+ */
+public final class RowView {
+
+  private final ResultSet rs;
+
+  /** Case-folded column label to column index */
+  private final Map<String, Integer> columnIndexes;
+
+  private final int columnCount;
+
+  /**
+   * Constructor
+   *
+   * @param rs The ResultSet to view, positioned by the caller
+   * @throws SQLException if a database access error occurs
+   */
+  public RowView(ResultSet rs) throws SQLException {
+
+    this.rs = rs;
+    ResultSetMetaData rsmd = rs.getMetaData();
+    this.columnCount = rsmd.getColumnCount();
+    this.columnIndexes = new HashMap<String, Integer>(columnCount * 2);
+    for (int col = columnCount; col >= 1; col--) {
+      String label = rsmd.getColumnLabel(col);
+      if (label == null || label.length() == 0) {
+        label = rsmd.getColumnName(col);
+      }
+      // iterating backwards, so the first of duplicate labels wins as with ResultSet.findColumn
+      columnIndexes.put(fold(label), col);
+    }
+  }
+
+  /**
+   * @return the number of columns
+   */
+  public int getColumnCount() {
+
+    return columnCount;
+  }
+
+  /**
+   * @param columnLabel The column label, ignoring case
+   * @return the column index
+   * @throws SQLException if there is no such column
+   */
+  public int indexOf(String columnLabel) throws SQLException {
+
+    Integer index = columnIndexes.get(fold(columnLabel));
+    if (index == null) {
+      throw new SQLException("No column labeled " + columnLabel);
+    }
+    return index;
+  }
+
+  /**
+   * @return true if the last column read was SQL NULL
+   * @throws SQLException if a database access error occurs
+   */
+  public boolean wasNull() throws SQLException {
+
+    return rs.wasNull();
+  }
+
+  public boolean getBoolean(int column) throws SQLException {
+
+    return rs.getBoolean(column);
+  }
+
+  public boolean getBoolean(String columnLabel) throws SQLException {
+
+    return rs.getBoolean(indexOf(columnLabel));
+  }
+
+  public int getInt(int column) throws SQLException {
+
+    return rs.getInt(column);
+  }
+
+  public int getInt(String columnLabel) throws SQLException {
+
+    return rs.getInt(indexOf(columnLabel));
+  }
+
+  public long getLong(int column) throws SQLException {
+
+    return rs.getLong(column);
+  }
+
+  public long getLong(String columnLabel) throws SQLException {
+
+    return rs.getLong(indexOf(columnLabel));
+  }
+
+  public float getFloat(int column) throws SQLException {
+
+    return rs.getFloat(column);
+  }
+
+  public float getFloat(String columnLabel) throws SQLException {
+
+    return rs.getFloat(indexOf(columnLabel));
+  }
+
+  public double getDouble(int column) throws SQLException {
+
+    return rs.getDouble(column);
+  }
+
+  public double getDouble(String columnLabel) throws SQLException {
+
+    return rs.getDouble(indexOf(columnLabel));
+  }
+
+  public BigDecimal getBigDecimal(int column) throws SQLException {
+
+    return rs.getBigDecimal(column);
+  }
+
+  public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+
+    return rs.getBigDecimal(indexOf(columnLabel));
+  }
+
+  public String getString(int column) throws SQLException {
+
+    return rs.getString(column);
+  }
+
+  public String getString(String columnLabel) throws SQLException {
+
+    return rs.getString(indexOf(columnLabel));
+  }
+
+  public Timestamp getTimestamp(int column) throws SQLException {
+
+    return rs.getTimestamp(column);
+  }
+
+  public Timestamp getTimestamp(String columnLabel) throws SQLException {
+
+    return rs.getTimestamp(indexOf(columnLabel));
+  }
+
+  public byte[] getBytes(int column) throws SQLException {
+
+    return rs.getBytes(column);
+  }
+
+  public byte[] getBytes(String columnLabel) throws SQLException {
+
+    return rs.getBytes(indexOf(columnLabel));
+  }
+
+  public Object getObject(int column) throws SQLException {
+
+    return rs.getObject(column);
+  }
+
+  public Object getObject(String columnLabel) throws SQLException {
+
+    return rs.getObject(indexOf(columnLabel));
+  }
+
+  private static String fold(String label) {
+
+    return label.toLowerCase(Locale.ROOT);
+  }
+}
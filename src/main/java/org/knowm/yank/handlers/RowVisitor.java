@@ -0,0 +1,20 @@
+package org.knowm.yank.handlers;
+
+import java.sql.SQLException;
+
+/**
+ * Receives each row of a query as a {@link RowView}. The same RowView instance is passed for every
+ * row, so it must not be kept beyond the call.
+ *
+ * @author timmolter
+ */
+public interface RowVisitor {
+
+  /**
+   * Called once per row.
+   *
+   * @param row A view on the current row
+   * @throws SQLException if a database access error occurs
+   */
+  void visit(RowView row) throws SQLException;
+}
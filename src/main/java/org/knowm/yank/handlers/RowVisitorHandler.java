@@ -0,0 +1,38 @@
+package org.knowm.yank.handlers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.apache.commons.dbutils.ResultSetHandler;
+
+/**
+ * Passes every row of the ResultSet to a {@link RowVisitor} through a single reused {@link
+ * RowView}, without creating any objects per row. Returns the number of rows visited.
+ *
+ * @author timmolter
+ */
+public class RowVisitorHandler implements ResultSetHandler<Long> {
+
+  private final RowVisitor visitor;
+
+  /**
+   * Constructor
+   *
+   * @param visitor The visitor to pass the rows to
+   */
+  public RowVisitorHandler(RowVisitor visitor) {
+
+    this.visitor = visitor;
+  }
+
+  @Override
+  public Long handle(ResultSet rs) throws SQLException {
+
+    RowView row = new RowView(rs);
+    long count = 0;
+    while (rs.next()) {
+      visitor.visit(row);
+      count++;
+    }
+    return count;
+  }
+}
@@ -0,0 +1,511 @@
+package org.knowm.yank.processors;
+
+import java.beans.ConstructorProperties;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.knowm.yank.annotations.FieldAccess;
+
+/**
+ * Describes how the columns of a ResultSet map onto the properties of a Bean class. A plan is built
+ * once per Bean class and ResultSet shape (the ordered column labels) and then cached process-wide,
+ * so repeated queries skip both Bean introspection and column to property matching.
+ *
+ * <p>Building a plan also compiles the Bean's no-args constructor and the setter of every mapped
+ * property into MethodHandles, so converting a row calls them directly rather than going through
+ * reflective <code>Method.invoke</code>. If a mapper was generated at compile time for the Bean
+ * class (see {@link org.knowm.yank.annotations.GenerateMapper}), it is used instead and the Bean is
+ * not introspected at all. Classes annotated with {@link org.knowm.yank.annotations.FieldAccess}
+ * are populated through their fields instead of their setters.
+ *
+ * <p>Instances are immutable and safe to share between threads.
+ *
+ * @author timmolter
+ */
+public final class BeanMappingPlan<T> {
+
+  /** All plans built so far, keyed by Bean class and column labels */
+  private static final ConcurrentMap<Key, BeanMappingPlan<?>> PLANS =
+      new ConcurrentHashMap<Key, BeanMappingPlan<?>>();
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+  /** The generated mapper of each Bean class looked up so far, or NO_GENERATED_MAPPER */
+  private static final ConcurrentMap<Class<?>, Object> GENERATED_MAPPERS =
+      new ConcurrentHashMap<Class<?>, Object>();
+
+  private static final Object NO_GENERATED_MAPPER = new Object();
+
+  private final Class<T> type;
+
+  /** The no-args constructor adapted to ()Object, or null if fieldConstructor is used */
+  private final MethodHandle constructor;
+
+  /** Creates the Bean from its final fields, or null if the no-args constructor is used */
+  private final FieldConstructor fieldConstructor;
+
+  /** The writer for each column, or null if the column is not mapped */
+  private final ColumnWriter[] writers;
+
+  /**
+   * Constructor
+   *
+   * @param type The Bean type
+   * @param constructor The no-args constructor adapted to ()Object
+   * @param fieldConstructor The constructor taking the final fields, or null
+   * @param writers The writer for each column
+   */
+  private BeanMappingPlan(
+      Class<T> type,
+      MethodHandle constructor,
+      FieldConstructor fieldConstructor,
+      ColumnWriter[] writers) {
+
+    this.type = type;
+    this.constructor = constructor;
+    this.fieldConstructor = fieldConstructor;
+    this.writers = writers;
+  }
+
+  /**
+   * Get the cached plan for the given Bean type and ResultSet shape, building it on first use with
+   * a {@link YankBeanProcessor}.
+   *
+   * @param type The Bean type
+   * @param rsmd The <code>ResultSetMetaData</code> of the ResultSet being mapped
+   * @return The mapping plan
+   * @throws SQLException if a database access error occurs or the Bean cannot be compiled
+   */
+  public static <T> BeanMappingPlan<T> forResultSet(Class<T> type, ResultSetMetaData rsmd)
+      throws SQLException {
+
+    return forResultSet(new YankBeanProcessor<T>(type), type, rsmd);
+  }
+
+  /**
+   * Get the cached plan for the given Bean type and ResultSet shape, building it on first use.
+   *
+   * @param processor The processor used to introspect the Bean and match columns on a cache miss
+   * @param type The Bean type
+   * @param rsmd The <code>ResultSetMetaData</code> of the ResultSet being mapped
+   * @return The mapping plan
+   * @throws SQLException if a database access error occurs or the Bean cannot be compiled
+   */
+  @SuppressWarnings("unchecked")
+  static <T> BeanMappingPlan<T> forResultSet(
+      YankBeanProcessor<?> processor, Class<T> type, ResultSetMetaData rsmd) throws SQLException {
+
+    String[] labels = columnLabels(rsmd);
+    Key key = new Key(type, labels);
+    BeanMappingPlan<?> plan = PLANS.get(key);
+    if (plan == null) {
+      plan = compile(processor, type, labels);
+      BeanMappingPlan<?> existing = PLANS.putIfAbsent(key, plan);
+      if (existing != null) {
+        plan = existing;
+      }
+    }
+    return (BeanMappingPlan<T>) plan;
+  }
+
+  private static <T> BeanMappingPlan<T> compile(
+      YankBeanProcessor<?> processor, Class<T> type, String[] labels) throws SQLException {
+
+    GeneratedMapper<T> generated = generatedMapper(type);
+    if (generated != null) {
+      return compile(type, labels, generated);
+    }
+    if (type.isAnnotationPresent(FieldAccess.class)) {
+      return compileFields(type, labels);
+    }
+
+    MethodHandle constructor = noArgsConstructor(type);
+
+    PropertyDescriptor[] props = processor.propertyDescriptors(type);
+    int[] columnToProperty = processor.mapColumnsToProperties(type, labels);
+
+    ColumnWriter[] writers = new ColumnWriter[columnToProperty.length];
+    for (int col = 1; col < columnToProperty.length; col++) {
+      if (columnToProperty[col] < 0) {
+        continue;
+      }
+      PropertyDescriptor prop = props[columnToProperty[col]];
+      Method setter = prop.getWriteMethod();
+      if (setter == null || setter.getParameterTypes().length != 1) {
+        continue;
+      }
+      makeAccessible(setter);
+      try {
+        writers[col] =
+            TypedColumnWriters.forProperty(
+                prop.getName(), setter.getParameterTypes()[0], LOOKUP.unreflect(setter));
+      } catch (IllegalAccessException e) {
+        throw new SQLException("Cannot set " + prop.getName() + ": " + e.getMessage(), e);
+      }
+    }
+
+    return new BeanMappingPlan<T>(type, constructor, null, writers);
+  }
+
+  private static <T> BeanMappingPlan<T> compileFields(Class<T> type, String[] labels)
+      throws SQLException {
+
+    List<Field> fields = new ArrayList<Field>();
+    for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+      for (Field field : c.getDeclaredFields()) {
+        if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+          fields.add(field);
+        }
+      }
+    }
+    String[] names = new String[fields.size()];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = fields.get(i).getName();
+    }
+    PropertyIndex index =
+        new PropertyIndex(names, YankBeanProcessor.getMappingFromAnnotations(type));
+
+    // the final fields of the class itself are constructor arguments
+    List<Field> finalFields = new ArrayList<Field>();
+    for (Field field : fields) {
+      if (field.getDeclaringClass() == type && Modifier.isFinal(field.getModifiers())) {
+        finalFields.add(field);
+      }
+    }
+
+    FieldConstructor fieldConstructor = null;
+    if (!finalFields.isEmpty()) {
+      int[] finalFieldColumns = new int[finalFields.size()];
+      boolean mapped = false;
+      for (int col = 1; col < labels.length; col++) {
+        int field = index.indexOf(labels[col]);
+        int finalField = field < 0 ? -1 : finalFields.indexOf(fields.get(field));
+        if (finalField >= 0 && finalFieldColumns[finalField] == 0) {
+          finalFieldColumns[finalField] = col;
+          mapped = true;
+        }
+      }
+
+      Constructor<?> ctor = null;
+      Field[] args = null;
+      for (Constructor<?> candidate : type.getDeclaredConstructors()) {
+        args = bindArguments(candidate, finalFields);
+        if (args != null) {
+          ctor = candidate;
+          break;
+        }
+      }
+
+      if (ctor != null) {
+        String[] argNames = new String[args.length];
+        int[] argColumns = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+          argNames[i] = args[i].getName();
+          argColumns[i] = finalFieldColumns[finalFields.indexOf(args[i])];
+        }
+        makeAccessible(ctor);
+        try {
+          fieldConstructor =
+              new FieldConstructor(
+                  type.getName(), LOOKUP.unreflectConstructor(ctor), argNames, argColumns);
+        } catch (IllegalAccessException e) {
+          throw new SQLException("Cannot create " + type.getName() + ": " + e.getMessage(), e);
+        }
+      } else if (mapped) {
+        throw new SQLException(
+            "Cannot create "
+                + type.getName()
+                + ": no constructor takes its final fields by parameter name. Annotate the"
+                + " constructor with @ConstructorProperties or compile with -parameters.");
+      }
+    }
+    MethodHandle constructor = fieldConstructor == null ? noArgsConstructor(type) : null;
+
+    ColumnWriter[] writers = new ColumnWriter[labels.length];
+    for (int col = 1; col < labels.length; col++) {
+      int i = index.indexOf(labels[col]);
+      if (i < 0 || Modifier.isFinal(fields.get(i).getModifiers())) {
+        continue;
+      }
+      Field field = fields.get(i);
+      makeAccessible(field);
+      try {
+        writers[col] =
+            TypedColumnWriters.forProperty(
+                field.getName(), field.getType(), LOOKUP.unreflectSetter(field));
+      } catch (IllegalAccessException e) {
+        throw new SQLException("Cannot set " + field.getName() + ": " + e.getMessage(), e);
+      }
+    }
+
+    return new BeanMappingPlan<T>(type, constructor, fieldConstructor, writers);
+  }
+
+  /**
+   * Binds the parameters of a constructor to final fields by name, taken from {@link
+   * ConstructorProperties} or, if compiled with -parameters, from the class file. Without names a
+   * parameter binds to the final field of its type, if only one field has that type.
+   *
+   * @return the final field of each parameter, or null if the constructor does not take exactly the
+   *     final fields
+   */
+  private static Field[] bindArguments(Constructor<?> ctor, List<Field> finalFields) {
+
+    Class<?>[] types = ctor.getParameterTypes();
+    if (types.length != finalFields.size()) {
+      return null;
+    }
+    String[] names = parameterNames(ctor);
+    Field[] args = new Field[types.length];
+    for (int i = 0; i < types.length; i++) {
+      Field arg = null;
+      for (Field field : finalFields) {
+        if (names != null ? field.getName().equals(names[i]) : field.getType() == types[i]) {
+          if (arg != null) {
+            // two fields of the same type, ambiguous without names
+            return null;
+          }
+          arg = field;
+        }
+      }
+      if (arg == null || arg.getType() != types[i] || Arrays.asList(args).contains(arg)) {
+        return null;
+      }
+      args[i] = arg;
+    }
+    return args;
+  }
+
+  /**
+   * @return the parameter names of a constructor, or null if they are not known
+   */
+  private static String[] parameterNames(Constructor<?> ctor) {
+
+    ConstructorProperties properties = ctor.getAnnotation(ConstructorProperties.class);
+    if (properties != null) {
+      return properties.value().length == ctor.getParameterCount() ? properties.value() : null;
+    }
+    Parameter[] parameters = ctor.getParameters();
+    if (parameters.length == 0 || !parameters[0].isNamePresent()) {
+      return null;
+    }
+    String[] names = new String[parameters.length];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = parameters[i].getName();
+    }
+    return names;
+  }
+
+  private static MethodHandle noArgsConstructor(Class<?> type) throws SQLException {
+
+    try {
+      Constructor<?> ctor = type.getDeclaredConstructor();
+      makeAccessible(ctor);
+      return LOOKUP.unreflectConstructor(ctor).asType(CONSTRUCTOR_TYPE);
+    } catch (NoSuchMethodException e) {
+      throw new SQLException("Cannot create " + type.getName() + ": " + e.getMessage(), e);
+    } catch (IllegalAccessException e) {
+      throw new SQLException("Cannot create " + type.getName() + ": " + e.getMessage(), e);
+    }
+  }
+
+  private static <T> BeanMappingPlan<T> compile(
+      Class<T> type, String[] labels, GeneratedMapper<T> generated) throws SQLException {
+
+    MethodHandle constructor;
+    try {
+      constructor =
+          LOOKUP
+              .findVirtual(GeneratedMapper.class, "newInstance", CONSTRUCTOR_TYPE)
+              .bindTo(generated);
+    } catch (NoSuchMethodException e) {
+      throw new SQLException("Cannot create " + type.getName() + ": " + e.getMessage(), e);
+    } catch (IllegalAccessException e) {
+      throw new SQLException("Cannot create " + type.getName() + ": " + e.getMessage(), e);
+    }
+
+    PropertyIndex index = new PropertyIndex(generated.propertyNames(), generated.columnOverrides());
+
+    ColumnWriter[] writers = new ColumnWriter[labels.length];
+    for (int col = 1; col < labels.length; col++) {
+      int property = index.indexOf(labels[col]);
+      if (property >= 0) {
+        writers[col] = new GeneratedColumnWriter<T>(generated, property);
+      }
+    }
+
+    return new BeanMappingPlan<T>(type, constructor, null, writers);
+  }
+
+  /**
+   * Finds the mapper generated at compile time for the given Bean class.
+   *
+   * @param type The Bean type
+   * @return the generated mapper, or null if there is none
+   */
+  @SuppressWarnings("unchecked")
+  static <T> GeneratedMapper<T> generatedMapper(Class<T> type) {
+
+    Object mapper = GENERATED_MAPPERS.get(type);
+    if (mapper == null) {
+      mapper = loadGeneratedMapper(type);
+      GENERATED_MAPPERS.putIfAbsent(type, mapper);
+    }
+    return mapper == NO_GENERATED_MAPPER ? null : (GeneratedMapper<T>) mapper;
+  }
+
+  private static Object loadGeneratedMapper(Class<?> type) {
+
+    String name = type.getName().replace('$', '_') + GeneratedMapper.SUFFIX;
+    try {
+      Class<?> mapperClass = Class.forName(name, true, type.getClassLoader());
+      if (!GeneratedMapper.class.isAssignableFrom(mapperClass)) {
+        return NO_GENERATED_MAPPER;
+      }
+      return mapperClass.getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException e) {
+      return NO_GENERATED_MAPPER;
+    } catch (LinkageError e) {
+      return NO_GENERATED_MAPPER;
+    }
+  }
+
+  private static void makeAccessible(AccessibleObject member) {
+
+    try {
+      member.setAccessible(true);
+    } catch (RuntimeException e) {
+      // not permitted, the MethodHandle lookup will then do the access check
+    }
+  }
+
+  /**
+   * The column label of each column, falling back to the column name when no label is given. The
+   * 0th element is null because JDBC column indexing starts at 1.
+   *
+   * @param rsmd The <code>ResultSetMetaData</code>
+   * @return the column labels
+   * @throws SQLException if a database access error occurs
+   */
+  static String[] columnLabels(ResultSetMetaData rsmd) throws SQLException {
+
+    final int cols = rsmd.getColumnCount();
+    final String[] labels = new String[cols + 1];
+    for (int col = 1; col <= cols; col++) {
+      String columnName = rsmd.getColumnLabel(col);
+      if (null == columnName || 0 == columnName.length()) {
+        columnName = rsmd.getColumnName(col);
+      }
+      labels[col] = columnName;
+    }
+    return labels;
+  }
+
+  /**
+   * Removes all cached plans and the introspection results of YankBeanProcessor, i.e. after classes
+   * have been reloaded. Yank calls this when the last connection pool is released, so that no Bean
+   * class keeps its ClassLoader alive.
+   */
+  public static void clearCache() {
+
+    PLANS.clear();
+    GENERATED_MAPPERS.clear();
+    YankBeanProcessor.clearCache();
+  }
+
+  /**
+   * Creates a new Bean and populates it from the current row.
+   *
+   * @param rs The ResultSet positioned on the row to convert
+   * @return the populated Bean
+   * @throws SQLException if a database access error occurs or the Bean cannot be populated
+   */
+  @SuppressWarnings("unchecked")
+  public T toBean(ResultSet rs) throws SQLException {
+
+    T bean = fieldConstructor == null ? newInstance() : (T) fieldConstructor.newInstance(rs);
+    return populate(rs, bean);
+  }
+
+  /**
+   * Populates an existing Bean from the current row. Properties without a matching column, and
+   * final fields of Beans mapped by field access, are left untouched.
+   *
+   * @param rs The ResultSet positioned on the row to convert
+   * @param bean The Bean to populate
+   * @return the given Bean
+   * @throws SQLException if a database access error occurs or the Bean cannot be populated
+   */
+  public T populate(ResultSet rs, T bean) throws SQLException {
+
+    final ColumnWriter[] writers = this.writers;
+    for (int col = 1; col < writers.length; col++) {
+      if (writers[col] != null) {
+        writers[col].write(rs, col, bean);
+      }
+    }
+    return bean;
+  }
+
+  @SuppressWarnings("unchecked")
+  private T newInstance() throws SQLException {
+
+    try {
+      Object bean = constructor.invokeExact();
+      return (T) bean;
+    } catch (Throwable t) {
+      throw new SQLException("Cannot create " + type.getName() + ": " + t.getMessage(), t);
+    }
+  }
+
+  /** The cache key: a Bean class plus the ordered column labels of a ResultSet */
+  private static final class Key {
+
+    private final Class<?> type;
+    private final String[] labels;
+    private final int hash;
+
+    Key(Class<?> type, String[] labels) {
+
+      this.type = type;
+      this.labels = labels;
+      this.hash = 31 * type.hashCode() + Arrays.hashCode(labels);
+    }
+
+    @Override
+    public int hashCode() {
+
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return type == other.type && Arrays.equals(labels, other.labels);
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package org.knowm.yank.processors;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import org.apache.commons.dbutils.ColumnHandler;
+import org.apache.commons.dbutils.PropertyHandler;
+
+/**
+ * Reads a column value for a Bean property applying the same conversions dbutils' BeanProcessor
+ * applies: a ColumnHandler chosen by the property type, a default for SQL NULL on primitive
+ * properties, and a PropertyHandler conversion plus a compatibility check.
+ *
+ * <p>This class should not be directly accessed by client code. It is public so that mappers
+ * generated at compile time can fall back to it for property types they do not read directly.
+ *
+ * @author timmolter
+ */
+public final class ColumnValues {
+
+  /** The same ColumnHandlers BeanProcessor uses to read a column for a given property type */
+  private static final List<ColumnHandler<?>> COLUMN_HANDLERS = new ArrayList<ColumnHandler<?>>();
+
+  /** The same PropertyHandlers BeanProcessor uses to convert values before calling a setter */
+  private static final List<PropertyHandler> PROPERTY_HANDLERS = new ArrayList<PropertyHandler>();
+
+  static {
+    for (ColumnHandler<?> handler : ServiceLoader.load(ColumnHandler.class)) {
+      COLUMN_HANDLERS.add(handler);
+    }
+    for (PropertyHandler handler : ServiceLoader.load(PropertyHandler.class)) {
+      PROPERTY_HANDLERS.add(handler);
+    }
+  }
+
+  /** Values to set on primitive properties when the column is SQL NULL */
+  private static final Map<Class<?>, Object> PRIMITIVE_DEFAULTS = new HashMap<Class<?>, Object>();
+
+  static {
+    PRIMITIVE_DEFAULTS.put(Integer.TYPE, Integer.valueOf(0));
+    PRIMITIVE_DEFAULTS.put(Short.TYPE, Short.valueOf((short) 0));
+    PRIMITIVE_DEFAULTS.put(Byte.TYPE, Byte.valueOf((byte) 0));
+    PRIMITIVE_DEFAULTS.put(Float.TYPE, Float.valueOf(0f));
+    PRIMITIVE_DEFAULTS.put(Double.TYPE, Double.valueOf(0d));
+    PRIMITIVE_DEFAULTS.put(Long.TYPE, Long.valueOf(0L));
+    PRIMITIVE_DEFAULTS.put(Boolean.TYPE, Boolean.FALSE);
+    PRIMITIVE_DEFAULTS.put(Character.TYPE, Character.valueOf((char) 0));
+  }
+
+  /** Prevent class instantiation with private constructor */
+  private ColumnValues() {}
+
+  /**
+   * Reads the column as a value assignable to the given property type.
+   *
+   * @param rs The ResultSet positioned on the row to read
+   * @param column The column index
+   * @param propType The type of the property
+   * @param propName The name of the property, for error messages
+   * @return the converted value, may be null for non-primitive properties
+   * @throws SQLException if a database access error occurs or the value cannot be converted
+   */
+  public static Object read(ResultSet rs, int column, Class<?> propType, String propName)
+      throws SQLException {
+
+    return read(
+        rs, column, propType, propName, findColumnHandler(propType), primitiveDefault(propType));
+  }
+
+  /**
+   * Same as {@link #read(ResultSet, int, Class, String)} with the ColumnHandler and primitive
+   * default already resolved.
+   */
+  static Object read(
+      ResultSet rs,
+      int column,
+      Class<?> propType,
+      String propName,
+      ColumnHandler<?> columnHandler,
+      Object primitiveDefault)
+      throws SQLException {
+
+    Object value = rs.getObject(column);
+    if (value != null || propType.isPrimitive()) {
+      if (columnHandler != null) {
+        value = columnHandler.apply(rs, column);
+      }
+      if (value == null) {
+        value = primitiveDefault;
+      }
+    }
+
+    for (PropertyHandler handler : PROPERTY_HANDLERS) {
+      if (handler.match(propType, value)) {
+        value = handler.apply(propType, value);
+        break;
+      }
+    }
+
+    if (value != null && !isCompatibleType(value, propType)) {
+      throw new SQLException(
+          "Cannot set "
+              + propName
+              + ": incompatible types, cannot convert "
+              + value.getClass().getName()
+              + " to "
+              + propType.getName());
+    }
+
+    return value;
+  }
+
+  /**
+   * @param propType The type of the property
+   * @return the ColumnHandler matching the property type, or null to use ResultSet.getObject()
+   */
+  static ColumnHandler<?> findColumnHandler(Class<?> propType) {
+
+    for (ColumnHandler<?> handler : COLUMN_HANDLERS) {
+      if (handler.match(propType)) {
+        return handler;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param propType The type of the property
+   * @return the value for SQL NULL if the type is primitive, otherwise null
+   */
+  static Object primitiveDefault(Class<?> propType) {
+
+    return PRIMITIVE_DEFAULTS.get(propType);
+  }
+
+  private static boolean isCompatibleType(Object value, Class<?> type) {
+
+    if (type.isInstance(value)) {
+      return true;
+    }
+    if (!type.isPrimitive()) {
+      return false;
+    }
+    try {
+      return type == value.getClass().getField("TYPE").get(value);
+    } catch (NoSuchFieldException e) {
+      return false;
+    } catch (IllegalAccessException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package org.knowm.yank.processors;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads one ResultSet column and writes it into one Bean property. Writers are resolved once per
+ * {@link BeanMappingPlan}, so everything that only depends on the property type is looked up ahead
+ * of time instead of per row.
+ *
+ * @author timmolter
+ */
+abstract class ColumnWriter {
+
+  /**
+   * Reads the column and writes it into the Bean.
+   *
+   * @param rs The ResultSet positioned on the row to read
+   * @param col The column index
+   * @param bean The Bean to write into
+   * @throws SQLException if a database access error occurs or the property cannot be set
+   */
+  abstract void write(ResultSet rs, int col, Object bean) throws SQLException;
+}
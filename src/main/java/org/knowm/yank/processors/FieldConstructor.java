@@ -0,0 +1,83 @@
+package org.knowm.yank.processors;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.apache.commons.dbutils.ColumnHandler;
+
+/**
+ * Creates a Bean from the current row through a constructor taking its final fields, for Beans
+ * mapped with {@link org.knowm.yank.annotations.FieldAccess}.
+ *
+ * @author timmolter
+ */
+final class FieldConstructor {
+
+  private static final MethodType SPREAD_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+  private final String typeName;
+
+  /** The constructor adapted to (Object[])Object */
+  private final MethodHandle constructor;
+
+  private final String[] names;
+
+  private final Class<?>[] types;
+
+  /** The column of each constructor argument, or 0 if no column maps to it */
+  private final int[] columns;
+
+  private final ColumnHandler<?>[] columnHandlers;
+
+  private final Object[] defaults;
+
+  /**
+   * Constructor
+   *
+   * @param typeName The Bean class name, for error messages
+   * @param constructor The constructor taking the final fields
+   * @param names The final field names, in argument order
+   * @param columns The column of each argument, or 0 if no column maps to it
+   */
+  FieldConstructor(String typeName, MethodHandle constructor, String[] names, int[] columns) {
+
+    this.typeName = typeName;
+    this.types = constructor.type().parameterArray();
+    this.constructor = constructor.asSpreader(Object[].class, types.length).asType(SPREAD_TYPE);
+    this.names = names;
+    this.columns = columns;
+    this.columnHandlers = new ColumnHandler<?>[types.length];
+    this.defaults = new Object[types.length];
+    for (int i = 0; i < types.length; i++) {
+      columnHandlers[i] = ColumnValues.findColumnHandler(types[i]);
+      defaults[i] = ColumnValues.primitiveDefault(types[i]);
+    }
+  }
+
+  /**
+   * Creates a new Bean with the final fields read from the current row.
+   *
+   * @param rs The ResultSet positioned on the row to read
+   * @return the new Bean
+   * @throws SQLException if a database access error occurs or the Bean cannot be created
+   */
+  Object newInstance(ResultSet rs) throws SQLException {
+
+    final Object[] args = new Object[columns.length];
+    for (int i = 0; i < args.length; i++) {
+      args[i] =
+          columns[i] > 0
+              ? ColumnValues.read(
+                  rs, columns[i], types[i], names[i], columnHandlers[i], defaults[i])
+              : defaults[i];
+    }
+
+    try {
+      Object bean = constructor.invokeExact(args);
+      return bean;
+    } catch (Throwable t) {
+      throw new SQLException("Cannot create " + typeName + ": " + t.getMessage(), t);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package org.knowm.yank.processors;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Writes a column into a Bean property through a mapper generated at compile time.
+ *
+ * @author timmolter
+ */
+class GeneratedColumnWriter<T> extends ColumnWriter {
+
+  private final GeneratedMapper<T> mapper;
+
+  private final int property;
+
+  /**
+   * Constructor
+   *
+   * @param mapper The generated mapper of the Bean class
+   * @param property The index of the property in the mapper's property names
+   */
+  GeneratedColumnWriter(GeneratedMapper<T> mapper, int property) {
+
+    this.mapper = mapper;
+    this.property = property;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+    mapper.set((T) bean, property, rs, col);
+  }
+}
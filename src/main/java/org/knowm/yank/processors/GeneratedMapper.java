@@ -0,0 +1,46 @@
+package org.knowm.yank.processors;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * A ResultSet to Bean mapper generated at compile time for a Bean class annotated with {@link
+ * org.knowm.yank.annotations.GenerateMapper}. Implementations are named after the Bean's binary
+ * name with '$' replaced by '_' plus {@link #SUFFIX}, and are found by that name at runtime.
+ *
+ * <p>This interface should not be implemented by client code.
+ *
+ * @author timmolter
+ */
+public interface GeneratedMapper<T> {
+
+  /** Appended to the Bean class name to get the name of its generated mapper */
+  String SUFFIX = "_YankMapper";
+
+  /**
+   * @return the writable property names, in the index order used by {@link #set}
+   */
+  String[] propertyNames();
+
+  /**
+   * @return the column to property name overrides declared with Column annotations
+   */
+  Map<String, String> columnOverrides();
+
+  /**
+   * @return a new Bean created with its no-args constructor
+   */
+  T newInstance();
+
+  /**
+   * Reads a column and writes it into a property of the Bean.
+   *
+   * @param bean The Bean to write into
+   * @param property The index of the property in {@link #propertyNames()}
+   * @param rs The ResultSet positioned on the row to read
+   * @param column The column index
+   * @throws SQLException if a database access error occurs or the value cannot be converted
+   */
+  void set(T bean, int property, ResultSet rs, int column) throws SQLException;
+}
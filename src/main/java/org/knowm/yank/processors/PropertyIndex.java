@@ -0,0 +1,75 @@
+package org.knowm.yank.processors;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A hash index from column names to Bean property indexes, so each column of a ResultSet is
+ * resolved in O(1) instead of being compared against every property.
+ *
+ * <p>A column matches a property if, ignoring case, either the name given in a Column annotation
+ * for it, the column name itself or the column name without underscores (snake case) is equal to
+ * the property name, checked in that order. So an override wins over another property matching the
+ * column by name or snake case, and overrides ignore case like the other matches, unlike in the
+ * linear scan this index replaced. Of properties whose names differ only in case, the first one
+ * matches.
+ *
+ * @author timmolter
+ */
+final class PropertyIndex {
+
+  /** Case-folded property name to property index */
+  private final Map<String, Integer> byPropertyName;
+
+  /** Case-folded column name from a Column annotation to property index */
+  private final Map<String, Integer> byOverride;
+
+  /**
+   * Constructor
+   *
+   * @param propNames The property names, in property index order
+   * @param columnToPropertyOverrides Column name to property name overrides
+   */
+  PropertyIndex(String[] propNames, Map<String, String> columnToPropertyOverrides) {
+
+    this.byPropertyName = new HashMap<String, Integer>(propNames.length * 2);
+    for (int i = 0; i < propNames.length; i++) {
+      String key = fold(propNames[i]);
+      if (!byPropertyName.containsKey(key)) {
+        byPropertyName.put(key, i);
+      }
+    }
+
+    this.byOverride = new HashMap<String, Integer>(columnToPropertyOverrides.size() * 2);
+    for (Map.Entry<String, String> override : columnToPropertyOverrides.entrySet()) {
+      Integer index = byPropertyName.get(fold(override.getValue()));
+      if (index != null) {
+        byOverride.put(fold(override.getKey()), index);
+      }
+    }
+  }
+
+  /**
+   * @param columnName The column label or name
+   * @return the index of the matching property, or -1 if there is none
+   */
+  int indexOf(String columnName) {
+
+    String folded = fold(columnName);
+
+    Integer index = byOverride.get(folded);
+    if (index == null) {
+      index = byPropertyName.get(folded);
+    }
+    if (index == null && folded.indexOf('_') >= 0) {
+      index = byPropertyName.get(folded.replace("_", ""));
+    }
+    return index == null ? -1 : index;
+  }
+
+  private static String fold(String name) {
+
+    return name.toLowerCase(Locale.ROOT);
+  }
+}
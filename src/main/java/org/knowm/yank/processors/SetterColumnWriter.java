@@ -0,0 +1,59 @@
+package org.knowm.yank.processors;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.apache.commons.dbutils.ColumnHandler;
+
+/**
+ * Writes a column into a Bean property through its setter, compiled into a MethodHandle. The
+ * matching dbutils ColumnHandler and the primitive default are resolved once for the property type.
+ *
+ * @author timmolter
+ */
+class SetterColumnWriter extends ColumnWriter {
+
+  private static final MethodType SETTER_TYPE =
+      MethodType.methodType(void.class, Object.class, Object.class);
+
+  private final String propName;
+
+  private final Class<?> propType;
+
+  /** The setter adapted to (Object, Object)void */
+  private final MethodHandle setter;
+
+  /** The ColumnHandler matching the property type, or null to use ResultSet.getObject() */
+  private final ColumnHandler<?> columnHandler;
+
+  private final Object primitiveDefault;
+
+  /**
+   * Constructor
+   *
+   * @param propName The name of the property, for error messages
+   * @param propType The type of the property
+   * @param setter A MethodHandle taking the Bean and the property value
+   */
+  SetterColumnWriter(String propName, Class<?> propType, MethodHandle setter) {
+
+    this.propName = propName;
+    this.propType = propType;
+    this.setter = setter.asType(SETTER_TYPE);
+    this.columnHandler = ColumnValues.findColumnHandler(propType);
+    this.primitiveDefault = ColumnValues.primitiveDefault(propType);
+  }
+
+  @Override
+  void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+    Object value = ColumnValues.read(rs, col, propType, propName, columnHandler, primitiveDefault);
+
+    try {
+      setter.invokeExact(bean, value);
+    } catch (Throwable t) {
+      throw new SQLException("Cannot set " + propName + ": " + t.getMessage(), t);
+    }
+  }
+}
@@ -0,0 +1,506 @@
+package org.knowm.yank.processors;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+/**
+ * Column writers that read a column with the typed ResultSet getter matching the property type
+ * (getInt, getLong, getDouble, getBigDecimal, ... plus wasNull for boxed types) instead of
+ * getObject followed by a conversion. Primitive properties are set through a setter MethodHandle
+ * with a primitive parameter, so no value is boxed.
+ *
+ * <p>SQL NULL is mapped as dbutils maps it: to 0 or false for primitive properties and to null for
+ * all others.
+ *
+ * @author timmolter
+ */
+final class TypedColumnWriters {
+
+  /** Prevent class instantiation with private constructor */
+  private TypedColumnWriters() {}
+
+  /**
+   * Selects the writer for a property, falling back to a {@link SetterColumnWriter} for types
+   * without a typed getter.
+   *
+   * @param propName The name of the property, for error messages
+   * @param propType The type of the property
+   * @param setter A MethodHandle taking the Bean and the property value
+   * @return the writer
+   */
+  static ColumnWriter forProperty(String propName, Class<?> propType, MethodHandle setter) {
+
+    if (propType == int.class) {
+      return new IntWriter(propName, setter);
+    }
+    if (propType == long.class) {
+      return new LongWriter(propName, setter);
+    }
+    if (propType == double.class) {
+      return new DoubleWriter(propName, setter);
+    }
+    if (propType == float.class) {
+      return new FloatWriter(propName, setter);
+    }
+    if (propType == short.class) {
+      return new ShortWriter(propName, setter);
+    }
+    if (propType == byte.class) {
+      return new ByteWriter(propName, setter);
+    }
+    if (propType == boolean.class) {
+      return new BooleanWriter(propName, setter);
+    }
+    if (propType == Integer.class) {
+      return new BoxedIntWriter(propName, setter);
+    }
+    if (propType == Long.class) {
+      return new BoxedLongWriter(propName, setter);
+    }
+    if (propType == Double.class) {
+      return new BoxedDoubleWriter(propName, setter);
+    }
+    if (propType == Float.class) {
+      return new BoxedFloatWriter(propName, setter);
+    }
+    if (propType == Short.class) {
+      return new BoxedShortWriter(propName, setter);
+    }
+    if (propType == Byte.class) {
+      return new BoxedByteWriter(propName, setter);
+    }
+    if (propType == Boolean.class) {
+      return new BoxedBooleanWriter(propName, setter);
+    }
+    if (propType == String.class) {
+      return new StringWriter(propName, setter);
+    }
+    if (propType == BigDecimal.class) {
+      return new BigDecimalWriter(propName, setter);
+    }
+    if (propType == Timestamp.class) {
+      return new TimestampWriter(propName, setter);
+    }
+    if (propType == java.sql.Date.class) {
+      return new DateWriter(propName, setter);
+    }
+    if (propType == Time.class) {
+      return new TimeWriter(propName, setter);
+    }
+    if (propType == byte[].class) {
+      return new BytesWriter(propName, setter);
+    }
+    return new SetterColumnWriter(propName, propType, setter);
+  }
+
+  /** Base class holding the property name and the adapted setter */
+  private abstract static class TypedColumnWriter extends ColumnWriter {
+
+    final String propName;
+
+    final MethodHandle setter;
+
+    TypedColumnWriter(String propName, MethodHandle setter, Class<?> valueType) {
+
+      this.propName = propName;
+      this.setter = setter.asType(MethodType.methodType(void.class, Object.class, valueType));
+    }
+
+    SQLException cannotSet(Throwable t) {
+
+      return new SQLException("Cannot set " + propName + ": " + t.getMessage(), t);
+    }
+  }
+
+  private static final class IntWriter extends TypedColumnWriter {
+
+    IntWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, int.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      int value = rs.getInt(col);
+      try {
+        setter.invokeExact(bean, value);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class LongWriter extends TypedColumnWriter {
+
+    LongWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, long.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      long value = rs.getLong(col);
+      try {
+        setter.invokeExact(bean, value);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class DoubleWriter extends TypedColumnWriter {
+
+    DoubleWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, double.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      double value = rs.getDouble(col);
+      try {
+        setter.invokeExact(bean, value);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class FloatWriter extends TypedColumnWriter {
+
+    FloatWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, float.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      float value = rs.getFloat(col);
+      try {
+        setter.invokeExact(bean, value);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class ShortWriter extends TypedColumnWriter {
+
+    ShortWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, short.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      short value = rs.getShort(col);
+      try {
+        setter.invokeExact(bean, value);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class ByteWriter extends TypedColumnWriter {
+
+    ByteWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, byte.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      byte value = rs.getByte(col);
+      try {
+        setter.invokeExact(bean, value);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class BooleanWriter extends TypedColumnWriter {
+
+    BooleanWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, boolean.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      boolean value = rs.getBoolean(col);
+      try {
+        setter.invokeExact(bean, value);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class BoxedIntWriter extends TypedColumnWriter {
+
+    BoxedIntWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, Object.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      int value = rs.getInt(col);
+      Object boxed = rs.wasNull() ? null : Integer.valueOf(value);
+      try {
+        setter.invokeExact(bean, boxed);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class BoxedLongWriter extends TypedColumnWriter {
+
+    BoxedLongWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, Object.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      long value = rs.getLong(col);
+      Object boxed = rs.wasNull() ? null : Long.valueOf(value);
+      try {
+        setter.invokeExact(bean, boxed);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class BoxedDoubleWriter extends TypedColumnWriter {
+
+    BoxedDoubleWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, Object.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      double value = rs.getDouble(col);
+      Object boxed = rs.wasNull() ? null : Double.valueOf(value);
+      try {
+        setter.invokeExact(bean, boxed);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class BoxedFloatWriter extends TypedColumnWriter {
+
+    BoxedFloatWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, Object.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      float value = rs.getFloat(col);
+      Object boxed = rs.wasNull() ? null : Float.valueOf(value);
+      try {
+        setter.invokeExact(bean, boxed);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class BoxedShortWriter extends TypedColumnWriter {
+
+    BoxedShortWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, Object.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      short value = rs.getShort(col);
+      Object boxed = rs.wasNull() ? null : Short.valueOf(value);
+      try {
+        setter.invokeExact(bean, boxed);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class BoxedByteWriter extends TypedColumnWriter {
+
+    BoxedByteWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, Object.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      byte value = rs.getByte(col);
+      Object boxed = rs.wasNull() ? null : Byte.valueOf(value);
+      try {
+        setter.invokeExact(bean, boxed);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class BoxedBooleanWriter extends TypedColumnWriter {
+
+    BoxedBooleanWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, Object.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      boolean value = rs.getBoolean(col);
+      Object boxed = rs.wasNull() ? null : Boolean.valueOf(value);
+      try {
+        setter.invokeExact(bean, boxed);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class StringWriter extends TypedColumnWriter {
+
+    StringWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, Object.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      Object value = rs.getString(col);
+      try {
+        setter.invokeExact(bean, value);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class BigDecimalWriter extends TypedColumnWriter {
+
+    BigDecimalWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, Object.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      Object value = rs.getBigDecimal(col);
+      try {
+        setter.invokeExact(bean, value);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class TimestampWriter extends TypedColumnWriter {
+
+    TimestampWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, Object.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      Object value = rs.getTimestamp(col);
+      try {
+        setter.invokeExact(bean, value);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class DateWriter extends TypedColumnWriter {
+
+    DateWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, Object.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      Object value = rs.getDate(col);
+      try {
+        setter.invokeExact(bean, value);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class TimeWriter extends TypedColumnWriter {
+
+    TimeWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, Object.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      Object value = rs.getTime(col);
+      try {
+        setter.invokeExact(bean, value);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+
+  private static final class BytesWriter extends TypedColumnWriter {
+
+    BytesWriter(String propName, MethodHandle setter) {
+
+      super(propName, setter, Object.class);
+    }
+
+    @Override
+    void write(ResultSet rs, int col, Object bean) throws SQLException {
+
+      Object value = rs.getBytes(col);
+      try {
+        setter.invokeExact(bean, value);
+      } catch (Throwable t) {
+        throw cannotSet(t);
+      }
+    }
+  }
+}
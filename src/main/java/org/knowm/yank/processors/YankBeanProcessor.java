@@ -1,12 +1,21 @@
 package org.knowm.yank.processors;
 
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
+import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.commons.dbutils.BeanProcessor;
 import org.knowm.yank.annotations.Column;
 
@@ -14,10 +23,26 @@ import org.knowm.yank.annotations.Column;
  * Combines the override map of BeanProcessor with the snake case mapping of
  * GenererousBeanProcessor. Uses Column annotations to build map
  *
+ * <p>Bean introspection and column to property matching are done once per Bean class and ResultSet
+ * shape and cached in a {@link BeanMappingPlan}, which also populates the Beans via compiled
+ * MethodHandles instead of reflection.
+ *
  * @author timmolter
  */
 public class YankBeanProcessor<T> extends BeanProcessor {
 
+  /** Column annotation overrides per Bean class */
+  private static final ConcurrentMap<Class<?>, Map<String, String>> OVERRIDES_CACHE =
+      new ConcurrentHashMap<Class<?>, Map<String, String>>();
+
+  /** Bean property descriptors per Bean class */
+  private static final ConcurrentMap<Class<?>, PropertyDescriptor[]> PROPERTY_DESCRIPTORS_CACHE =
+      new ConcurrentHashMap<Class<?>, PropertyDescriptor[]>();
+
+  /** Column name to property index lookup per Bean class */
+  private static final ConcurrentMap<Class<?>, PropertyIndex> PROPERTY_INDEX_CACHE =
+      new ConcurrentHashMap<Class<?>, PropertyIndex>();
+
   /** ResultSet column to bean property name overrides. */
   private final Map<String, String> columnToFieldOverrides;
 
@@ -32,17 +57,102 @@ public class YankBeanProcessor<T> extends BeanProcessor {
     this.columnToFieldOverrides = getMappingFromAnnotations(type);
   }
 
-  private Map<String, String> getMappingFromAnnotations(Class<T> type) {
+  static Map<String, String> getMappingFromAnnotations(Class<?> type) {
+
+    Map<String, String> overrides = OVERRIDES_CACHE.get(type);
+    if (overrides == null) {
+      overrides = scanAnnotations(type);
+      OVERRIDES_CACHE.putIfAbsent(type, overrides);
+    }
+    return overrides;
+  }
+
+  /** Removes the cached introspection results of all Bean classes */
+  static void clearCache() {
+
+    OVERRIDES_CACHE.clear();
+    PROPERTY_DESCRIPTORS_CACHE.clear();
+    PROPERTY_INDEX_CACHE.clear();
+  }
+
+  private static Map<String, String> scanAnnotations(Class<?> type) {
 
     final Map<String, String> columnToPropertyOverrides = new HashMap<String, String>();
 
-    for (Field field : type.getDeclaredFields()) {
-      if (field.isAnnotationPresent(Column.class)) {
-        columnToPropertyOverrides.put(field.getAnnotation(Column.class).value(), field.getName());
+    // the subclass is scanned first so that its annotations win over inherited ones
+    for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+      for (Field field : c.getDeclaredFields()) {
+        if (field.isAnnotationPresent(Column.class)) {
+          columnToPropertyOverrides.putIfAbsent(
+              field.getAnnotation(Column.class).value(), field.getName());
+        }
       }
     }
 
-    return columnToPropertyOverrides;
+    return Collections.unmodifiableMap(columnToPropertyOverrides);
+  }
+
+  /**
+   * Convert a <code>ResultSet</code> row into a JavaBean using the cached mapping plan for the Bean
+   * type and the shape of the ResultSet.
+   *
+   * @param rs ResultSet that supplies the bean data
+   * @param type Class from which to create the bean instance
+   * @throws SQLException if a database access error occurs
+   * @return the newly created bean
+   */
+  @Override
+  public <B> B toBean(ResultSet rs, Class<? extends B> type) throws SQLException {
+
+    return BeanMappingPlan.forResultSet(this, type, rs.getMetaData()).toBean(rs);
+  }
+
+  /**
+   * Convert a <code>ResultSet</code> into a <code>List</code> of JavaBeans using the cached mapping
+   * plan for the Bean type and the shape of the ResultSet.
+   *
+   * @param rs ResultSet that supplies the bean data
+   * @param type Class from which to create the bean instance
+   * @throws SQLException if a database access error occurs
+   * @return the newly created List of beans
+   */
+  @Override
+  public <B> List<B> toBeanList(ResultSet rs, Class<? extends B> type) throws SQLException {
+
+    if (!rs.next()) {
+      return Collections.emptyList();
+    }
+
+    final BeanMappingPlan<? extends B> plan =
+        BeanMappingPlan.forResultSet(this, type, rs.getMetaData());
+    final List<B> results = new ArrayList<B>();
+    do {
+      results.add(plan.toBean(rs));
+    } while (rs.next());
+
+    return results;
+  }
+
+  /**
+   * Returns the (cached) PropertyDescriptors for the given Bean class.
+   *
+   * @param c The Bean class
+   * @return the PropertyDescriptors
+   * @throws SQLException if introspection fails
+   */
+  PropertyDescriptor[] propertyDescriptors(Class<?> c) throws SQLException {
+
+    PropertyDescriptor[] props = PROPERTY_DESCRIPTORS_CACHE.get(c);
+    if (props == null) {
+      try {
+        BeanInfo beanInfo = Introspector.getBeanInfo(c);
+        props = beanInfo.getPropertyDescriptors();
+      } catch (IntrospectionException e) {
+        throw new SQLException("Bean introspection failed: " + e.getMessage(), e);
+      }
+      PROPERTY_DESCRIPTORS_CACHE.putIfAbsent(c, props);
+    }
+    return props;
   }
 
   /**
@@ -51,6 +161,9 @@ public class YankBeanProcessor<T> extends BeanProcessor {
    * that matches the column name. Also tried to match snake case column names or overrides. If no
    * bean property was found for a column, the position is set to <code>PROPERTY_NOT_FOUND</code>.
    *
+   * <p>Each column is resolved with a hash lookup in a {@link PropertyIndex} rather than by
+   * comparing it against every property.
+   *
    * @param rsmd The <code>ResultSetMetaData</code> containing column information.
    * @param props The bean property descriptors.
    * @throws SQLException if a database access error occurs
@@ -61,35 +174,47 @@ public class YankBeanProcessor<T> extends BeanProcessor {
   protected int[] mapColumnsToProperties(
       final ResultSetMetaData rsmd, final PropertyDescriptor[] props) throws SQLException {
 
-    final int cols = rsmd.getColumnCount();
-    final int[] columnToProperty = new int[cols + 1];
-    Arrays.fill(columnToProperty, PROPERTY_NOT_FOUND);
+    final String[] propNames = new String[props.length];
+    for (int i = 0; i < props.length; i++) {
+      propNames[i] = props[i].getName();
+    }
 
-    for (int col = 1; col <= cols; col++) {
-      String columnName = rsmd.getColumnLabel(col);
+    return mapColumnsToProperties(
+        BeanMappingPlan.columnLabels(rsmd), new PropertyIndex(propNames, columnToFieldOverrides));
+  }
 
-      if (null == columnName || 0 == columnName.length()) {
-        columnName = rsmd.getColumnName(col);
-      }
+  /**
+   * Same as {@link #mapColumnsToProperties(ResultSetMetaData, PropertyDescriptor[])} for the
+   * property descriptors of the given Bean class, using an index built once per class.
+   *
+   * @param type The Bean class
+   * @param columnLabels The column labels as returned by BeanMappingPlan.columnLabels
+   * @throws SQLException if introspection fails
+   * @return An int[] with column index to property index mappings
+   */
+  int[] mapColumnsToProperties(Class<?> type, String[] columnLabels) throws SQLException {
 
-      String overrideName = columnToFieldOverrides.get(columnName);
-      if (overrideName == null) {
-        overrideName = columnName;
+    PropertyIndex index = PROPERTY_INDEX_CACHE.get(type);
+    if (index == null) {
+      PropertyDescriptor[] props = propertyDescriptors(type);
+      final String[] propNames = new String[props.length];
+      for (int i = 0; i < props.length; i++) {
+        propNames[i] = props[i].getName();
       }
+      index = new PropertyIndex(propNames, getMappingFromAnnotations(type));
+      PROPERTY_INDEX_CACHE.putIfAbsent(type, index);
+    }
 
-      final String generousColumnName = columnName.replace("_", "");
+    return mapColumnsToProperties(columnLabels, index);
+  }
 
-      for (int i = 0; i < props.length; i++) {
-        final String propName = props[i].getName();
-
-        // see if either the column name, or the generous one matches
-        if (columnName.equalsIgnoreCase(propName)
-            || generousColumnName.equalsIgnoreCase(propName)
-            || overrideName.equalsIgnoreCase(propName)) {
-          columnToProperty[col] = i;
-          break;
-        }
-      }
+  private static int[] mapColumnsToProperties(String[] columnLabels, PropertyIndex index) {
+
+    final int[] columnToProperty = new int[columnLabels.length];
+    Arrays.fill(columnToProperty, PROPERTY_NOT_FOUND);
+
+    for (int col = 1; col < columnLabels.length; col++) {
+      columnToProperty[col] = index.indexOf(columnLabels[col]);
     }
 
     return columnToProperty;
@@ -0,0 +1,315 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.demo.Book;
+import org.knowm.yank.flow.Subscriber;
+import org.knowm.yank.flow.Subscription;
+
+/**
+ * @author timmolter
+ */
+public class AsyncTest {
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    dbProps.setProperty("maximumPoolSize", "2");
+    dbProps.setProperty(AsyncExecutor.QUEUE_SIZE_PROPERTY, "2");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+    sqlProps.setProperty("ASYNC_CACHED_ONE", "SELECT 1 FROM (VALUES(0))");
+    sqlProps.setProperty("ASYNC_CACHED_ONE.cacheTtl", "60");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testAsyncQueries() throws Exception {
+
+    YankAsync async = Yank.async();
+
+    List<CompletableFuture<Long>> ids = new ArrayList<CompletableFuture<Long>>();
+    for (int i = 0; i < 2; i++) {
+      ids.add(
+          async.insert(
+              "INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)",
+              new Object[] {"Async " + i, "Author", i}));
+    }
+    CompletableFuture.allOf(ids.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+
+    List<Book> books =
+        async
+            .queryBeanList(
+                "SELECT * FROM BOOKS WHERE AUTHOR = ?", Book.class, new Object[] {"Author"})
+            .get(10, TimeUnit.SECONDS);
+    assertThat(books.size(), equalTo(2));
+
+    long count =
+        async
+            .call(pool -> pool.queryLong("SELECT COUNT(*) FROM BOOKS", -1, null))
+            .get(10, TimeUnit.SECONDS);
+    assertThat(count, equalTo(2L));
+  }
+
+  @Test
+  public void testSQLKeyQueriesUseResultCache() throws Exception {
+
+    YankAsync async = Yank.async();
+
+    async.queryScalarSQLKey("ASYNC_CACHED_ONE", Integer.class, null).get(10, TimeUnit.SECONDS);
+    ResultCacheStats before = Yank.getResultCacheStats(YankPoolManager.DEFAULT_POOL_NAME);
+    Integer one =
+        async.queryScalarSQLKey("ASYNC_CACHED_ONE", Integer.class, null).get(10, TimeUnit.SECONDS);
+    ResultCacheStats after = Yank.getResultCacheStats(YankPoolManager.DEFAULT_POOL_NAME);
+
+    assertThat(one, equalTo(1));
+    assertThat(after.getHits() - before.getHits(), equalTo(1L));
+  }
+
+  @Test
+  public void testBoundedConcurrency() throws Exception {
+
+    YankAsync async = Yank.async();
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    List<CompletableFuture<Integer>> calls = new ArrayList<CompletableFuture<Integer>>();
+    for (int i = 0; i < 4; i++) {
+      calls.add(
+          async.call(
+              pool -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                  release.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return pool.queryInt("SELECT COUNT(*) FROM BOOKS", -1, null);
+              }));
+    }
+    long deadline = System.currentTimeMillis() + 10000;
+    while (running.get() < 2 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+
+    // 2 running, 2 queued, so the next call is rejected
+    CompletableFuture<Integer> rejected = async.call(pool -> 0);
+    try {
+      rejected.get(10, TimeUnit.SECONDS);
+      throw new AssertionError("call was not rejected");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(RejectedExecutionException.class));
+    }
+
+    release.countDown();
+    for (CompletableFuture<Integer> call : calls) {
+      call.get(10, TimeUnit.SECONDS);
+    }
+    assertThat(maxRunning.get(), equalTo(2));
+    assertThat(async.getQueuedCount(), equalTo(0));
+  }
+
+  @Test
+  public void testGatedThreadPerCall() throws Exception {
+
+    // a cached thread pool starts a thread per call like the virtual thread executor does
+    AsyncExecutor executor = new AsyncExecutor(Executors.newCachedThreadPool(), 2, 3, false);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    List<CompletableFuture<Integer>> calls = new ArrayList<CompletableFuture<Integer>>();
+    for (int i = 0; i < 5; i++) {
+      calls.add(
+          executor.submit(
+              () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                  release.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return 1;
+              }));
+    }
+
+    // 2 holding a permit, 3 waiting for one, so the next call is rejected
+    try {
+      executor.submit(() -> 0).get(10, TimeUnit.SECONDS);
+      throw new AssertionError("call was not rejected");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(RejectedExecutionException.class));
+    }
+
+    release.countDown();
+    for (CompletableFuture<Integer> call : calls) {
+      assertThat(call.get(10, TimeUnit.SECONDS), equalTo(1));
+    }
+    assertThat(maxRunning.get(), equalTo(2));
+    assertThat(executor.submit(() -> 2).get(10, TimeUnit.SECONDS), equalTo(2));
+    executor.shutdown();
+  }
+
+  @Test
+  public void testOpenSubscriptionsHoldPermits() throws Exception {
+
+    YankAsync async = Yank.async();
+
+    // two slow subscribers hold both connections of the pool
+    List<Subscription> subscriptions = new CopyOnWriteArrayList<Subscription>();
+    CountDownLatch received = new CountDownLatch(2);
+    for (int i = 0; i < 2; i++) {
+      async
+          .queryColumnPublisher(
+              "SELECT 'Held' AS TITLE FROM (VALUES(0), (1))", "TITLE", String.class, null)
+          .subscribe(
+              new Subscriber<String>() {
+
+                @Override
+                public void onSubscribe(Subscription subscription) {
+
+                  subscriptions.add(subscription);
+                  subscription.request(1);
+                }
+
+                @Override
+                public void onNext(String item) {
+
+                  received.countDown();
+                }
+
+                @Override
+                public void onError(Throwable throwable) {}
+
+                @Override
+                public void onComplete() {}
+              });
+    }
+    assertThat(received.await(10, TimeUnit.SECONDS), equalTo(true));
+
+    // so a call waits for a permit instead of for a connection
+    CompletableFuture<Long> call =
+        async.call(pool -> pool.queryLong("SELECT COUNT(*) FROM (VALUES(0))", -1, null));
+    long deadline = System.currentTimeMillis() + 10000;
+    while (async.getQueuedCount() < 1 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(call.isDone(), equalTo(false));
+
+    subscriptions.get(0).cancel();
+    assertThat(call.get(10, TimeUnit.SECONDS), equalTo(1L));
+    subscriptions.get(1).cancel();
+  }
+
+  @Test
+  public void testShutdownWaitsForRunningCalls() throws Exception {
+
+    AsyncExecutor executor = new AsyncExecutor("shutdown-test", 1, 2, false);
+    CountDownLatch started = new CountDownLatch(1);
+    CompletableFuture<Integer> running =
+        executor.submit(
+            () -> {
+              started.countDown();
+              try {
+                Thread.sleep(200);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return -1;
+              }
+              return 1;
+            });
+    CompletableFuture<Integer> queued = executor.submit(() -> 2);
+    assertThat(started.await(10, TimeUnit.SECONDS), equalTo(true));
+
+    executor.shutdown();
+    assertThat(running.isDone(), equalTo(true));
+    assertThat(running.get(), equalTo(1));
+    try {
+      queued.get(10, TimeUnit.SECONDS);
+      throw new AssertionError("queued call was run");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(RejectedExecutionException.class));
+    }
+  }
+
+  @Test
+  public void testRejectedCallsAreNotPending() throws Exception {
+
+    AtomicBoolean reject = new AtomicBoolean(true);
+    ThreadPoolExecutor threadPerCall =
+        new ThreadPoolExecutor(
+            0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<Runnable>()) {
+
+          @Override
+          public void execute(Runnable command) {
+
+            if (reject.get()) {
+              throw new RejectedExecutionException("no thread");
+            }
+            super.execute(command);
+          }
+        };
+    AsyncExecutor executor = new AsyncExecutor(threadPerCall, 1, 1, false);
+
+    // more rejections than calls may be pending
+    for (int i = 0; i < 3; i++) {
+      try {
+        executor.submit(() -> 0).get(10, TimeUnit.SECONDS);
+        throw new AssertionError("call was not rejected");
+      } catch (ExecutionException e) {
+        assertThat(e.getCause(), instanceOf(RejectedExecutionException.class));
+      }
+    }
+
+    reject.set(false);
+    assertThat(executor.submit(() -> 1).get(10, TimeUnit.SECONDS), equalTo(1));
+    executor.shutdown();
+  }
+
+  @Test
+  public void testVirtualThreads() throws Exception {
+
+    Properties properties = new Properties();
+    properties.setProperty(AsyncExecutor.THREADS_PROPERTY, "virtual");
+    AsyncExecutor executor = AsyncExecutor.fromProperties("virtual-test", properties, 2);
+
+    // virtual threads on Java 21+, platform threads before
+    assertThat(
+        executor.isVirtual(), equalTo(AsyncExecutor.newVirtualThreadExecutor("probe-") != null));
+    assertThat(executor.getThreadCount(), equalTo(2));
+    assertThat(executor.submit(() -> 42).get(10, TimeUnit.SECONDS), equalTo(42));
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,98 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Map;
+import java.util.Properties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.collections.LongObjectHashMap;
+import org.knowm.yank.demo.Book;
+
+/**
+ * @author timmolter
+ */
+public class BeanMapTest {
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+    Object[][] params = new Object[100][];
+    for (int i = 0; i < params.length; i++) {
+      params[i] = new Object[] {"Title " + i, "Author " + (i % 7), i + 0.5};
+    }
+    Yank.executeBatch("INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)", params);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testBeanMap() {
+
+    Map<Long, Book> books =
+        Yank.queryBeanMap("SELECT * FROM BOOKS", "ID", Long.class, Book.class, null);
+
+    assertThat(books.size(), equalTo(100));
+    assertThat(books.get(42L).getTitle(), equalTo("Title 42"));
+
+    Map<String, Book> byAuthor =
+        Yank.queryBeanMap(
+            "SELECT * FROM BOOKS ORDER BY ID", "AUTHOR", String.class, Book.class, null);
+
+    assertThat(byAuthor.size(), equalTo(7));
+    assertThat(byAuthor.get("Author 3").getId(), equalTo(94));
+  }
+
+  @Test
+  public void testBeanLongMap() {
+
+    LongObjectHashMap<Book> books =
+        Yank.queryBeanLongMap(
+            YankPoolManager.DEFAULT_POOL_NAME,
+            "SELECT * FROM BOOKS WHERE ID < ?",
+            "ID",
+            Book.class,
+            new Object[] {50},
+            50,
+            QueryOptions.DEFAULT);
+
+    assertThat(books.size(), equalTo(50));
+    assertThat(books.get(7).getTitle(), equalTo("Title 7"));
+    assertThat(books.get(50), nullValue());
+  }
+
+  @Test
+  public void testLongObjectHashMap() {
+
+    LongObjectHashMap<String> map = new LongObjectHashMap<String>();
+    for (long i = -500; i < 500; i++) {
+      map.put(i * 1024, "v" + i);
+    }
+    assertThat(map.size(), equalTo(1000));
+    assertThat(map.put(0, "zero"), equalTo("v0"));
+
+    for (long i = -500; i < 500; i += 2) {
+      assertThat(map.remove(i * 1024), equalTo(i == 0 ? "zero" : "v" + i));
+    }
+    assertThat(map.size(), equalTo(500));
+    for (long i = -499; i < 500; i += 2) {
+      assertThat(map.get(i * 1024), equalTo("v" + i));
+      assertThat(map.containsKey((i - 1) * 1024), equalTo(false));
+    }
+    assertThat(map.keys().length, equalTo(500));
+  }
+}
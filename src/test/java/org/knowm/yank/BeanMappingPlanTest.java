@@ -0,0 +1,187 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.demo.Book;
+import org.knowm.yank.exceptions.YankSQLException;
+import org.knowm.yank.processors.BeanMappingPlan;
+
+/**
+ * @author timmolter
+ */
+public class BeanMappingPlanTest {
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testSameBeanDifferentShapes() {
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+
+    Object[] params = new Object[] {"Cryptonomicon", "Neal Stephenson", 23.99};
+    Yank.execute("INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)", params);
+
+    // the same query twice hits the cached plan
+    for (int i = 0; i < 2; i++) {
+      List<Book> books = Yank.queryBeanList("SELECT * FROM BOOKS", Book.class, null);
+      assertThat(books.size(), equalTo(1));
+      assertThat(books.get(0).getAuthor(), equalTo("Neal Stephenson"));
+      assertThat(books.get(0).getPrice(), equalTo(23.99));
+    }
+
+    // a different shape for the same Bean class gets its own plan
+    Book book = Yank.queryBean("SELECT PRICE, TITLE FROM BOOKS", Book.class, null);
+    assertThat(book.getTitle(), equalTo("Cryptonomicon"));
+    assertThat(book.getPrice(), equalTo(23.99));
+    assertThat(book.getAuthor(), nullValue());
+  }
+
+  @Test
+  public void testReleasingLastPoolClearsPlans() throws SQLException {
+
+    BeanMappingPlan<Book> plan = plan();
+    assertThat(plan(), sameInstance(plan));
+
+    Yank.releaseDefaultConnectionPool();
+    setUpDB();
+
+    assertThat(plan(), not(sameInstance(plan)));
+  }
+
+  private static BeanMappingPlan<Book> plan() throws SQLException {
+
+    try (Connection connection = Yank.getDefaultConnectionPool().getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery("SELECT 'Anathem' AS TITLE FROM (VALUES(0))")) {
+      return BeanMappingPlan.forResultSet(Book.class, rs.getMetaData());
+    }
+  }
+
+  @Test
+  public void testConstructorFailureIsTheCause() {
+
+    Yank.setThrowWrappedExceptions(true);
+    try {
+      Yank.queryBean("SELECT 'Title' AS TITLE FROM (VALUES(0))", FailingBean.class, null);
+      throw new AssertionError("bean was created");
+    } catch (YankSQLException e) {
+      // QueryRunner chains the mapping failure to the SQLException it adds the query to
+      SQLException sqlException = e.getSqlException().getNextException();
+      assertThat(
+          sqlException.getMessage(),
+          equalTo("Cannot create " + FailingBean.class.getName() + ": boom"));
+      assertThat(sqlException.getCause(), instanceOf(IllegalStateException.class));
+    } finally {
+      Yank.setThrowWrappedExceptions(false);
+    }
+  }
+
+  @Test
+  public void testSetters() {
+
+    Edition edition =
+        Yank.queryBean(
+            "SELECT CAST(NULL AS INTEGER) AS PRICE, TIMESTAMP '2020-01-02 03:04:05' AS PUBLISHED"
+                + " FROM (VALUES(0))",
+            Edition.class,
+            null);
+
+    // a NULL column sets the primitive default, like BeanProcessor does
+    assertThat(edition.getPrice(), equalTo(0));
+    // the Timestamp is a java.util.Date, so it is set as is
+    assertThat(
+        edition.getPublished().getTime(),
+        equalTo(Timestamp.valueOf("2020-01-02 03:04:05").getTime()));
+  }
+
+  @Test
+  public void testSetterFailure() {
+
+    Yank.setThrowWrappedExceptions(true);
+    try {
+      Yank.queryBean("SELECT 'Title' AS TITLE FROM (VALUES(0))", FailingSetter.class, null);
+      throw new AssertionError("property was set");
+    } catch (YankSQLException e) {
+      SQLException sqlException = e.getSqlException().getNextException();
+      assertThat(sqlException.getMessage(), equalTo("Cannot set title: no titles"));
+      assertThat(sqlException.getCause(), instanceOf(IllegalArgumentException.class));
+    } finally {
+      Yank.setThrowWrappedExceptions(false);
+    }
+  }
+
+  public static class Edition {
+
+    private int price = 7;
+
+    private Date published;
+
+    public int getPrice() {
+
+      return price;
+    }
+
+    public void setPrice(int price) {
+
+      this.price = price;
+    }
+
+    public Date getPublished() {
+
+      return published;
+    }
+
+    public void setPublished(Date published) {
+
+      this.published = published;
+    }
+  }
+
+  public static class FailingSetter {
+
+    public void setTitle(String title) {
+
+      throw new IllegalArgumentException("no titles");
+    }
+  }
+
+  public static class FailingBean {
+
+    public FailingBean() {
+
+      throw new IllegalStateException("boom");
+    }
+
+    public void setTitle(String title) {}
+  }
+}
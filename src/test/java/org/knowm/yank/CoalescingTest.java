@@ -0,0 +1,200 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.demo.Book;
+
+/**
+ * @author timmolter
+ */
+public class CoalescingTest {
+
+  private static final String POOL_NAME = YankPoolManager.DEFAULT_POOL_NAME;
+
+  private static final SQLStatement STATEMENT =
+      SQLStatement.compile(
+          "BOOKS_SELECT_BY_PRICE",
+          "SELECT * FROM BOOKS WHERE PRICE = ?",
+          QueryOptions.DEFAULT,
+          null,
+          true);
+
+  private static ExecutorService callers;
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+    sqlProps.setProperty("BOOKS_COALESCED_BY_TITLE", "SELECT * FROM BOOKS WHERE TITLE = ?");
+    sqlProps.setProperty("BOOKS_COALESCED_BY_TITLE.coalesce", "true");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+    Yank.execute(
+        "INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)",
+        new Object[] {"Cryptonomicon", "Neal Stephenson", 23.99});
+
+    callers = Executors.newFixedThreadPool(8);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    callers.shutdownNow();
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testIdenticalQueriesShareOneExecution() throws Exception {
+
+    QueryCoalescer coalescer = new QueryCoalescer();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger executions = new AtomicInteger();
+
+    List<Future<List<String>>> calls = new ArrayList<Future<List<String>>>();
+    for (int i = 0; i < 5; i++) {
+      calls.add(
+          callers.submit(
+              () ->
+                  coalescer.get(
+                      STATEMENT,
+                      "column",
+                      new Object[] {23.99},
+                      () -> {
+                        executions.incrementAndGet();
+                        started.countDown();
+                        await(release);
+                        return new ArrayList<String>(Arrays.asList("Cryptonomicon"));
+                      })));
+    }
+
+    assertThat(started.await(10, TimeUnit.SECONDS), equalTo(true));
+    long deadline = System.currentTimeMillis() + 10000;
+    while (coalescer.getStats().getCoalesced() < 4 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(coalescer.getStats().getInFlight(), equalTo(1L));
+    release.countDown();
+
+    List<String> first = calls.get(0).get(10, TimeUnit.SECONDS);
+    for (Future<List<String>> call : calls) {
+      assertThat(call.get(10, TimeUnit.SECONDS), sameInstance(first));
+    }
+    assertThat(executions.get(), equalTo(1));
+
+    CoalescingStats stats = coalescer.getStats();
+    assertThat(stats.getExecutions(), equalTo(1L));
+    assertThat(stats.getCoalesced(), equalTo(4L));
+    assertThat(stats.getInFlight(), equalTo(0L));
+  }
+
+  @Test
+  public void testFailureReachesEveryCaller() throws Exception {
+
+    QueryCoalescer coalescer = new QueryCoalescer();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    List<Future<Object>> calls = new ArrayList<Future<Object>>();
+    for (int i = 0; i < 3; i++) {
+      calls.add(
+          callers.submit(
+              () ->
+                  coalescer.get(
+                      STATEMENT,
+                      "bean",
+                      new Object[] {1},
+                      () -> {
+                        started.countDown();
+                        await(release);
+                        throw new IllegalStateException("boom");
+                      })));
+    }
+
+    assertThat(started.await(10, TimeUnit.SECONDS), equalTo(true));
+    long deadline = System.currentTimeMillis() + 10000;
+    while (coalescer.getStats().getCoalesced() < 2 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    release.countDown();
+
+    for (Future<Object> call : calls) {
+      try {
+        call.get(10, TimeUnit.SECONDS);
+        throw new AssertionError("call did not fail");
+      } catch (ExecutionException e) {
+        assertThat(e.getCause().getMessage(), equalTo("boom"));
+      }
+    }
+
+    // nothing is kept, so the next call runs the query again
+    assertThat(coalescer.get(STATEMENT, "bean", new Object[] {1}, () -> "ok"), equalTo("ok"));
+    assertThat(coalescer.getStats().getExecutions(), equalTo(2L));
+  }
+
+  @Test
+  public void testSQLKey() {
+
+    CoalescingStats before = Yank.getCoalescingStats(POOL_NAME);
+    Book book =
+        Yank.queryBeanSQLKey(
+            "BOOKS_COALESCED_BY_TITLE", Book.class, new Object[] {"Cryptonomicon"});
+    assertThat(book.getAuthor(), equalTo("Neal Stephenson"));
+    Yank.queryBeanSQLKey("BOOKS_SELECT_BY_TITLE", Book.class, new Object[] {"Cryptonomicon"});
+
+    CoalescingStats after = Yank.getCoalescingStats(POOL_NAME);
+    assertThat(after.getExecutions() - before.getExecutions(), equalTo(1L));
+  }
+
+  @Test
+  public void testAsyncSQLKey() throws Exception {
+
+    CoalescingStats before = Yank.getCoalescingStats(POOL_NAME);
+    Book book =
+        Yank.async()
+            .queryBeanSQLKey("BOOKS_COALESCED_BY_TITLE", Book.class, new Object[] {"Cryptonomicon"})
+            .get(10, TimeUnit.SECONDS);
+    assertThat(book.getAuthor(), equalTo("Neal Stephenson"));
+
+    CoalescingStats after = Yank.getCoalescingStats(POOL_NAME);
+    assertThat(after.getExecutions() - before.getExecutions(), equalTo(1L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidOption() {
+
+    Properties sqlProps = new Properties();
+    sqlProps.setProperty("BOOKS_COALESCED_INVALID", "SELECT * FROM BOOKS");
+    sqlProps.setProperty("BOOKS_COALESCED_INVALID.coalesce", "yes");
+    Yank.addSQLStatements(sqlProps);
+  }
+
+  private static void await(CountDownLatch latch) {
+
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
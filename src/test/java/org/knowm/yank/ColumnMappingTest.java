@@ -1,6 +1,7 @@
 package org.knowm.yank;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import java.util.Properties;
@@ -54,6 +55,106 @@ public class ColumnMappingTest {
     assertThat(book.getAuthor(), equalTo("Neal Stephenson"));
   }
 
+  @Test
+  public void testPrecedence() {
+
+    Credits credits =
+        Yank.queryBean(
+            "SELECT 'Cryptonomicon' AS BOOK_TITLE, 'Neal Stephenson' AS AU_THOR, 'a' AS URL"
+                + " FROM (VALUES(0))",
+            Credits.class,
+            null);
+
+    // the override wins over the snake case match of bookTitle
+    assertThat(credits.getName(), equalTo("Cryptonomicon"));
+    assertThat(credits.getBookTitle(), nullValue());
+
+    // the override key Au_Thor matches AU_THOR ignoring case, before author does by snake case
+    assertThat(credits.getWriter(), equalTo("Neal Stephenson"));
+    assertThat(credits.getAuthor(), nullValue());
+
+    // URL and url only differ in case, so the first property, URL, gets the column
+    assertThat(credits.getURL(), equalTo("a"));
+    assertThat(credits.getUrl(), nullValue());
+  }
+
+  public static class Credits {
+
+    @Column("BOOK_TITLE")
+    private String name;
+
+    private String bookTitle;
+
+    @Column("Au_Thor")
+    private String writer;
+
+    private String author;
+
+    private String upperUrl;
+
+    private String lowerUrl;
+
+    public String getName() {
+
+      return name;
+    }
+
+    public void setName(String name) {
+
+      this.name = name;
+    }
+
+    public String getBookTitle() {
+
+      return bookTitle;
+    }
+
+    public void setBookTitle(String bookTitle) {
+
+      this.bookTitle = bookTitle;
+    }
+
+    public String getWriter() {
+
+      return writer;
+    }
+
+    public void setWriter(String writer) {
+
+      this.writer = writer;
+    }
+
+    public String getAuthor() {
+
+      return author;
+    }
+
+    public void setAuthor(String author) {
+
+      this.author = author;
+    }
+
+    public String getURL() {
+
+      return upperUrl;
+    }
+
+    public void setURL(String url) {
+
+      this.upperUrl = url;
+    }
+
+    public String getUrl() {
+
+      return lowerUrl;
+    }
+
+    public void setUrl(String url) {
+
+      this.lowerUrl = url;
+    }
+  }
+
   public static class Buch {
 
     @Column("TITEL")
@@ -0,0 +1,83 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Properties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.columnar.ColumnarResult;
+import org.knowm.yank.columnar.IntVector;
+import org.knowm.yank.columnar.ObjectVector;
+import org.knowm.yank.columnar.StringVector;
+
+/**
+ * @author timmolter
+ */
+public class ColumnarQueryTest {
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+    Object[][] params = new Object[200][];
+    for (int i = 0; i < params.length; i++) {
+      params[i] = new Object[] {"Title " + i, i % 10 == 0 ? null : "Author " + (i % 3), i + 0.5};
+    }
+    Yank.executeBatch("INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)", params);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testColumnar() {
+
+    ColumnarResult result =
+        Yank.queryColumnar("SELECT ID, AUTHOR, PRICE FROM BOOKS ORDER BY ID", null);
+
+    assertThat(result.getRowCount(), equalTo(200));
+    assertThat(result.getColumnCount(), equalTo(3));
+
+    IntVector ids = result.getColumn("id", IntVector.class);
+    assertThat(ids.size(), equalTo(200));
+    assertThat(ids.get(199), equalTo(199));
+    assertThat(ids.getNullCount(), equalTo(0));
+
+    StringVector authors = result.getColumn("AUTHOR", StringVector.class);
+    assertThat(authors.getDictionary().size(), equalTo(3));
+    assertThat(authors.get(1), equalTo("Author 1"));
+    assertThat(authors.getCode(4), equalTo(authors.getCode(1)));
+    assertThat(authors.isNull(130), equalTo(true));
+    assertThat(authors.get(130), nullValue());
+    assertThat(authors.getCode(130), equalTo(-1));
+    assertThat(authors.getNullCount(), equalTo(20));
+
+    assertThat(result.getColumn(2), instanceOf(ObjectVector.class));
+    assertThat(result.getColumn(2).getObject(3), equalTo((Object) new BigDecimal("3.50")));
+  }
+
+  @Test
+  public void testEmptyColumnar() {
+
+    ColumnarResult result =
+        Yank.queryColumnar(
+            "SELECT ID, TITLE FROM BOOKS WHERE ID < ?", new Object[] {Integer.valueOf(0)});
+
+    assertThat(result.getRowCount(), equalTo(0));
+    assertThat(result.getColumn("TITLE").size(), equalTo(0));
+  }
+}
@@ -0,0 +1,188 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.beans.ConstructorProperties;
+import java.util.List;
+import java.util.Properties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.annotations.Column;
+import org.knowm.yank.annotations.FieldAccess;
+import org.knowm.yank.exceptions.YankSQLException;
+
+/**
+ * @author timmolter
+ */
+public class FieldAccessTest {
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+    String sql = "INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)";
+    Yank.execute(sql, new Object[] {"Cryptonomicon", "Neal Stephenson", 23.99});
+    Yank.execute(sql, new Object[] {"Anonymous", null, 5.5});
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testFieldsWithoutSetters() {
+
+    List<Title> titles = Yank.queryBeanList("SELECT * FROM BOOKS ORDER BY ID", Title.class, null);
+
+    assertThat(titles.size(), equalTo(2));
+    assertThat(titles.get(0).name, equalTo("Cryptonomicon"));
+    assertThat(titles.get(0).author, equalTo("Neal Stephenson"));
+    assertThat(titles.get(0).price, equalTo(23.99));
+    assertThat(titles.get(1).author, nullValue());
+  }
+
+  @Test
+  public void testInheritedColumnAnnotations() {
+
+    PricedListing listing =
+        Yank.queryBean(
+            "SELECT * FROM BOOKS WHERE TITLE = ?",
+            PricedListing.class,
+            new Object[] {"Cryptonomicon"});
+
+    assertThat(listing.name, equalTo("Cryptonomicon"));
+    assertThat(listing.byline, equalTo("Neal Stephenson"));
+    assertThat(listing.writer, nullValue());
+    assertThat(listing.price, equalTo(23.99));
+  }
+
+  @Test
+  public void testFinalFieldsThroughConstructor() {
+
+    ImmutableBook book =
+        Yank.queryBean(
+            "SELECT * FROM BOOKS WHERE TITLE = ?",
+            ImmutableBook.class,
+            new Object[] {"Cryptonomicon"});
+
+    assertThat(book.id, equalTo(0));
+    assertThat(book.title, equalTo("Cryptonomicon"));
+    assertThat(book.price, equalTo(23.99));
+    assertThat(book.author, equalTo("Neal Stephenson"));
+  }
+
+  @Test
+  public void testFinalFieldsOfSameTypeByName() {
+
+    Credits credits =
+        Yank.queryBean(
+            "SELECT TITLE, AUTHOR FROM BOOKS WHERE TITLE = ?",
+            Credits.class,
+            new Object[] {"Cryptonomicon"});
+
+    assertThat(credits.title, equalTo("Cryptonomicon"));
+    assertThat(credits.author, equalTo("Neal Stephenson"));
+  }
+
+  @Test
+  public void testNoMatchingConstructor() {
+
+    Yank.setThrowWrappedExceptions(true);
+    try {
+      Yank.queryBean(
+          "SELECT TITLE, AUTHOR FROM BOOKS WHERE TITLE = ?",
+          UnnamedCredits.class,
+          new Object[] {"Cryptonomicon"});
+      throw new AssertionError("final fields were left unmapped");
+    } catch (YankSQLException e) {
+      assertThat(e.getMessage().contains("no constructor takes its final fields"), equalTo(true));
+    } finally {
+      Yank.setThrowWrappedExceptions(false);
+    }
+  }
+
+  @FieldAccess
+  static class Title {
+
+    @Column("TITLE")
+    private String name;
+
+    private String author;
+    private double price;
+  }
+
+  static class Listing {
+
+    @Column("TITLE")
+    String name;
+
+    @Column("AUTHOR")
+    String writer;
+  }
+
+  @FieldAccess
+  static class PricedListing extends Listing {
+
+    // overrides the mapping of the base class
+    @Column("AUTHOR")
+    private String byline;
+
+    private double price;
+  }
+
+  @FieldAccess
+  static class ImmutableBook {
+
+    private final int id;
+    private final String title;
+    private final double price;
+
+    // not final, set after construction
+    private String author;
+
+    ImmutableBook(int id, String title, double price) {
+
+      this.id = id;
+      this.title = title;
+      this.price = price;
+    }
+  }
+
+  @FieldAccess
+  static class Credits {
+
+    private final String title;
+    private final String author;
+
+    @ConstructorProperties({"author", "title"})
+    Credits(String author, String title) {
+
+      this.title = title;
+      this.author = author;
+    }
+  }
+
+  @FieldAccess
+  static class UnnamedCredits {
+
+    private final String title;
+    private final String author;
+
+    UnnamedCredits(String first, String second) {
+
+      this.title = first;
+      this.author = second;
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.Properties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.annotations.Column;
+import org.knowm.yank.annotations.GenerateMapper;
+import org.knowm.yank.processors.GeneratedMapper;
+
+/**
+ * @author timmolter
+ */
+public class GeneratedMapperTest {
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testMapperIsGenerated() throws Exception {
+
+    Class<?> mapper = Class.forName("org.knowm.yank.GeneratedMapperTest_Heft_YankMapper");
+    assertThat(mapper.getDeclaredConstructor().newInstance(), instanceOf(GeneratedMapper.class));
+  }
+
+  @Test
+  public void testQueryWithGeneratedMapper() {
+
+    String sql =
+        "CREATE TABLE Hefte (TITEL VARCHAR(42) NULL, SEITEN INTEGER NULL, PREIS DECIMAL(10,2) NOT NULL, ERSCHIENEN TIMESTAMP NULL)";
+    Yank.execute(sql, null);
+
+    sql = "INSERT INTO Hefte (TITEL, SEITEN, PREIS, ERSCHIENEN) VALUES (?, ?, ?, ?)";
+    Yank.execute(sql, new Object[] {"Micky Maus", 48, 3.5, new java.sql.Timestamp(0)});
+    Yank.execute(sql, new Object[] {"Yps", null, 4.25, null});
+
+    List<Heft> hefte = Yank.queryBeanList("SELECT * FROM Hefte ORDER BY TITEL", Heft.class, null);
+
+    assertThat(hefte.size(), equalTo(2));
+    assertThat(hefte.get(0).getTitle(), equalTo("Micky Maus"));
+    assertThat(hefte.get(0).getPages(), equalTo(48));
+    assertThat(hefte.get(0).getPrice(), equalTo(3.5));
+    assertThat(hefte.get(0).getPublished().getTime(), equalTo(0L));
+    assertThat(hefte.get(1).getPages(), nullValue());
+    assertThat(hefte.get(1).getPublished(), nullValue());
+  }
+
+  @GenerateMapper
+  public static class Heft {
+
+    @Column("TITEL")
+    private String title;
+
+    @Column("SEITEN")
+    private Integer pages;
+
+    @Column("PREIS")
+    private double price;
+
+    @Column("ERSCHIENEN")
+    private java.util.Date published;
+
+    public String getTitle() {
+
+      return title;
+    }
+
+    public void setTitle(String title) {
+
+      this.title = title;
+    }
+
+    public Integer getPages() {
+
+      return pages;
+    }
+
+    public void setPages(Integer pages) {
+
+      this.pages = pages;
+    }
+
+    public double getPrice() {
+
+      return price;
+    }
+
+    public void setPrice(double price) {
+
+      this.price = price;
+    }
+
+    public java.util.Date getPublished() {
+
+      return published;
+    }
+
+    public void setPublished(java.util.Date published) {
+
+      this.published = published;
+    }
+  }
+}
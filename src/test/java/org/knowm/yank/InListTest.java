@@ -0,0 +1,144 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.demo.Book;
+import org.knowm.yank.exceptions.YankSQLException;
+
+/**
+ * @author timmolter
+ */
+public class InListTest {
+
+  private static final int BOOK_COUNT = 1200;
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+    Object[][] params = new Object[BOOK_COUNT][];
+    for (int i = 0; i < params.length; i++) {
+      params[i] = new Object[] {"Title " + i, "Author " + (i % 10), i};
+    }
+    Yank.executeBatch("INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)", params);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testBuckets() throws Exception {
+
+    assertThat(ExpandedSQL.bucket(1), equalTo(1));
+    assertThat(ExpandedSQL.bucket(3), equalTo(4));
+    assertThat(ExpandedSQL.bucket(4), equalTo(4));
+    assertThat(ExpandedSQL.bucket(5), equalTo(8));
+
+    ExpandedSQL expanded =
+        ExpandedSQL.of(
+            "SELECT * FROM BOOKS WHERE ID IN (?) AND AUTHOR = ?",
+            new Object[] {Arrays.asList(1, 2, 3), "Author 1"});
+    assertThat(expanded.size(), equalTo(1));
+    assertThat(
+        expanded.getSql(0), equalTo("SELECT * FROM BOOKS WHERE ID IN (?, ?, ?, ?) AND AUTHOR = ?"));
+    assertThat(
+        Arrays.asList(expanded.getParams(0)),
+        equalTo(Arrays.<Object>asList(1, 2, 3, 3, "Author 1")));
+  }
+
+  @Test
+  public void testInList() {
+
+    List<Book> books =
+        Yank.queryBeanList(
+            "SELECT * FROM BOOKS WHERE ID IN (?) ORDER BY ID",
+            Book.class,
+            new Object[] {Arrays.asList(5, 7, 9)});
+    assertThat(books.size(), equalTo(3));
+    assertThat(books.get(2).getTitle(), equalTo("Title 9"));
+
+    Map<String, Object> values = new HashMap<String, Object>();
+    values.put("authors", Arrays.asList("Author 1", "Author 2"));
+    assertThat(
+        Yank.queryLong(
+            "SELECT COUNT(*) FROM BOOKS WHERE AUTHOR IN (:authors)",
+            -1,
+            NamedParameters.of(values)),
+        equalTo(240L));
+  }
+
+  @Test
+  public void testSplitInList() {
+
+    List<Integer> ids = new ArrayList<Integer>();
+    for (int i = 0; i < BOOK_COUNT; i++) {
+      ids.add(i);
+    }
+
+    List<Integer> prices =
+        Yank.queryColumn(
+            "SELECT PRICE FROM BOOKS WHERE ID IN (?)", "PRICE", Integer.class, new Object[] {ids});
+    assertThat(prices.size(), equalTo(BOOK_COUNT));
+
+    long[] longIds =
+        Yank.queryLongColumn("SELECT ID FROM BOOKS WHERE ID IN (?)", "ID", new Object[] {ids});
+    assertThat(longIds.length, equalTo(BOOK_COUNT));
+
+    int updated =
+        Yank.execute(
+            "UPDATE BOOKS SET PRICE = PRICE + ? WHERE ID IN (?)",
+            new Object[] {0, ids.subList(0, 1000)});
+    assertThat(updated, equalTo(1000));
+  }
+
+  @Test
+  public void testSplitInListScalar() {
+
+    List<Integer> ids = new ArrayList<Integer>();
+    for (int i = 0; i < BOOK_COUNT; i++) {
+      ids.add(i);
+    }
+
+    Yank.setThrowWrappedExceptions(true);
+    try {
+      Yank.queryScalar(
+          "SELECT MAX(PRICE) FROM BOOKS WHERE ID IN (?)", Integer.class, new Object[] {ids});
+      throw new AssertionError("a split IN list was merged into a scalar");
+    } catch (YankSQLException e) {
+      assertThat(e.getMessage().contains("IN lists longer than"), equalTo(true));
+    } finally {
+      Yank.setThrowWrappedExceptions(false);
+    }
+  }
+
+  @Test
+  public void testSQLArray() {
+
+    List<Book> books =
+        Yank.queryBeanList(
+            "SELECT * FROM BOOKS WHERE ID IN (UNNEST(?)) ORDER BY ID",
+            Book.class,
+            new Object[] {SQLArray.of("INTEGER", Arrays.asList(3, 4))});
+    assertThat(books.size(), equalTo(2));
+    assertThat(books.get(0).getTitle(), equalTo("Title 3"));
+  }
+}
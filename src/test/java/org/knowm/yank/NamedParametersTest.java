@@ -0,0 +1,130 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.demo.Book;
+import org.knowm.yank.exceptions.YankSQLException;
+
+/**
+ * @author timmolter
+ */
+public class NamedParametersTest {
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+    sqlProps.setProperty(
+        "BOOKS_INSERT_NAMED",
+        "INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (:title, :author, :price)");
+    sqlProps.setProperty(
+        "BOOKS_SELECT_BY_AUTHOR_NAMED", "SELECT * FROM BOOKS WHERE AUTHOR = :author ORDER BY ID");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testParse() {
+
+    NamedSQL namedSQL =
+        NamedSQL.parse(
+            "SELECT ':no', \"A:B\", X::INT FROM T -- :no\n WHERE A = :a /* :no */ AND B = :b_2 OR A = :a");
+    assertThat(
+        namedSQL.getSql(),
+        equalTo(
+            "SELECT ':no', \"A:B\", X::INT FROM T -- :no\n WHERE A = ? /* :no */ AND B = ? OR A = ?"));
+    assertThat(namedSQL.getParameterNames(), equalTo(Arrays.asList("a", "b_2", "a")));
+    assertThat(namedSQL.getParameterCount(), equalTo(3));
+
+    NamedSQL positional = NamedSQL.parse("SELECT '?' FROM T WHERE A = ? AND B = ?");
+    assertThat(positional.getParameterNames().isEmpty(), equalTo(true));
+    assertThat(positional.getParameterCount(), equalTo(2));
+  }
+
+  @Test
+  public void testBeanAndMap() {
+
+    Book book = new Book();
+    book.setTitle("Named");
+    book.setAuthor("Named Author");
+    book.setPrice(3.5);
+    Yank.executeSQLKey("BOOKS_INSERT_NAMED", NamedParameters.ofBean(book));
+
+    Object[][] batch = new Object[3][];
+    for (int i = 0; i < batch.length; i++) {
+      Map<String, Object> values = new HashMap<String, Object>();
+      values.put("title", "Batch " + i);
+      values.put("author", "Batch Author");
+      values.put("price", i);
+      batch[i] = NamedParameters.of(values);
+    }
+    Yank.executeBatchSQLKey("BOOKS_INSERT_NAMED", batch);
+
+    Map<String, Object> author = new HashMap<String, Object>();
+    author.put("author", "Batch Author");
+    List<Book> books =
+        Yank.queryBeanListSQLKey(
+            "BOOKS_SELECT_BY_AUTHOR_NAMED", Book.class, NamedParameters.of(author));
+    assertThat(books.size(), equalTo(3));
+    assertThat(books.get(2).getTitle(), equalTo("Batch 2"));
+
+    Map<String, Object> price = new HashMap<String, Object>();
+    price.put("low", 3);
+    price.put("high", 4);
+    assertThat(
+        Yank.queryScalar(
+            "SELECT TITLE FROM BOOKS WHERE PRICE > :low AND PRICE < :high",
+            String.class,
+            NamedParameters.of(price)),
+        equalTo("Named"));
+    assertThat(
+        Yank.queryLong(
+            "SELECT COUNT(*) FROM BOOKS WHERE PRICE < :high", -1, NamedParameters.of(price)),
+        equalTo(4L));
+  }
+
+  @Test(expected = YankSQLException.class)
+  public void testMissingValue() {
+
+    Yank.setThrowWrappedExceptions(true);
+    try {
+      Yank.queryBeanList(
+          "SELECT * FROM BOOKS WHERE AUTHOR = :author",
+          Book.class,
+          NamedParameters.of(new HashMap<String, Object>()));
+    } finally {
+      Yank.setThrowWrappedExceptions(false);
+    }
+  }
+
+  @Test
+  public void testNullValue() {
+
+    Map<String, Object> values = new HashMap<String, Object>();
+    values.put("author", null);
+    assertThat(
+        Yank.queryBean(
+            "SELECT * FROM BOOKS WHERE AUTHOR = :author", Book.class, NamedParameters.of(values)),
+        nullValue());
+  }
+}
@@ -0,0 +1,67 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Properties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * @author timmolter
+ */
+public class PrimitiveColumnTest {
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+    Object[][] params = new Object[100][];
+    for (int i = 0; i < params.length; i++) {
+      params[i] = new Object[] {"Title " + i, "Author " + i, i + 0.25};
+    }
+    Yank.executeBatch("INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)", params);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testLongColumn() {
+
+    long[] ids = Yank.queryLongColumn("SELECT ID FROM BOOKS ORDER BY ID", "ID", null);
+
+    assertThat(ids.length, equalTo(100));
+    assertThat(ids[99], equalTo(99L));
+  }
+
+  @Test
+  public void testIntColumn() {
+
+    int[] ids =
+        Yank.queryIntColumn(
+            "SELECT ID FROM BOOKS WHERE ID < ? ORDER BY ID", "ID", new Object[] {5});
+
+    assertThat(ids.length, equalTo(5));
+    assertThat(ids[4], equalTo(4));
+  }
+
+  @Test
+  public void testDoubleColumn() {
+
+    double[] prices = Yank.queryDoubleColumn("SELECT PRICE FROM BOOKS ORDER BY ID", "PRICE", null);
+
+    assertThat(prices.length, equalTo(100));
+    assertThat(prices[10], equalTo(10.25));
+  }
+}
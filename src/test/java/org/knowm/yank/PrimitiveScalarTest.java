@@ -0,0 +1,78 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Properties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * @author timmolter
+ */
+public class PrimitiveScalarTest {
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+    Object[][] params = new Object[10][];
+    for (int i = 0; i < params.length; i++) {
+      params[i] = new Object[] {"Title " + i, i == 3 ? null : "Author " + i, i + 0.5};
+    }
+    Yank.executeBatch("INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)", params);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testQueryLong() {
+
+    assertThat(Yank.queryLong("SELECT COUNT(*) FROM BOOKS", -1, null), equalTo(10L));
+    assertThat(
+        Yank.queryLong("SELECT ID FROM BOOKS WHERE TITLE = ?", -1, new Object[] {"Nope"}),
+        equalTo(-1L));
+  }
+
+  @Test
+  public void testQueryInt() {
+
+    assertThat(
+        Yank.queryInt("SELECT ID FROM BOOKS WHERE TITLE = ?", -1, new Object[] {"Title 7"}),
+        equalTo(7));
+    assertThat(Yank.queryInt("SELECT MAX(ID) FROM BOOKS WHERE ID > 100", -1, null), equalTo(-1));
+  }
+
+  @Test
+  public void testQueryDouble() {
+
+    assertThat(
+        Yank.queryDouble("SELECT PRICE FROM BOOKS WHERE ID = ?", 0, new Object[] {4}),
+        equalTo(4.5));
+  }
+
+  @Test
+  public void testQueryScalarNull() {
+
+    assertThat(
+        Yank.queryScalar("SELECT MAX(ID) FROM BOOKS WHERE ID > 100", Long.class, null),
+        nullValue());
+    assertThat(
+        Yank.queryScalar(
+            "SELECT PRICE FROM BOOKS WHERE ID = ?", BigDecimal.class, new Object[] {2}),
+        equalTo(new BigDecimal("2.50")));
+  }
+}
@@ -0,0 +1,166 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.demo.Book;
+import org.knowm.yank.exceptions.YankSQLException;
+import org.knowm.yank.flow.Subscriber;
+import org.knowm.yank.flow.Subscription;
+
+/**
+ * @author timmolter
+ */
+public class PublisherTest {
+
+  private static final int BOOK_COUNT = 600;
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+    Object[][] params = new Object[BOOK_COUNT][];
+    for (int i = 0; i < params.length; i++) {
+      params[i] = new Object[] {"Title " + i, "Author " + i, i};
+    }
+    Yank.executeBatch("INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)", params);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testDemand() throws Exception {
+
+    TestSubscriber<Book> subscriber = new TestSubscriber<Book>();
+    Yank.async()
+        .queryBeanPublisher("SELECT * FROM BOOKS ORDER BY ID", Book.class, null)
+        .subscribe(subscriber);
+
+    subscriber.request(10);
+    subscriber.awaitItems(10);
+    Thread.sleep(50);
+    assertThat(subscriber.items.size(), equalTo(10));
+    assertThat(subscriber.items.get(9).getTitle(), equalTo("Title 9"));
+    assertThat(activeConnections(), equalTo(1));
+
+    subscriber.request(Long.MAX_VALUE);
+    subscriber.await();
+    assertThat(subscriber.error, nullValue());
+    assertThat(subscriber.items.size(), equalTo(BOOK_COUNT));
+    assertThat(activeConnections(), equalTo(0));
+  }
+
+  @Test
+  public void testCancel() throws Exception {
+
+    TestSubscriber<Integer> subscriber = new TestSubscriber<Integer>();
+    Yank.async()
+        .queryColumnPublisher("SELECT PRICE FROM BOOKS ORDER BY ID", "PRICE", Integer.class, null)
+        .subscribe(subscriber);
+
+    subscriber.request(5);
+    subscriber.awaitItems(5);
+    assertThat(subscriber.items.get(4), equalTo(4));
+
+    subscriber.subscription.cancel();
+    long deadline = System.currentTimeMillis() + 10000;
+    while (activeConnections() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(activeConnections(), equalTo(0));
+    assertThat(subscriber.items.size(), equalTo(5));
+  }
+
+  @Test
+  public void testError() throws Exception {
+
+    TestSubscriber<Object[]> subscriber = new TestSubscriber<Object[]>();
+    Yank.async()
+        .queryObjectArraysPublisher("SELECT * FROM NO_SUCH_TABLE", null)
+        .subscribe(subscriber);
+
+    subscriber.request(1);
+    subscriber.await();
+    assertThat(subscriber.error, instanceOf(YankSQLException.class));
+    assertThat(activeConnections(), equalTo(0));
+  }
+
+  private static int activeConnections() {
+
+    return Yank.getDefaultConnectionPool().getHikariPoolMXBean().getActiveConnections();
+  }
+
+  private static class TestSubscriber<T> implements Subscriber<T> {
+
+    private final List<T> items = new CopyOnWriteArrayList<T>();
+
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    private volatile Subscription subscription;
+
+    private volatile Throwable error;
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(T item) {
+
+      items.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+
+      error = throwable;
+      done.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+
+      done.countDown();
+    }
+
+    void request(long n) {
+
+      subscription.request(n);
+    }
+
+    void awaitItems(int count) throws InterruptedException {
+
+      long deadline = System.currentTimeMillis() + 10000;
+      while (items.size() < count && System.currentTimeMillis() < deadline) {
+        Thread.sleep(5);
+      }
+    }
+
+    void await() throws InterruptedException {
+
+      assertThat(done.await(10, TimeUnit.SECONDS), equalTo(true));
+    }
+  }
+}
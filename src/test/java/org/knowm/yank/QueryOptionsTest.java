@@ -0,0 +1,95 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.Properties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.demo.Book;
+
+/**
+ * @author timmolter
+ */
+public class QueryOptionsTest {
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+    sqlProps.setProperty("BOOKS_SELECT_ALL", "SELECT * FROM BOOKS");
+    sqlProps.setProperty("BOOKS_SELECT_ALL.maxRows", "2");
+    sqlProps.setProperty("BOOKS_SELECT_ALL.fetchSize", "100");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+    Object[][] params = new Object[5][];
+    for (int i = 0; i < params.length; i++) {
+      params[i] = new Object[] {"Title " + i, "Author " + i, i + 0.5};
+    }
+    Yank.executeBatch("INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)", params);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testMaxRows() {
+
+    QueryOptions options = new QueryOptions.Builder().maxRows(3).queryTimeout(10).build();
+    List<Book> books =
+        Yank.queryBeanList(
+            YankPoolManager.DEFAULT_POOL_NAME, "SELECT * FROM BOOKS", Book.class, null, options);
+
+    assertThat(books.size(), equalTo(3));
+  }
+
+  @Test
+  public void testEquality() {
+
+    QueryOptions options = new QueryOptions.Builder().maxRows(3).queryTimeout(10).build();
+    QueryOptions same = new QueryOptions.Builder().maxRows(3).queryTimeout(10).build();
+
+    assertThat(options, equalTo(same));
+    assertThat(options.hashCode(), equalTo(same.hashCode()));
+    assertThat(options.equals(new QueryOptions.Builder().maxRows(3).build()), equalTo(false));
+  }
+
+  @Test
+  public void testSQLKeyOptions() {
+
+    List<Book> books = Yank.queryBeanListSQLKey("BOOKS_SELECT_ALL", Book.class, null);
+
+    assertThat(books.size(), equalTo(2));
+  }
+
+  @Test
+  public void testInsertWithOptions() {
+
+    QueryOptions options = new QueryOptions.Builder().queryTimeout(10).build();
+    Long id =
+        Yank.insert(
+            YankPoolManager.DEFAULT_POOL_NAME,
+            "INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)",
+            new Object[] {"Inserted", "Author", 1.0},
+            options);
+
+    assertThat(
+        Yank.queryScalar("SELECT TITLE FROM BOOKS WHERE ID = ?", String.class, new Object[] {id}),
+        equalTo("Inserted"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeFetchSize() {
+
+    new QueryOptions.Builder().fetchSize(-1);
+  }
+}
@@ -0,0 +1,189 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.demo.Book;
+
+/**
+ * @author timmolter
+ */
+public class ResultCacheTest {
+
+  private static final String POOL_NAME = YankPoolManager.DEFAULT_POOL_NAME;
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+    sqlProps.setProperty("BOOKS_CACHED_ALL", "SELECT * FROM BOOKS ORDER BY ID");
+    sqlProps.setProperty("BOOKS_CACHED_ALL.cacheTtl", "60");
+    sqlProps.setProperty("BOOKS_CACHED_BY_TITLE", "SELECT * FROM BOOKS WHERE TITLE = ?");
+    sqlProps.setProperty("BOOKS_CACHED_BY_TITLE.cacheTtl", "60");
+    sqlProps.setProperty("BOOKS_CACHED_BY_TITLE.cacheMaxWeight", "2");
+    sqlProps.setProperty("BOOKS_CACHED_COUNT", "SELECT COUNT(*) FROM BOOKS");
+    sqlProps.setProperty("BOOKS_CACHED_COUNT.cacheTtl", "60");
+    sqlProps.setProperty("BOOKS_CACHED_COUNT.cacheTables", "AUTHORS");
+    sqlProps.setProperty(
+        "BOOKS_CACHED_COMMA_JOIN",
+        "SELECT COUNT(*) FROM BOOKS b, (VALUES(0)) v WHERE b.PRICE >= 0");
+    sqlProps.setProperty("BOOKS_CACHED_COMMA_JOIN.cacheTtl", "60");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+    Object[][] params = new Object[3][];
+    for (int i = 0; i < params.length; i++) {
+      params[i] = new Object[] {"Title " + i, "Author " + i, i};
+    }
+    Yank.executeBatch("INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)", params);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testKeyCopiesCollections() {
+
+    SQLStatement statement =
+        SQLStatement.compile(
+            "BOOKS_BY_TITLES",
+            "SELECT * FROM BOOKS WHERE TITLE IN (?)",
+            QueryOptions.DEFAULT,
+            null,
+            false);
+    List<String> titles = new ArrayList<String>(Arrays.asList("Title 0"));
+    List<Object> key =
+        ResultCache.key(
+            statement, Arrays.<Object>asList("bean", Book.class), new Object[] {titles});
+    titles.add("Title 1");
+
+    assertThat(
+        key,
+        equalTo(
+            ResultCache.key(
+                statement,
+                Arrays.<Object>asList("bean", Book.class),
+                new Object[] {Arrays.asList("Title 0")})));
+  }
+
+  @Test
+  public void testHitAndInvalidation() {
+
+    ResultCacheStats before = Yank.getResultCacheStats(POOL_NAME);
+    List<Book> books = Yank.queryBeanListSQLKey("BOOKS_CACHED_ALL", Book.class, null);
+    List<Book> again = Yank.queryBeanListSQLKey("BOOKS_CACHED_ALL", Book.class, null);
+    assertThat(again, sameInstance(books));
+
+    ResultCacheStats after = Yank.getResultCacheStats(POOL_NAME);
+    assertThat(after.getHits() - before.getHits(), equalTo(1L));
+    assertThat(after.getMisses() - before.getMisses(), equalTo(1L));
+
+    Yank.execute(
+        "INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)",
+        new Object[] {"New", "Author", 1});
+    List<Book> fresh = Yank.queryBeanListSQLKey("BOOKS_CACHED_ALL", Book.class, null);
+    assertThat(fresh.size(), equalTo(books.size() + 1));
+
+    Yank.execute("DELETE FROM BOOKS WHERE TITLE = ?", new Object[] {"New"});
+    assertThat(
+        Yank.queryBeanListSQLKey("BOOKS_CACHED_ALL", Book.class, null).size(),
+        equalTo(books.size()));
+  }
+
+  @Test
+  public void testWeightEviction() {
+
+    ResultCacheStats before = Yank.getResultCacheStats(POOL_NAME);
+    for (int i = 0; i < 3; i++) {
+      Book book =
+          Yank.queryBeanSQLKey("BOOKS_CACHED_BY_TITLE", Book.class, new Object[] {"Title " + i});
+      assertThat(book.getTitle(), equalTo("Title " + i));
+    }
+    assertThat(
+        Yank.queryBeanSQLKey("BOOKS_CACHED_BY_TITLE", Book.class, new Object[] {"No such title"}),
+        nullValue());
+
+    ResultCacheStats after = Yank.getResultCacheStats(POOL_NAME);
+    assertThat(after.getEvictions() - before.getEvictions(), equalTo(1L));
+
+    // Title 0 was evicted, Title 2 is still cached
+    Yank.queryBeanSQLKey("BOOKS_CACHED_BY_TITLE", Book.class, new Object[] {"Title 2"});
+    assertThat(Yank.getResultCacheStats(POOL_NAME).getHits() - after.getHits(), equalTo(1L));
+    Yank.queryBeanSQLKey("BOOKS_CACHED_BY_TITLE", Book.class, new Object[] {"Title 0"});
+    assertThat(Yank.getResultCacheStats(POOL_NAME).getHits() - after.getHits(), equalTo(1L));
+  }
+
+  @Test
+  public void testConfiguredTables() {
+
+    long count = Yank.queryScalarSQLKey("BOOKS_CACHED_COUNT", Long.class, null);
+
+    // BOOKS is not among the cacheTables, so its writes leave the count cached
+    Yank.execute(
+        "INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)",
+        new Object[] {"Stale", "Author", 1});
+    assertThat(Yank.queryScalarSQLKey("BOOKS_CACHED_COUNT", Long.class, null), equalTo(count));
+
+    Yank.invalidateResultCache(POOL_NAME, "authors");
+    assertThat(Yank.queryScalarSQLKey("BOOKS_CACHED_COUNT", Long.class, null), equalTo(count + 1));
+
+    Yank.execute("DELETE FROM BOOKS WHERE TITLE = ?", new Object[] {"Stale"});
+    Yank.invalidateResultCache(POOL_NAME, "AUTHORS");
+  }
+
+  @Test
+  public void testCommaJoinInvalidatedByAnyWrite() {
+
+    Yank.queryScalarSQLKey("BOOKS_CACHED_COMMA_JOIN", Long.class, null);
+    ResultCacheStats before = Yank.getResultCacheStats(POOL_NAME);
+    Yank.queryScalarSQLKey("BOOKS_CACHED_COMMA_JOIN", Long.class, null);
+    assertThat(Yank.getResultCacheStats(POOL_NAME).getHits() - before.getHits(), equalTo(1L));
+
+    // the tables of a comma join are not known, so a write to any table drops its results
+    Yank.invalidateResultCache(POOL_NAME, "AUTHORS");
+    Yank.queryScalarSQLKey("BOOKS_CACHED_COMMA_JOIN", Long.class, null);
+    ResultCacheStats after = Yank.getResultCacheStats(POOL_NAME);
+    assertThat(after.getHits() - before.getHits(), equalTo(1L));
+    assertThat(after.getMisses() - before.getMisses(), equalTo(1L));
+  }
+
+  @Test
+  public void testTableParsing() {
+
+    assertThat(
+        ResultCachePolicy.readTables(
+            "SELECT * FROM PUBLIC.books b JOIN \"Authors\" a ON a.ID = b.AUTHOR_ID WHERE b.ID IN (SELECT ID FROM sales)"),
+        equalTo(new LinkedHashSet<String>(Arrays.asList("BOOKS", "AUTHORS", "SALES"))));
+    assertThat(
+        ResultCachePolicy.writtenTable("insert into public.Books values (?)"), equalTo("BOOKS"));
+    assertThat(ResultCachePolicy.writtenTable("UPDATE BOOKS SET PRICE = ?"), equalTo("BOOKS"));
+    assertThat(ResultCachePolicy.writtenTable("DELETE FROM `books`"), equalTo("BOOKS"));
+    assertThat(ResultCachePolicy.writtenTable("DROP TABLE BOOKS"), nullValue());
+
+    // comma joins are not parsed, so any write invalidates them
+    assertThat(
+        ResultCachePolicy.readTables(
+            "SELECT * FROM BOOKS b, AUTHORS a WHERE a.ID = b.AUTHOR_ID ORDER BY b.TITLE, a.NAME"),
+        nullValue());
+    assertThat(ResultCachePolicy.readTables("SELECT * FROM BOOKS AS b,AUTHORS"), nullValue());
+    assertThat(
+        ResultCachePolicy.readTables("SELECT TITLE, PRICE FROM BOOKS ORDER BY TITLE, PRICE"),
+        equalTo(new LinkedHashSet<String>(Arrays.asList("BOOKS"))));
+  }
+}
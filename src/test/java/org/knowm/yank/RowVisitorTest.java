@@ -0,0 +1,85 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.sql.SQLException;
+import java.util.Properties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.demo.Book;
+import org.knowm.yank.handlers.BeanVisitor;
+import org.knowm.yank.handlers.RowView;
+import org.knowm.yank.handlers.RowVisitor;
+
+/**
+ * @author timmolter
+ */
+public class RowVisitorTest {
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+    Object[][] params = new Object[10][];
+    for (int i = 0; i < params.length; i++) {
+      params[i] = new Object[] {"Title " + i, "Author " + i, i + 0.5};
+    }
+    Yank.executeBatch("INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)", params);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testForEachRow() {
+
+    final double[] sum = new double[1];
+    long rows =
+        Yank.forEachRow(
+            "SELECT ID, PRICE FROM BOOKS",
+            null,
+            new RowVisitor() {
+              @Override
+              public void visit(RowView row) throws SQLException {
+                sum[0] += row.getDouble("price");
+              }
+            });
+
+    assertThat(rows, equalTo(10L));
+    assertThat(sum[0], equalTo(50.0));
+  }
+
+  @Test
+  public void testForEachBeanReusesBean() {
+
+    final Book reused = new Book();
+    final StringBuilder titles = new StringBuilder();
+    long rows =
+        Yank.forEachBean(
+            "SELECT * FROM BOOKS WHERE ID < 3 ORDER BY ID",
+            reused,
+            null,
+            new BeanVisitor<Book>() {
+              @Override
+              public void visit(Book book) {
+                assertThat(book, sameInstance(reused));
+                titles.append(book.getTitle()).append(';');
+              }
+            });
+
+    assertThat(rows, equalTo(3L));
+    assertThat(titles.toString(), equalTo("Title 0;Title 1;Title 2;"));
+  }
+}
@@ -0,0 +1,107 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Properties;
+import org.junit.Test;
+import org.knowm.yank.exceptions.SQLStatementNotFoundException;
+
+/**
+ * @author timmolter
+ */
+public class SQLStatementRegistryTest {
+
+  @Test
+  public void testAddAll() {
+
+    SQLStatementRegistry registry = new SQLStatementRegistry();
+    Properties sqlProps = new Properties();
+    sqlProps.setProperty("BOOKS_SELECT_BY_TITLE", "SELECT * FROM BOOKS WHERE TITLE = ?");
+    sqlProps.setProperty("BOOKS_EMPTY", "");
+    registry.addAll(sqlProps);
+
+    SQLStatement statement = registry.get("BOOKS_SELECT_BY_TITLE");
+    assertThat(statement.getSql(), equalTo("SELECT * FROM BOOKS WHERE TITLE = ?"));
+    assertThat(statement.getParameterCount(), equalTo(1));
+    assertThat(statement.getParameterNames().isEmpty(), equalTo(true));
+    assertThat(statement.getOptions(), sameInstance(QueryOptions.DEFAULT));
+
+    // options added later apply to statements added earlier
+    Properties options = new Properties();
+    options.setProperty("BOOKS_SELECT_BY_TITLE.maxRows", "2");
+    registry.addAll(options);
+    assertThat(registry.get("BOOKS_SELECT_BY_TITLE").getOptions().getMaxRows(), equalTo(2));
+  }
+
+  @Test
+  public void testOptionsAreNotStatements() {
+
+    SQLStatementRegistry registry = new SQLStatementRegistry();
+    Properties sqlProps = new Properties();
+    sqlProps.setProperty("BOOKS_SELECT_ALL", "SELECT * FROM BOOKS");
+    sqlProps.setProperty("BOOKS_SELECT_ALL.fetchSize", "100");
+    sqlProps.setProperty("BOOKS_SELECT_ALL.maxRows", "10");
+    sqlProps.setProperty("BOOKS_SELECT_ALL.queryTimeout", "5");
+    sqlProps.setProperty("BOOKS_SELECT_ALL.cacheTtl", "60");
+    sqlProps.setProperty("BOOKS_SELECT_ALL.cacheMaxWeight", "1000");
+    sqlProps.setProperty("BOOKS_SELECT_ALL.cacheTables", "BOOKS");
+    sqlProps.setProperty("BOOKS_SELECT_ALL.coalesce", "true");
+    // no BOOKS_COUNT key, so this one is a statement
+    sqlProps.setProperty("BOOKS_COUNT.maxRows", "SELECT COUNT(*) FROM BOOKS");
+    registry.addAll(sqlProps);
+
+    for (String option :
+        new String[] {
+          "fetchSize",
+          "maxRows",
+          "queryTimeout",
+          "cacheTtl",
+          "cacheMaxWeight",
+          "cacheTables",
+          "coalesce"
+        }) {
+      try {
+        registry.get("BOOKS_SELECT_ALL." + option);
+        throw new AssertionError("BOOKS_SELECT_ALL." + option + " was added as a statement");
+      } catch (SQLStatementNotFoundException e) {
+        // expected
+      }
+    }
+    assertThat(registry.get("BOOKS_SELECT_ALL").getOptions().getMaxRows(), equalTo(10));
+    assertThat(registry.get("BOOKS_COUNT.maxRows").getSql(), equalTo("SELECT COUNT(*) FROM BOOKS"));
+  }
+
+  @Test(expected = SQLStatementNotFoundException.class)
+  public void testEmptyStatement() {
+
+    SQLStatementRegistry registry = new SQLStatementRegistry();
+    Properties sqlProps = new Properties();
+    sqlProps.setProperty("BOOKS_EMPTY", "");
+    registry.addAll(sqlProps);
+
+    registry.get("BOOKS_EMPTY");
+  }
+
+  @Test
+  public void testInvalidOptionsAddNothing() {
+
+    SQLStatementRegistry registry = new SQLStatementRegistry();
+    Properties sqlProps = new Properties();
+    sqlProps.setProperty("BOOKS_SELECT_ALL", "SELECT * FROM BOOKS");
+    sqlProps.setProperty("BOOKS_SELECT_ALL.fetchSize", "lots");
+    try {
+      registry.addAll(sqlProps);
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+
+    try {
+      registry.get("BOOKS_SELECT_ALL");
+    } catch (SQLStatementNotFoundException e) {
+      return;
+    }
+    throw new AssertionError("BOOKS_SELECT_ALL should not have been added");
+  }
+}
@@ -0,0 +1,148 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.demo.Book;
+import org.knowm.yank.exceptions.YankSQLException;
+
+/**
+ * @author timmolter
+ */
+public class SessionTest {
+
+  /** The id of the HSQL session, i.e. of the connection */
+  private static final String SESSION_ID = "SELECT SESSION_ID() FROM (VALUES(0))";
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testOneConnection() {
+
+    List<String> titles =
+        Yank.withSession(
+            session -> {
+              assertThat(activeConnections(), equalTo(1));
+              long sessionId = session.queryLong(SESSION_ID, -1, null);
+
+              Object[][] params = new Object[3][];
+              for (int i = 0; i < params.length; i++) {
+                params[i] = new Object[] {"Session " + i, "Author", i};
+              }
+              session.executeBatch(
+                  "INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)", params);
+              session.insert(
+                  "INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)",
+                  new Object[] {"Session 3", "Author", 3});
+              session.execute(
+                  "UPDATE BOOKS SET PRICE = ? WHERE TITLE = ?", new Object[] {9.99, "Session 0"});
+
+              Book book =
+                  session.queryBeanSQLKey(
+                      "BOOKS_SELECT_BY_TITLE", Book.class, new Object[] {"Session 0"});
+              assertThat(book.getPrice(), equalTo(9.99));
+              assertThat(
+                  session.queryLong(
+                      "SELECT COUNT(*) FROM BOOKS WHERE TITLE LIKE ?",
+                      0,
+                      new Object[] {"Session%"}),
+                  equalTo(4L));
+
+              // a session in a session runs on the same connection
+              long count =
+                  session.withSession(
+                      inner ->
+                          inner.queryLong(
+                              "SELECT COUNT(*) FROM BOOKS WHERE TITLE LIKE ?",
+                              0,
+                              new Object[] {"Session%"}));
+              assertThat(count, equalTo(4L));
+              assertThat(session.queryLong(SESSION_ID, -1, null), equalTo(sessionId));
+
+              try (Stream<Book> books =
+                  session.queryBeanStream(
+                      "SELECT * FROM BOOKS WHERE TITLE LIKE ? ORDER BY TITLE",
+                      Book.class,
+                      new Object[] {"Session%"})) {
+                List<String> result = books.map(Book::getTitle).collect(Collectors.toList());
+                assertThat(activeConnections(), equalTo(1));
+                return result;
+              }
+            });
+
+    assertThat(titles.size(), equalTo(4));
+    assertThat(activeConnections(), equalTo(0));
+  }
+
+  @Test
+  public void testConnectionReturnedOnFailure() {
+
+    try {
+      Yank.withSession(
+          session -> {
+            throw new IllegalStateException("boom");
+          });
+      throw new AssertionError("work did not fail");
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage(), equalTo("boom"));
+    }
+    assertThat(activeConnections(), equalTo(0));
+  }
+
+  @Test
+  public void testNoAsync() {
+
+    Yank.withSession(
+        session -> {
+          try {
+            session.async();
+            throw new AssertionError("session went async");
+          } catch (IllegalStateException e) {
+            return null;
+          }
+        });
+  }
+
+  @Test
+  public void testUnknownPool() {
+
+    Yank.setThrowWrappedExceptions(true);
+    try {
+      Yank.withSession("noSuchPool", session -> 1);
+      throw new AssertionError("unknown pool gave a session");
+    } catch (YankSQLException e) {
+      assertThat(e, instanceOf(YankSQLException.class));
+    } finally {
+      Yank.setThrowWrappedExceptions(false);
+    }
+  }
+
+  private static int activeConnections() {
+
+    return Yank.getDefaultConnectionPool().getHikariPoolMXBean().getActiveConnections();
+  }
+}
@@ -0,0 +1,105 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.demo.Book;
+
+/**
+ * @author timmolter
+ */
+public class StatementCacheTest {
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    dbProps.setProperty("maximumPoolSize", "1");
+    dbProps.setProperty("yank.statementCacheSize", "3");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testStatementCache() {
+
+    for (int i = 0; i < 5; i++) {
+      Yank.insert(
+          "INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)",
+          new Object[] {"Title " + i, "Author " + i, i});
+    }
+    Yank.executeBatch(
+        "INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)",
+        new Object[][] {{"Title 5", "Author 5", 5}, {"Title 6", "Author 6", 6}});
+
+    StatementCacheStats before = Yank.getDefaultStatementCacheStats();
+    for (int i = 0; i < 5; i++) {
+      assertThat(Yank.queryLong("SELECT COUNT(*) FROM BOOKS", 0, null), equalTo(7L));
+    }
+    StatementCacheStats after = Yank.getDefaultStatementCacheStats();
+    assertThat(after.getMisses() - before.getMisses(), equalTo(1L));
+    assertThat(after.getHits() - before.getHits(), equalTo(4L));
+
+    // the max rows of one call must not stick to the cached statement
+    QueryOptions oneRow = new QueryOptions.Builder().maxRows(1).build();
+    List<Book> books =
+        Yank.queryBeanList(
+            YankPoolManager.DEFAULT_POOL_NAME, "SELECT * FROM BOOKS", Book.class, null, oneRow);
+    assertThat(books.size(), equalTo(1));
+    books = Yank.queryBeanList("SELECT * FROM BOOKS", Book.class, null);
+    assertThat(books.size(), equalTo(7));
+
+    // more distinct statements than the cache holds
+    for (int i = 0; i < 5; i++) {
+      Yank.queryLong("SELECT COUNT(*) FROM BOOKS WHERE ID > " + i, 0, null);
+    }
+    assertThat(Yank.getDefaultStatementCacheStats().getEvictions() > 0, equalTo(true));
+  }
+
+  @Test
+  public void testBrokenConnectionEvicted() throws SQLException {
+
+    HikariDataSource pool = Yank.getDefaultConnectionPool();
+    StatementCache cache = new StatementCache(3, StatementCache.DEFAULT_SQL_LIMIT, pool);
+
+    try (Connection connection = pool.getConnection()) {
+      PreparedStatement statement =
+          cache.prepare(connection, "SELECT COUNT(*) FROM BOOKS", Statement.NO_GENERATED_KEYS);
+      cache.release(statement);
+
+      // not a connection error, so the connection stays
+      cache.connectionFailed(connection, new SQLException("syntax error", "42000"));
+      assertThat(pool.getHikariPoolMXBean().getTotalConnections(), equalTo(1));
+
+      // the pool's proxy did not see the statement fail, so the cache evicts the connection
+      cache.connectionFailed(connection, new SQLException("link failure", "08S01"));
+      assertThat(pool.getHikariPoolMXBean().getTotalConnections(), equalTo(0));
+    }
+
+    // the pool opens a new connection instead of handing out the broken one
+    assertThat(Yank.queryLong("SELECT COUNT(*) FROM (VALUES(0))", -1, null), equalTo(1L));
+
+    // closing the only connection shut the in-memory database down
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+  }
+}
@@ -0,0 +1,113 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.demo.Book;
+import org.knowm.yank.exceptions.YankSQLException;
+
+/**
+ * @author timmolter
+ */
+public class StreamQueryTest {
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+    Object[][] params = new Object[100][];
+    for (int i = 0; i < params.length; i++) {
+      params[i] = new Object[] {"Title " + i, "Author " + i, i + 0.99};
+    }
+    Yank.executeBatch("INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)", params);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testBeanStream() {
+
+    try (Stream<Book> books =
+        Yank.queryBeanStream(
+            YankPoolManager.DEFAULT_POOL_NAME,
+            "SELECT * FROM BOOKS ORDER BY ID",
+            Book.class,
+            null,
+            10)) {
+
+      List<String> titles = books.map(Book::getTitle).collect(Collectors.toList());
+      assertThat(titles.size(), equalTo(100));
+      assertThat(titles.get(42), equalTo("Title 42"));
+    }
+    assertThat(activeConnections(), equalTo(0));
+  }
+
+  @Test
+  public void testClosingPartiallyReadStream() {
+
+    try (Stream<Object[]> rows =
+        Yank.queryObjectArraysStream("SELECT TITLE, PRICE FROM BOOKS ORDER BY ID", null)) {
+
+      List<Object[]> firstRows = rows.limit(5).collect(Collectors.toList());
+      assertThat(firstRows.size(), equalTo(5));
+      assertThat(firstRows.get(3)[0], equalTo("Title 3"));
+      assertThat(activeConnections(), equalTo(1));
+    }
+    assertThat(activeConnections(), equalTo(0));
+  }
+
+  @Test
+  public void testFailureAfterFirstRowThrows() throws Exception {
+
+    AtomicInteger rowsMapped = new AtomicInteger();
+    try (Stream<String> titles =
+        ResultSetSpliterator.stream(
+            YankPoolManager.DEFAULT_POOL_NAME,
+            Yank.getDefaultConnectionPool(),
+            "SELECT TITLE FROM BOOKS ORDER BY ID",
+            null,
+            QueryOptions.DEFAULT,
+            rs -> {
+              if (rowsMapped.incrementAndGet() == 3) {
+                throw new SQLException("cursor lost");
+              }
+              return rs.getString(1);
+            })) {
+
+      List<String> read = new ArrayList<String>();
+      try {
+        titles.forEach(read::add);
+        throw new AssertionError("partial read was not reported");
+      } catch (YankSQLException e) {
+        assertThat(e.getSqlException().getMessage(), equalTo("cursor lost"));
+      }
+      assertThat(read.size(), equalTo(2));
+    }
+    assertThat(activeConnections(), equalTo(0));
+  }
+
+  private static int activeConnections() {
+
+    return Yank.getDefaultConnectionPool().getHikariPoolMXBean().getActiveConnections();
+  }
+}
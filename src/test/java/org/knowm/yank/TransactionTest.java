@@ -0,0 +1,174 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.demo.Book;
+import org.knowm.yank.exceptions.YankSQLException;
+
+/**
+ * @author timmolter
+ */
+public class TransactionTest {
+
+  private static final String INSERT = "INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)";
+
+  private static final String COUNT = "SELECT COUNT(*) FROM BOOKS WHERE AUTHOR = ?";
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+    sqlProps.setProperty("BOOKS_CACHED_BY_AUTHOR", "SELECT * FROM BOOKS WHERE AUTHOR = ?");
+    sqlProps.setProperty("BOOKS_CACHED_BY_AUTHOR.cacheTtl", "60");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+
+    Yank.executeSQLKey("BOOKS_CREATE_TABLE", null);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testCommit() {
+
+    Integer rows =
+        Yank.inTransaction(
+            tx -> {
+              tx.executeBatch(
+                  INSERT, new Object[][] {{"One", "Committed", 1}, {"Two", "Committed", 2}});
+              tx.insert(INSERT, new Object[] {"Three", "Committed", 3});
+
+              // the transaction sees its own writes
+              assertThat(tx.queryLong(COUNT, 0, new Object[] {"Committed"}), equalTo(3L));
+              return tx.execute(
+                  "UPDATE BOOKS SET PRICE = PRICE + 1 WHERE AUTHOR = ?",
+                  new Object[] {"Committed"});
+            });
+
+    assertThat(rows, equalTo(3));
+    assertThat(Yank.queryLong(COUNT, 0, new Object[] {"Committed"}), equalTo(3L));
+    assertAutoCommitRestored();
+  }
+
+  @Test
+  public void testRollbackOnException() {
+
+    try {
+      Yank.inTransaction(
+          tx -> {
+            tx.execute(INSERT, new Object[] {"One", "Rolled Back", 1});
+            throw new IllegalStateException("boom");
+          });
+      throw new AssertionError("work did not fail");
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage(), equalTo("boom"));
+    }
+
+    assertThat(Yank.queryLong(COUNT, 0, new Object[] {"Rolled Back"}), equalTo(0L));
+    assertAutoCommitRestored();
+  }
+
+  @Test
+  public void testRollbackOnSQLException() {
+
+    // exceptions are logged, not thrown, yet the failed statement still aborts the work
+    Object result =
+        Yank.inTransaction(
+            tx -> {
+              tx.execute(INSERT, new Object[] {"One", "Failed", 1});
+              tx.execute("INSERT INTO NO_SUCH_TABLE VALUES (?)", new Object[] {1});
+              throw new AssertionError("work went on after a failed statement");
+            });
+    assertThat(result, nullValue());
+    assertThat(Yank.queryLong(COUNT, 0, new Object[] {"Failed"}), equalTo(0L));
+
+    Yank.setThrowWrappedExceptions(true);
+    try {
+      Yank.inTransaction(
+          tx -> tx.execute("INSERT INTO NO_SUCH_TABLE VALUES (?)", new Object[] {1}));
+      throw new AssertionError("failed statement was not thrown");
+    } catch (YankSQLException e) {
+      // expected
+    } finally {
+      Yank.setThrowWrappedExceptions(false);
+    }
+    assertAutoCommitRestored();
+  }
+
+  @Test
+  public void testIsolationLevel() {
+
+    String isolation =
+        Yank.inTransaction(
+            YankPoolManager.DEFAULT_POOL_NAME,
+            Connection.TRANSACTION_SERIALIZABLE,
+            tx ->
+                tx.queryScalar(
+                    "SELECT SESSION_ISOLATION_LEVEL() FROM (VALUES(0))", String.class, null));
+    assertThat(isolation, equalTo("SERIALIZABLE"));
+    assertAutoCommitRestored();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidIsolationLevel() {
+
+    Yank.inTransaction(YankPoolManager.DEFAULT_POOL_NAME, Connection.TRANSACTION_NONE, tx -> 0);
+  }
+
+  @Test
+  public void testCacheInvalidatedOnCommit() {
+
+    Yank.insert(INSERT, new Object[] {"One", "Cached", 1});
+    List<Book> before =
+        Yank.queryBeanListSQLKey("BOOKS_CACHED_BY_AUTHOR", Book.class, new Object[] {"Cached"});
+    assertThat(before.size(), equalTo(1));
+
+    Yank.inTransaction(
+        tx -> {
+          tx.insert(INSERT, new Object[] {"Two", "Cached", 2});
+          // bypasses the cache, so it sees the uncommitted row
+          assertThat(
+              tx.queryBeanListSQLKey("BOOKS_CACHED_BY_AUTHOR", Book.class, new Object[] {"Cached"})
+                  .size(),
+              equalTo(2));
+          // the cache still has the committed result
+          assertThat(
+              Yank.queryBeanListSQLKey(
+                      "BOOKS_CACHED_BY_AUTHOR", Book.class, new Object[] {"Cached"})
+                  .size(),
+              equalTo(1));
+          return null;
+        });
+
+    assertThat(
+        Yank.queryBeanListSQLKey("BOOKS_CACHED_BY_AUTHOR", Book.class, new Object[] {"Cached"})
+            .size(),
+        equalTo(2));
+  }
+
+  private static void assertAutoCommitRestored() {
+
+    try (Connection connection = Yank.getDefaultConnectionPool().getConnection()) {
+      assertThat(connection.getAutoCommit(), equalTo(true));
+      assertThat(
+          connection.getTransactionIsolation(), equalTo(Connection.TRANSACTION_READ_COMMITTED));
+    } catch (SQLException e) {
+      throw new AssertionError(e);
+    }
+  }
+}
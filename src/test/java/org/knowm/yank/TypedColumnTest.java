@@ -0,0 +1,119 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Properties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * @author timmolter
+ */
+public class TypedColumnTest {
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testPrimitiveAndBoxedNulls() {
+
+    Yank.execute(
+        "CREATE TABLE MEASUREMENTS (ID INTEGER, COUNT BIGINT NULL, VALUE DOUBLE NULL, AMOUNT DECIMAL(10,2) NULL, VALID BOOLEAN NULL)",
+        null);
+    String sql =
+        "INSERT INTO MEASUREMENTS (ID, COUNT, VALUE, AMOUNT, VALID) VALUES (?, ?, ?, ?, ?)";
+    Yank.execute(sql, new Object[] {1, 42L, 1.5, new BigDecimal("9.99"), true});
+    Yank.execute(sql, new Object[] {2, null, null, null, null});
+
+    List<Measurement> measurements =
+        Yank.queryBeanList("SELECT * FROM MEASUREMENTS ORDER BY ID", Measurement.class, null);
+
+    Measurement first = measurements.get(0);
+    assertThat(first.getId(), equalTo(1));
+    assertThat(first.getCount(), equalTo(42L));
+    assertThat(first.getValue(), equalTo(1.5));
+    assertThat(first.getAmount(), equalTo(new BigDecimal("9.99")));
+    assertThat(first.isValid(), equalTo(true));
+
+    Measurement second = measurements.get(1);
+    assertThat(second.getCount(), nullValue());
+    assertThat(second.getValue(), equalTo(0.0));
+    assertThat(second.getAmount(), nullValue());
+    assertThat(second.isValid(), equalTo(false));
+  }
+
+  public static class Measurement {
+
+    private int id;
+    private Long count;
+    private double value;
+    private BigDecimal amount;
+    private boolean valid;
+
+    public int getId() {
+
+      return id;
+    }
+
+    public void setId(int id) {
+
+      this.id = id;
+    }
+
+    public Long getCount() {
+
+      return count;
+    }
+
+    public void setCount(Long count) {
+
+      this.count = count;
+    }
+
+    public double getValue() {
+
+      return value;
+    }
+
+    public void setValue(double value) {
+
+      this.value = value;
+    }
+
+    public BigDecimal getAmount() {
+
+      return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+
+      this.amount = amount;
+    }
+
+    public boolean isValid() {
+
+      return valid;
+    }
+
+    public void setValid(boolean valid) {
+
+      this.valid = valid;
+    }
+  }
+}
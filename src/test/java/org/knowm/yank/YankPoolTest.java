@@ -0,0 +1,88 @@
+package org.knowm.yank;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.Properties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knowm.yank.demo.Book;
+
+/**
+ * @author timmolter
+ */
+public class YankPoolTest {
+
+  @BeforeClass
+  public static void setUpDB() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Properties sqlProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_SQL.properties");
+
+    Yank.setupDefaultConnectionPool(dbProps);
+    Yank.addSQLStatements(sqlProps);
+  }
+
+  @AfterClass
+  public static void tearDownDB() {
+
+    Yank.releaseDefaultConnectionPool();
+  }
+
+  @Test
+  public void testPoolHandle() {
+
+    YankPool pool = Yank.getDefaultPool();
+    assertThat(pool, notNullValue());
+    assertThat(pool, sameInstance(Yank.getPool(YankPoolManager.DEFAULT_POOL_NAME)));
+    assertThat(pool.getDataSource(), sameInstance(Yank.getDefaultConnectionPool()));
+    assertThat(Yank.getPool("nope"), nullValue());
+
+    pool.executeSQLKey("BOOKS_CREATE_TABLE", null);
+    Object[][] params = new Object[5][];
+    for (int i = 0; i < params.length; i++) {
+      params[i] = new Object[] {"Title " + i, "Author " + i, i + 0.5};
+    }
+    pool.executeBatch("INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)", params);
+    assertThat(
+        pool.insert(
+            "INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)",
+            new Object[] {"Title 5", "Author 5", 5.5}),
+        equalTo(5L));
+
+    assertThat(pool.queryLong("SELECT COUNT(*) FROM BOOKS", -1, null), equalTo(6L));
+    assertThat(
+        pool.queryBeanSQLKey("BOOKS_SELECT_BY_TITLE", Book.class, new Object[] {"Title 3"})
+            .getAuthor(),
+        equalTo("Author 3"));
+
+    List<Book> books = pool.queryBeanList("SELECT * FROM BOOKS ORDER BY ID", Book.class, null);
+    assertThat(books.size(), equalTo(6));
+    assertThat(books.get(4).getPrice(), equalTo(4.5));
+
+    // the static methods go through the same handle
+    assertThat(
+        Yank.queryBeanList("SELECT * FROM BOOKS ORDER BY ID", Book.class, null).size(), equalTo(6));
+  }
+
+  @Test
+  public void testNewHandleAfterSetup() {
+
+    Properties dbProps = PropertiesUtils.getPropertiesFromClasspath("HSQL_DB.properties");
+    Yank.setupConnectionPool("yank-pool-test", dbProps);
+    YankPool pool = Yank.getPool("yank-pool-test");
+    assertThat(pool.getName(), equalTo("yank-pool-test"));
+
+    Yank.setupConnectionPool("yank-pool-test", dbProps);
+    assertThat(Yank.getPool("yank-pool-test"), not(sameInstance(pool)));
+
+    Yank.releaseConnectionPool("yank-pool-test");
+    assertThat(Yank.getPool("yank-pool-test"), nullValue());
+  }
+}
@@ -0,0 +1,123 @@
+package org.knowm.yank.benchmarks;
+
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.knowm.yank.Yank;
+import org.knowm.yank.YankAsync;
+import org.knowm.yank.YankPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs a burst of concurrent queries against a pool of 8 connections three ways: on Yank's async
+ * executor with platform threads, on Yank's async executor with virtual threads, and blocking on an
+ * oversubscribed pool of 200 platform threads that park in Hikari waiting for a connection. On JVMs
+ * before Java 21 the virtual variant falls back to platform threads.
+ *
+ * <p>Run the main method from the test classpath.
+ *
+ * @author timmolter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncBenchmark {
+
+  private static final String POOL_NAME = "async-benchmark";
+
+  private static final String SQL = "SELECT COUNT(*) FROM BOOKS WHERE PRICE > ?";
+
+  @Param({"platform", "virtual"})
+  public String threads;
+
+  @Param({"1000", "10000"})
+  public int calls;
+
+  private YankAsync async;
+
+  private YankPool pool;
+
+  private ExecutorService oversubscribed;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+
+    Properties properties = new Properties();
+    properties.setProperty("jdbcUrl", "jdbc:hsqldb:mem:asyncbenchmark;shutdown=true");
+    properties.setProperty("username", "sa");
+    properties.setProperty("password", "");
+    properties.setProperty("maximumPoolSize", "8");
+    properties.setProperty("yank.asyncThreads", threads);
+    properties.setProperty("yank.asyncQueueSize", Integer.toString(calls));
+    Yank.setupConnectionPool(POOL_NAME, properties);
+
+    pool = Yank.getPool(POOL_NAME);
+    pool.execute("DROP TABLE BOOKS IF EXISTS", null);
+    pool.execute(
+        "CREATE TABLE BOOKS (ID INTEGER IDENTITY, TITLE VARCHAR(42) NULL, AUTHOR VARCHAR(42) NULL, PRICE DECIMAL(10,2) NOT NULL)",
+        null);
+    Object[][] params = new Object[100][];
+    for (int i = 0; i < params.length; i++) {
+      params[i] = new Object[] {"Title " + i, "Author " + i, i + 0.99};
+    }
+    pool.executeBatch("INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)", params);
+
+    async = pool.async();
+    oversubscribed = Executors.newFixedThreadPool(200);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+
+    oversubscribed.shutdown();
+    Yank.releaseConnectionPool(POOL_NAME);
+  }
+
+  @Benchmark
+  public void yankAsync() {
+
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[calls];
+    for (int i = 0; i < calls; i++) {
+      futures[i] = async.queryScalar(SQL, Long.class, new Object[] {i % 100});
+    }
+    CompletableFuture.allOf(futures).join();
+  }
+
+  @Benchmark
+  public void oversubscribedPlatformThreads() {
+
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[calls];
+    for (int i = 0; i < calls; i++) {
+      final Object[] params = new Object[] {i % 100};
+      futures[i] =
+          CompletableFuture.supplyAsync(
+              () -> pool.queryScalar(SQL, Long.class, params), oversubscribed);
+    }
+    CompletableFuture.allOf(futures).join();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+
+    new Runner(new OptionsBuilder().include(AsyncBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,115 @@
+package org.knowm.yank.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.dbutils.BasicRowProcessor;
+import org.apache.commons.dbutils.GenerousBeanProcessor;
+import org.apache.commons.dbutils.RowProcessor;
+import org.knowm.yank.demo.Book;
+import org.knowm.yank.processors.YankBeanProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares converting a ResultSet into Beans with dbutils' reflective GenerousBeanProcessor against
+ * Yank's cached, MethodHandle based YankBeanProcessor. The ResultSet is scrollable and rewound
+ * before each invocation, so only the row to Bean conversion is measured.
+ *
+ * <p>Run the main method from the test classpath.
+ *
+ * @author timmolter
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanMappingBenchmark {
+
+  @Param({"10", "1000"})
+  public int rows;
+
+  private Connection connection;
+  private PreparedStatement statement;
+  private ResultSet resultSet;
+
+  private final RowProcessor dbutilsProcessor = new BasicRowProcessor(new GenerousBeanProcessor());
+  private final RowProcessor yankProcessor =
+      new BasicRowProcessor(new YankBeanProcessor<Book>(Book.class));
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+
+    connection = DriverManager.getConnection("jdbc:hsqldb:mem:benchmark", "sa", "");
+    Statement ddl = connection.createStatement();
+    ddl.execute("DROP TABLE BOOKS IF EXISTS");
+    ddl.execute(
+        "CREATE TABLE BOOKS (ID INTEGER IDENTITY, TITLE VARCHAR(42) NULL, AUTHOR VARCHAR(42) NULL, PRICE DECIMAL(10,2) NOT NULL)");
+    ddl.close();
+
+    PreparedStatement insert =
+        connection.prepareStatement("INSERT INTO BOOKS (TITLE, AUTHOR, PRICE) VALUES (?, ?, ?)");
+    for (int i = 0; i < rows; i++) {
+      insert.setString(1, "Title " + i);
+      insert.setString(2, "Author " + i);
+      insert.setDouble(3, i + 0.99);
+      insert.addBatch();
+    }
+    insert.executeBatch();
+    insert.close();
+
+    statement =
+        connection.prepareStatement(
+            "SELECT * FROM BOOKS", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+    resultSet = statement.executeQuery();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+
+    resultSet.close();
+    statement.close();
+    connection.close();
+  }
+
+  @Benchmark
+  public List<Book> dbutilsGenerousBeanProcessor() throws SQLException {
+
+    resultSet.beforeFirst();
+    return dbutilsProcessor.toBeanList(resultSet, Book.class);
+  }
+
+  @Benchmark
+  public List<Book> yankBeanProcessor() throws SQLException {
+
+    resultSet.beforeFirst();
+    return yankProcessor.toBeanList(resultSet, Book.class);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+
+    new Runner(new OptionsBuilder().include(BeanMappingBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}